@@ -55,6 +55,7 @@ import org.graalvm.compiler.asm.amd64.AVXKind.AVXSize;
 import org.graalvm.compiler.core.common.LIRKind;
 import org.graalvm.compiler.core.common.NumUtil;
 import org.graalvm.compiler.core.common.calc.Condition;
+import org.graalvm.compiler.core.common.calc.ElementwiseArrayOperation;
 import org.graalvm.compiler.core.common.spi.ForeignCallLinkage;
 import org.graalvm.compiler.core.common.spi.LIRKindTool;
 import org.graalvm.compiler.debug.GraalError;
@@ -71,6 +72,7 @@ import org.graalvm.compiler.lir.amd64.AMD64AddressValue;
 import org.graalvm.compiler.lir.amd64.AMD64ArithmeticLIRGeneratorTool;
 import org.graalvm.compiler.lir.amd64.AMD64ArrayCompareToOp;
 import org.graalvm.compiler.lir.amd64.AMD64ArrayEqualsOp;
+import org.graalvm.compiler.lir.amd64.AMD64ArrayHashCodeOp;
 import org.graalvm.compiler.lir.amd64.AMD64ArrayIndexOfOp;
 import org.graalvm.compiler.lir.amd64.AMD64Binary;
 import org.graalvm.compiler.lir.amd64.AMD64BinaryConsumer;
@@ -93,6 +95,7 @@ import org.graalvm.compiler.lir.amd64.AMD64ControlFlow.TableSwitchOp;
 import org.graalvm.compiler.lir.amd64.AMD64ControlFlow.TestBranchOp;
 import org.graalvm.compiler.lir.amd64.AMD64ControlFlow.TestByteBranchOp;
 import org.graalvm.compiler.lir.amd64.AMD64ControlFlow.TestConstBranchOp;
+import org.graalvm.compiler.lir.amd64.AMD64ElementwiseArrayLoopOp;
 import org.graalvm.compiler.lir.amd64.AMD64LFenceOp;
 import org.graalvm.compiler.lir.amd64.AMD64Move;
 import org.graalvm.compiler.lir.amd64.AMD64Move.CompareAndSwapOp;
@@ -626,6 +629,31 @@ public abstract class AMD64LIRGenerator extends LIRGenerator {
         return result;
     }
 
+    @Override
+    public Variable emitArrayHashCode(JavaKind arrayKind, JavaKind elementKind, Value array, Value length, Value initialValue) {
+        Variable result = newVariable(LIRKind.value(AMD64Kind.DWORD));
+        append(new AMD64ArrayHashCodeOp(this, arrayKind, elementKind, result, asAllocatable(array), asAllocatable(length), asAllocatable(initialValue)));
+        return result;
+    }
+
+    @Override
+    public Variable emitElementwiseArrayLoop(JavaKind kind, ElementwiseArrayOperation operation, Value destination, Value source1, Value source2, Value scalar, Value fromIndex,
+                    Value toIndex) {
+        Variable result = newVariable(LIRKind.value(AMD64Kind.DWORD));
+        if (AMD64ElementwiseArrayLoopOp.isSupported(target())) {
+            append(new AMD64ElementwiseArrayLoopOp(this, kind, operation, result, asAllocatable(destination), asAllocatableOrIllegal(source1), asAllocatableOrIllegal(source2),
+                            asAllocatableOrIllegal(scalar), asAllocatable(fromIndex), asAllocatable(toIndex)));
+        } else {
+            // leave all iterations to the scalar loop
+            emitMove(result, fromIndex);
+        }
+        return result;
+    }
+
+    private Value asAllocatableOrIllegal(Value value) {
+        return Value.ILLEGAL.equals(value) ? value : asAllocatable(value);
+    }
+
     @Override
     public void emitStringLatin1Inflate(Value src, Value dst, Value len) {
         RegisterValue rsrc = AMD64.rsi.asValue(src.getValueKind());
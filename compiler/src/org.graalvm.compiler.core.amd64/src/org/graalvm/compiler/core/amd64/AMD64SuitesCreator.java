@@ -24,12 +24,19 @@
  */
 package org.graalvm.compiler.core.amd64;
 
+import java.util.ListIterator;
+
 import org.graalvm.compiler.java.DefaultSuitesCreator;
 import org.graalvm.compiler.lir.amd64.phases.StackMoveOptimizationPhase;
 import org.graalvm.compiler.lir.phases.LIRSuites;
+import org.graalvm.compiler.loop.phases.LoopFullUnrollPhase;
+import org.graalvm.compiler.loop.phases.LoopVectorizationPhase;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration.Plugins;
 import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.phases.BasePhase;
 import org.graalvm.compiler.phases.tiers.CompilerConfiguration;
+import org.graalvm.compiler.phases.tiers.HighTierContext;
+import org.graalvm.compiler.phases.tiers.Suites;
 
 public class AMD64SuitesCreator extends DefaultSuitesCreator {
 
@@ -41,6 +48,18 @@ public class AMD64SuitesCreator extends DefaultSuitesCreator {
         super(compilerConfiguration);
     }
 
+    @Override
+    public Suites createSuites(OptionValues options) {
+        Suites suites = super.createSuites(options);
+        if (LoopVectorizationPhase.Options.VectorizeLoops.getValue(options)) {
+            ListIterator<BasePhase<? super HighTierContext>> position = suites.getHighTier().findPhase(LoopFullUnrollPhase.class);
+            if (position != null) {
+                position.add(new LoopVectorizationPhase());
+            }
+        }
+        return suites;
+    }
+
     @Override
     public LIRSuites createLIRSuites(OptionValues options) {
         LIRSuites lirSuites = super.createLIRSuites(options);
@@ -53,6 +53,18 @@ public final class GraalOptions {
     @Option(help = "Minimum probability for methods to be inlined for megamorphic type profiles.", type = OptionType.Expert)
     public static final OptionKey<Double> MegamorphicInliningMinMethodProbability = new OptionKey<>(0.33D);
 
+    @Option(help = "Inline only the most frequent targets of polymorphic and megamorphic call sites behind a type switch, with a virtual call for the remaining receiver types.", type = OptionType.Expert)
+    public static final OptionKey<Boolean> TypeSwitchInlining = new OptionKey<>(false);
+
+    @Option(help = "Maximum number of target methods inlined behind a type switch.", type = OptionType.Expert)
+    public static final OptionKey<Integer> TypeSwitchInliningMaxTargets = new OptionKey<>(3);
+
+    @Option(help = "Minimum probability of a single target method to be inlined behind a type switch.", type = OptionType.Expert)
+    public static final OptionKey<Double> TypeSwitchInliningMinTargetProbability = new OptionKey<>(0.05D);
+
+    @Option(help = "Minimum combined receiver probability covered by the target methods inlined behind a type switch.", type = OptionType.Expert)
+    public static final OptionKey<Double> TypeSwitchInliningMinCoverage = new OptionKey<>(0.75D);
+
     @Option(help = "Maximum level of recursive inlining.", type = OptionType.Expert)
     public static final OptionKey<Integer> MaximumRecursiveInlining = new OptionKey<>(5);
 
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.core.test;
+
+import java.util.List;
+
+import org.graalvm.compiler.nodes.AbstractMergeNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.StructuredGraph.AllowAssumptions;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.java.LoadFieldNode;
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.phases.common.PartialRedundancyEliminationPhase;
+import org.junit.Test;
+
+public class PartialRedundancyEliminationTest extends GraalCompilerTest {
+
+    public static int staticValue;
+    public static int staticCounter;
+
+    public static class TestObject {
+        public int x;
+        public volatile int v;
+
+        public TestObject(int x) {
+            this.x = x;
+            this.v = x;
+        }
+    }
+
+    public static int staticSnippet(boolean b) {
+        int r = 0;
+        if (b) {
+            r = staticValue;
+        } else {
+            staticCounter++;
+        }
+        return r + staticValue;
+    }
+
+    public static int fieldSnippet(TestObject o, int a) {
+        int r = a;
+        if (a > 10) {
+            r += o.x;
+        } else if (a > 0) {
+            r -= o.x;
+        } else {
+            r = -a;
+        }
+        return r * o.x;
+    }
+
+    public static int phiSnippet(TestObject o1, TestObject o2, boolean b) {
+        TestObject o;
+        int r;
+        if (b) {
+            o = o1;
+            r = o1.x;
+        } else {
+            o = o2;
+            r = 1;
+        }
+        return r + o.x;
+    }
+
+    public static int killedSnippet(TestObject o, boolean b) {
+        int r = 0;
+        if (b) {
+            r = o.x;
+        }
+        staticCounter = r;
+        return r + o.x;
+    }
+
+    public static int volatileSnippet(TestObject o, boolean b) {
+        int r = 0;
+        if (b) {
+            r = o.v;
+        }
+        return r + o.v;
+    }
+
+    private StructuredGraph parseAndCanonicalize(String name) {
+        StructuredGraph graph = parseEager(name, AllowAssumptions.NO);
+        createCanonicalizerPhase().apply(graph, getDefaultHighTierContext());
+        return graph;
+    }
+
+    private static int loadsAfterMerges(StructuredGraph graph) {
+        int count = 0;
+        for (AbstractMergeNode merge : graph.getNodes(AbstractMergeNode.TYPE)) {
+            if (merge.next() instanceof LoadFieldNode) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void testEliminated(String name, Object... args) {
+        StructuredGraph graph = parseAndCanonicalize(name);
+        new PartialRedundancyEliminationPhase().apply(graph, getDefaultHighTierContext());
+        assertDeepEquals(0, loadsAfterMerges(graph));
+        boolean phiOfLoads = false;
+        for (ValuePhiNode phi : graph.getNodes().filter(ValuePhiNode.class)) {
+            phiOfLoads |= phi.values().filter(LoadFieldNode.class).isNotEmpty();
+        }
+        assertTrue(phiOfLoads);
+        test(new OptionValues(getInitialOptions(), PartialRedundancyEliminationPhase.Options.PartialRedundancyElimination, true), name, args);
+    }
+
+    private void testNotEliminated(String name, Object... args) {
+        StructuredGraph graph = parseAndCanonicalize(name);
+        List<LoadFieldNode> loads = graph.getNodes().filter(LoadFieldNode.class).snapshot();
+        new PartialRedundancyEliminationPhase().apply(graph, getDefaultHighTierContext());
+        for (LoadFieldNode load : loads) {
+            assertTrue(load.isAlive(), "%s should not have been eliminated", load);
+        }
+        assertDeepEquals(loads.size(), graph.getNodes().filter(LoadFieldNode.class).count());
+        test(new OptionValues(getInitialOptions(), PartialRedundancyEliminationPhase.Options.PartialRedundancyElimination, true), name, args);
+    }
+
+    @Test
+    public void testStatic() {
+        testEliminated("staticSnippet", true);
+        testEliminated("staticSnippet", false);
+    }
+
+    @Test
+    public void testField() {
+        testEliminated("fieldSnippet", new TestObject(3), 20);
+        testEliminated("fieldSnippet", new TestObject(3), 5);
+        testEliminated("fieldSnippet", new TestObject(3), -5);
+        testEliminated("fieldSnippet", null, -5);
+    }
+
+    @Test
+    public void testPhi() {
+        testEliminated("phiSnippet", new TestObject(3), new TestObject(4), true);
+        testEliminated("phiSnippet", new TestObject(3), new TestObject(4), false);
+        testEliminated("phiSnippet", new TestObject(3), null, true);
+    }
+
+    @Test
+    public void testKilled() {
+        testNotEliminated("killedSnippet", new TestObject(3), true);
+        testNotEliminated("killedSnippet", new TestObject(3), false);
+    }
+
+    @Test
+    public void testVolatile() {
+        testNotEliminated("volatileSnippet", new TestObject(3), true);
+    }
+}
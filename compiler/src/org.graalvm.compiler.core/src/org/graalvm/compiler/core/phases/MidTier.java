@@ -37,6 +37,7 @@ import static org.graalvm.compiler.core.common.SpeculativeExecutionAttacksMitiga
 import org.graalvm.compiler.loop.DefaultLoopPolicies;
 import org.graalvm.compiler.loop.LoopPolicies;
 import org.graalvm.compiler.loop.phases.LoopPartialUnrollPhase;
+import org.graalvm.compiler.loop.phases.LoopPredicationPhase;
 import org.graalvm.compiler.loop.phases.LoopSafepointEliminationPhase;
 import org.graalvm.compiler.loop.phases.ReassociateInvariantPhase;
 import org.graalvm.compiler.nodes.spi.LoweringTool;
@@ -73,6 +74,10 @@ public class MidTier extends BaseTier<MidTierContext> {
             appendPhase(new IterativeConditionalEliminationPhase(canonicalizer, true));
         }
 
+        if (LoopPredicationPhase.Options.LoopPredication.getValue(options)) {
+            appendPhase(new IncrementalCanonicalizerPhase<>(canonicalizer, new LoopPredicationPhase()));
+        }
+
         appendPhase(new LoopSafepointEliminationPhase());
 
         appendPhase(new GuardLoweringPhase());
@@ -31,6 +31,7 @@ import static org.graalvm.compiler.nodeinfo.NodeCycles.CYCLES_IGNORED;
 import static org.graalvm.compiler.nodeinfo.NodeSize.SIZE_IGNORED;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -453,4 +454,69 @@ public class NodeUsagesTests extends GraphTest {
 
         assertThat(def1.usages(), isNotEmpty());
     }
+
+    @Test
+    public void testUsagesAfterCompression() {
+        OptionValues options = getOptions();
+        Graph graph = new Graph(options, getDebug(options));
+        Def def0 = graph.add(new Def());
+        Use[] uses = new Use[10];
+        for (int i = 0; i < uses.length; i++) {
+            uses[i] = graph.add(new Use(def0, null, null));
+        }
+        assertEquals(uses.length, def0.getUsageCount());
+
+        for (int i = 1; i < uses.length; i++) {
+            uses[i].safeDelete();
+        }
+        assertEquals(1, def0.getUsageCount());
+
+        assertTrue(graph.maybeCompress());
+
+        assertEquals(1, def0.getUsageCount());
+        assertThat(def0.usages(), contains(uses[0]));
+
+        Use use1 = graph.add(new Use(null, def0, null));
+        Use use2 = graph.add(new Use(null, null, def0));
+        Use use3 = graph.add(new Use(def0, null, null));
+
+        assertEquals(4, def0.getUsageCount());
+        assertThat(def0.usages(), contains(uses[0]));
+        assertThat(def0.usages(), contains(use1));
+        assertThat(def0.usages(), contains(use2));
+        assertThat(def0.usages(), contains(use3));
+        assertEquals(5, graph.getNodeCount());
+    }
+
+    @Test
+    public void testCapacityAfterCompression() {
+        OptionValues options = getOptions();
+        Graph graph = new Graph(options, getDebug(options));
+        Def def0 = graph.add(new Def());
+        Def def1 = graph.add(new Def());
+        Use[] uses = new Use[100];
+        for (int i = 0; i < uses.length; i++) {
+            uses[i] = graph.add(new Use(def0, i < 20 ? def1 : null, null));
+        }
+        int live = 10;
+        for (int i = live; i < uses.length; i++) {
+            uses[i].safeDelete();
+        }
+        assertEquals(live, def0.getUsageCount());
+        assertEquals(live, def1.getUsageCount());
+
+        int nodeCapacity = graph.getNodeCapacity();
+        assertTrue(def0.getUsageCapacity() > 2 * live);
+        assertTrue(def1.getUsageCapacity() > 2 * live - 2);
+
+        assertTrue(graph.maybeCompress());
+
+        assertEquals(live, def0.getUsageCapacity());
+        assertEquals(live, def1.getUsageCapacity());
+        assertTrue(graph.getNodeCapacity() < nodeCapacity);
+        for (int i = 0; i < live; i++) {
+            assertThat(def0.usages(), contains(uses[i]));
+            assertThat(def1.usages(), contains(uses[i]));
+        }
+    }
 }
@@ -426,6 +426,14 @@ public class Graph {
         return nodesDeletedSinceLastCompression;
     }
 
+    /**
+     * Gets the number of nodes this graph can hold before its node array has to grow. The unused
+     * capacity is released by {@linkplain #maybeCompress() compression}.
+     */
+    public int getNodeCapacity() {
+        return nodes.length;
+    }
+
     /**
      * Gets the total number of nodes which have been deleted from this graph.
      */
@@ -894,7 +902,8 @@ public class Graph {
     /**
      * If the {@linkplain Options#GraphCompressionThreshold compression threshold} is met, the list
      * of nodes is compressed such that all non-null entries precede all null entries while
-     * preserving the ordering between the nodes within the list.
+     * preserving the ordering between the nodes within the list. The unused capacity of the node
+     * list and of the usage lists of the live nodes is released as well.
      */
     public boolean maybeCompress() {
         if (debug.isDumpEnabledForMethod() || debug.isLogEnabledForMethod()) {
@@ -912,6 +921,7 @@ public class Graph {
             Node n = nodes[i];
             if (n != null) {
                 assert n.id == i;
+                n.trimUsages();
                 if (i != nextId) {
                     assert n.id > nextId;
                     n.id = nextId;
@@ -927,6 +937,9 @@ public class Graph {
             Arrays.fill(nodeUsageModCounts, 0);
         }
         nodesSize = nextId;
+        if (nodesSize < nodes.length >> 2 && nodes.length > INITIAL_NODES_SIZE) {
+            nodes = Arrays.copyOf(nodes, Math.max(INITIAL_NODES_SIZE, (nodesSize * 2) + 1));
+        }
         compressions++;
         nodesDeletedBeforeLastCompression += nodesDeletedSinceLastCompression;
         nodesDeletedSinceLastCompression = 0;
@@ -398,6 +398,14 @@ public abstract class Node implements Cloneable, Formattable, NodeInterface {
         return INLINE_USAGE_COUNT + extraUsagesCount;
     }
 
+    /**
+     * Gets the number of usages this node can hold before its usage list has to grow. The unused
+     * capacity is released when the graph is {@linkplain Graph#maybeCompress() compressed}.
+     */
+    public int getUsageCapacity() {
+        return INLINE_USAGE_COUNT + extraUsages.length;
+    }
+
     /**
      * Gets the list of nodes that use this node (i.e., as an input).
      */
@@ -457,6 +465,20 @@ public abstract class Node implements Cloneable, Formattable, NodeInterface {
         }
     }
 
+    /**
+     * Releases the unused capacity of {@link #extraUsages} if at least half of it is unused. This
+     * is done in bulk when the graph is {@linkplain Graph#maybeCompress() compressed} rather than
+     * on every {@linkplain #removeUsage(Node) removal} so that a usage count oscillating around a
+     * growth boundary does not reallocate the array each time.
+     */
+    void trimUsages() {
+        if (extraUsagesCount == 0) {
+            extraUsages = NO_NODES;
+        } else if (extraUsagesCount <= extraUsages.length >> 1) {
+            extraUsages = Arrays.copyOf(extraUsages, extraUsagesCount);
+        }
+    }
+
     private void movUsageFromEndTo(int destIndex) {
         if (destIndex >= INLINE_USAGE_COUNT) {
             movUsageFromEndToExtraUsages(destIndex - INLINE_USAGE_COUNT);
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot.test;
+
+import org.graalvm.compiler.core.phases.EconomyHighTier;
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.hotspot.CompilationBudget;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.java.MethodCallTargetNode;
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.phases.tiers.Suites;
+import org.junit.Test;
+
+import jdk.vm.ci.meta.DefaultProfilingInfo;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.meta.TriState;
+
+public class CompilationBudgetTest extends GraalCompilerTest {
+
+    private ResolvedJavaMethod budgetedMethod;
+    private int invokes;
+
+    @Override
+    protected Suites createSuites(OptionValues opts) {
+        Suites suites = super.createSuites(opts);
+        if (budgetedMethod == null) {
+            return suites;
+        }
+        DebugContext debug = getDebugContext(opts);
+        return CompilationBudget.apply(suites, budgetedMethod, DefaultProfilingInfo.get(TriState.FALSE), opts, debug);
+    }
+
+    @Override
+    protected void checkHighTierGraph(StructuredGraph graph) {
+        invokes = graph.getNodes().filter(MethodCallTargetNode.class).count();
+    }
+
+    private static int callee(int x) {
+        return x * 31 + 7;
+    }
+
+    public static int callerSnippet(int x) {
+        return callee(x) + callee(x + 1);
+    }
+
+    private void testBudget(OptionValues options, boolean expectInlining) {
+        budgetedMethod = getResolvedJavaMethod("callerSnippet");
+        try {
+            test(options, "callerSnippet", 42);
+        } finally {
+            budgetedMethod = null;
+        }
+        if (expectInlining) {
+            assertTrue(invokes == 0, "expected all calls to be inlined");
+        } else {
+            assertTrue(invokes > 0, "expected inlining to be skipped");
+        }
+    }
+
+    @Test
+    public void testWithinBudget() {
+        testBudget(getInitialOptions(), true);
+    }
+
+    @Test
+    public void testNodeBudgetExhausted() {
+        testBudget(new OptionValues(getInitialOptions(), CompilationBudget.Options.CompilationNodeBudget, 1), false);
+    }
+
+    @Test
+    public void testBudgetsDisabledByDefault() {
+        OptionValues options = getInitialOptions();
+        Suites suites = super.createSuites(options);
+        Suites result = CompilationBudget.apply(suites, getResolvedJavaMethod("callerSnippet"), DefaultProfilingInfo.get(TriState.FALSE), options, getDebugContext(options));
+        assertTrue(result == suites, "expected the suites to be used unchanged");
+    }
+
+    @Test
+    public void testEconomyTiers() {
+        OptionValues options = new OptionValues(getInitialOptions(), CompilationBudget.Options.EconomyTiersBytecodeSize, 1);
+        Suites suites = CompilationBudget.apply(super.createSuites(options), getResolvedJavaMethod("callerSnippet"), DefaultProfilingInfo.get(TriState.FALSE), options, getDebugContext(options));
+        assertTrue(suites.getHighTier() instanceof EconomyHighTier, "expected the economy high tier");
+        testBudget(options, false);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.hotspot.HotMethodsRecorder;
+import org.graalvm.compiler.options.OptionValues;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HotMethodsRecorderTest extends GraalCompilerTest {
+
+    public static int first(int x) {
+        return x + 1;
+    }
+
+    public static Object second(String s, int[] a) {
+        return s + a.length;
+    }
+
+    private HotMethodsRecorder createRecorder(Path file) {
+        return HotMethodsRecorder.maybeCreate(new OptionValues(getInitialOptions(), HotMethodsRecorder.Options.RecordCompiledMethods, file.toString()));
+    }
+
+    @Test
+    public void testDisabled() {
+        Assert.assertNull(HotMethodsRecorder.maybeCreate(getInitialOptions()));
+    }
+
+    @Test
+    public void testRecordAndMerge() throws IOException {
+        Path dir = Files.createTempDirectory("HotMethodsRecorderTest");
+        Path file = dir.resolve("methods.txt");
+        try {
+            HotMethodsRecorder recorder = createRecorder(file);
+            recorder.record(getResolvedJavaMethod("first"));
+            recorder.record(getResolvedJavaMethod("first"));
+            recorder.write();
+            String className = HotMethodsRecorderTest.class.getName();
+            List<String> expected = Arrays.asList("compileOnly " + className + ".first(I)I");
+            Assert.assertEquals(expected, compileCommands(file));
+
+            // a later run adds its methods to those of earlier runs
+            recorder = createRecorder(file);
+            recorder.record(getResolvedJavaMethod("second"));
+            recorder.write();
+            expected = Arrays.asList("compileOnly " + className + ".first(I)I", "compileOnly " + className + ".second(Ljava/lang/String;[I)Ljava/lang/Object;");
+            Assert.assertEquals(expected, compileCommands(file));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    private static List<String> compileCommands(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        lines.removeIf(line -> line.startsWith("#"));
+        return lines;
+    }
+}
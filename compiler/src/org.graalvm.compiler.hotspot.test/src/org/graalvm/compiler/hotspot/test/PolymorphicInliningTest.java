@@ -24,6 +24,7 @@
  */
 package org.graalvm.compiler.hotspot.test;
 
+import org.graalvm.compiler.core.common.GraalOptions;
 import org.graalvm.compiler.core.test.GraalCompilerTest;
 import org.graalvm.compiler.graph.Node;
 import org.graalvm.compiler.java.BytecodeParserOptions;
@@ -135,6 +136,70 @@ public class PolymorphicInliningTest extends GraalCompilerTest {
         assertTrue(getNodeCount(graph, AbstractDeoptimizeNode.class) == 0);
     }
 
+    @Test
+    public void testTypeSwitchWithNotInlinable() {
+        ResolvedJavaMethod method = getResolvedJavaMethod("snippet");
+        StructuredGraph graph = parseForCompile(method, typeSwitchInlining(0.75D));
+
+        MetaAccessProvider metaAccess = getMetaAccess();
+        ProfiledType[] injectedProfile = {
+                        new ProfiledType(metaAccess.lookupJavaType(A.class), 0.5D),
+                        new ProfiledType(metaAccess.lookupJavaType(B.class), 0.3D),
+                        new ProfiledType(metaAccess.lookupJavaType(NotInlinableSubClass.class), 0.2D)};
+        injectTypeProfile(graph, "PolymorphicInliningTest$SuperClass.foo", new JavaTypeProfile(TriState.FALSE, 0.0D, injectedProfile));
+
+        createInliningPhase().apply(graph, getDefaultHighTierContext());
+
+        // A and B are inlined, the not inlinable method is called through the fallback invoke.
+        assertTrue(getNodeCount(graph, InvokeNode.class) == 1);
+        assertTrue(getNodeCount(graph, TypeSwitchNode.class) == 1);
+        assertTrue(getNodeCount(graph, AbstractDeoptimizeNode.class) == 0);
+    }
+
+    @Test
+    public void testTypeSwitchMegamorphicInlined() {
+        ResolvedJavaMethod method = getResolvedJavaMethod("snippet");
+        StructuredGraph graph = parseForCompile(method, typeSwitchInlining(0.5D));
+
+        MetaAccessProvider metaAccess = getMetaAccess();
+        ProfiledType[] injectedProfile = {
+                        new ProfiledType(metaAccess.lookupJavaType(A.class), 0.3D),
+                        new ProfiledType(metaAccess.lookupJavaType(B.class), 0.3D),
+                        new ProfiledType(metaAccess.lookupJavaType(NotInlinableSubClass.class), 0.3D)};
+        injectTypeProfile(graph, "PolymorphicInliningTest$SuperClass.foo", new JavaTypeProfile(TriState.FALSE, 0.1D, injectedProfile));
+
+        createInliningPhase().apply(graph, getDefaultHighTierContext());
+
+        // Unlike in testMegamorphicNotInlined, A and B together cover enough of the receivers.
+        assertTrue(getNodeCount(graph, InvokeNode.class) == 1);
+        assertTrue(getNodeCount(graph, TypeSwitchNode.class) == 1);
+        assertTrue(getNodeCount(graph, AbstractDeoptimizeNode.class) == 0);
+    }
+
+    @Test
+    public void testTypeSwitchMegamorphicNotInlined() {
+        ResolvedJavaMethod method = getResolvedJavaMethod("snippet");
+        StructuredGraph graph = parseForCompile(method, typeSwitchInlining(0.75D));
+
+        MetaAccessProvider metaAccess = getMetaAccess();
+        ProfiledType[] injectedProfile = {
+                        new ProfiledType(metaAccess.lookupJavaType(A.class), 0.3D),
+                        new ProfiledType(metaAccess.lookupJavaType(B.class), 0.3D),
+                        new ProfiledType(metaAccess.lookupJavaType(NotInlinableSubClass.class), 0.3D)};
+        injectTypeProfile(graph, "PolymorphicInliningTest$SuperClass.foo", new JavaTypeProfile(TriState.FALSE, 0.1D, injectedProfile));
+
+        createInliningPhase().apply(graph, getDefaultHighTierContext());
+
+        // A and B only cover 60% of the receivers.
+        assertTrue(getNodeCount(graph, InvokeNode.class) == 1);
+        assertTrue(getNodeCount(graph, TypeSwitchNode.class) == 0);
+        assertTrue(getNodeCount(graph, AbstractDeoptimizeNode.class) == 0);
+    }
+
+    private static OptionValues typeSwitchInlining(double minCoverage) {
+        return new OptionValues(disableInlineDuringParsing(), GraalOptions.TypeSwitchInlining, true, GraalOptions.TypeSwitchInliningMinCoverage, minCoverage);
+    }
+
     private static OptionValues disableInlineDuringParsing() {
         return new OptionValues(getInitialOptions(), BytecodeParserOptions.InlineDuringParsing, false, BytecodeParserOptions.InlineIntrinsicsDuringParsing, false);
     }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot;
+
+import static org.graalvm.compiler.core.common.GraalOptions.ImmutableCode;
+
+import java.util.ListIterator;
+
+import org.graalvm.compiler.core.phases.EconomyHighTier;
+import org.graalvm.compiler.core.phases.EconomyMidTier;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.debug.TimeSource;
+import org.graalvm.compiler.loop.phases.LoopFullUnrollPhase;
+import org.graalvm.compiler.loop.phases.LoopPartialUnrollPhase;
+import org.graalvm.compiler.loop.phases.LoopPeelingPhase;
+import org.graalvm.compiler.loop.phases.LoopPredicationPhase;
+import org.graalvm.compiler.loop.phases.LoopStripMiningPhase;
+import org.graalvm.compiler.loop.phases.LoopUnswitchingPhase;
+import org.graalvm.compiler.loop.phases.LoopVectorizationPhase;
+import org.graalvm.compiler.loop.phases.ReassociateInvariantPhase;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.options.OptionValues;
+import org.graalvm.compiler.phases.BasePhase;
+import org.graalvm.compiler.phases.PhaseSuite;
+import org.graalvm.compiler.phases.common.IterativeConditionalEliminationPhase;
+import org.graalvm.compiler.phases.common.inlining.InliningPhase;
+import org.graalvm.compiler.phases.tiers.Suites;
+import org.graalvm.compiler.virtual.phases.ea.EarlyReadEliminationPhase;
+import org.graalvm.compiler.virtual.phases.ea.PartialEscapePhase;
+
+import jdk.vm.ci.meta.ProfilingInfo;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+
+/**
+ * Limits the time and the graph size a compilation may spend on optional optimizations, so that
+ * huge methods degrade into cheaper code instead of stalling the compile queue or bailing out.
+ *
+ * A method is compiled with the economy high and mid tiers if its bytecode is larger than
+ * {@link Options#EconomyTiersBytecodeSize} or if the graph of a previous compilation was larger
+ * than {@link Options#CompilationNodeBudget}. All other compilations run the optional phases (e.g.,
+ * inlining, partial escape analysis and loop transformations) only while the graph is smaller than
+ * {@link Options#CompilationNodeBudget} and, if enabled, the compilation took less than
+ * {@link Options#CompilationTimeBudget}. Phases needed for correct code are never skipped.
+ *
+ * Both budgets are disabled by default, so that compilations use the suites unchanged. The time
+ * budget makes the generated code depend on the load of the machine. It is measured in thread CPU
+ * time if available, so that time spent waiting for the CPU or in a debugger does not count.
+ * Exhausted budgets are logged to the {@link DebugContext} of the compilation.
+ */
+public final class CompilationBudget {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Bytecode size above which a method is compiled with the economy high and mid tiers (0 to disable).", type = OptionType.Expert)
+        public static final OptionKey<Integer> EconomyTiersBytecodeSize = new OptionKey<>(8000);
+        @Option(help = "Graph size in nodes above which a compilation skips optional optimization phases (0 to disable).", type = OptionType.Expert)
+        public static final OptionKey<Integer> CompilationNodeBudget = new OptionKey<>(0);
+        @Option(help = "CPU time in milliseconds after which a compilation skips optional optimization phases (0 to disable).", type = OptionType.Expert)
+        public static final OptionKey<Integer> CompilationTimeBudget = new OptionKey<>(0);
+        // @formatter:on
+    }
+
+    private static final CounterKey ECONOMY_COMPILATIONS = DebugContext.counter("CompilationBudget_EconomyTiers");
+    private static final CounterKey SKIPPED_PHASES = DebugContext.counter("CompilationBudget_SkippedPhases");
+
+    /**
+     * Phases that only improve the generated code and can be skipped without affecting its
+     * correctness.
+     */
+    private static final Class<?>[] OPTIONAL_PHASES = {InliningPhase.class, IterativeConditionalEliminationPhase.class, LoopFullUnrollPhase.class, LoopPeelingPhase.class,
+                    LoopUnswitchingPhase.class, LoopVectorizationPhase.class, PartialEscapePhase.class, EarlyReadEliminationPhase.class, LoopStripMiningPhase.class,
+                    LoopPredicationPhase.class, LoopPartialUnrollPhase.class, ReassociateInvariantPhase.class};
+
+    private final long startTime;
+    private final long timeBudget;
+    private final int nodeBudget;
+    private boolean exhausted;
+
+    private CompilationBudget(int timeBudgetMillis, int nodeBudget) {
+        this.startTime = TimeSource.getTimeNS();
+        this.timeBudget = timeBudgetMillis * 1_000_000L;
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * Returns the suites to use for compiling {@code method} within the budget configured by
+     * {@code options}. The returned suites are either {@code suites} or derived from them.
+     */
+    public static Suites apply(Suites suites, ResolvedJavaMethod method, ProfilingInfo profilingInfo, OptionValues options, DebugContext debug) {
+        if (ImmutableCode.getValue(options)) {
+            return suites;
+        }
+        int bytecodeSize = Options.EconomyTiersBytecodeSize.getValue(options);
+        int nodeBudget = Options.CompilationNodeBudget.getValue(options);
+        int timeBudget = Options.CompilationTimeBudget.getValue(options);
+        int previousGraphSize = profilingInfo.getCompilerIRSize(StructuredGraph.class);
+        if ((bytecodeSize > 0 && method.getCodeSize() > bytecodeSize) || (nodeBudget > 0 && previousGraphSize > nodeBudget)) {
+            ECONOMY_COMPILATIONS.increment(debug);
+            CompilationStatistics stats = CompilationStatistics.current();
+            if (stats != null) {
+                stats.recordEconomyTiers();
+            }
+            return new Suites(new EconomyHighTier(options), new EconomyMidTier(options), suites.getLowTier());
+        }
+        if (nodeBudget <= 0 && timeBudget <= 0) {
+            return suites;
+        }
+        Suites result = suites.isImmutable() ? suites.copy() : suites;
+        CompilationBudget budget = new CompilationBudget(timeBudget, nodeBudget);
+        budget.wrapOptionalPhases(result.getHighTier());
+        budget.wrapOptionalPhases(result.getMidTier());
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <C> void wrapOptionalPhases(PhaseSuite<C> tier) {
+        for (Class<?> phaseClass : OPTIONAL_PHASES) {
+            ListIterator<BasePhase<? super C>> position = tier.findPhase((Class) phaseClass, true);
+            while (position != null) {
+                BasePhase<? super C> phase = position.previous();
+                position.set(new BudgetedPhase<>(phase, this));
+                position.next();
+                if (!PhaseSuite.findNextPhase(position, (Class) phaseClass, true)) {
+                    position = null;
+                }
+            }
+        }
+    }
+
+    private boolean isExhausted(StructuredGraph graph, CharSequence phaseName) {
+        if (!exhausted) {
+            if (nodeBudget > 0 && graph.getNodeCount() > nodeBudget) {
+                exhausted = true;
+                graph.getDebug().log(DebugContext.BASIC_LEVEL, "Node budget of %d exhausted before %s, skipping optional phases", nodeBudget, phaseName);
+            } else if (timeBudget > 0) {
+                long elapsed = TimeSource.getTimeNS() - startTime;
+                if (elapsed > timeBudget) {
+                    exhausted = true;
+                    graph.getDebug().log(DebugContext.BASIC_LEVEL, "Time budget of %d ms exhausted after %d ms before %s, skipping optional phases", timeBudget / 1_000_000L,
+                                    elapsed / 1_000_000L, phaseName);
+                }
+            }
+        }
+        return exhausted;
+    }
+
+    /**
+     * Runs an optional phase only while the budget of the compilation is not exhausted.
+     */
+    private static final class BudgetedPhase<C> extends BasePhase<C> {
+
+        private final BasePhase<? super C> phase;
+        private final CompilationBudget budget;
+
+        BudgetedPhase(BasePhase<? super C> phase, CompilationBudget budget) {
+            this.phase = phase;
+            this.budget = budget;
+        }
+
+        @Override
+        protected CharSequence getName() {
+            return phase.contractorName();
+        }
+
+        @Override
+        public boolean checkContract() {
+            return false;
+        }
+
+        @Override
+        protected void run(StructuredGraph graph, C context) {
+            if (budget.isExhausted(graph, getName())) {
+                SKIPPED_PHASES.increment(graph.getDebug());
+                CompilationStatistics stats = CompilationStatistics.current();
+                if (stats != null) {
+                    stats.recordSkippedPhase();
+                }
+                return;
+            }
+            phase.apply(graph, context);
+        }
+    }
+}
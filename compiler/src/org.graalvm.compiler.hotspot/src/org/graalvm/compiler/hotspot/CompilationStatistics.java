@@ -97,6 +97,8 @@ public final class CompilationStatistics {
     private int codeSize;
     @TimeValue private long duration;
     private long memoryUsed;
+    private boolean economyTiers;
+    private int skippedPhases;
     private final boolean osr;
     private final String holder;
     private final String name;
@@ -132,6 +134,20 @@ public final class CompilationStatistics {
         }
     }
 
+    /**
+     * Records that the compilation was degraded to the economy tiers by {@link CompilationBudget}.
+     */
+    public void recordEconomyTiers() {
+        economyTiers = true;
+    }
+
+    /**
+     * Records that {@link CompilationBudget} skipped an optional phase of the compilation.
+     */
+    public void recordSkippedPhase() {
+        skippedPhases++;
+    }
+
     public static CompilationStatistics current() {
         return current.get().isEmpty() ? null : current.get().getLast();
     }
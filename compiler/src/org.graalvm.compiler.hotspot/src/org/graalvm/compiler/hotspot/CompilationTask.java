@@ -176,6 +176,10 @@ public class CompilationTask {
                 try (DebugCloseable b = CodeInstallationTime.start(debug)) {
                     installMethod(debug, result);
                 }
+                HotMethodsRecorder recorder = compiler.getGraalRuntime().getHotMethodsRecorder();
+                if (recorder != null && installAsDefault && !isOSR && !compiler.getGraalRuntime().isBootstrapping()) {
+                    recorder.record(method);
+                }
                 // Installation is included in compilation time and memory usage reported by printer
                 printer.finish(result);
             }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.hotspot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.graalvm.compiler.debug.TTY;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.options.OptionValues;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+
+/**
+ * Records the methods that were compiled and installed by Graal so that they can be compiled ahead
+ * of time for the next run of the application.
+ *
+ * At VM shutdown, the recorded methods are merged into the file given by
+ * {@link Options#RecordCompiledMethods}, which uses the format of the {@code jaotc}
+ * {@code --compile-commands} file. Compiling these methods with
+ * {@code jaotc --compile-for-tiered --compile-commands <file>} and running with
+ * {@code -XX:AOTLibrary} lets a restarted VM start with compiled code for its hot methods. The AOT
+ * library records the fingerprint of each compiled class, and HotSpot ignores the code of classes
+ * whose bytes changed. Since the file is merged rather than overwritten, the methods of several
+ * runs, e.g., of a rolling restart, accumulate.
+ */
+public final class HotMethodsRecorder {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "File to which the methods compiled by Graal are added at VM shutdown, " +
+                       "in the format of the jaotc --compile-commands file.", type = OptionType.User)
+        public static final OptionKey<String> RecordCompiledMethods = new OptionKey<>(null);
+        // @formatter:on
+    }
+
+    private static final String COMPILE_ONLY = "compileOnly ";
+
+    private final Path file;
+    private final Set<String> methods = ConcurrentHashMap.newKeySet();
+
+    private HotMethodsRecorder(Path file) {
+        this.file = file;
+    }
+
+    public static HotMethodsRecorder maybeCreate(OptionValues options) {
+        String fileName = Options.RecordCompiledMethods.getValue(options);
+        return fileName == null || fileName.isEmpty() ? null : new HotMethodsRecorder(Paths.get(fileName));
+    }
+
+    /**
+     * Records a method whose normal entry was compiled and installed.
+     */
+    public void record(ResolvedJavaMethod method) {
+        methods.add(method.getDeclaringClass().toClassName() + "." + method.getName() + method.getSignature().toMethodDescriptor());
+    }
+
+    /**
+     * Merges the recorded methods into the file. The file is replaced atomically so that VMs
+     * shutting down concurrently do not corrupt it, although one of them may lose its additions.
+     */
+    public void write() {
+        if (methods.isEmpty()) {
+            return;
+        }
+        SortedSet<String> merged = new TreeSet<>(methods);
+        try {
+            if (Files.exists(file)) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    String trimmed = line.trim();
+                    if (trimmed.startsWith(COMPILE_ONLY)) {
+                        merged.add(trimmed.substring(COMPILE_ONLY.length()).trim());
+                    }
+                }
+            }
+            List<String> lines = new ArrayList<>(merged.size() + 1);
+            lines.add("# Methods compiled by Graal, for jaotc --compile-commands");
+            for (String method : merged) {
+                lines.add(COMPILE_ONLY + method);
+            }
+            Path absolute = file.toAbsolutePath();
+            Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            TTY.printf("Warning: could not record compiled methods in %s: %s%n", file, e);
+        }
+    }
+}
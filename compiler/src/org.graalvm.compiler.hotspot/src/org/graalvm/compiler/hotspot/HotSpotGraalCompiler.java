@@ -208,9 +208,9 @@ public class HotSpotGraalCompiler implements GraalJVMCICompiler, Cancellable {
         HotSpotProviders providers = backend.getProviders();
         final boolean isOSR = entryBCI != JVMCICompiler.INVOCATION_ENTRY_BCI;
 
-        Suites suites = getSuites(providers, options);
         LIRSuites lirSuites = getLIRSuites(providers, options);
         ProfilingInfo profilingInfo = useProfilingInfo ? method.getProfilingInfo(!isOSR, isOSR) : DefaultProfilingInfo.get(TriState.FALSE);
+        Suites suites = CompilationBudget.apply(getSuites(providers, options), method, profilingInfo, options, graph.getDebug());
         OptimisticOptimizations optimisticOpts = getOptimisticOpts(profilingInfo, options);
 
         /*
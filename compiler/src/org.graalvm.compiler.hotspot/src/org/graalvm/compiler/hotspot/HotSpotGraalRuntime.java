@@ -140,6 +140,7 @@ public final class HotSpotGraalRuntime implements HotSpotGraalRuntimeProvider {
     private AtomicReference<OptionValues> optionsRef = new AtomicReference<>();
 
     private final DiagnosticsOutputDirectory outputDirectory;
+    private final HotMethodsRecorder hotMethodsRecorder;
     private final Map<ExceptionAction, Integer> compilationProblemsPerAction;
 
     /**
@@ -164,6 +165,7 @@ public final class HotSpotGraalRuntime implements HotSpotGraalRuntimeProvider {
         garbageCollector = getSelectedGC();
 
         outputDirectory = new DiagnosticsOutputDirectory(options);
+        hotMethodsRecorder = HotMethodsRecorder.maybeCreate(options);
         compilationProblemsPerAction = new EnumMap<>(ExceptionAction.class);
         snippetCounterGroups = GraalOptions.SnippetCounters.getValue(options) ? new ArrayList<>() : null;
         CompilerConfiguration compilerConfiguration = compilerConfigurationFactory.createCompilerConfiguration();
@@ -408,6 +410,9 @@ public final class HotSpotGraalRuntime implements HotSpotGraalRuntimeProvider {
         BenchmarkCounters.shutdown(runtime(), optionsRef.get(), runtimeStartTime);
 
         outputDirectory.close();
+        if (hotMethodsRecorder != null) {
+            hotMethodsRecorder.write();
+        }
 
         shutdownLibGraal();
     }
@@ -441,6 +446,11 @@ public final class HotSpotGraalRuntime implements HotSpotGraalRuntimeProvider {
         return shutdown;
     }
 
+    @Override
+    public HotMethodsRecorder getHotMethodsRecorder() {
+        return hotMethodsRecorder;
+    }
+
     @Override
     public DiagnosticsOutputDirectory getOutputDirectory() {
         return outputDirectory;
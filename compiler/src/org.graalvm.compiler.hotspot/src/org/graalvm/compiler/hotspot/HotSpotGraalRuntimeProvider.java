@@ -96,6 +96,12 @@ public interface HotSpotGraalRuntimeProvider extends GraalRuntime, RuntimeProvid
      */
     DiagnosticsOutputDirectory getOutputDirectory();
 
+    /**
+     * Gets the recorder of the methods to compile ahead of time for the next run, or {@code null}
+     * if {@link HotMethodsRecorder.Options#RecordCompiledMethods} is not set.
+     */
+    HotMethodsRecorder getHotMethodsRecorder();
+
     /**
      * Gets the map used to count compilation problems at each {@link ExceptionAction} level. All
      * updates and queries to the map should be synchronized.
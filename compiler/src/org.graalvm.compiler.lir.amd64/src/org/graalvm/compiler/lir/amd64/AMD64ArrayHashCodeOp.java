@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.lir.amd64;
+
+import static jdk.vm.ci.code.ValueUtil.asRegister;
+import static org.graalvm.compiler.lir.LIRInstruction.OperandFlag.REG;
+
+import java.util.Objects;
+
+import org.graalvm.compiler.asm.Label;
+import org.graalvm.compiler.asm.amd64.AMD64Address;
+import org.graalvm.compiler.asm.amd64.AMD64Address.Scale;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.ConditionFlag;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.VexMRIOp;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.VexMoveOp;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.VexRMIOp;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.VexRMOp;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.VexRVMOp;
+import org.graalvm.compiler.asm.amd64.AMD64MacroAssembler;
+import org.graalvm.compiler.asm.amd64.AVXKind.AVXSize;
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.debug.GraalError;
+import org.graalvm.compiler.lir.LIRInstructionClass;
+import org.graalvm.compiler.lir.Opcode;
+import org.graalvm.compiler.lir.asm.ArrayDataPointerConstant;
+import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+
+import jdk.vm.ci.amd64.AMD64;
+import jdk.vm.ci.amd64.AMD64.CPUFeature;
+import jdk.vm.ci.amd64.AMD64Kind;
+import jdk.vm.ci.code.Register;
+import jdk.vm.ci.code.TargetDescription;
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+
+/**
+ * Computes the polynomial hash code {@code h = 31 * h + a[i]} over the first {@code length}
+ * elements of an array, starting with {@code h = initialValue}. This is the hash function of
+ * {@link java.util.Arrays#hashCode(int[])} and {@link String#hashCode()}.
+ *
+ * Eight elements are processed per iteration: each of the eight int lanes of an accumulator vector
+ * is multiplied by {@code 31^8} before the next (widened) elements are added, and the scalar
+ * initial value is multiplied by {@code 31^8} alongside. After the loop, lane {@code j} is weighted
+ * with {@code 31^(7 - j)} and all lanes are added to the scalar hash. The remaining elements are
+ * hashed one at a time. Since all arithmetic is modulo {@code 2^32}, the result is exactly the one
+ * of the sequential loop.
+ *
+ * The array must be non-null and {@code length} must be in bounds, i.e., the operation performs no
+ * checks.
+ */
+@Opcode("ARRAY_HASH_CODE")
+public final class AMD64ArrayHashCodeOp extends AMD64LIRInstruction {
+    public static final LIRInstructionClass<AMD64ArrayHashCodeOp> TYPE = LIRInstructionClass.create(AMD64ArrayHashCodeOp.class);
+
+    private static final AVXSize VECTOR_SIZE = AVXSize.YMM;
+    private static final int ELEMENTS_PER_VECTOR = 8;
+    private static final int POWER_OF_31_PER_VECTOR;
+    /** The weights {@code 31^7, 31^6, ..., 31^0} of the accumulator lanes. */
+    private static final int[] LANE_WEIGHTS = new int[ELEMENTS_PER_VECTOR];
+
+    static {
+        int power = 1;
+        for (int i = ELEMENTS_PER_VECTOR - 1; i >= 0; i--) {
+            LANE_WEIGHTS[i] = power;
+            power *= 31;
+        }
+        POWER_OF_31_PER_VECTOR = power;
+    }
+
+    private final JavaKind elementKind;
+    private final int arrayBaseOffset;
+    private final Scale elementScale;
+
+    @Def({REG}) protected Value resultValue;
+    @Alive({REG}) protected Value arrayValue;
+    @Alive({REG}) protected Value lengthValue;
+    @Alive({REG}) protected Value initialValue;
+
+    @Temp({REG}) protected Value indexTemp;
+    @Temp({REG}) protected Value limitTemp;
+    @Temp({REG}) protected Value elementTemp;
+    @Temp({REG}) protected Value accumulatorTemp;
+    @Temp({REG}) protected Value multiplierTemp;
+    @Temp({REG}) protected Value vectorTemp;
+
+    /**
+     * @param arrayKind the kind of the array, which determines the offset of the first element
+     * @param elementKind the kind in which the elements are read. {@link JavaKind#Boolean} denotes
+     *            zero-extended bytes, e.g., the Latin-1 characters of a compact string, and
+     *            {@link JavaKind#Char} in a {@code byte[]} denotes the characters of a UTF-16
+     *            string.
+     */
+    public AMD64ArrayHashCodeOp(LIRGeneratorTool tool, JavaKind arrayKind, JavaKind elementKind, Value result, Value array, Value length, Value initial) {
+        super(TYPE);
+        assert isSupported(tool.target(), elementKind);
+        this.elementKind = elementKind;
+        this.arrayBaseOffset = tool.getProviders().getMetaAccess().getArrayBaseOffset(arrayKind);
+        this.elementScale = Objects.requireNonNull(Scale.fromInt(elementKind.getByteCount()));
+
+        this.resultValue = result;
+        this.arrayValue = array;
+        this.lengthValue = length;
+        this.initialValue = initial;
+
+        this.indexTemp = tool.newVariable(LIRKind.value(AMD64Kind.QWORD));
+        this.limitTemp = tool.newVariable(LIRKind.value(AMD64Kind.QWORD));
+        this.elementTemp = tool.newVariable(LIRKind.value(AMD64Kind.DWORD));
+        this.accumulatorTemp = tool.newVariable(LIRKind.value(AMD64Kind.V256_DWORD));
+        this.multiplierTemp = tool.newVariable(LIRKind.value(AMD64Kind.V256_DWORD));
+        this.vectorTemp = tool.newVariable(LIRKind.value(AMD64Kind.V256_DWORD));
+    }
+
+    public static boolean isSupported(TargetDescription target, JavaKind elementKind) {
+        switch (elementKind) {
+            case Boolean:
+            case Byte:
+            case Short:
+            case Char:
+            case Int:
+                return ((AMD64) target.arch).getFeatures().contains(CPUFeature.AVX2);
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void emitCode(CompilationResultBuilder crb, AMD64MacroAssembler masm) {
+        Register hash = asRegister(resultValue);
+        Register index = asRegister(indexTemp);
+        Register limit = asRegister(limitTemp);
+        Register element = asRegister(elementTemp);
+        Register accumulator = asRegister(accumulatorTemp);
+        Register multiplier = asRegister(multiplierTemp);
+        Register vector = asRegister(vectorTemp);
+
+        masm.movl(hash, asRegister(initialValue));
+        masm.xorl(index, index);
+        masm.movslq(limit, asRegister(lengthValue));
+        masm.subq(limit, ELEMENTS_PER_VECTOR);
+
+        Label tail = new Label();
+        Label tailLoop = new Label();
+        Label done = new Label();
+        masm.cmpq(index, limit);
+        masm.jcc(ConditionFlag.Greater, tail);
+
+        VexRVMOp.VPXOR.emit(masm, VECTOR_SIZE, accumulator, accumulator, accumulator);
+        masm.movl(element, POWER_OF_31_PER_VECTOR);
+        masm.movdl(multiplier, element);
+        VexRMOp.VPBROADCASTD.emit(masm, VECTOR_SIZE, multiplier, multiplier);
+
+        Label loop = new Label();
+        masm.align(crb.target.wordSize * 2);
+        masm.bind(loop);
+        VexRVMOp.VPMULLD.emit(masm, VECTOR_SIZE, accumulator, accumulator, multiplier);
+        emitVectorLoad(masm, vector, elementAddress(index));
+        VexRVMOp.VPADDD.emit(masm, VECTOR_SIZE, accumulator, accumulator, vector);
+        masm.imull(hash, hash, POWER_OF_31_PER_VECTOR);
+        masm.addq(index, ELEMENTS_PER_VECTOR);
+        masm.cmpq(index, limit);
+        masm.jcc(ConditionFlag.LessEqual, loop);
+
+        // weight the lanes and add them to the hash
+        AMD64Address weights = (AMD64Address) crb.recordDataReferenceInCode(new ArrayDataPointerConstant(LANE_WEIGHTS, VECTOR_SIZE.getBytes()));
+        VexRVMOp.VPMULLD.emit(masm, VECTOR_SIZE, accumulator, accumulator, weights);
+        VexMRIOp.VEXTRACTI128.emit(masm, VECTOR_SIZE, vector, accumulator, 1);
+        VexRVMOp.VPADDD.emit(masm, AVXSize.XMM, accumulator, accumulator, vector);
+        VexRMIOp.VPSHUFD.emit(masm, AVXSize.XMM, vector, accumulator, 0x4E);
+        VexRVMOp.VPADDD.emit(masm, AVXSize.XMM, accumulator, accumulator, vector);
+        VexRMIOp.VPSHUFD.emit(masm, AVXSize.XMM, vector, accumulator, 0xB1);
+        VexRVMOp.VPADDD.emit(masm, AVXSize.XMM, accumulator, accumulator, vector);
+        masm.movdl(element, accumulator);
+        masm.addl(hash, element);
+
+        masm.bind(tail);
+        masm.addq(limit, ELEMENTS_PER_VECTOR);
+        masm.cmpq(index, limit);
+        masm.jcc(ConditionFlag.GreaterEqual, done);
+        masm.bind(tailLoop);
+        masm.imull(hash, hash, 31);
+        emitScalarLoad(masm, element, elementAddress(index));
+        masm.addl(hash, element);
+        masm.incq(index);
+        masm.cmpq(index, limit);
+        masm.jcc(ConditionFlag.Less, tailLoop);
+        masm.bind(done);
+    }
+
+    private AMD64Address elementAddress(Register index) {
+        return new AMD64Address(asRegister(arrayValue), index, elementScale, arrayBaseOffset);
+    }
+
+    /**
+     * Loads eight elements into the int lanes of {@code dst}, sign- or zero-extending them
+     * according to {@link #elementKind}.
+     */
+    private void emitVectorLoad(AMD64MacroAssembler masm, Register dst, AMD64Address src) {
+        switch (elementKind) {
+            case Boolean:
+                VexRMOp.VPMOVZXBD.emit(masm, VECTOR_SIZE, dst, src);
+                break;
+            case Byte:
+                VexRMOp.VPMOVSXBD.emit(masm, VECTOR_SIZE, dst, src);
+                break;
+            case Short:
+                VexRMOp.VPMOVSXWD.emit(masm, VECTOR_SIZE, dst, src);
+                break;
+            case Char:
+                VexRMOp.VPMOVZXWD.emit(masm, VECTOR_SIZE, dst, src);
+                break;
+            case Int:
+                VexMoveOp.VMOVDQU32.emit(masm, VECTOR_SIZE, dst, src);
+                break;
+            default:
+                throw GraalError.shouldNotReachHere(elementKind.toString());
+        }
+    }
+
+    private void emitScalarLoad(AMD64MacroAssembler masm, Register dst, AMD64Address src) {
+        switch (elementKind) {
+            case Boolean:
+                masm.movzbl(dst, src);
+                break;
+            case Byte:
+                masm.movsbl(dst, src);
+                break;
+            case Short:
+                masm.movswl(dst, src);
+                break;
+            case Char:
+                masm.movzwl(dst, src);
+                break;
+            case Int:
+                masm.movl(dst, src);
+                break;
+            default:
+                throw GraalError.shouldNotReachHere(elementKind.toString());
+        }
+    }
+}
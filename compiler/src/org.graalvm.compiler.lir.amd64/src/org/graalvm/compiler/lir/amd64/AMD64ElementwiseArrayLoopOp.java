@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.lir.amd64;
+
+import static jdk.vm.ci.code.ValueUtil.asRegister;
+import static org.graalvm.compiler.lir.LIRInstruction.OperandFlag.ILLEGAL;
+import static org.graalvm.compiler.lir.LIRInstruction.OperandFlag.REG;
+
+import java.util.Objects;
+
+import org.graalvm.compiler.asm.Label;
+import org.graalvm.compiler.asm.amd64.AMD64Address;
+import org.graalvm.compiler.asm.amd64.AMD64Address.Scale;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.ConditionFlag;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.VexMoveOp;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.VexRMOp;
+import org.graalvm.compiler.asm.amd64.AMD64Assembler.VexRVMOp;
+import org.graalvm.compiler.asm.amd64.AMD64MacroAssembler;
+import org.graalvm.compiler.asm.amd64.AVXKind.AVXSize;
+import org.graalvm.compiler.core.common.LIRKind;
+import org.graalvm.compiler.core.common.calc.ElementwiseArrayOperation;
+import org.graalvm.compiler.debug.GraalError;
+import org.graalvm.compiler.lir.LIRInstructionClass;
+import org.graalvm.compiler.lir.Opcode;
+import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+
+import jdk.vm.ci.amd64.AMD64;
+import jdk.vm.ci.amd64.AMD64.CPUFeature;
+import jdk.vm.ci.amd64.AMD64Kind;
+import jdk.vm.ci.code.Register;
+import jdk.vm.ci.code.TargetDescription;
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+
+/**
+ * Emits a vector loop that applies an {@link ElementwiseArrayOperation} to whole 256-bit vectors of
+ * array elements, starting at {@code fromIndex}. The loop stops before the first vector that would
+ * extend beyond {@code toIndex} and returns the index at which it stopped. Bounds and null checks
+ * must have been performed by the caller.
+ */
+@Opcode("ELEMENTWISE_ARRAY_LOOP")
+public final class AMD64ElementwiseArrayLoopOp extends AMD64LIRInstruction {
+    public static final LIRInstructionClass<AMD64ElementwiseArrayLoopOp> TYPE = LIRInstructionClass.create(AMD64ElementwiseArrayLoopOp.class);
+
+    private static final AVXSize VECTOR_SIZE = AVXSize.YMM;
+
+    private final JavaKind kind;
+    private final ElementwiseArrayOperation operation;
+    private final int arrayBaseOffset;
+    private final Scale arrayIndexScale;
+
+    @Def({REG}) protected Value resultValue;
+    @Alive({REG}) protected Value destinationValue;
+    @Alive({REG, ILLEGAL}) protected Value source1Value;
+    @Alive({REG, ILLEGAL}) protected Value source2Value;
+    @Alive({REG, ILLEGAL}) protected Value scalarValue;
+    @Alive({REG}) protected Value fromIndexValue;
+    @Alive({REG}) protected Value toIndexValue;
+
+    @Temp({REG}) protected Value limitTemp;
+    @Temp({REG}) protected Value vectorTemp;
+    @Temp({REG, ILLEGAL}) protected Value scalarVectorTemp;
+
+    public AMD64ElementwiseArrayLoopOp(LIRGeneratorTool tool, JavaKind kind, ElementwiseArrayOperation operation, Value result, Value destination, Value source1, Value source2, Value scalar,
+                    Value fromIndex, Value toIndex) {
+        super(TYPE);
+        assert isSupported(tool.target()) && operation.supports(kind);
+        this.kind = kind;
+        this.operation = operation;
+        this.arrayBaseOffset = tool.getProviders().getMetaAccess().getArrayBaseOffset(kind);
+        this.arrayIndexScale = Objects.requireNonNull(Scale.fromInt(tool.getProviders().getMetaAccess().getArrayIndexScale(kind)));
+
+        this.resultValue = result;
+        this.destinationValue = destination;
+        this.source1Value = source1;
+        this.source2Value = source2;
+        this.scalarValue = scalar;
+        this.fromIndexValue = fromIndex;
+        this.toIndexValue = toIndex;
+
+        this.limitTemp = tool.newVariable(LIRKind.value(AMD64Kind.QWORD));
+        this.vectorTemp = tool.newVariable(LIRKind.value(AMD64Kind.V256_BYTE));
+        this.scalarVectorTemp = Value.ILLEGAL.equals(scalar) ? Value.ILLEGAL : tool.newVariable(LIRKind.value(AMD64Kind.V256_BYTE));
+    }
+
+    public static boolean isSupported(TargetDescription target) {
+        return ((AMD64) target.arch).getFeatures().contains(CPUFeature.AVX2);
+    }
+
+    @Override
+    public void emitCode(CompilationResultBuilder crb, AMD64MacroAssembler masm) {
+        Register index = asRegister(resultValue);
+        Register limit = asRegister(limitTemp);
+        Register vector = asRegister(vectorTemp);
+        int elementsPerVector = VECTOR_SIZE.getBytes() / kind.getByteCount();
+
+        /*
+         * The index is a non-negative int, so the 64-bit arithmetic below cannot overflow. The limit
+         * is the last index at which a whole vector still fits.
+         */
+        masm.movslq(index, asRegister(fromIndexValue));
+        masm.movslq(limit, asRegister(toIndexValue));
+        masm.subq(limit, elementsPerVector);
+        if (!Value.ILLEGAL.equals(scalarValue)) {
+            emitBroadcast(masm, asRegister(scalarVectorTemp), asRegister(scalarValue));
+        }
+
+        Label loop = new Label();
+        Label done = new Label();
+        masm.cmpq(index, limit);
+        masm.jcc(ConditionFlag.Greater, done);
+
+        masm.align(crb.target.wordSize * 2);
+        masm.bind(loop);
+        AMD64Address destination = elementAddress(destinationValue, index);
+        if (operation == ElementwiseArrayOperation.COPY && Value.ILLEGAL.equals(source1Value)) {
+            VexMoveOp.VMOVDQU32.emit(masm, VECTOR_SIZE, destination, asRegister(scalarVectorTemp));
+        } else {
+            VexMoveOp.VMOVDQU32.emit(masm, VECTOR_SIZE, vector, elementAddress(source1Value, index));
+            if (operation.isBinary()) {
+                VexRVMOp op = arithmeticOp();
+                if (Value.ILLEGAL.equals(source2Value)) {
+                    op.emit(masm, VECTOR_SIZE, vector, vector, asRegister(scalarVectorTemp));
+                } else {
+                    op.emit(masm, VECTOR_SIZE, vector, vector, elementAddress(source2Value, index));
+                }
+            }
+            VexMoveOp.VMOVDQU32.emit(masm, VECTOR_SIZE, destination, vector);
+        }
+        masm.addq(index, elementsPerVector);
+        masm.cmpq(index, limit);
+        masm.jcc(ConditionFlag.LessEqual, loop);
+        masm.bind(done);
+    }
+
+    private AMD64Address elementAddress(Value array, Register index) {
+        return new AMD64Address(asRegister(array), index, arrayIndexScale, arrayBaseOffset);
+    }
+
+    /**
+     * Fills {@code vectorDst} with copies of the scalar, which is in a general purpose register for
+     * integer kinds and in an XMM register for floating point kinds.
+     */
+    private void emitBroadcast(AMD64MacroAssembler masm, Register vectorDst, Register scalar) {
+        switch (kind) {
+            case Byte:
+                masm.movdl(vectorDst, scalar);
+                VexRMOp.VPBROADCASTB.emit(masm, VECTOR_SIZE, vectorDst, vectorDst);
+                break;
+            case Short:
+            case Char:
+                masm.movdl(vectorDst, scalar);
+                VexRMOp.VPBROADCASTW.emit(masm, VECTOR_SIZE, vectorDst, vectorDst);
+                break;
+            case Int:
+                masm.movdl(vectorDst, scalar);
+                VexRMOp.VPBROADCASTD.emit(masm, VECTOR_SIZE, vectorDst, vectorDst);
+                break;
+            case Long:
+                masm.movdq(vectorDst, scalar);
+                VexRMOp.VPBROADCASTQ.emit(masm, VECTOR_SIZE, vectorDst, vectorDst);
+                break;
+            case Float:
+                VexRMOp.VPBROADCASTD.emit(masm, VECTOR_SIZE, vectorDst, scalar);
+                break;
+            case Double:
+                VexRMOp.VPBROADCASTQ.emit(masm, VECTOR_SIZE, vectorDst, scalar);
+                break;
+            default:
+                throw GraalError.shouldNotReachHere(kind.toString());
+        }
+    }
+
+    private VexRVMOp arithmeticOp() {
+        switch (operation) {
+            case ADD:
+                return select(VexRVMOp.VPADDB, VexRVMOp.VPADDW, VexRVMOp.VPADDD, VexRVMOp.VPADDQ, VexRVMOp.VADDPS, VexRVMOp.VADDPD);
+            case SUB:
+                return select(VexRVMOp.VPSUBB, VexRVMOp.VPSUBW, VexRVMOp.VPSUBD, VexRVMOp.VPSUBQ, VexRVMOp.VSUBPS, VexRVMOp.VSUBPD);
+            case MUL:
+                return select(null, VexRVMOp.VPMULLW, VexRVMOp.VPMULLD, null, VexRVMOp.VMULPS, VexRVMOp.VMULPD);
+            case AND:
+                return select(VexRVMOp.VPAND, VexRVMOp.VPAND, VexRVMOp.VPAND, VexRVMOp.VPAND, null, null);
+            case OR:
+                return select(VexRVMOp.VPOR, VexRVMOp.VPOR, VexRVMOp.VPOR, VexRVMOp.VPOR, null, null);
+            case XOR:
+                return select(VexRVMOp.VPXOR, VexRVMOp.VPXOR, VexRVMOp.VPXOR, VexRVMOp.VPXOR, null, null);
+            default:
+                throw GraalError.shouldNotReachHere(operation.toString());
+        }
+    }
+
+    private VexRVMOp select(VexRVMOp byteOp, VexRVMOp wordOp, VexRVMOp dwordOp, VexRVMOp qwordOp, VexRVMOp floatOp, VexRVMOp doubleOp) {
+        VexRVMOp result;
+        switch (kind) {
+            case Byte:
+                result = byteOp;
+                break;
+            case Short:
+            case Char:
+                result = wordOp;
+                break;
+            case Int:
+                result = dwordOp;
+                break;
+            case Long:
+                result = qwordOp;
+                break;
+            case Float:
+                result = floatOp;
+                break;
+            case Double:
+                result = doubleOp;
+                break;
+            default:
+                result = null;
+        }
+        if (result == null) {
+            throw GraalError.shouldNotReachHere(operation + " " + kind);
+        }
+        return result;
+    }
+}
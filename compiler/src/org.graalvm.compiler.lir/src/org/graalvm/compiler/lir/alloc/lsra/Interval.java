@@ -33,6 +33,7 @@ import static jdk.vm.ci.code.ValueUtil.isRegister;
 import static jdk.vm.ci.code.ValueUtil.isStackSlot;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
@@ -437,6 +438,14 @@ public final class Interval {
 
     protected static final int END_MARKER_OPERAND_NUMBER = Integer.MIN_VALUE;
 
+    private static final int[] NO_RANGES = new int[0];
+
+    /**
+     * Number of {@link #ranges} slots allocated for the first range added to an interval. Most
+     * intervals have only one or two ranges.
+     */
+    private static final int INITIAL_RANGES_LENGTH = 4;
+
     /**
      * The {@linkplain RegisterValue register} or {@linkplain Variable variable} for this interval
      * prior to register allocation.
@@ -466,10 +475,23 @@ public final class Interval {
     private ValueKind<?> kind;
 
     /**
-     * The head of the list of ranges describing this interval. This list is sorted by
-     * {@linkplain LIRInstruction#id instruction ids}.
+     * The ranges describing this interval, stored as {@code (from, to)} pairs of
+     * {@linkplain LIRInstruction#id instruction ids} in the slots {@link #rangesStart} (inclusive)
+     * to {@link #rangesEnd} (exclusive). The pairs are sorted by instruction id. Ranges are built
+     * in reverse order, so the array is filled from its end towards its start. Each range starts
+     * inclusive and ends exclusive.
+     */
+    private int[] ranges;
+
+    /**
+     * Index of the {@code from} slot of the first range in {@link #ranges}.
      */
-    private Range first;
+    private int rangesStart;
+
+    /**
+     * Index one past the {@code to} slot of the last range in {@link #ranges}.
+     */
+    private int rangesEnd;
 
     /**
      * List of (use-positions, register-priorities) pairs, sorted by use-positions.
@@ -477,9 +499,11 @@ public final class Interval {
     private UsePosList usePosList;
 
     /**
-     * Iterator used to traverse the ranges of an interval.
+     * Iterator used to traverse the ranges of an interval. This is the index of the {@code from}
+     * slot of the current range in {@link #ranges}, or {@link #rangesEnd} if the iteration is at
+     * its end.
      */
-    private Range current;
+    private int current;
 
     /**
      * Link to next interval in a sorted list of intervals that ends with
@@ -584,12 +608,40 @@ public final class Interval {
         this.kind = kind;
     }
 
-    public Range first() {
-        return first;
+    /**
+     * Gets the number of ranges of this interval.
+     */
+    public int numberOfRanges() {
+        return (rangesEnd - rangesStart) >> 1;
+    }
+
+    /**
+     * Gets the start (inclusive) of the {@code index}-th range of this interval.
+     */
+    public int rangeFrom(int index) {
+        assert index >= 0 && index < numberOfRanges();
+        return ranges[rangesStart + (index << 1)];
+    }
+
+    /**
+     * Gets the end (exclusive) of the {@code index}-th range of this interval.
+     */
+    public int rangeTo(int index) {
+        assert index >= 0 && index < numberOfRanges();
+        return ranges[rangesStart + (index << 1) + 1];
     }
 
     public int from() {
-        return first.from;
+        return rangesStart == rangesEnd ? Integer.MAX_VALUE : ranges[rangesStart];
+    }
+
+    /**
+     * Moves the start of the first range of this interval to {@code from}.
+     */
+    void setFrom(int from) {
+        assert rangesStart < rangesEnd : "interval has no range";
+        assert from < ranges[rangesStart + 1] : "invalid range";
+        ranges[rangesStart] = from;
     }
 
     int to() {
@@ -683,44 +735,102 @@ public final class Interval {
 
     // test intersection
     boolean intersects(Interval i) {
-        return first.intersects(i.first);
+        return intersectsAt(i) != -1;
     }
 
     int intersectsAt(Interval i) {
-        return first.intersectsAt(i.first);
+        return intersectsAt(rangesStart, i, i.rangesStart);
+    }
+
+    /**
+     * Returns the first position at which the ranges of this interval starting at index {@code r1}
+     * intersect with the ranges of {@code other} starting at index {@code r2}, or -1 if there is
+     * no such position.
+     */
+    private int intersectsAt(int r1, Interval other, int r2) {
+        final int[] ranges1 = ranges;
+        final int end1 = rangesEnd;
+        final int[] ranges2 = other.ranges;
+        final int end2 = other.rangesEnd;
+        int i1 = r1;
+        int i2 = r2;
+
+        assert i1 < end1 && i2 < end2 : "empty ranges not allowed";
+
+        do {
+            int from1 = ranges1[i1];
+            int from2 = ranges2[i2];
+            if (from1 < from2) {
+                if (ranges1[i1 + 1] <= from2) {
+                    i1 += 2;
+                    if (i1 == end1) {
+                        return -1;
+                    }
+                } else {
+                    return from2;
+                }
+            } else {
+                if (from2 < from1) {
+                    if (ranges2[i2 + 1] <= from1) {
+                        i2 += 2;
+                        if (i2 == end2) {
+                            return -1;
+                        }
+                    } else {
+                        return from1;
+                    }
+                } else { // from1 == from2
+                    if (from1 == ranges1[i1 + 1]) {
+                        i1 += 2;
+                        if (i1 == end1) {
+                            return -1;
+                        }
+                    } else {
+                        if (from2 == ranges2[i2 + 1]) {
+                            i2 += 2;
+                            if (i2 == end2) {
+                                return -1;
+                            }
+                        } else {
+                            return from1;
+                        }
+                    }
+                }
+            }
+        } while (true);
     }
 
     // range iteration
     void rewindRange() {
-        current = first;
+        current = rangesStart;
     }
 
     void nextRange() {
         assert !this.isEndMarker() : "not allowed on sentinel";
-        current = current.next;
+        current += 2;
     }
 
     int currentFrom() {
-        return current.from;
+        return current == rangesEnd ? Integer.MAX_VALUE : ranges[current];
     }
 
     int currentTo() {
-        return current.to;
+        return current == rangesEnd ? Integer.MAX_VALUE : ranges[current + 1];
     }
 
     boolean currentAtEnd() {
-        return current.isEndMarker();
+        return current == rangesEnd;
     }
 
     boolean currentIntersects(Interval it) {
-        return current.intersects(it.current);
+        return currentIntersectsAt(it) != -1;
     }
 
     int currentIntersectsAt(Interval it) {
-        return current.intersectsAt(it.current);
+        return intersectsAt(current, it, it.current);
     }
 
-    Interval(AllocatableValue operand, int operandNumber, Interval intervalEndMarker, Range rangeEndMarker) {
+    Interval(AllocatableValue operand, int operandNumber, Interval intervalEndMarker) {
         assert operand != null;
         this.operand = operand;
         this.operandNumber = operandNumber;
@@ -730,9 +840,8 @@ public final class Interval {
             assert isIllegal(operand) || isVariable(operand);
         }
         this.kind = LIRKind.Illegal;
-        this.first = rangeEndMarker;
+        this.ranges = NO_RANGES;
         this.usePosList = new UsePosList(4);
-        this.current = rangeEndMarker;
         this.next = intervalEndMarker;
         this.cachedTo = -1;
         this.spillState = SpillState.NoDefinitionFound;
@@ -770,13 +879,8 @@ public final class Interval {
     }
 
     int calcTo() {
-        assert !first.isEndMarker() : "interval has no range";
-
-        Range r = first;
-        while (!r.next.isEndMarker()) {
-            r = r.next;
-        }
-        return r.to;
+        assert rangesStart < rangesEnd : "interval has no range";
+        return ranges[rangesEnd - 1];
     }
 
     // consistency check of split-children
@@ -1061,20 +1165,39 @@ public final class Interval {
 
     public void addRange(int from, int to) {
         assert from < to : "invalid range";
-        assert first().isEndMarker() || to < first().next.from : "not inserting at begin of interval";
-        assert from <= first().to : "not inserting at begin of interval";
+        assert numberOfRanges() < 2 || to < ranges[rangesStart + 2] : "not inserting at begin of interval";
+        assert rangesStart == rangesEnd || from <= ranges[rangesStart + 1] : "not inserting at begin of interval";
 
-        if (first.from <= to) {
-            assert !first.isEndMarker();
+        if (rangesStart < rangesEnd && ranges[rangesStart] <= to) {
             // join intersecting ranges
-            first.from = Math.min(from, first().from);
-            first.to = Math.max(to, first().to);
+            ranges[rangesStart] = Math.min(from, ranges[rangesStart]);
+            ranges[rangesStart + 1] = Math.max(to, ranges[rangesStart + 1]);
         } else {
             // insert new range
-            first = new Range(from, to, first());
+            if (rangesStart == 0) {
+                growRanges();
+            }
+            rangesStart -= 2;
+            ranges[rangesStart] = from;
+            ranges[rangesStart + 1] = to;
         }
     }
 
+    /**
+     * Makes room for more ranges in front of the existing ones.
+     */
+    private void growRanges() {
+        int length = rangesEnd - rangesStart;
+        int newLength = Math.max(INITIAL_RANGES_LENGTH, length << 1);
+        int[] newRanges = new int[newLength];
+        System.arraycopy(ranges, rangesStart, newRanges, newLength - length, length);
+        int shift = newLength - rangesEnd;
+        current += shift;
+        rangesStart += shift;
+        rangesEnd = newLength;
+        ranges = newRanges;
+    }
+
     Interval newSplitChild(LinearScan allocator) {
         // allocate new interval
         Interval parent = splitParent();
@@ -1118,25 +1241,27 @@ public final class Interval {
         Interval result = newSplitChild(allocator);
 
         // split the ranges
-        Range prev = null;
-        Range cur = first;
-        while (!cur.isEndMarker() && cur.to <= splitPos) {
-            prev = cur;
-            cur = cur.next;
+        int cur = rangesStart;
+        while (cur < rangesEnd && ranges[cur + 1] <= splitPos) {
+            cur += 2;
         }
-        assert !cur.isEndMarker() : "split interval after end of last range";
-
-        if (cur.from < splitPos) {
-            result.first = new Range(splitPos, cur.to, cur.next);
-            cur.to = splitPos;
-            cur.next = allocator.rangeEndMarker;
-
+        assert cur < rangesEnd : "split interval after end of last range";
+
+        result.ranges = Arrays.copyOfRange(ranges, cur, rangesEnd);
+        result.rangesStart = 0;
+        result.rangesEnd = result.ranges.length;
+        result.current = 0;
+        if (ranges[cur] < splitPos) {
+            result.ranges[0] = splitPos;
+            ranges[cur + 1] = splitPos;
+            rangesEnd = cur + 2;
         } else {
-            assert prev != null : "split before start of first range";
-            result.first = cur;
-            prev.next = allocator.rangeEndMarker;
+            assert cur > rangesStart : "split before start of first range";
+            rangesEnd = cur;
+        }
+        if (current > rangesEnd) {
+            current = rangesEnd;
         }
-        result.current = result.first;
         cachedTo = -1; // clear cached value
 
         // split list of use positions
@@ -1163,7 +1288,7 @@ public final class Interval {
     Interval splitFromStart(int splitPos, LinearScan allocator) {
         assert isVariable(operand) : "cannot split fixed intervals";
         assert splitPos > from() && splitPos < to() : "can only split inside interval";
-        assert splitPos > first.from && splitPos <= first.to : "can only split inside first range";
+        assert splitPos > ranges[rangesStart] && splitPos <= ranges[rangesStart + 1] : "can only split inside first range";
         assert firstUsage(RegisterPriority.None) > splitPos : "can not split when use positions are present";
 
         // allocate new interval
@@ -1171,13 +1296,13 @@ public final class Interval {
 
         // the new interval has only one range (checked by assertion above,
         // so the splitting of the ranges is very simple
-        result.addRange(first.from, splitPos);
+        result.addRange(ranges[rangesStart], splitPos);
 
-        if (splitPos == first.to) {
-            assert !first.next.isEndMarker() : "must not be at end";
-            first = first.next;
+        if (splitPos == ranges[rangesStart + 1]) {
+            assert numberOfRanges() > 1 : "must not be at end";
+            rangesStart += 2;
         } else {
-            first.from = splitPos;
+            ranges[rangesStart] = splitPos;
         }
 
         return result;
@@ -1185,18 +1310,18 @@ public final class Interval {
 
     // returns true if the opId is inside the interval
     boolean covers(int opId, LIRInstruction.OperandMode mode) {
-        Range cur = first;
+        int cur = rangesStart;
 
-        while (!cur.isEndMarker() && cur.to < opId) {
-            cur = cur.next;
+        while (cur < rangesEnd && ranges[cur + 1] < opId) {
+            cur += 2;
         }
-        if (!cur.isEndMarker()) {
-            assert cur.to != cur.next.from : "ranges not separated";
+        if (cur < rangesEnd) {
+            assert cur + 2 == rangesEnd || ranges[cur + 1] != ranges[cur + 2] : "ranges not separated";
 
             if (mode == LIRInstruction.OperandMode.DEF) {
-                return cur.from <= opId && opId < cur.to;
+                return ranges[cur] <= opId && opId < ranges[cur + 1];
             } else {
-                return cur.from <= opId && opId <= cur.to;
+                return ranges[cur] <= opId && opId <= ranges[cur + 1];
             }
         }
         return false;
@@ -1208,28 +1333,27 @@ public final class Interval {
         assert holeFrom < holeTo : "check";
         assert from() <= holeFrom && holeTo <= to() : "index out of interval";
 
-        Range cur = first;
-        while (!cur.isEndMarker()) {
-            assert cur.to < cur.next.from : "no space between ranges";
+        for (int cur = rangesStart; cur < rangesEnd; cur += 2) {
+            int curFrom = ranges[cur];
+            int curTo = ranges[cur + 1];
+            assert cur + 2 == rangesEnd || curTo < ranges[cur + 2] : "no space between ranges";
 
             // hole-range starts before this range . hole
-            if (holeFrom < cur.from) {
+            if (holeFrom < curFrom) {
                 return true;
 
                 // hole-range completely inside this range . no hole
             } else {
-                if (holeTo <= cur.to) {
+                if (holeTo <= curTo) {
                     return false;
 
                     // overlapping of hole-range with this range . hole
                 } else {
-                    if (holeFrom <= cur.to) {
+                    if (holeFrom <= curTo) {
                         return true;
                     }
                 }
             }
-
-            cur = cur.next;
         }
 
         return false;
@@ -1239,7 +1363,7 @@ public final class Interval {
     public String toString() {
         String from = "?";
         String to = "?";
-        if (first != null && !first.isEndMarker()) {
+        if (rangesStart < rangesEnd) {
             from = String.valueOf(from());
             // to() may cache a computed value, modifying the current object, which is a bad idea
             // for a printing function. Compute it directly instead.
@@ -1278,14 +1402,11 @@ public final class Interval {
         buf.append("} ranges{");
 
         // print ranges
-        Range cur = first;
-        while (!cur.isEndMarker()) {
-            if (cur != first) {
+        for (int cur = rangesStart; cur < rangesEnd; cur += 2) {
+            if (cur != rangesStart) {
                 buf.append(", ");
             }
-            buf.append(cur);
-            cur = cur.next;
-            assert cur != null : "range list not closed with range sentinel";
+            buf.append('[').append(ranges[cur]).append(", ").append(ranges[cur + 1]).append(']');
         }
         buf.append("} uses{");
 
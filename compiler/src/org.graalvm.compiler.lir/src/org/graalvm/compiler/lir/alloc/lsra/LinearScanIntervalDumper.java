@@ -55,11 +55,8 @@ class LinearScanIntervalDumper implements IntervalDumper {
         visitor.visitIntervalStart(interval.splitParent().operand, operand, interval.location(), hint, type);
 
         // print ranges
-        Range cur = interval.first();
-        while (!cur.isEndMarker()) {
-            visitor.visitRange(cur.from, cur.to);
-            cur = cur.next;
-            assert cur != null : "range list not closed with range sentinel";
+        for (int i = 0; i < interval.numberOfRanges(); i++) {
+            visitor.visitRange(interval.rangeFrom(i), interval.rangeTo(i));
         }
 
         // print use positions
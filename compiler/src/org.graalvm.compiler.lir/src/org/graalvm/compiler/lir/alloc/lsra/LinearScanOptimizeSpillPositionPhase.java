@@ -187,12 +187,14 @@ public final class LinearScanOptimizeSpillPositionPhase extends LinearScanAlloca
      */
     private class IntervalBlockIterator implements Iterator<AbstractBlockBase<?>> {
 
-        Range range;
+        final Interval interval;
+        int range;
         AbstractBlockBase<?> block;
 
         IntervalBlockIterator(Interval interval) {
-            range = interval.first();
-            block = allocator.blockForId(range.from);
+            this.interval = interval;
+            range = 0;
+            block = allocator.blockForId(interval.from());
         }
 
         @Override
@@ -201,12 +203,12 @@ public final class LinearScanOptimizeSpillPositionPhase extends LinearScanAlloca
             int nextBlockIndex = block.getLinearScanNumber() + 1;
             if (nextBlockIndex < allocator.sortedBlocks().length) {
                 block = allocator.sortedBlocks()[nextBlockIndex];
-                if (range.to <= allocator.getFirstLirInstructionId(block)) {
-                    range = range.next;
-                    if (range.isEndMarker()) {
+                if (interval.rangeTo(range) <= allocator.getFirstLirInstructionId(block)) {
+                    range++;
+                    if (range == interval.numberOfRanges()) {
                         block = null;
                     } else {
-                        block = allocator.blockForId(range.from);
+                        block = allocator.blockForId(interval.rangeFrom(range));
                     }
                 }
             } else {
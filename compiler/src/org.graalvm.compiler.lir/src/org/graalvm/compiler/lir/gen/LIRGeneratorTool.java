@@ -27,6 +27,7 @@ package org.graalvm.compiler.lir.gen;
 import org.graalvm.compiler.core.common.CompressEncoding;
 import org.graalvm.compiler.core.common.LIRKind;
 import org.graalvm.compiler.core.common.calc.Condition;
+import org.graalvm.compiler.core.common.calc.ElementwiseArrayOperation;
 import org.graalvm.compiler.core.common.cfg.AbstractBlockBase;
 import org.graalvm.compiler.core.common.spi.CodeGenProviders;
 import org.graalvm.compiler.core.common.spi.ForeignCallLinkage;
@@ -294,6 +295,31 @@ public interface LIRGeneratorTool extends DiagnosticLIRGeneratorTool, ValueKindF
         throw GraalError.unimplemented("String.indexOf substitution is not implemented on this architecture");
     }
 
+    /**
+     * Computes {@code h = 31 * h + array[i]} for the first {@code length} elements of
+     * {@code array}, starting with {@code h = initialValue}. The elements are read as
+     * {@code elementKind}, where {@link JavaKind#Boolean} denotes zero-extended bytes, from an
+     * array of {@code arrayKind}.
+     */
+    @SuppressWarnings("unused")
+    default Variable emitArrayHashCode(JavaKind arrayKind, JavaKind elementKind, Value array, Value length, Value initialValue) {
+        throw GraalError.unimplemented("Array.hashCode substitution is not implemented on this architecture");
+    }
+
+    /**
+     * Applies {@code operation} element-wise to the arrays in the index range
+     * {@code [fromIndex, toIndex)} with vector instructions. The second operand is either
+     * {@code source2} or the broadcast {@code scalar}. Elements that do not fill a whole vector are
+     * left to the caller.
+     *
+     * @return the index of the first element that was not processed
+     */
+    @SuppressWarnings("unused")
+    default Variable emitElementwiseArrayLoop(JavaKind kind, ElementwiseArrayOperation operation, Value destination, Value source1, Value source2, Value scalar, Value fromIndex,
+                    Value toIndex) {
+        throw GraalError.unimplemented("Loop vectorization is not implemented on this architecture");
+    }
+
     /*
      * The routines emitStringLatin1Inflate/3 and emitStringUTF16Compress/3 models a simplified
      * version of
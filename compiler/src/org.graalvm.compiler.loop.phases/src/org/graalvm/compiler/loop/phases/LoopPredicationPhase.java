@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.phases;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.compiler.core.common.cfg.AbstractControlFlowGraph;
+import org.graalvm.compiler.core.common.type.IntegerStamp;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.loop.BasicInductionVariable;
+import org.graalvm.compiler.loop.CountedLoopInfo;
+import org.graalvm.compiler.loop.DerivedOffsetInductionVariable;
+import org.graalvm.compiler.loop.InductionVariable;
+import org.graalvm.compiler.loop.LoopEx;
+import org.graalvm.compiler.loop.LoopsData;
+import org.graalvm.compiler.nodes.AbstractBeginNode;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.GuardNode;
+import org.graalvm.compiler.nodes.LogicNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.IntegerBelowNode;
+import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.calc.ZeroExtendNode;
+import org.graalvm.compiler.nodes.cfg.Block;
+import org.graalvm.compiler.nodes.extended.MultiGuardNode;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.phases.BasePhase;
+import org.graalvm.compiler.phases.tiers.MidTierContext;
+import org.graalvm.compiler.serviceprovider.SpeculationReasonGroup;
+
+import jdk.vm.ci.meta.DeoptimizationAction;
+import jdk.vm.ci.meta.DeoptimizationReason;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.meta.SpeculationLog;
+import jdk.vm.ci.meta.SpeculationLog.Speculation;
+import jdk.vm.ci.meta.SpeculationLog.SpeculationReason;
+
+/**
+ * Replaces the bounds checks of array accesses in counted loops by checks in front of the loop
+ * (loop predication). A bounds check {@code 0 <= index < length} inside the loop, where
+ * {@code index} is an induction variable of the form {@code i}, {@code i + k}, {@code i - k} or
+ * {@code k - i} and {@code length} is loop invariant, holds in every iteration if it holds for the
+ * smallest and the largest value of {@code index}. Both are computed from the trip count of the
+ * loop in 64 bits, so that they cannot overflow, and checked by speculative guards before the
+ * loop. If one of these guards fails, the method is deoptimized and recompiled without
+ * predicating the loop.
+ *
+ * Only bounds checks that are executed in every iteration are moved, i.e., checks that dominate
+ * all back edges of the loop. The phase must run before {@link GuardNode guards} are lowered.
+ */
+public class LoopPredicationPhase extends BasePhase<MidTierContext> {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Move bounds checks of array accesses in counted loops in front of the loop.", type = OptionType.Expert)
+        public static final OptionKey<Boolean> LoopPredication = new OptionKey<>(false);
+        // @formatter:on
+    }
+
+    private static final CounterKey PREDICATED_GUARDS = DebugContext.counter("PredicatedGuards");
+
+    private static final SpeculationReasonGroup LOOP_PREDICATION_SPECULATIONS = new SpeculationReasonGroup("LoopPredication", ResolvedJavaMethod.class, int.class);
+
+    @Override
+    protected void run(StructuredGraph graph, MidTierContext context) {
+        if (!graph.getGuardsStage().allowsFloatingGuards() || !context.getOptimisticOptimizations().useLoopLimitChecks(graph.getOptions())) {
+            return;
+        }
+        LoopsData loops = new LoopsData(graph);
+        loops.detectedCountedLoops();
+        for (LoopEx loop : loops.countedLoops()) {
+            List<GuardNode> guards = new ArrayList<>();
+            for (GuardNode guard : graph.getNodes(GuardNode.TYPE)) {
+                if (isPredicable(loops, loop, guard)) {
+                    guards.add(guard);
+                }
+            }
+            if (guards.isEmpty()) {
+                continue;
+            }
+            Speculation speculation = SpeculationLog.NO_SPECULATION;
+            SpeculationLog speculationLog = graph.getSpeculationLog();
+            FrameState state = loop.loopBegin().stateAfter();
+            if (speculationLog != null && state != null) {
+                SpeculationReason reason = LOOP_PREDICATION_SPECULATIONS.createSpeculationReason(state.getMethod(), state.bci);
+                if (!speculationLog.maySpeculate(reason)) {
+                    continue;
+                }
+                speculation = speculationLog.speculate(reason);
+            }
+            if (!loop.counted().counterNeverOverflows()) {
+                // The trip count is only meaningful if the counter cannot overflow.
+                loop.counted().createOverFlowGuard();
+            }
+            for (GuardNode guard : guards) {
+                predicate(loop, guard, speculation);
+                PREDICATED_GUARDS.increment(graph.getDebug());
+            }
+        }
+        loops.deleteUnusedNodes();
+    }
+
+    private static boolean isPredicable(LoopsData loops, LoopEx loop, GuardNode guard) {
+        if (guard.isNegated() || guard.getReason() != DeoptimizationReason.BoundsCheckException || !(guard.getCondition() instanceof IntegerBelowNode)) {
+            return false;
+        }
+        IntegerBelowNode boundsCheck = (IntegerBelowNode) guard.getCondition();
+        if (!loop.isOutsideLoop(boundsCheck.getY()) || ((IntegerStamp) boundsCheck.getX().stamp(NodeView.DEFAULT)).getBits() != 32) {
+            return false;
+        }
+        if (basicInductionVariable(loop.getInductionVariables().get(boundsCheck.getX())) == null) {
+            return false;
+        }
+        // The check must be executed in every iteration in which the loop is not exited.
+        Block anchor = loops.getCFG().blockFor(guard.getAnchor().asNode());
+        if (anchor == null || !AbstractControlFlowGraph.dominates(loops.getCFG().blockFor(loop.counted().getBody()), anchor)) {
+            return false;
+        }
+        for (LoopEndNode loopEnd : loop.loopBegin().loopEnds()) {
+            if (!AbstractControlFlowGraph.dominates(anchor, loops.getCFG().blockFor(loopEnd))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the basic induction variable {@code iv} is computed from, or {@code null} if the
+     * values of {@code iv} cannot be computed by this phase.
+     */
+    private static BasicInductionVariable basicInductionVariable(InductionVariable iv) {
+        InductionVariable base = iv;
+        if (iv instanceof DerivedOffsetInductionVariable) {
+            base = ((DerivedOffsetInductionVariable) iv).getBase();
+        }
+        if (base instanceof BasicInductionVariable && base.isConstantStride() && base.constantStride() != 0) {
+            return (BasicInductionVariable) base;
+        }
+        return null;
+    }
+
+    private static void predicate(LoopEx loop, GuardNode guard, Speculation speculation) {
+        StructuredGraph graph = guard.graph();
+        CountedLoopInfo counted = loop.counted();
+        IntegerBelowNode boundsCheck = (IntegerBelowNode) guard.getCondition();
+        InductionVariable iv = loop.getInductionVariables().get(boundsCheck.getX());
+        BasicInductionVariable base = basicInductionVariable(iv);
+
+        /*
+         * The value of the basic induction variable in the last iteration is init + stride *
+         * (tripCount - 1). The trip count is unsigned, and the counter does not overflow, so this
+         * cannot overflow in 64 bits.
+         */
+        ValueNode tripCount = new ZeroExtendNode(counted.maxTripCountNode(), 64);
+        ValueNode first = new SignExtendNode(base.initNode(), 64);
+        ValueNode last = new AddNode(first, new MulNode(ConstantNode.forLong(base.constantStride()), new SubNode(tripCount, ConstantNode.forLong(1))));
+        boolean increasing = base.constantStride() > 0;
+        if (iv instanceof DerivedOffsetInductionVariable) {
+            DerivedOffsetInductionVariable derived = (DerivedOffsetInductionVariable) iv;
+            ValueNode offset = new SignExtendNode(derived.getOffset(), 64);
+            if (iv.valueNode() instanceof AddNode) {
+                first = new AddNode(first, offset);
+                last = new AddNode(last, offset);
+            } else if (((SubNode) iv.valueNode()).getX() == base.valueNode()) {
+                first = new SubNode(first, offset);
+                last = new SubNode(last, offset);
+            } else {
+                first = new SubNode(offset, first);
+                last = new SubNode(offset, last);
+                increasing = !increasing;
+            }
+        }
+        ValueNode min = increasing ? first : last;
+        ValueNode max = increasing ? last : first;
+
+        AbstractBeginNode anchor = AbstractBeginNode.prevBegin(loop.entryPoint());
+        LogicNode belowZero = graph.addOrUniqueWithInputs(IntegerLessThanNode.create(min, ConstantNode.forLong(0), NodeView.DEFAULT));
+        LogicNode belowLength = graph.addOrUniqueWithInputs(IntegerLessThanNode.create(max, new SignExtendNode(boundsCheck.getY(), 64), NodeView.DEFAULT));
+        GuardNode lowerCheck = graph.unique(new GuardNode(belowZero, anchor, DeoptimizationReason.LoopLimitCheck, DeoptimizationAction.InvalidateRecompile, true, speculation, null));
+        GuardNode upperCheck = graph.unique(new GuardNode(belowLength, anchor, DeoptimizationReason.LoopLimitCheck, DeoptimizationAction.InvalidateRecompile, false, speculation, null));
+        guard.replaceAtUsagesAndDelete(graph.unique(new MultiGuardNode(lowerCheck, upperCheck)));
+    }
+}
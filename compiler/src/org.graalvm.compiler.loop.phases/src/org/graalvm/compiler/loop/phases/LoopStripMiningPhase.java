@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.phases;
+
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.loop.BasicInductionVariable;
+import org.graalvm.compiler.loop.CountedLoopInfo;
+import org.graalvm.compiler.loop.InductionVariable;
+import org.graalvm.compiler.loop.InductionVariable.Direction;
+import org.graalvm.compiler.loop.LoopEx;
+import org.graalvm.compiler.loop.LoopsData;
+import org.graalvm.compiler.nodeinfo.InputType;
+import org.graalvm.compiler.nodes.AbstractEndNode;
+import org.graalvm.compiler.nodes.BeginNode;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.EndNode;
+import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.IfNode;
+import org.graalvm.compiler.nodes.LogicNode;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.LoopExitNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.PhiNode;
+import org.graalvm.compiler.nodes.ProxyNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.ValueProxyNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.ConditionalNode;
+import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.calc.NarrowNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.util.GraphUtil;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.phases.BasePhase;
+import org.graalvm.compiler.phases.tiers.HighTierContext;
+
+/**
+ * Strip mines long running counted loops so that they do not need a safepoint poll in every
+ * iteration:
+ *
+ * <pre>
+ * for (int i = start; i &lt; limit; i++) {
+ *     body(i);
+ * }
+ * </pre>
+ *
+ * becomes
+ *
+ * <pre>
+ * int i = start;
+ * do { // polls for a safepoint
+ *     int stripLimit = min(limit, i + StripMiningIterations * stride);
+ *     for (; i &lt; stripLimit; i++) { // no safepoint poll
+ *         body(i);
+ *     }
+ * } while (i &lt; limit);
+ * </pre>
+ *
+ * The inner loop is still a counted loop, so it can be unrolled and optimized like the original
+ * loop, while the time to reach a safepoint is bounded by the time needed for
+ * {@link Options#StripMiningIterations} iterations.
+ *
+ * The phase must run while the graph still has {@link ProxyNode proxies} and before
+ * {@link org.graalvm.compiler.phases.common.FloatingReadPhase} introduces memory phis, i.e., in the
+ * high tier.
+ */
+public class LoopStripMiningPhase extends BasePhase<HighTierContext> {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Strip mine counted loops into an inner loop without safepoint polls and an outer loop that polls for safepoints.", type = OptionType.Expert)
+        public static final OptionKey<Boolean> StripMineLoops = new OptionKey<>(false);
+        @Option(help = "Maximum number of iterations of a strip mined loop between two safepoint polls.", type = OptionType.Expert)
+        public static final OptionKey<Integer> StripMiningIterations = new OptionKey<>(1000);
+        // @formatter:on
+    }
+
+    private static final CounterKey STRIP_MINED_LOOPS = DebugContext.counter("StripMinedLoops");
+
+    @Override
+    protected void run(StructuredGraph graph, HighTierContext context) {
+        int iterations = Options.StripMiningIterations.getValue(graph.getOptions());
+        if (iterations <= 0) {
+            return;
+        }
+        LoopsData loops = new LoopsData(graph);
+        loops.detectedCountedLoops();
+        for (LoopEx loop : loops.countedLoops()) {
+            if (canStripMine(loop, iterations)) {
+                CountedLoopInfo counted = loop.counted();
+                if (!counted.counterNeverOverflows()) {
+                    if (context.getOptimisticOptimizations().useLoopLimitChecks(graph.getOptions()) && graph.getGuardsStage().allowsFloatingGuards()) {
+                        counted.createOverFlowGuard();
+                    } else {
+                        // The inner loop could overflow and then run forever without a safepoint.
+                        continue;
+                    }
+                }
+                stripMine(loop, iterations);
+                STRIP_MINED_LOOPS.increment(graph.getDebug());
+            }
+        }
+        loops.deleteUnusedNodes();
+    }
+
+    private static boolean canStripMine(LoopEx loop, int iterations) {
+        LoopBeginNode loopBegin = loop.loopBegin();
+        CountedLoopInfo counted = loop.counted();
+        if (!loop.loop().getChildren().isEmpty() || counted.getStamp().getBits() != 32 || counted.isUnsignedCheck() || counted.getDirection() != Direction.Up) {
+            return false;
+        }
+        if (counted.isConstantMaxTripCount() && counted.constantMaxTripCount().isLessOrEqualTo(iterations)) {
+            // Short loops do not need a safepoint poll at all.
+            return false;
+        }
+        boolean hasSafepoint = false;
+        for (LoopEndNode loopEnd : loopBegin.loopEnds()) {
+            hasSafepoint |= loopEnd.canSafepoint();
+        }
+        if (!hasSafepoint || loopBegin.isOsrLoop() || !loopBegin.isSingleEntryLoop()) {
+            return false;
+        }
+        InductionVariable counter = counted.getCounter();
+        if (!(counter instanceof BasicInductionVariable) || !counter.isConstantStride() || counter.constantStride() <= 0 ||
+                        !(counted.getLimitTest().condition() instanceof IntegerLessThanNode)) {
+            return false;
+        }
+        if (loopBegin.loopExits().count() != 1 || loopBegin.loopExits().first() != counted.getCountedExit()) {
+            return false;
+        }
+        LoopExitNode loopExit = loopBegin.loopExits().first();
+        if (!hasPlainState(loopBegin.stateAfter()) || !hasPlainState(loopExit.stateAfter())) {
+            return false;
+        }
+        for (PhiNode phi : loopBegin.phis()) {
+            if (!(phi instanceof ValuePhiNode)) {
+                return false;
+            }
+        }
+        for (ProxyNode proxy : loopExit.proxies()) {
+            if (!(proxy instanceof ValueProxyNode)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasPlainState(FrameState state) {
+        return state != null && state.virtualObjectMappingCount() == 0;
+    }
+
+    private static void stripMine(LoopEx loop, int iterations) {
+        StructuredGraph graph = loop.loopBegin().graph();
+        LoopBeginNode innerBegin = loop.loopBegin();
+        CountedLoopInfo counted = loop.counted();
+        ValuePhiNode counter = (ValuePhiNode) counted.getCounter().valueNode();
+        IfNode limitTest = counted.getLimitTest();
+        LogicNode condition = limitTest.condition();
+        ValueNode limit = counted.getLimit();
+        LoopExitNode innerExit = (LoopExitNode) counted.getCountedExit();
+        AbstractEndNode innerEntry = innerBegin.forwardEnd();
+
+        // Enter the outer loop in place of the inner loop.
+        LoopBeginNode outerBegin = graph.add(new LoopBeginNode());
+        EndNode outerEntry = graph.add(new EndNode());
+        ((FixedWithNextNode) innerEntry.predecessor()).setNext(outerEntry);
+        outerBegin.addForwardEnd(outerEntry);
+        outerBegin.setNext(innerEntry);
+        outerBegin.setStateAfter(innerBegin.stateAfter().duplicate());
+
+        // Leave the outer loop where the inner loop was left before.
+        LoopExitNode outerExit = graph.add(new LoopExitNode(outerBegin));
+        outerExit.setStateAfter(innerExit.stateAfter().duplicate());
+        innerExit.replaceAtUsages(InputType.Guard, outerExit);
+        innerExit.replaceAtUsages(InputType.Anchor, outerExit);
+        for (ProxyNode proxy : innerExit.proxies().snapshot()) {
+            ValueProxyNode outerProxy = graph.unique(new ValueProxyNode(proxy, outerExit));
+            proxy.replaceAtUsages(outerProxy, usage -> usage != outerProxy && usage != innerExit.stateAfter());
+        }
+
+        // Each inner loop phi starts at the value the previous strip ended with.
+        ValuePhiNode stripStart = null;
+        for (PhiNode phi : innerBegin.phis().snapshot()) {
+            ValuePhiNode outerPhi = graph.addWithoutUnique(new ValuePhiNode(phi.stamp(NodeView.DEFAULT), outerBegin));
+            outerPhi.addInput(phi.valueAt(innerEntry));
+            outerPhi.addInput(proxyAt(phi, innerExit));
+            phi.setValueAt(innerEntry, outerPhi);
+            outerBegin.stateAfter().replaceAllInputs(phi, outerPhi);
+            if (phi == counter) {
+                stripStart = outerPhi;
+            }
+        }
+        assert stripStart != null;
+
+        /*
+         * The strip limit is computed in 64 bits so that it cannot overflow. It is never larger
+         * than the original limit, so narrowing it back to 32 bits is lossless.
+         */
+        long stripLength = iterations * counted.getCounter().constantStride();
+        AddNode stripEnd = new AddNode(new SignExtendNode(stripStart, 64), ConstantNode.forLong(stripLength));
+        ValueNode stripLimit = graph.addOrUniqueWithInputs(new ConditionalNode(new IntegerLessThanNode(new SignExtendNode(limit, 64), stripEnd), limit, new NarrowNode(stripEnd, 32)));
+        LogicNode innerCondition = (LogicNode) condition.copyWithInputs();
+        innerCondition.replaceFirstInput(limit, stripLimit);
+
+        // Continue with the next strip if the original loop would have continued.
+        LogicNode outerCondition = (LogicNode) condition.copyWithInputs();
+        outerCondition.replaceFirstInput(counter, proxyAt(counter, innerExit));
+        limitTest.setCondition(innerCondition);
+        GraphUtil.tryKillUnused(condition);
+
+        LoopEndNode outerEnd = graph.add(new LoopEndNode(outerBegin));
+        BeginNode continueBegin = graph.add(new BeginNode());
+        continueBegin.setNext(outerEnd);
+        double continueProbability = Math.pow(limitTest.probability(counted.getBody()), iterations);
+        IfNode outerTest;
+        if (limitTest.trueSuccessor() == counted.getBody()) {
+            outerTest = graph.add(new IfNode(outerCondition, continueBegin, outerExit, continueProbability));
+        } else {
+            outerTest = graph.add(new IfNode(outerCondition, outerExit, continueBegin, 1 - continueProbability));
+        }
+        FixedNode next = innerExit.next();
+        innerExit.setNext(null);
+        outerExit.setNext(next);
+        innerExit.setNext(outerTest);
+
+        innerBegin.disableSafepoint();
+        graph.getDebug().dump(DebugContext.DETAILED_LEVEL, graph, "After strip mining %s", innerBegin);
+    }
+
+    private static ValueNode proxyAt(ValueNode value, LoopExitNode loopExit) {
+        for (ProxyNode proxy : loopExit.proxies()) {
+            if (proxy.value() == value) {
+                return proxy;
+            }
+        }
+        return loopExit.graph().unique(new ValueProxyNode(value, loopExit));
+    }
+}
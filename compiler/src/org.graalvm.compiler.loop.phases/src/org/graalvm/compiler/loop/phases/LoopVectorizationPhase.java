@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.phases;
+
+import static org.graalvm.compiler.nodes.extended.BranchProbabilityNode.SLOW_PATH_PROBABILITY;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.collections.EconomicMap;
+import org.graalvm.collections.Equivalence;
+import org.graalvm.compiler.core.common.calc.ElementwiseArrayOperation;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.loop.BasicInductionVariable;
+import org.graalvm.compiler.loop.CountedLoopInfo;
+import org.graalvm.compiler.loop.InductionVariable;
+import org.graalvm.compiler.loop.InductionVariable.Direction;
+import org.graalvm.compiler.loop.LoopEx;
+import org.graalvm.compiler.loop.LoopsData;
+import org.graalvm.compiler.nodes.AbstractEndNode;
+import org.graalvm.compiler.nodes.BeginNode;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.EndNode;
+import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.IfNode;
+import org.graalvm.compiler.nodes.LogicNode;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.MergeNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.PiNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
+import org.graalvm.compiler.nodes.calc.BinaryArithmeticNode;
+import org.graalvm.compiler.nodes.calc.IntegerConvertNode;
+import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.calc.IsNullNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.NarrowNode;
+import org.graalvm.compiler.nodes.calc.OrNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.calc.XorNode;
+import org.graalvm.compiler.nodes.calc.ZeroExtendNode;
+import org.graalvm.compiler.nodes.java.AccessIndexedNode;
+import org.graalvm.compiler.nodes.java.ArrayLengthNode;
+import org.graalvm.compiler.nodes.java.ElementwiseArrayLoopNode;
+import org.graalvm.compiler.nodes.java.LoadIndexedNode;
+import org.graalvm.compiler.nodes.java.StoreIndexedNode;
+import org.graalvm.compiler.nodes.spi.CoreProviders;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.phases.BasePhase;
+
+import jdk.vm.ci.meta.JavaKind;
+
+/**
+ * Vectorizes counted loops that apply an element-wise operation to primitive arrays:
+ *
+ * <pre>
+ * for (int i = start; i &lt; end; i++) {
+ *     a[i] = b[i] op c[i]; // or b[i] op s, b[i], s
+ * }
+ * </pre>
+ *
+ * An {@link ElementwiseArrayLoopNode} is inserted in front of such a loop. It is guarded by checks
+ * that all arrays accessed by the loop are non-null and that all accesses are in bounds, and
+ * executes as many iterations as fit into whole vectors. The loop then starts at the first
+ * remaining iteration, so the original loop serves both as the scalar post-loop and as the
+ * fallback when one of the checks fails.
+ *
+ * The phase must run before lowering, while array accesses are still represented by
+ * {@link LoadIndexedNode} and {@link StoreIndexedNode}.
+ */
+public class LoopVectorizationPhase extends BasePhase<CoreProviders> {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Vectorize counted loops that apply element-wise operations to primitive arrays.", type = OptionType.Expert)
+        public static final OptionKey<Boolean> VectorizeLoops = new OptionKey<>(false);
+        // @formatter:on
+    }
+
+    private static final CounterKey VECTORIZED_LOOPS = DebugContext.counter("VectorizedLoops");
+
+    /**
+     * A loop matched by {@link #match}. The second operand is either {@link #source2} or
+     * {@link #scalar}, {@link ElementwiseArrayOperation#COPY} only has one operand.
+     */
+    private static final class Candidate {
+        final LoopEx loop;
+        final ValuePhiNode counter;
+        final JavaKind kind;
+        final ElementwiseArrayOperation operation;
+        final ValueNode destination;
+        final ValueNode source1;
+        final ValueNode source2;
+        final ValueNode scalar;
+        /** All arrays accessed by the loop, which need to be checked before vectorization. */
+        final List<ValueNode> arrays;
+
+        Candidate(LoopEx loop, ValuePhiNode counter, JavaKind kind, ElementwiseArrayOperation operation, ValueNode destination, ValueNode source1, ValueNode source2, ValueNode scalar,
+                        List<ValueNode> arrays) {
+            this.loop = loop;
+            this.counter = counter;
+            this.kind = kind;
+            this.operation = operation;
+            this.destination = destination;
+            this.source1 = source1;
+            this.source2 = source2;
+            this.scalar = scalar;
+            this.arrays = arrays;
+        }
+    }
+
+    @Override
+    protected void run(StructuredGraph graph, CoreProviders context) {
+        if (!graph.hasLoops()) {
+            return;
+        }
+        DebugContext debug = graph.getDebug();
+        LoopsData data = new LoopsData(graph);
+        data.detectedCountedLoops();
+        /*
+         * Match all loops before transforming any of them, since the transformation invalidates the
+         * loop data. A matched loop has a straight-line body, so it cannot contain another match.
+         */
+        List<Candidate> candidates = new ArrayList<>();
+        for (LoopEx loop : data.countedLoops()) {
+            Candidate candidate = match(loop);
+            if (candidate != null) {
+                candidates.add(candidate);
+            }
+        }
+        for (Candidate candidate : candidates) {
+            debug.log("Vectorize %s with %s %s", candidate.loop, candidate.operation, candidate.kind);
+            vectorize(graph, candidate);
+            VECTORIZED_LOOPS.increment(debug);
+            debug.dump(DebugContext.DETAILED_LEVEL, graph, "Vectorized %s", candidate.loop);
+        }
+        data.deleteUnusedNodes();
+    }
+
+    private static Candidate match(LoopEx loop) {
+        CountedLoopInfo counted = loop.counted();
+        LoopBeginNode loopBegin = loop.loopBegin();
+        if (counted.isUnsignedCheck() || counted.isLimitIncluded() || counted.getDirection() != Direction.Up) {
+            return null;
+        }
+        InductionVariable iv = counted.getCounter();
+        if (!(iv instanceof BasicInductionVariable) || !iv.isConstantStride() || iv.constantStride() != 1) {
+            return null;
+        }
+        ValuePhiNode counter = ((BasicInductionVariable) iv).valueNode();
+        if (counter.getStackKind() != JavaKind.Int) {
+            return null;
+        }
+        /*
+         * The induction variable must be the only loop-carried value, and the loop must only be
+         * left through the counted exit.
+         */
+        if (loopBegin.phis().count() != 1 || loopBegin.forwardEndCount() != 1 || loopBegin.getLoopEndCount() != 1 || loopBegin.loopExits().count() != 1) {
+            return null;
+        }
+        if (loopBegin.next() != counted.getLimitTest() || loopBegin.stateAfter() == null || loopBegin.stateAfter().virtualObjectMappingCount() != 0) {
+            return null;
+        }
+        if (!(loopBegin.forwardEnd().predecessor() instanceof FixedWithNextNode)) {
+            return null;
+        }
+
+        /* The body must consist of array loads followed by a single array store. */
+        List<LoadIndexedNode> loads = new ArrayList<>();
+        StoreIndexedNode store = null;
+        FixedNode current = counted.getBody().next();
+        while (!(current instanceof LoopEndNode)) {
+            if (current instanceof LoadIndexedNode && store == null) {
+                loads.add((LoadIndexedNode) current);
+            } else if (current instanceof StoreIndexedNode && store == null) {
+                store = (StoreIndexedNode) current;
+            } else {
+                return null;
+            }
+            current = ((FixedWithNextNode) current).next();
+        }
+        if (store == null) {
+            return null;
+        }
+        JavaKind kind = store.elementKind();
+        List<ValueNode> arrays = new ArrayList<>();
+        if (!isElementAccess(loop, store, kind, counter, arrays)) {
+            return null;
+        }
+        for (LoadIndexedNode load : loads) {
+            if (!isElementAccess(loop, load, kind, counter, arrays)) {
+                return null;
+            }
+        }
+
+        ValueNode value = skipNarrowing(store.value(), kind);
+        if (value.getStackKind() != kind.getStackKind()) {
+            return null;
+        }
+        ValueNode source1 = null;
+        ValueNode source2 = null;
+        ValueNode scalar = null;
+        ElementwiseArrayOperation operation;
+        if (loads.contains(value)) {
+            operation = ElementwiseArrayOperation.COPY;
+            source1 = ((LoadIndexedNode) value).array();
+        } else if (loop.isOutsideLoop(value)) {
+            operation = ElementwiseArrayOperation.COPY;
+            scalar = value;
+        } else if (value instanceof BinaryArithmeticNode) {
+            operation = operationFor((BinaryArithmeticNode<?>) value);
+            if (operation == null) {
+                return null;
+            }
+            ValueNode x = ((BinaryArithmeticNode<?>) value).getX();
+            ValueNode y = ((BinaryArithmeticNode<?>) value).getY();
+            if (!loads.contains(x) && operation.isCommutative()) {
+                ValueNode tmp = x;
+                x = y;
+                y = tmp;
+            }
+            if (!loads.contains(x)) {
+                return null;
+            }
+            source1 = ((LoadIndexedNode) x).array();
+            if (loads.contains(y)) {
+                source2 = ((LoadIndexedNode) y).array();
+            } else if (loop.isOutsideLoop(y)) {
+                scalar = y;
+            } else {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        if (!operation.supports(kind)) {
+            return null;
+        }
+        return new Candidate(loop, counter, kind, operation, store.array(), source1, source2, scalar, arrays);
+    }
+
+    private static boolean isElementAccess(LoopEx loop, AccessIndexedNode access, JavaKind kind, ValuePhiNode counter, List<ValueNode> arrays) {
+        if (access.elementKind() != kind || access.index() != counter || !loop.isOutsideLoop(access.array())) {
+            return false;
+        }
+        if (!arrays.contains(access.array())) {
+            arrays.add(access.array());
+        }
+        return true;
+    }
+
+    /**
+     * Skips conversions that do not change the bits that are stored into an array of
+     * {@code kind}, e.g., the {@code (byte)} cast in {@code a[i] = (byte) (b[i] + c[i])}.
+     */
+    private static ValueNode skipNarrowing(ValueNode value, JavaKind kind) {
+        ValueNode result = value;
+        while (true) {
+            if (result instanceof NarrowNode && ((NarrowNode) result).getResultBits() >= kind.getBitCount()) {
+                result = ((NarrowNode) result).getValue();
+            } else if ((result instanceof SignExtendNode || result instanceof ZeroExtendNode) && ((IntegerConvertNode<?, ?>) result).getInputBits() >= kind.getBitCount()) {
+                result = ((IntegerConvertNode<?, ?>) result).getValue();
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private static ElementwiseArrayOperation operationFor(BinaryArithmeticNode<?> node) {
+        if (node instanceof AddNode) {
+            return ElementwiseArrayOperation.ADD;
+        } else if (node instanceof SubNode) {
+            return ElementwiseArrayOperation.SUB;
+        } else if (node instanceof MulNode) {
+            return ElementwiseArrayOperation.MUL;
+        } else if (node instanceof AndNode) {
+            return ElementwiseArrayOperation.AND;
+        } else if (node instanceof OrNode) {
+            return ElementwiseArrayOperation.OR;
+        } else if (node instanceof XorNode) {
+            return ElementwiseArrayOperation.XOR;
+        }
+        return null;
+    }
+
+    private static void vectorize(StructuredGraph graph, Candidate candidate) {
+        LoopBeginNode loopBegin = candidate.loop.loopBegin();
+        AbstractEndNode forwardEnd = loopBegin.forwardEnd();
+        ValuePhiNode counter = candidate.counter;
+        ValueNode start = counter.valueAt(forwardEnd);
+        ValueNode end = candidate.loop.counted().getLimit();
+
+        /* All paths merge in front of the loop and provide the start value of the counter. */
+        MergeNode merge = graph.add(new MergeNode());
+        ValuePhiNode counterStart = graph.addWithoutUnique(new ValuePhiNode(counter.stamp(NodeView.DEFAULT).unrestricted(), merge));
+
+        FixedWithNextNode last = (FixedWithNextNode) forwardEnd.predecessor();
+        last.setNext(null);
+        last = branchToScalarLoop(graph, last, IntegerLessThanNode.create(start, ConstantNode.forInt(0), NodeView.DEFAULT), merge, counterStart, start);
+        EconomicMap<ValueNode, ValueNode> nonNullArrays = EconomicMap.create(Equivalence.IDENTITY);
+        for (ValueNode array : candidate.arrays) {
+            last = branchToScalarLoop(graph, last, IsNullNode.create(array), merge, counterStart, start);
+            ValueNode nonNullArray = graph.addOrUniqueWithInputs(PiNode.create(array, array.stamp(NodeView.DEFAULT).join(StampFactory.objectNonNull()), last));
+            nonNullArrays.put(array, nonNullArray);
+            ArrayLengthNode length = graph.add(new ArrayLengthNode(nonNullArray));
+            last.setNext(length);
+            last = branchToScalarLoop(graph, length, IntegerLessThanNode.create(length, end, NodeView.DEFAULT), merge, counterStart, start);
+        }
+
+        ElementwiseArrayLoopNode vectorLoop = graph.add(new ElementwiseArrayLoopNode(candidate.kind, candidate.operation, nonNullArrays.get(candidate.destination),
+                        candidate.source1 == null ? null : nonNullArrays.get(candidate.source1), candidate.source2 == null ? null : nonNullArrays.get(candidate.source2),
+                        candidate.scalar, start, end));
+        last.setNext(vectorLoop);
+        vectorLoop.setStateAfter(loopStateWithCounter(loopBegin, counter, vectorLoop));
+        EndNode vectorEnd = graph.add(new EndNode());
+        vectorLoop.setNext(vectorEnd);
+        merge.addForwardEnd(vectorEnd);
+        counterStart.addInput(vectorLoop);
+
+        merge.setNext(forwardEnd);
+        merge.setStateAfter(loopStateWithCounter(loopBegin, counter, counterStart));
+        counter.setValueAt(forwardEnd, counterStart);
+    }
+
+    /**
+     * Appends a branch to {@code last} that continues with the unmodified scalar loop if
+     * {@code condition} holds, and returns the begin of the other successor.
+     */
+    private static BeginNode branchToScalarLoop(StructuredGraph graph, FixedWithNextNode last, LogicNode condition, MergeNode merge, ValuePhiNode counterStart, ValueNode start) {
+        BeginNode scalarBegin = graph.add(new BeginNode());
+        EndNode scalarEnd = graph.add(new EndNode());
+        scalarBegin.setNext(scalarEnd);
+        merge.addForwardEnd(scalarEnd);
+        counterStart.addInput(start);
+
+        BeginNode vectorBegin = graph.add(new BeginNode());
+        last.setNext(graph.add(new IfNode(graph.addOrUniqueWithInputs(condition), scalarBegin, vectorBegin, SLOW_PATH_PROBABILITY)));
+        return vectorBegin;
+    }
+
+    /**
+     * Creates the state at the loop header with {@code value} as the counter. Deoptimizing with
+     * this state resumes the loop at the given iteration.
+     */
+    private static FrameState loopStateWithCounter(LoopBeginNode loopBegin, ValuePhiNode counter, ValueNode value) {
+        FrameState state = loopBegin.stateAfter().duplicate();
+        state.replaceAllInputs(counter, value);
+        return state;
+    }
+}
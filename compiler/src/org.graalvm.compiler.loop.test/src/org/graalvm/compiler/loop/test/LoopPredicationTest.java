@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.test;
+
+import org.graalvm.compiler.core.common.GraalOptions;
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.loop.phases.LoopPredicationPhase;
+import org.graalvm.compiler.nodes.DeoptimizeNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.options.OptionValues;
+import org.junit.Test;
+
+import jdk.vm.ci.meta.DeoptimizationReason;
+
+public class LoopPredicationTest extends GraalCompilerTest {
+
+    private int boundsChecks;
+
+    @Override
+    protected void checkMidTierGraph(StructuredGraph graph) {
+        for (DeoptimizeNode deopt : graph.getNodes().filter(DeoptimizeNode.class)) {
+            if (deopt.getReason() == DeoptimizationReason.BoundsCheckException) {
+                boundsChecks++;
+            }
+        }
+    }
+
+    private void testPredicated(String name, Object... args) {
+        boundsChecks = 0;
+        OptionValues options = new OptionValues(getInitialOptions(), LoopPredicationPhase.Options.LoopPredication, true, GraalOptions.OptDeoptimizationGrouping, false);
+        test(options, name, args);
+        assertTrue(boundsChecks == 0, "expected no bounds checks in %s", name);
+    }
+
+    private static int[] ints(int length) {
+        int[] result = new int[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = i * 7 - 20;
+        }
+        return result;
+    }
+
+    public static int sumWindowSnippet(int[] a, int from, int to, int k) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i + k];
+        }
+        return sum;
+    }
+
+    @Test
+    public void testSumWindow() {
+        testPredicated("sumWindowSnippet", ints(50), 0, 40, 10);
+        testPredicated("sumWindowSnippet", ints(50), 0, 40, 11);
+        testPredicated("sumWindowSnippet", ints(50), 5, 45, -5);
+        testPredicated("sumWindowSnippet", ints(50), 5, 45, -6);
+        testPredicated("sumWindowSnippet", ints(50), 30, 10, 100);
+        testPredicated("sumWindowSnippet", ints(50), 0, 40, Integer.MAX_VALUE);
+    }
+
+    public static int[] reverseSnippet(int[] a, int[] b, int n) {
+        for (int i = 0; i < n; i++) {
+            b[n - 1 - i] = a[i];
+        }
+        return b;
+    }
+
+    @Test
+    public void testReverse() {
+        testPredicated("reverseSnippet", ints(20), new int[20], 20);
+        testPredicated("reverseSnippet", ints(20), new int[20], 10);
+        testPredicated("reverseSnippet", ints(20), new int[19], 20);
+        testPredicated("reverseSnippet", ints(20), new int[20], 21);
+    }
+
+    public static int stridedSnippet(int[] a, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; i += 3) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Test
+    public void testStrided() {
+        testPredicated("stridedSnippet", ints(30), 0, 30);
+        testPredicated("stridedSnippet", ints(30), 2, 31);
+        testPredicated("stridedSnippet", ints(30), 2, 33);
+        testPredicated("stridedSnippet", ints(30), -1, 30);
+    }
+}
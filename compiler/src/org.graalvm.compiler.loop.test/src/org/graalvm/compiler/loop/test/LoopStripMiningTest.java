@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.test;
+
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.loop.phases.LoopStripMiningPhase;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.options.OptionValues;
+import org.junit.Test;
+
+public class LoopStripMiningTest extends GraalCompilerTest {
+
+    private int stripMinedLoops;
+
+    @Override
+    protected void checkHighTierGraph(StructuredGraph graph) {
+        for (LoopBeginNode loopBegin : graph.getNodes(LoopBeginNode.TYPE)) {
+            boolean canSafepoint = false;
+            for (LoopEndNode loopEnd : loopBegin.loopEnds()) {
+                canSafepoint |= loopEnd.canSafepoint();
+            }
+            if (!canSafepoint) {
+                stripMinedLoops++;
+            }
+        }
+    }
+
+    private void testStripMined(String name, Object... args) {
+        stripMinedLoops = 0;
+        OptionValues options = new OptionValues(getInitialOptions(), LoopStripMiningPhase.Options.StripMineLoops, true, LoopStripMiningPhase.Options.StripMiningIterations, 10);
+        test(options, name, args);
+        assertTrue(stripMinedLoops > 0, "expected a strip mined loop in %s", name);
+    }
+
+    public static long sumSnippet(int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    @Test
+    public void testSum() {
+        testStripMined("sumSnippet", 0, 0);
+        testStripMined("sumSnippet", 0, 9);
+        testStripMined("sumSnippet", 0, 10);
+        testStripMined("sumSnippet", 0, 11);
+        testStripMined("sumSnippet", -25, 1000);
+        testStripMined("sumSnippet", 50, 10);
+        testStripMined("sumSnippet", Integer.MAX_VALUE - 25, Integer.MAX_VALUE - 1);
+    }
+
+    public static int lastIndexSnippet(int[] a, int to) {
+        int i = 0;
+        for (; i < to; i += 3) {
+            a[i] = i;
+        }
+        return i;
+    }
+
+    @Test
+    public void testLastIndex() {
+        testStripMined("lastIndexSnippet", new int[100], 100);
+        testStripMined("lastIndexSnippet", new int[100], 31);
+        testStripMined("lastIndexSnippet", new int[100], 101);
+    }
+
+    public static int inclusiveSnippet(int[] a, int to) {
+        int result = 0;
+        for (int i = 0; i <= to; i++) {
+            result = result * 31 + a[i];
+        }
+        return result;
+    }
+
+    @Test
+    public void testInclusive() {
+        int[] a = new int[64];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i * i;
+        }
+        testStripMined("inclusiveSnippet", a, 63);
+        testStripMined("inclusiveSnippet", a, 20);
+        testStripMined("inclusiveSnippet", a, 64);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.loop.test;
+
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.loop.phases.LoopVectorizationPhase;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.java.ElementwiseArrayLoopNode;
+import org.graalvm.compiler.options.OptionValues;
+import org.junit.Test;
+
+import jdk.vm.ci.amd64.AMD64;
+
+public class LoopVectorizationTest extends GraalCompilerTest {
+
+    private int vectorizedLoops;
+
+    @Override
+    protected void checkHighTierGraph(StructuredGraph graph) {
+        vectorizedLoops += graph.getNodes().filter(ElementwiseArrayLoopNode.class).count();
+    }
+
+    private void testVectorized(String name, Object... args) {
+        vectorizedLoops = 0;
+        test(new OptionValues(getInitialOptions(), LoopVectorizationPhase.Options.VectorizeLoops, true), name, args);
+        if (getTarget().arch instanceof AMD64) {
+            assertTrue(vectorizedLoops > 0, "expected a vectorized loop in %s", name);
+        }
+    }
+
+    private static int[] ints(int length) {
+        int[] result = new int[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = i * 31 - 1000;
+        }
+        return result;
+    }
+
+    private static double[] doubles(int length) {
+        double[] result = new double[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = i * 0.75 - 3;
+        }
+        return result;
+    }
+
+    public static int[] addIntsSnippet(int[] a, int[] b) {
+        int[] result = new int[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] + b[i];
+        }
+        return result;
+    }
+
+    @Test
+    public void testAddInts() {
+        for (int length = 0; length < 70; length++) {
+            testVectorized("addIntsSnippet", ints(length), ints(length + 3));
+        }
+    }
+
+    @Test
+    public void testAddIntsOutOfBounds() {
+        testVectorized("addIntsSnippet", ints(40), ints(39));
+    }
+
+    @Test
+    public void testAddIntsNull() {
+        testVectorized("addIntsSnippet", ints(40), null);
+    }
+
+    public static int[] subIntsRangeSnippet(int[] a, int from, int to, int s) {
+        for (int i = from; i < to; i++) {
+            a[i] = a[i] - s;
+        }
+        return a;
+    }
+
+    @Test
+    public void testSubIntsRange() {
+        testVectorized("subIntsRangeSnippet", ints(100), 3, 97, 17);
+        testVectorized("subIntsRangeSnippet", ints(100), 50, 10, 17);
+        testVectorized("subIntsRangeSnippet", ints(100), -1, 50, 17);
+        testVectorized("subIntsRangeSnippet", ints(100), 0, 101, 17);
+    }
+
+    public static byte[] xorBytesSnippet(byte[] a, byte[] b) {
+        byte[] result = new byte[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = (byte) (a[i] ^ b[i]);
+        }
+        return result;
+    }
+
+    @Test
+    public void testXorBytes() {
+        for (int length = 0; length < 100; length += 7) {
+            byte[] a = new byte[length];
+            byte[] b = new byte[length];
+            for (int i = 0; i < length; i++) {
+                a[i] = (byte) (i * 13);
+                b[i] = (byte) (i * 7 + 5);
+            }
+            testVectorized("xorBytesSnippet", a, b);
+        }
+    }
+
+    public static long[] fillLongsSnippet(int length, long value) {
+        long[] result = new long[length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = value;
+        }
+        return result;
+    }
+
+    @Test
+    public void testFillLongs() {
+        for (int length = 0; length < 20; length++) {
+            testVectorized("fillLongsSnippet", length, 0x1234_5678_9abc_def0L);
+        }
+    }
+
+    public static double[] scaleDoublesSnippet(double[] a, double factor) {
+        double[] result = new double[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] * factor;
+        }
+        return result;
+    }
+
+    @Test
+    public void testScaleDoubles() {
+        for (int length = 0; length < 20; length++) {
+            testVectorized("scaleDoublesSnippet", doubles(length), 1.5);
+        }
+    }
+
+    public static char[] copyCharsSnippet(char[] a) {
+        char[] result = new char[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i];
+        }
+        return result;
+    }
+
+    @Test
+    public void testCopyChars() {
+        testVectorized("copyCharsSnippet", "the quick brown fox jumps over the lazy dog".toCharArray());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.microbenchmarks.graal;
+
+import org.graalvm.compiler.microbenchmarks.graal.util.GraalState;
+import org.graalvm.compiler.microbenchmarks.graal.util.GraphState;
+import org.graalvm.compiler.microbenchmarks.graal.util.MethodSpec;
+import org.graalvm.compiler.phases.common.PartialRedundancyEliminationPhase;
+import org.openjdk.jmh.annotations.Benchmark;
+
+public class PartialRedundancyEliminationBenchmark extends GraalBenchmark {
+
+    static class Frame {
+        int[] stack;
+        int sp;
+        int pc;
+    }
+
+    @MethodSpec(declaringClass = PartialRedundancyEliminationBenchmark.class, name = "interpreterSnippet")
+    public static class Interpreter extends GraphState {
+    }
+
+    public static int interpreterSnippet(Frame frame, byte[] code) {
+        int result = 0;
+        while (frame.pc < code.length) {
+            byte op = code[frame.pc];
+            if (op == 0) {
+                frame.stack[frame.sp] = frame.pc;
+                frame.sp++;
+            } else if (op == 1) {
+                result += frame.stack[frame.sp - 1];
+            } else if (op == 2) {
+                result -= frame.sp;
+            } else {
+                result ^= op;
+            }
+            result += frame.stack[frame.sp - 1];
+            frame.pc++;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void interpreter(Interpreter s, GraalState g) {
+        new PartialRedundancyEliminationPhase().apply(s.graph, g.providers);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.nodes.java;
+
+import static org.graalvm.compiler.nodeinfo.NodeCycles.CYCLES_UNKNOWN;
+import static org.graalvm.compiler.nodeinfo.NodeSize.SIZE_64;
+
+import org.graalvm.compiler.core.common.calc.ElementwiseArrayOperation;
+import org.graalvm.compiler.core.common.type.StampFactory;
+import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
+import org.graalvm.compiler.nodeinfo.InputType;
+import org.graalvm.compiler.nodeinfo.NodeInfo;
+import org.graalvm.compiler.nodes.AbstractStateSplit;
+import org.graalvm.compiler.nodes.NamedLocationIdentity;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.memory.SingleMemoryKill;
+import org.graalvm.compiler.nodes.spi.LIRLowerable;
+import org.graalvm.compiler.nodes.spi.NodeLIRBuilderTool;
+import org.graalvm.word.LocationIdentity;
+
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.Value;
+
+/**
+ * Executes a prefix of the iterations of a loop of the form
+ * {@code for (i = fromIndex; i < toIndex; i++) destination[i] = source1[i] op source2[i]} with
+ * vector instructions, where the second operand can also be a loop-invariant {@code scalar} and
+ * {@link ElementwiseArrayOperation#COPY} only has a single operand. The value of this node is the
+ * index of the first iteration that was not executed; the remaining iterations are left to the
+ * original scalar loop.
+ *
+ * All arrays must be non-null and all accessed indices must be in bounds, i.e., the node performs
+ * no checks.
+ *
+ * @see ElementwiseArrayOperation
+ */
+@NodeInfo(allowedUsageTypes = {InputType.Value, InputType.Memory}, cycles = CYCLES_UNKNOWN, size = SIZE_64)
+public final class ElementwiseArrayLoopNode extends AbstractStateSplit implements LIRLowerable, SingleMemoryKill {
+
+    public static final NodeClass<ElementwiseArrayLoopNode> TYPE = NodeClass.create(ElementwiseArrayLoopNode.class);
+
+    protected final JavaKind elementKind;
+    protected final ElementwiseArrayOperation operation;
+
+    @Input ValueNode destination;
+    @OptionalInput ValueNode source1;
+    @OptionalInput ValueNode source2;
+    @OptionalInput ValueNode scalar;
+    @Input ValueNode fromIndex;
+    @Input ValueNode toIndex;
+
+    public ElementwiseArrayLoopNode(JavaKind elementKind, ElementwiseArrayOperation operation, ValueNode destination, ValueNode source1, ValueNode source2, ValueNode scalar,
+                    ValueNode fromIndex, ValueNode toIndex) {
+        super(TYPE, StampFactory.forKind(JavaKind.Int));
+        assert operation.supports(elementKind);
+        assert operation.isBinary() ? source1 != null && (source2 == null) != (scalar == null) : source2 == null && (source1 == null) != (scalar == null);
+        this.elementKind = elementKind;
+        this.operation = operation;
+        this.destination = destination;
+        this.source1 = source1;
+        this.source2 = source2;
+        this.scalar = scalar;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+    }
+
+    /**
+     * Creates a node that stores {@code scalar} into all elements in the index range
+     * {@code [fromIndex, toIndex)} of {@code destination}.
+     */
+    public ElementwiseArrayLoopNode(@ConstantNodeParameter JavaKind elementKind, ValueNode destination, ValueNode scalar, ValueNode fromIndex, ValueNode toIndex) {
+        this(elementKind, ElementwiseArrayOperation.COPY, destination, null, null, scalar, fromIndex, toIndex);
+    }
+
+    @NodeIntrinsic
+    public static native int fill(@ConstantNodeParameter JavaKind elementKind, Object destination, int scalar, int fromIndex, int toIndex);
+
+    @NodeIntrinsic
+    public static native int fill(@ConstantNodeParameter JavaKind elementKind, Object destination, long scalar, int fromIndex, int toIndex);
+
+    @NodeIntrinsic
+    public static native int fill(@ConstantNodeParameter JavaKind elementKind, Object destination, float scalar, int fromIndex, int toIndex);
+
+    @NodeIntrinsic
+    public static native int fill(@ConstantNodeParameter JavaKind elementKind, Object destination, double scalar, int fromIndex, int toIndex);
+
+    public JavaKind getElementKind() {
+        return elementKind;
+    }
+
+    public ElementwiseArrayOperation getOperation() {
+        return operation;
+    }
+
+    @Override
+    public LocationIdentity getKilledLocationIdentity() {
+        return NamedLocationIdentity.getArrayLocation(elementKind);
+    }
+
+    @Override
+    public void generate(NodeLIRBuilderTool gen) {
+        LIRGeneratorTool tool = gen.getLIRGeneratorTool();
+        Value source1Value = source1 == null ? Value.ILLEGAL : gen.operand(source1);
+        Value source2Value = source2 == null ? Value.ILLEGAL : gen.operand(source2);
+        Value scalarValue = scalar == null ? Value.ILLEGAL : gen.operand(scalar);
+        Value result = tool.emitElementwiseArrayLoop(elementKind, operation, gen.operand(destination), source1Value, source2Value, scalarValue, gen.operand(fromIndex), gen.operand(toIndex));
+        gen.setResult(this, result);
+    }
+}
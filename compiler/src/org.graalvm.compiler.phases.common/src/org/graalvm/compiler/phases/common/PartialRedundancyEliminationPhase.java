@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.phases.common;
+
+import org.graalvm.compiler.core.common.cfg.AbstractControlFlowGraph;
+import org.graalvm.compiler.debug.CounterKey;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.graph.NodeMap;
+import org.graalvm.compiler.nodes.AbstractBeginNode;
+import org.graalvm.compiler.nodes.AbstractMergeNode;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.EndNode;
+import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.MergeNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.PhiNode;
+import org.graalvm.compiler.nodes.PiNode;
+import org.graalvm.compiler.nodes.StateSplit;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.cfg.Block;
+import org.graalvm.compiler.nodes.cfg.ControlFlowGraph;
+import org.graalvm.compiler.nodes.extended.GuardingNode;
+import org.graalvm.compiler.nodes.java.AccessFieldNode;
+import org.graalvm.compiler.nodes.java.LoadFieldNode;
+import org.graalvm.compiler.nodes.memory.MemoryKill;
+import org.graalvm.compiler.nodes.spi.CoreProviders;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionKey;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.compiler.phases.BasePhase;
+
+/**
+ * Partial redundancy elimination for field loads at control flow merges.
+ * <p>
+ * Floating nodes are value numbered globally and scheduled late, so an expression that is computed
+ * before and after a merge is already a single node. Field loads are fixed in the high tier and
+ * read elimination only removes a load after a merge if the value is available in all
+ * predecessors. This phase handles the case where the load following a merge is available in
+ * some predecessors only: the load is copied to the end of the predecessors in which it is not
+ * available and replaced by a phi. A path that already loaded the field no longer loads it again
+ * while no other path executes more loads than before.
+ * <p>
+ * A load is only moved across nodes that do not kill memory, and only if the object it reads from
+ * is available at the end of each predecessor. The copies therefore observe the same value as the
+ * original load, and since the original load is executed on every incoming path, a copy can only
+ * fail on a path on which the original load would have failed as well.
+ */
+public class PartialRedundancyEliminationPhase extends BasePhase<CoreProviders> {
+
+    public static class Options {
+        // @formatter:off
+        @Option(help = "Replace field loads after merges that are redundant on some of the incoming paths by phis.", type = OptionType.Expert)
+        public static final OptionKey<Boolean> PartialRedundancyElimination = new OptionKey<>(false);
+        // @formatter:on
+    }
+
+    private static final CounterKey EliminatedLoads = DebugContext.counter("PartialRedundancyElimination_EliminatedLoads");
+    private static final CounterKey InsertedLoads = DebugContext.counter("PartialRedundancyElimination_InsertedLoads");
+
+    @Override
+    protected void run(StructuredGraph graph, CoreProviders context) {
+        if (!graph.hasNode(AbstractMergeNode.TYPE)) {
+            return;
+        }
+        ControlFlowGraph cfg = ControlFlowGraph.compute(graph, true, false, true, false);
+        /*
+         * Loads are only inserted at the end of predecessors of a merge, so visiting the merges in
+         * post order lets the inserted loads be eliminated in turn at the merges they follow.
+         */
+        Block[] blocks = cfg.reversePostOrder();
+        for (int i = blocks.length - 1; i >= 0; i--) {
+            AbstractBeginNode begin = blocks[i].getBeginNode();
+            if (begin instanceof MergeNode && begin.next() instanceof FixedWithNextNode) {
+                processMerge((MergeNode) begin, cfg);
+            }
+        }
+    }
+
+    /**
+     * Visits the loads in the straight-line code following {@code merge} up to the first node that
+     * kills memory.
+     */
+    private static void processMerge(MergeNode merge, ControlFlowGraph cfg) {
+        FixedNode current = merge.next();
+        while (current instanceof FixedWithNextNode && !isKill(current)) {
+            FixedNode next = ((FixedWithNextNode) current).next();
+            if (current instanceof LoadFieldNode) {
+                tryEliminate(merge, (LoadFieldNode) current, cfg);
+            }
+            current = next;
+        }
+    }
+
+    private static void tryEliminate(MergeNode merge, LoadFieldNode load, ControlFlowGraph cfg) {
+        if (load.isVolatile()) {
+            return;
+        }
+        int count = merge.forwardEndCount();
+        ValueNode[] values = new ValueNode[count];
+        boolean available = false;
+        for (int i = 0; i < count; i++) {
+            EndNode end = merge.forwardEndAt(i);
+            ValueNode object = objectAt(load, merge, end);
+            Block block = cfg.blockFor(end);
+            if (!load.isStatic() && !isAvailableAt(object, block, cfg.getNodeToBlock())) {
+                return;
+            }
+            values[i] = findLoad(load, object, end);
+            available |= values[i] != null;
+        }
+        if (!available) {
+            return;
+        }
+
+        StructuredGraph graph = merge.graph();
+        NodeMap<Block> nodeToBlock = cfg.getNodeToBlock();
+        for (int i = 0; i < count; i++) {
+            if (values[i] == null) {
+                EndNode end = merge.forwardEndAt(i);
+                LoadFieldNode copy = (LoadFieldNode) load.copyWithInputs();
+                if (!load.isStatic()) {
+                    copy.replaceFirstInput(load.object(), objectAt(load, merge, end));
+                }
+                graph.addBeforeFixed(end, copy);
+                nodeToBlock.setAndGrow(copy, cfg.blockFor(end));
+                values[i] = copy;
+                InsertedLoads.increment(graph.getDebug());
+            }
+        }
+        ValuePhiNode phi = graph.addWithoutUnique(new ValuePhiNode(load.stamp(NodeView.DEFAULT).unrestricted(), merge, values));
+        phi.inferStamp();
+        load.replaceAtUsages(phi);
+        graph.removeFixed(load);
+        EliminatedLoads.increment(graph.getDebug());
+    }
+
+    /**
+     * Gets the object {@code load} reads from when coming from the predecessor ending in
+     * {@code end}.
+     */
+    private static ValueNode objectAt(LoadFieldNode load, MergeNode merge, EndNode end) {
+        ValueNode object = load.object();
+        if (object instanceof PhiNode && ((PhiNode) object).merge() == merge) {
+            return ((PhiNode) object).valueAt(end);
+        }
+        return object;
+    }
+
+    /**
+     * Searches the block ending in {@code end} backwards for a load of the same field from the same
+     * object that is not followed by a memory kill.
+     */
+    private static ValueNode findLoad(LoadFieldNode load, ValueNode object, EndNode end) {
+        Node current = end.predecessor();
+        while (current instanceof FixedWithNextNode && !(current instanceof AbstractBeginNode)) {
+            if (current instanceof LoadFieldNode) {
+                LoadFieldNode other = (LoadFieldNode) current;
+                if (other.field().equals(load.field()) && other.object() == object && !other.isVolatile()) {
+                    return other;
+                }
+            } else if (isKill((FixedNode) current)) {
+                return null;
+            }
+            current = current.predecessor();
+        }
+        return null;
+    }
+
+    /**
+     * Determines if {@code value} can be used at the end of {@code block}. Only the shapes of
+     * object values that are common at merges are recognized.
+     */
+    private static boolean isAvailableAt(ValueNode value, Block block, NodeMap<Block> nodeToBlock) {
+        if (value instanceof ConstantNode || value instanceof ParameterNode) {
+            return true;
+        } else if (value instanceof FixedNode) {
+            return dominates(value, block, nodeToBlock);
+        } else if (value instanceof PhiNode) {
+            return dominates(((PhiNode) value).merge(), block, nodeToBlock);
+        } else if (value instanceof PiNode) {
+            PiNode pi = (PiNode) value;
+            GuardingNode guard = pi.getGuard();
+            if (guard != null && !(guard.asNode() instanceof FixedNode && dominates(guard.asNode(), block, nodeToBlock))) {
+                return false;
+            }
+            ValueNode object = pi.object();
+            return object instanceof ParameterNode || (object instanceof FixedNode && dominates(object, block, nodeToBlock));
+        }
+        return false;
+    }
+
+    private static boolean dominates(Node node, Block block, NodeMap<Block> nodeToBlock) {
+        Block nodeBlock = nodeToBlock.getAndGrow(node);
+        return nodeBlock != null && AbstractControlFlowGraph.dominates(nodeBlock, block);
+    }
+
+    private static boolean isKill(FixedNode node) {
+        if (node instanceof MemoryKill) {
+            return true;
+        } else if (node instanceof StateSplit && ((StateSplit) node).hasSideEffect()) {
+            return true;
+        } else if (node instanceof AccessFieldNode && ((AccessFieldNode) node).isVolatile()) {
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public float codeSizeIncrease() {
+        return 2.0f;
+    }
+}
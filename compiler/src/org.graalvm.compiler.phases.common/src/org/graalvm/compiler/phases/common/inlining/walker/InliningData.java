@@ -27,9 +27,14 @@ package org.graalvm.compiler.phases.common.inlining.walker;
 import static org.graalvm.compiler.core.common.GraalOptions.Intrinsify;
 import static org.graalvm.compiler.core.common.GraalOptions.MaximumRecursiveInlining;
 import static org.graalvm.compiler.core.common.GraalOptions.MegamorphicInliningMinMethodProbability;
+import static org.graalvm.compiler.core.common.GraalOptions.TypeSwitchInlining;
+import static org.graalvm.compiler.core.common.GraalOptions.TypeSwitchInliningMaxTargets;
+import static org.graalvm.compiler.core.common.GraalOptions.TypeSwitchInliningMinCoverage;
+import static org.graalvm.compiler.core.common.GraalOptions.TypeSwitchInliningMinTargetProbability;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Iterator;
@@ -38,6 +43,7 @@ import java.util.List;
 
 import org.graalvm.collections.EconomicSet;
 import org.graalvm.collections.Equivalence;
+import org.graalvm.compiler.core.common.GraalOptions;
 import org.graalvm.compiler.core.common.type.ObjectStamp;
 import org.graalvm.compiler.debug.CounterKey;
 import org.graalvm.compiler.debug.DebugContext;
@@ -107,6 +113,11 @@ public class InliningData {
     private static final CounterKey counterInliningPerformed = DebugContext.counter("InliningPerformed");
     private static final CounterKey counterInliningRuns = DebugContext.counter("InliningRuns");
     private static final CounterKey counterInliningConsidered = DebugContext.counter("InliningConsidered");
+    private static final CounterKey counterTypeSwitchSites = DebugContext.counter("TypeSwitchInlining_Sites");
+    private static final CounterKey counterTypeSwitchTargets = DebugContext.counter("TypeSwitchInlining_Targets");
+    private static final CounterKey counterTypeSwitchFallbacks = DebugContext.counter("TypeSwitchInlining_Fallbacks");
+    private static final CounterKey counterTypeSwitchCoverage = DebugContext.counter("TypeSwitchInlining_CoveragePermille");
+    private static final CounterKey counterTypeSwitchRejected = DebugContext.counter("TypeSwitchInlining_Rejected");
 
     /**
      * Call hierarchy from outer most call (i.e., compilation unit) to inner most callee.
@@ -323,6 +334,10 @@ public class InliningData {
                 }
             }
 
+            if (TypeSwitchInlining.getValue(options)) {
+                return getTypeSwitchInlineInfo(invoke, targetMethod, ptypes, concreteMethods, concreteMethodsProbabilities, notRecordedTypeProbability);
+            }
+
             // Clear methods that fall below the threshold.
             if (notRecordedTypeProbability > 0) {
                 ArrayList<ResolvedJavaMethod> newConcreteMethods = new ArrayList<>();
@@ -388,6 +403,75 @@ public class InliningData {
         }
     }
 
+    /**
+     * Selects the most frequent target methods of a polymorphic or megamorphic call site, up to
+     * {@link GraalOptions#TypeSwitchInliningMaxTargets}, to be inlined behind a type switch. The
+     * receiver types of the other methods, including methods that cannot be inlined, are handled
+     * by a virtual call. The call site is not inlined at all if the selected methods cover less
+     * than {@link GraalOptions#TypeSwitchInliningMinCoverage} of the receivers.
+     */
+    private InlineInfo getTypeSwitchInlineInfo(Invoke invoke, ResolvedJavaMethod targetMethod, JavaTypeProfile.ProfiledType[] ptypes, ArrayList<ResolvedJavaMethod> concreteMethods,
+                    ArrayList<Double> concreteMethodsProbabilities, double notRecordedTypeProbability) {
+        OptionValues options = invoke.asNode().getOptions();
+        Integer[] order = new Integer[concreteMethods.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(concreteMethodsProbabilities.get(b), concreteMethodsProbabilities.get(a)));
+
+        int maxTargets = TypeSwitchInliningMaxTargets.getValue(options);
+        double minTargetProbability = TypeSwitchInliningMinTargetProbability.getValue(options);
+        ArrayList<ResolvedJavaMethod> targets = new ArrayList<>();
+        double coverage = 0;
+        for (int index : order) {
+            double probability = concreteMethodsProbabilities.get(index);
+            if (targets.size() == maxTargets || probability < minTargetProbability) {
+                break;
+            }
+            ResolvedJavaMethod concrete = concreteMethods.get(index);
+            if (checkTargetConditions(invoke, concrete)) {
+                targets.add(concrete);
+                coverage += probability;
+            }
+        }
+
+        double minCoverage = TypeSwitchInliningMinCoverage.getValue(options);
+        if (targets.isEmpty() || coverage < minCoverage) {
+            counterTypeSwitchRejected.increment(debug);
+            InliningUtil.traceNotInlinedMethod(invoke, inliningDepth(), targetMethod, "type switch would cover %f %% of the receivers (%d methods)", coverage * 100, concreteMethods.size());
+            invoke.asNode().graph().getInliningLog().addDecision(invoke, false, "InliningPhase", null, null, "type switch would cover %f %% of the receivers (%d methods)", coverage * 100,
+                            concreteMethods.size());
+            return null;
+        }
+
+        ArrayList<JavaTypeProfile.ProfiledType> usedTypes = new ArrayList<>();
+        ArrayList<Integer> typesToConcretes = new ArrayList<>();
+        double fallbackProbability = notRecordedTypeProbability;
+        for (JavaTypeProfile.ProfiledType type : ptypes) {
+            int index = targets.indexOf(type.getType().resolveConcreteMethod(targetMethod, invoke.getContextType()));
+            if (index == -1) {
+                fallbackProbability += type.getProbability();
+            } else {
+                usedTypes.add(type);
+                typesToConcretes.add(index);
+            }
+        }
+
+        if (fallbackProbability > 0 && !context.getOptimisticOptimizations().inlineMegamorphicCalls(options)) {
+            InliningUtil.traceNotInlinedMethod(invoke, inliningDepth(), targetMethod, "type switch needs a virtual call but inlining megamorphic calls is disabled");
+            invoke.asNode().graph().getInliningLog().addDecision(invoke, false, "InliningPhase", null, null, "type switch needs a virtual call but inlining megamorphic calls is disabled");
+            return null;
+        }
+
+        counterTypeSwitchSites.increment(debug);
+        counterTypeSwitchTargets.add(debug, targets.size());
+        counterTypeSwitchCoverage.add(debug, (long) (coverage * 1000));
+        if (fallbackProbability > 0) {
+            counterTypeSwitchFallbacks.increment(debug);
+        }
+        return new MultiTypeGuardInlineInfo(invoke, targets, usedTypes, typesToConcretes, fallbackProbability);
+    }
+
     private InlineInfo getAssumptionInlineInfo(Invoke invoke, ResolvedJavaMethod concrete, AssumptionResult<?> takenAssumption) {
         assert concrete.isConcrete();
         if (checkTargetConditions(invoke, concrete)) {
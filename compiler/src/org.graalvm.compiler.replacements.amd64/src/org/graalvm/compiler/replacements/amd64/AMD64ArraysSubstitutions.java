@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.replacements.amd64;
+
+import java.util.Arrays;
+
+import org.graalvm.compiler.api.replacements.ClassSubstitution;
+import org.graalvm.compiler.api.replacements.MethodSubstitution;
+import org.graalvm.compiler.nodes.java.ElementwiseArrayLoopNode;
+import org.graalvm.compiler.replacements.nodes.ArrayHashCodeNode;
+
+import jdk.vm.ci.meta.JavaKind;
+
+// JaCoCo Exclude
+
+/**
+ * Substitutions for {@link Arrays} methods that use AVX2 vector instructions.
+ */
+@ClassSubstitution(Arrays.class)
+public class AMD64ArraysSubstitutions {
+
+    @MethodSubstitution
+    public static int hashCode(byte[] a) {
+        if (a == null) {
+            return 0;
+        }
+        return ArrayHashCodeNode.hashCode(a, a.length, 1);
+    }
+
+    @MethodSubstitution
+    public static int hashCode(char[] a) {
+        if (a == null) {
+            return 0;
+        }
+        return ArrayHashCodeNode.hashCode(a, a.length, 1);
+    }
+
+    @MethodSubstitution
+    public static int hashCode(short[] a) {
+        if (a == null) {
+            return 0;
+        }
+        return ArrayHashCodeNode.hashCode(a, a.length, 1);
+    }
+
+    @MethodSubstitution
+    public static int hashCode(int[] a) {
+        if (a == null) {
+            return 0;
+        }
+        return ArrayHashCodeNode.hashCode(a, a.length, 1);
+    }
+
+    /*
+     * The fill substitutions store whole vectors first and leave the remaining elements to a scalar
+     * loop. Reading the length before the vector loop performs the null check.
+     */
+
+    @MethodSubstitution
+    public static void fill(byte[] a, byte val) {
+        int length = a.length;
+        for (int i = ElementwiseArrayLoopNode.fill(JavaKind.Byte, a, val, 0, length); i < length; i++) {
+            a[i] = val;
+        }
+    }
+
+    @MethodSubstitution
+    public static void fill(char[] a, char val) {
+        int length = a.length;
+        for (int i = ElementwiseArrayLoopNode.fill(JavaKind.Char, a, val, 0, length); i < length; i++) {
+            a[i] = val;
+        }
+    }
+
+    @MethodSubstitution
+    public static void fill(short[] a, short val) {
+        int length = a.length;
+        for (int i = ElementwiseArrayLoopNode.fill(JavaKind.Short, a, val, 0, length); i < length; i++) {
+            a[i] = val;
+        }
+    }
+
+    @MethodSubstitution
+    public static void fill(int[] a, int val) {
+        int length = a.length;
+        for (int i = ElementwiseArrayLoopNode.fill(JavaKind.Int, a, val, 0, length); i < length; i++) {
+            a[i] = val;
+        }
+    }
+
+    @MethodSubstitution
+    public static void fill(long[] a, long val) {
+        int length = a.length;
+        for (int i = ElementwiseArrayLoopNode.fill(JavaKind.Long, a, val, 0, length); i < length; i++) {
+            a[i] = val;
+        }
+    }
+
+    @MethodSubstitution
+    public static void fill(float[] a, float val) {
+        int length = a.length;
+        for (int i = ElementwiseArrayLoopNode.fill(JavaKind.Float, a, val, 0, length); i < length; i++) {
+            a[i] = val;
+        }
+    }
+
+    @MethodSubstitution
+    public static void fill(double[] a, double val) {
+        int length = a.length;
+        for (int i = ElementwiseArrayLoopNode.fill(JavaKind.Double, a, val, 0, length); i < length; i++) {
+            a[i] = val;
+        }
+    }
+}
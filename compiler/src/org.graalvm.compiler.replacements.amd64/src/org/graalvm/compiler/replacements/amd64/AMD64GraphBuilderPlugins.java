@@ -90,11 +90,12 @@ public class AMD64GraphBuilderPlugins implements TargetGraphBuilderPlugins {
                 registerUnsafePlugins(invocationPlugins, replacements, explicitUnsafeNullChecks);
                 registerStringPlugins(invocationPlugins, replacements);
                 if (emitJDK9StringSubstitutions) {
-                    registerStringLatin1Plugins(invocationPlugins, replacements);
-                    registerStringUTF16Plugins(invocationPlugins, replacements);
+                    registerStringLatin1Plugins(invocationPlugins, replacements, arch);
+                    registerStringUTF16Plugins(invocationPlugins, replacements, arch);
                 }
                 registerMathPlugins(invocationPlugins, useFMAIntrinsics, arch, replacements);
                 registerArraysEqualsPlugins(invocationPlugins, replacements);
+                registerArraysPlugins(invocationPlugins, replacements, arch);
             }
         });
     }
@@ -228,7 +229,7 @@ public class AMD64GraphBuilderPlugins implements TargetGraphBuilderPlugins {
         }
     }
 
-    private static void registerStringLatin1Plugins(InvocationPlugins plugins, Replacements replacements) {
+    private static void registerStringLatin1Plugins(InvocationPlugins plugins, Replacements replacements, AMD64 arch) {
         Registration r = new Registration(plugins, "java.lang.StringLatin1", replacements);
         r.setAllowOverwrite(true);
         r.registerMethodSubstitution(AMD64StringLatin1Substitutions.class, "compareTo", byte[].class, byte[].class);
@@ -236,10 +237,13 @@ public class AMD64GraphBuilderPlugins implements TargetGraphBuilderPlugins {
         r.registerMethodSubstitution(AMD64StringLatin1Substitutions.class, "inflate", byte[].class, int.class, char[].class, int.class, int.class);
         r.registerMethodSubstitution(AMD64StringLatin1Substitutions.class, "inflate", byte[].class, int.class, byte[].class, int.class, int.class);
         r.registerMethodSubstitution(AMD64StringLatin1Substitutions.class, "indexOf", byte[].class, int.class, int.class);
+        if (arch.getFeatures().contains(CPUFeature.AVX2)) {
+            r.registerMethodSubstitution(AMD64StringLatin1Substitutions.class, "hashCode", byte[].class);
+        }
         r.registerMethodSubstitution(AMD64StringLatin1Substitutions.class, "indexOf", byte[].class, int.class, byte[].class, int.class, int.class);
     }
 
-    private static void registerStringUTF16Plugins(InvocationPlugins plugins, Replacements replacements) {
+    private static void registerStringUTF16Plugins(InvocationPlugins plugins, Replacements replacements, AMD64 arch) {
         Registration r = new Registration(plugins, "java.lang.StringUTF16", replacements);
         r.setAllowOverwrite(true);
         r.registerMethodSubstitution(AMD64StringUTF16Substitutions.class, "compareTo", byte[].class, byte[].class);
@@ -249,6 +253,9 @@ public class AMD64GraphBuilderPlugins implements TargetGraphBuilderPlugins {
         r.registerMethodSubstitution(AMD64StringUTF16Substitutions.class, "indexOfCharUnsafe", byte[].class, int.class, int.class, int.class);
         r.registerMethodSubstitution(AMD64StringUTF16Substitutions.class, "indexOfUnsafe", byte[].class, int.class, byte[].class, int.class, int.class);
         r.registerMethodSubstitution(AMD64StringUTF16Substitutions.class, "indexOfLatin1Unsafe", byte[].class, int.class, byte[].class, int.class, int.class);
+        if (arch.getFeatures().contains(CPUFeature.AVX2)) {
+            r.registerMethodSubstitution(AMD64StringUTF16Substitutions.class, "hashCode", byte[].class);
+        }
     }
 
     private static void registerUnsafePlugins(InvocationPlugins plugins, Replacements replacements, boolean explicitUnsafeNullChecks) {
@@ -298,4 +305,21 @@ public class AMD64GraphBuilderPlugins implements TargetGraphBuilderPlugins {
         r.registerMethodSubstitution(ArraysSubstitutions.class, "equals", float[].class, float[].class);
         r.registerMethodSubstitution(ArraysSubstitutions.class, "equals", double[].class, double[].class);
     }
+
+    private static void registerArraysPlugins(InvocationPlugins plugins, Replacements replacements, AMD64 arch) {
+        if (arch.getFeatures().contains(CPUFeature.AVX2)) {
+            Registration r = new Registration(plugins, Arrays.class, replacements);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "hashCode", byte[].class);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "hashCode", char[].class);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "hashCode", short[].class);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "hashCode", int[].class);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "fill", byte[].class, byte.class);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "fill", char[].class, char.class);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "fill", short[].class, short.class);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "fill", int[].class, int.class);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "fill", long[].class, long.class);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "fill", float[].class, float.class);
+            r.registerMethodSubstitution(AMD64ArraysSubstitutions.class, "fill", double[].class, double.class);
+        }
+    }
 }
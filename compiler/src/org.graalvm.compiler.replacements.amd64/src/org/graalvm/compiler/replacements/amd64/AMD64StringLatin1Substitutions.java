@@ -30,6 +30,7 @@ import org.graalvm.compiler.api.replacements.Fold.InjectedParameter;
 import org.graalvm.compiler.api.replacements.MethodSubstitution;
 import org.graalvm.compiler.nodes.DeoptimizeNode;
 import org.graalvm.compiler.replacements.nodes.ArrayCompareToNode;
+import org.graalvm.compiler.replacements.nodes.ArrayHashCodeNode;
 import org.graalvm.compiler.replacements.nodes.ArrayRegionEqualsNode;
 import org.graalvm.compiler.word.Word;
 import org.graalvm.word.Pointer;
@@ -90,6 +91,12 @@ public class AMD64StringLatin1Substitutions {
         return ArrayCompareToNode.compareTo(value, other, value.length, other.length, JavaKind.Byte, JavaKind.Char);
     }
 
+    @MethodSubstitution
+    public static int hashCode(byte[] value) {
+        // Latin-1 characters are unsigned bytes
+        return ArrayHashCodeNode.hashCode(value, value.length, 0, JavaKind.Byte, JavaKind.Boolean);
+    }
+
     private static Word pointer(byte[] target) {
         return Word.objectToTrackedPointer(target).add(byteArrayBaseOffset(INJECTED));
     }
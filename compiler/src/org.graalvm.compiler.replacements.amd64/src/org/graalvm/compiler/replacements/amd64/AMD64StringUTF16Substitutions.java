@@ -36,6 +36,7 @@ import org.graalvm.compiler.nodes.DeoptimizeNode;
 import org.graalvm.compiler.replacements.ReplacementsUtil;
 import org.graalvm.compiler.replacements.StringUTF16Substitutions;
 import org.graalvm.compiler.replacements.nodes.ArrayCompareToNode;
+import org.graalvm.compiler.replacements.nodes.ArrayHashCodeNode;
 import org.graalvm.compiler.replacements.nodes.ArrayRegionEqualsNode;
 import org.graalvm.compiler.word.Word;
 import org.graalvm.word.Pointer;
@@ -101,6 +102,14 @@ public class AMD64StringUTF16Substitutions {
         return ArrayCompareToNode.compareTo(other, value, other.length, value.length, JavaKind.Char, JavaKind.Byte);
     }
 
+    /**
+     * @param value is char[]
+     */
+    @MethodSubstitution
+    public static int hashCode(byte[] value) {
+        return ArrayHashCodeNode.hashCode(value, value.length >> 1, 0, JavaKind.Byte, JavaKind.Char);
+    }
+
     @MethodSubstitution
     public static int indexOfCharUnsafe(byte[] value, int ch, int fromIndex, int max) {
         return AMD64ArrayIndexOf.indexOf1Char(value, max, fromIndex, (char) ch);
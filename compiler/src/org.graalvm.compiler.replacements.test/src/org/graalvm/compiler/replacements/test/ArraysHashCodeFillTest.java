@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.compiler.replacements.test;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Arrays;
+
+import org.graalvm.compiler.core.test.GraalCompilerTest;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.StructuredGraph.AllowAssumptions;
+import org.graalvm.compiler.nodes.java.ElementwiseArrayLoopNode;
+import org.graalvm.compiler.replacements.nodes.ArrayHashCodeNode;
+import org.junit.Test;
+
+import jdk.vm.ci.amd64.AMD64;
+import jdk.vm.ci.code.Architecture;
+
+/**
+ * Tests the vectorized {@link Arrays#hashCode} and {@link Arrays#fill} substitutions and the
+ * {@link String#hashCode()} substitutions for compact strings. The lengths cover arrays shorter
+ * than one vector as well as arrays with and without a scalar tail.
+ */
+public class ArraysHashCodeFillTest extends GraalCompilerTest {
+
+    private static final int[] LENGTHS = {0, 1, 7, 8, 9, 15, 16, 17, 31, 32, 33, 100, 1023};
+
+    public static int hashCodeByte(byte[] a) {
+        return Arrays.hashCode(a);
+    }
+
+    public static int hashCodeChar(char[] a) {
+        return Arrays.hashCode(a);
+    }
+
+    public static int hashCodeShort(short[] a) {
+        return Arrays.hashCode(a);
+    }
+
+    public static int hashCodeInt(int[] a) {
+        return Arrays.hashCode(a);
+    }
+
+    public static int stringHashCode(char[] chars) {
+        return new String(chars).hashCode();
+    }
+
+    @Test
+    public void testHashCode() {
+        test("hashCodeByte", (Object) null);
+        test("hashCodeInt", (Object) null);
+        for (int length : LENGTHS) {
+            byte[] bytes = new byte[length];
+            char[] chars = new char[length];
+            short[] shorts = new short[length];
+            int[] ints = new int[length];
+            for (int i = 0; i < length; i++) {
+                // include negative bytes and shorts and chars above 0x7fff
+                int value = i * 0x9E3779B9;
+                bytes[i] = (byte) value;
+                chars[i] = (char) value;
+                shorts[i] = (short) value;
+                ints[i] = value;
+            }
+            test("hashCodeByte", bytes);
+            test("hashCodeChar", chars);
+            test("hashCodeShort", shorts);
+            test("hashCodeInt", ints);
+        }
+    }
+
+    @Test
+    public void testStringHashCode() {
+        for (int length : LENGTHS) {
+            char[] latin1 = new char[length];
+            char[] utf16 = new char[length];
+            for (int i = 0; i < length; i++) {
+                latin1[i] = (char) (0x80 + i % 0x80);
+                utf16[i] = (char) (0x80 + i * 0x123);
+            }
+            test("stringHashCode", latin1);
+            test("stringHashCode", utf16);
+        }
+    }
+
+    public static byte[] fillByte(int length, byte value) {
+        byte[] a = new byte[length];
+        Arrays.fill(a, value);
+        return a;
+    }
+
+    public static char[] fillChar(int length, char value) {
+        char[] a = new char[length];
+        Arrays.fill(a, value);
+        return a;
+    }
+
+    public static short[] fillShort(int length, short value) {
+        short[] a = new short[length];
+        Arrays.fill(a, value);
+        return a;
+    }
+
+    public static int[] fillInt(int length, int value) {
+        int[] a = new int[length];
+        Arrays.fill(a, value);
+        return a;
+    }
+
+    public static long[] fillLong(int length, long value) {
+        long[] a = new long[length];
+        Arrays.fill(a, value);
+        return a;
+    }
+
+    public static float[] fillFloat(int length, float value) {
+        float[] a = new float[length];
+        Arrays.fill(a, value);
+        return a;
+    }
+
+    public static double[] fillDouble(int length, double value) {
+        double[] a = new double[length];
+        Arrays.fill(a, value);
+        return a;
+    }
+
+    public static void fillNull(int[] a) {
+        Arrays.fill(a, 42);
+    }
+
+    @Test
+    public void testFill() {
+        for (int length : LENGTHS) {
+            test("fillByte", length, (byte) -3);
+            test("fillChar", length, (char) 0xfedc);
+            test("fillShort", length, (short) -1234);
+            test("fillInt", length, 0x12345678);
+            test("fillLong", length, 0x123456789ABCDEFL);
+            test("fillFloat", length, -1.5f);
+            test("fillDouble", length, Math.PI);
+        }
+        test("fillNull", (Object) null);
+    }
+
+    private boolean supportsAVX2() {
+        Architecture arch = getTarget().arch;
+        return arch instanceof AMD64 && ((AMD64) arch).getFeatures().contains(AMD64.CPUFeature.AVX2);
+    }
+
+    private void assertIntrinsified(String snippet, Class<? extends Node> intrinsicClass) {
+        StructuredGraph graph = parseEager(snippet, AllowAssumptions.YES);
+        assertTrue(snippet + " is not intrinsified with " + intrinsicClass.getSimpleName(), graph.getNodes().filter(intrinsicClass).isNotEmpty());
+    }
+
+    @Test
+    public void testIntrinsified() {
+        assumeTrue("the intrinsics require AVX2", supportsAVX2());
+        for (String snippet : new String[]{"hashCodeByte", "hashCodeChar", "hashCodeShort", "hashCodeInt"}) {
+            assertIntrinsified(snippet, ArrayHashCodeNode.class);
+        }
+        for (String snippet : new String[]{"fillByte", "fillChar", "fillShort", "fillInt", "fillLong", "fillFloat", "fillDouble"}) {
+            assertIntrinsified(snippet, ElementwiseArrayLoopNode.class);
+        }
+    }
+}
@@ -161,6 +161,18 @@ public final class NewFrameNode extends FixedWithNextNode implements IterableNod
 
         JavaKind[] frameSlotKindsCandidate = new JavaKind[frameLength];
         int limit = -1;
+
+        /*
+         * The indexed slots come first. Their number is fixed when the FrameDescriptor is built, so
+         * their kinds can be read without any further synchronization.
+         */
+        JavaConstant indexedSlotTags = constantReflection.readFieldValue(types.fieldFrameDescriptorIndexedSlotTags, frameDescriptor);
+        final int indexedSlotCount = constantReflection.readArrayLength(indexedSlotTags);
+        for (int i = 0; i < indexedSlotCount; i++) {
+            frameSlotKindsCandidate[i] = asJavaKind(constantReflection.readArrayElement(indexedSlotTags, i));
+            limit = i;
+        }
+
         for (int i = 0; i < slotsArrayLength; i++) {
             JavaConstant slot = constantReflection.readArrayElement(slotArray, i);
             if (slot.isNonNull()) {
@@ -59,6 +59,13 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
     public static final byte BOOLEAN_TAG = 6;
     public static final byte BYTE_TAG = 7;
 
+    /*
+     * Location identities of the indexed slots. Accesses to indexed slots use these instead of the
+     * any location, so that they do not kill unrelated memory reads in compiled code.
+     */
+    private static final Object INDEXED_OBJECT_LOCATION = new Object();
+    private static final Object INDEXED_PRIMITIVE_LOCATION = new Object();
+
     private static final Object[] EMPTY_OBJECT_ARRAY = {};
     private static final long[] EMPTY_LONG_ARRAY = {};
     private static final byte[] EMPTY_BYTE_ARRAY = {};
@@ -141,8 +148,8 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return unsafeCast(tags, byte[].class, true, true, true);
     }
 
-    Object getObjectUnsafe(int slotIndex, FrameSlot slot, boolean condition) {
-        return unsafeGetObject(getLocals(), Unsafe.ARRAY_OBJECT_BASE_OFFSET + slotIndex * (long) Unsafe.ARRAY_OBJECT_INDEX_SCALE, condition, slot);
+    Object getObjectUnsafe(int slotIndex, Object location, boolean condition) {
+        return unsafeGetObject(getLocals(), Unsafe.ARRAY_OBJECT_BASE_OFFSET + slotIndex * (long) Unsafe.ARRAY_OBJECT_INDEX_SCALE, condition, location);
     }
 
     @Override
@@ -152,8 +159,8 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         setObjectUnsafe(slotIndex, slot, value);
     }
 
-    private void setObjectUnsafe(int slotIndex, FrameSlot slot, Object value) {
-        unsafePutObject(getLocals(), Unsafe.ARRAY_OBJECT_BASE_OFFSET + slotIndex * (long) Unsafe.ARRAY_OBJECT_INDEX_SCALE, value, slot);
+    private void setObjectUnsafe(int slotIndex, Object location, Object value) {
+        unsafePutObject(getLocals(), Unsafe.ARRAY_OBJECT_BASE_OFFSET + slotIndex * (long) Unsafe.ARRAY_OBJECT_INDEX_SCALE, value, location);
     }
 
     @Override
@@ -163,9 +170,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return getByteUnsafe(slotIndex, slot, condition);
     }
 
-    byte getByteUnsafe(int slotIndex, FrameSlot slot, boolean condition) {
+    byte getByteUnsafe(int slotIndex, Object location, boolean condition) {
         long offset = getPrimitiveOffset(slotIndex);
-        return (byte) unsafeGetInt(getPrimitiveLocals(), offset, condition, slot);
+        return (byte) unsafeGetInt(getPrimitiveLocals(), offset, condition, location);
     }
 
     @Override
@@ -175,9 +182,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         setByteUnsafe(slotIndex, slot, value);
     }
 
-    private void setByteUnsafe(int slotIndex, FrameSlot slot, byte value) {
+    private void setByteUnsafe(int slotIndex, Object location, byte value) {
         long offset = getPrimitiveOffset(slotIndex);
-        unsafePutInt(getPrimitiveLocals(), offset, value, slot);
+        unsafePutInt(getPrimitiveLocals(), offset, value, location);
     }
 
     @Override
@@ -187,9 +194,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return getBooleanUnsafe(slotIndex, slot, condition);
     }
 
-    boolean getBooleanUnsafe(int slotIndex, FrameSlot slot, boolean condition) {
+    boolean getBooleanUnsafe(int slotIndex, Object location, boolean condition) {
         long offset = getPrimitiveOffset(slotIndex);
-        return unsafeGetInt(getPrimitiveLocals(), offset, condition, slot) != 0;
+        return unsafeGetInt(getPrimitiveLocals(), offset, condition, location) != 0;
     }
 
     @Override
@@ -199,9 +206,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         setBooleanUnsafe(slotIndex, slot, value);
     }
 
-    private void setBooleanUnsafe(int slotIndex, FrameSlot slot, boolean value) {
+    private void setBooleanUnsafe(int slotIndex, Object location, boolean value) {
         long offset = getPrimitiveOffset(slotIndex);
-        unsafePutInt(getPrimitiveLocals(), offset, value ? 1 : 0, slot);
+        unsafePutInt(getPrimitiveLocals(), offset, value ? 1 : 0, location);
     }
 
     @Override
@@ -211,9 +218,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return getFloatUnsafe(slotIndex, slot, condition);
     }
 
-    float getFloatUnsafe(int slotIndex, FrameSlot slot, boolean condition) {
+    float getFloatUnsafe(int slotIndex, Object location, boolean condition) {
         long offset = getPrimitiveOffset(slotIndex);
-        return unsafeGetFloat(getPrimitiveLocals(), offset, condition, slot);
+        return unsafeGetFloat(getPrimitiveLocals(), offset, condition, location);
     }
 
     @Override
@@ -223,9 +230,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         setFloatUnsafe(slotIndex, slot, value);
     }
 
-    private void setFloatUnsafe(int slotIndex, FrameSlot slot, float value) {
+    private void setFloatUnsafe(int slotIndex, Object location, float value) {
         long offset = getPrimitiveOffset(slotIndex);
-        unsafePutFloat(getPrimitiveLocals(), offset, value, slot);
+        unsafePutFloat(getPrimitiveLocals(), offset, value, location);
     }
 
     @Override
@@ -235,9 +242,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return getLongUnsafe(slotIndex, slot, condition);
     }
 
-    long getLongUnsafe(int slotIndex, FrameSlot slot, boolean condition) {
+    long getLongUnsafe(int slotIndex, Object location, boolean condition) {
         long offset = getPrimitiveOffset(slotIndex);
-        return unsafeGetLong(getPrimitiveLocals(), offset, condition, slot);
+        return unsafeGetLong(getPrimitiveLocals(), offset, condition, location);
     }
 
     @Override
@@ -247,9 +254,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         setLongUnsafe(slotIndex, slot, value);
     }
 
-    private void setLongUnsafe(int slotIndex, FrameSlot slot, long value) {
+    private void setLongUnsafe(int slotIndex, Object location, long value) {
         long offset = getPrimitiveOffset(slotIndex);
-        unsafePutLong(getPrimitiveLocals(), offset, value, slot);
+        unsafePutLong(getPrimitiveLocals(), offset, value, location);
     }
 
     @Override
@@ -259,9 +266,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return getIntUnsafe(slotIndex, slot, condition);
     }
 
-    int getIntUnsafe(int slotIndex, FrameSlot slot, boolean condition) {
+    int getIntUnsafe(int slotIndex, Object location, boolean condition) {
         long offset = getPrimitiveOffset(slotIndex);
-        return unsafeGetInt(getPrimitiveLocals(), offset, condition, slot);
+        return unsafeGetInt(getPrimitiveLocals(), offset, condition, location);
     }
 
     @Override
@@ -271,9 +278,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         setIntUnsafe(slotIndex, slot, value);
     }
 
-    private void setIntUnsafe(int slotIndex, FrameSlot slot, int value) {
+    private void setIntUnsafe(int slotIndex, Object location, int value) {
         long offset = getPrimitiveOffset(slotIndex);
-        unsafePutInt(getPrimitiveLocals(), offset, value, slot);
+        unsafePutInt(getPrimitiveLocals(), offset, value, location);
     }
 
     @Override
@@ -283,9 +290,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return getDoubleUnsafe(slotIndex, slot, condition);
     }
 
-    double getDoubleUnsafe(int slotIndex, FrameSlot slot, boolean condition) {
+    double getDoubleUnsafe(int slotIndex, Object location, boolean condition) {
         long offset = getPrimitiveOffset(slotIndex);
-        return unsafeGetDouble(getPrimitiveLocals(), offset, condition, slot);
+        return unsafeGetDouble(getPrimitiveLocals(), offset, condition, location);
     }
 
     @Override
@@ -295,9 +302,9 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         setDoubleUnsafe(slotIndex, slot, value);
     }
 
-    private void setDoubleUnsafe(int slotIndex, FrameSlot slot, double value) {
+    private void setDoubleUnsafe(int slotIndex, Object location, double value) {
         long offset = getPrimitiveOffset(slotIndex);
-        unsafePutDouble(getPrimitiveLocals(), offset, value, slot);
+        unsafePutDouble(getPrimitiveLocals(), offset, value, location);
     }
 
     @Override
@@ -430,6 +437,175 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         return getTag(slot) == DOUBLE_TAG;
     }
 
+    @Override
+    public Object getObject(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, OBJECT_TAG);
+        return getObjectUnsafe(slot, INDEXED_OBJECT_LOCATION, condition);
+    }
+
+    @Override
+    public void setObject(int slot, Object value) {
+        verifyIndexedSet(slot, OBJECT_TAG);
+        setObjectUnsafe(slot, INDEXED_OBJECT_LOCATION, value);
+    }
+
+    @Override
+    public byte getByte(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, BYTE_TAG);
+        return getByteUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+    }
+
+    @Override
+    public void setByte(int slot, byte value) {
+        verifyIndexedSet(slot, BYTE_TAG);
+        setByteUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, value);
+    }
+
+    @Override
+    public boolean getBoolean(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, BOOLEAN_TAG);
+        return getBooleanUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+    }
+
+    @Override
+    public void setBoolean(int slot, boolean value) {
+        verifyIndexedSet(slot, BOOLEAN_TAG);
+        setBooleanUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, value);
+    }
+
+    @Override
+    public int getInt(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, INT_TAG);
+        return getIntUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+    }
+
+    @Override
+    public void setInt(int slot, int value) {
+        verifyIndexedSet(slot, INT_TAG);
+        setIntUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, value);
+    }
+
+    @Override
+    public long getLong(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, LONG_TAG);
+        return getLongUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+    }
+
+    @Override
+    public void setLong(int slot, long value) {
+        verifyIndexedSet(slot, LONG_TAG);
+        setLongUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, value);
+    }
+
+    @Override
+    public float getFloat(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, FLOAT_TAG);
+        return getFloatUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+    }
+
+    @Override
+    public void setFloat(int slot, float value) {
+        verifyIndexedSet(slot, FLOAT_TAG);
+        setFloatUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, value);
+    }
+
+    @Override
+    public double getDouble(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, DOUBLE_TAG);
+        return getDoubleUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+    }
+
+    @Override
+    public void setDouble(int slot, double value) {
+        verifyIndexedSet(slot, DOUBLE_TAG);
+        setDoubleUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, value);
+    }
+
+    private void verifyIndexedSet(int slot, byte tag) {
+        getTags()[slot] = tag;
+    }
+
+    private boolean verifyIndexedGet(int slot, byte tag) throws FrameSlotTypeException {
+        boolean condition = getTags()[slot] == tag;
+        if (!condition) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw new FrameSlotTypeException();
+        }
+        return condition;
+    }
+
+    @Override
+    public Object getValue(int slot) {
+        byte tag = getTags()[slot];
+        boolean condition = (tag == BOOLEAN_TAG);
+        if (condition) {
+            return getBooleanUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+        }
+        condition = (tag == BYTE_TAG);
+        if (condition) {
+            return getByteUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+        }
+        condition = (tag == INT_TAG);
+        if (condition) {
+            return getIntUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+        }
+        condition = (tag == DOUBLE_TAG);
+        if (condition) {
+            return getDoubleUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+        }
+        condition = (tag == LONG_TAG);
+        if (condition) {
+            return getLongUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+        }
+        condition = (tag == FLOAT_TAG);
+        if (condition) {
+            return getFloatUnsafe(slot, INDEXED_PRIMITIVE_LOCATION, condition);
+        }
+        condition = tag == OBJECT_TAG;
+        assert condition;
+        return getObjectUnsafe(slot, INDEXED_OBJECT_LOCATION, condition);
+    }
+
+    @Override
+    public byte getTag(int slot) {
+        return getTags()[slot];
+    }
+
+    @Override
+    public boolean isObject(int slot) {
+        return getTag(slot) == OBJECT_TAG;
+    }
+
+    @Override
+    public boolean isByte(int slot) {
+        return getTag(slot) == BYTE_TAG;
+    }
+
+    @Override
+    public boolean isBoolean(int slot) {
+        return getTag(slot) == BOOLEAN_TAG;
+    }
+
+    @Override
+    public boolean isInt(int slot) {
+        return getTag(slot) == INT_TAG;
+    }
+
+    @Override
+    public boolean isLong(int slot) {
+        return getTag(slot) == LONG_TAG;
+    }
+
+    @Override
+    public boolean isFloat(int slot) {
+        return getTag(slot) == FLOAT_TAG;
+    }
+
+    @Override
+    public boolean isDouble(int slot) {
+        return getTag(slot) == DOUBLE_TAG;
+    }
+
     @SuppressWarnings({"unchecked", "unused"})
     private static <T> T unsafeCast(Object value, Class<T> type, boolean condition, boolean nonNull, boolean exact) {
         return (T) value;
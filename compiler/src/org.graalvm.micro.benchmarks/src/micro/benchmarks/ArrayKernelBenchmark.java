@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package micro.benchmarks;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Element-wise kernels over primitive arrays as they appear in checksums, byte-array processing and
+ * numeric code. Run with {@code -Dgraal.VectorizeLoops=true} to measure the effect of loop
+ * vectorization.
+ */
+@State(Scope.Thread)
+public class ArrayKernelBenchmark extends BenchmarkBase {
+
+    @Param({"16", "1024", "65536"}) public int size;
+
+    private int[] ints1;
+    private int[] ints2;
+    private int[] intsResult;
+    private byte[] bytes1;
+    private byte[] bytes2;
+    private byte[] bytesResult;
+    private char[] chars;
+    private char[] charsResult;
+    private long[] longsResult;
+    private double[] doubles;
+    private double[] doublesResult;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(17);
+        ints1 = new int[size];
+        ints2 = new int[size];
+        intsResult = new int[size];
+        bytes1 = new byte[size];
+        bytes2 = new byte[size];
+        bytesResult = new byte[size];
+        chars = new char[size];
+        charsResult = new char[size];
+        longsResult = new long[size];
+        doubles = new double[size];
+        doublesResult = new double[size];
+        for (int i = 0; i < size; i++) {
+            ints1[i] = random.nextInt();
+            ints2[i] = random.nextInt();
+            chars[i] = (char) random.nextInt();
+            doubles[i] = random.nextDouble();
+        }
+        random.nextBytes(bytes1);
+        random.nextBytes(bytes2);
+    }
+
+    @Benchmark
+    public int[] addInts() {
+        int[] a = ints1;
+        int[] b = ints2;
+        int[] result = intsResult;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] + b[i];
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] mulIntsScalar() {
+        int[] a = ints1;
+        int[] result = intsResult;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] * 31;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] xorBytes() {
+        byte[] a = bytes1;
+        byte[] b = bytes2;
+        byte[] result = bytesResult;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) (a[i] ^ b[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public char[] copyChars() {
+        char[] a = chars;
+        char[] result = charsResult;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i];
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long[] fillLongs() {
+        long[] result = longsResult;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = -1L;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] scaleDoubles() {
+        double[] a = doubles;
+        double[] result = doublesResult;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] * 1.5;
+        }
+        return result;
+    }
+}
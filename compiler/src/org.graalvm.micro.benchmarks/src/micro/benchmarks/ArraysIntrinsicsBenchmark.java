@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package micro.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the {@link Arrays#hashCode}, {@link Arrays#fill} and {@link String#hashCode()}
+ * intrinsics, which use vector instructions on AMD64 with AVX2.
+ */
+@State(Scope.Thread)
+public class ArraysIntrinsicsBenchmark extends BenchmarkBase {
+
+    @Param({"16", "1024", "65536"}) public int size;
+
+    private byte[] bytes;
+    private char[] chars;
+    private int[] ints;
+    private long[] longs;
+    private char[] latin1Chars;
+    private char[] utf16Chars;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(17);
+        bytes = new byte[size];
+        chars = new char[size];
+        ints = new int[size];
+        longs = new long[size];
+        latin1Chars = new char[size];
+        utf16Chars = new char[size];
+        random.nextBytes(bytes);
+        for (int i = 0; i < size; i++) {
+            chars[i] = (char) random.nextInt();
+            ints[i] = random.nextInt();
+            latin1Chars[i] = (char) random.nextInt(0x100);
+            utf16Chars[i] = (char) (0x100 + random.nextInt(0x1000));
+        }
+    }
+
+    @Benchmark
+    public int hashCodeBytes() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Benchmark
+    public int hashCodeChars() {
+        return Arrays.hashCode(chars);
+    }
+
+    @Benchmark
+    public int hashCodeInts() {
+        return Arrays.hashCode(ints);
+    }
+
+    /** Hashes a fresh string because {@link String#hashCode()} caches its result. */
+    @Benchmark
+    public int hashCodeLatin1String() {
+        return new String(latin1Chars).hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeUTF16String() {
+        return new String(utf16Chars).hashCode();
+    }
+
+    @Benchmark
+    public byte[] fillBytes() {
+        Arrays.fill(bytes, (byte) 42);
+        return bytes;
+    }
+
+    @Benchmark
+    public int[] fillInts() {
+        Arrays.fill(ints, 42);
+        return ints;
+    }
+
+    @Benchmark
+    public long[] fillLongs() {
+        Arrays.fill(longs, 42L);
+        return longs;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package micro.benchmarks;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A dispatch loop in which the fields read after each merge were already read on some of the
+ * incoming paths. {@link #fieldLoads} runs with the default configuration while
+ * {@link #fieldLoadsPartialRedundancyElimination} runs in a fork with
+ * {@code -Dgraal.PartialRedundancyElimination=true}, so the two scores show the effect of the phase
+ * on the compiled loop.
+ */
+@State(Scope.Thread)
+public class FieldLoadMergeBenchmark extends BenchmarkBase {
+
+    static final class Instruction {
+        final int op;
+        final int a;
+        final int b;
+
+        Instruction(int op, int a, int b) {
+            this.op = op;
+            this.a = a;
+            this.b = b;
+        }
+    }
+
+    @Param({"1024", "65536"}) public int size;
+
+    private Instruction[] instructions;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(17);
+        instructions = new Instruction[size];
+        for (int i = 0; i < size; i++) {
+            instructions[i] = new Instruction(random.nextInt(3), random.nextInt(), random.nextInt());
+        }
+    }
+
+    @Benchmark
+    public int fieldLoads() {
+        return execute(instructions);
+    }
+
+    @Benchmark
+    @Fork(value = BenchmarkBase.Defaults.FORKS, jvmArgsAppend = "-Dgraal.PartialRedundancyElimination=true")
+    public int fieldLoadsPartialRedundancyElimination() {
+        return execute(instructions);
+    }
+
+    private static int execute(Instruction[] code) {
+        int result = 0;
+        for (int i = 0; i < code.length; i++) {
+            Instruction instruction = code[i];
+            int op = instruction.op;
+            if (op == 0) {
+                result += instruction.a + instruction.b;
+            } else if (op == 1) {
+                result -= instruction.a;
+            } else {
+                result ^= op;
+            }
+            result += instruction.a * instruction.b;
+        }
+        return result;
+    }
+}
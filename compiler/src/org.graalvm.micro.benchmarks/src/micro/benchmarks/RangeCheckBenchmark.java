@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package micro.benchmarks;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Loops whose array bounds checks cannot be removed by conditional elimination because the index
+ * is offset from the loop counter or the loop bound is unrelated to the array length. Run with
+ * {@code -Dgraal.LoopPredication=true} to measure the effect of moving the bounds checks in front
+ * of the loop.
+ */
+@State(Scope.Thread)
+public class RangeCheckBenchmark extends BenchmarkBase {
+
+    @Param({"1024", "65536"}) public int size;
+
+    private static final int WINDOW = 8;
+
+    private int[] values;
+    private int[] result;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(17);
+        values = new int[size + WINDOW];
+        result = new int[size];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public int offsetSum() {
+        int[] a = values;
+        int sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += a[i + WINDOW] - a[i];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int[] reverseCopy() {
+        int[] a = values;
+        int[] b = result;
+        int n = size;
+        for (int i = 0; i < n; i++) {
+            b[n - 1 - i] = a[i];
+        }
+        return b;
+    }
+
+    @Benchmark
+    public int[] difference() {
+        int[] a = values;
+        int[] b = result;
+        for (int i = 1; i < size; i++) {
+            b[i] = a[i] - a[i - 1];
+        }
+        return b;
+    }
+}
@@ -42,6 +42,8 @@ package com.oracle.truffle.regex.tregex.test;
 
 import org.junit.Test;
 
+import com.oracle.truffle.api.strings.TruffleString;
+
 public class JsTests extends RegexTestBase {
 
     @Override
@@ -63,4 +65,12 @@ public class JsTests extends RegexTestBase {
         test("(x??)*", "", "x", 0, true, 0, 1, 0, 1);
         test("(x??)*", "", "x", 1, true, 1, 1, -1, -1);
     }
+
+    @Test
+    public void truffleStringInput() {
+        test("b+", "", TruffleString.fromJavaString("abbc"), 0, true, 1, 3);
+        test("b+", "", TruffleString.fromJavaString("xabbc").substring(1, 5), 1, true, 1, 3);
+        test("\u20ac", "", TruffleString.fromJavaString("a\u20acb"), 0, true, 1, 2);
+        test("d", "", TruffleString.fromJavaString("abc"), 0, false);
+    }
 }
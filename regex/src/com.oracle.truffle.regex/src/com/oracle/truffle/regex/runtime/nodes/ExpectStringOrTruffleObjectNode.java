@@ -48,6 +48,7 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
 
 @GenerateUncached
 public abstract class ExpectStringOrTruffleObjectNode extends Node {
@@ -59,6 +60,12 @@ public abstract class ExpectStringOrTruffleObjectNode extends Node {
         return input;
     }
 
+    @Specialization
+    static Object doTruffleString(TruffleString input) {
+        // read directly by the input nodes, no conversion needed
+        return input;
+    }
+
     @Specialization(guards = "inputs.isString(input)", limit = "2")
     static Object doBoxedString(Object input, @CachedLibrary("input") InteropLibrary inputs) throws UnsupportedTypeException {
         try {
@@ -52,6 +52,7 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.regex.runtime.nodes.ToCharNode;
 
 @GenerateUncached
@@ -68,6 +69,11 @@ public abstract class InputCharAtNode extends Node {
         return input.charAt(index);
     }
 
+    @Specialization
+    static char doTruffleString(TruffleString input, int index) {
+        return input.charAt(index);
+    }
+
     @Specialization(guards = "inputs.hasArrayElements(input)", limit = "2")
     static char doBoxedCharArray(Object input, int index,
                     @CachedLibrary("input") InteropLibrary inputs,
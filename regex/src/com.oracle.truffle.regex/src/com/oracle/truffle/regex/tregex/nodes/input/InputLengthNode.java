@@ -47,6 +47,7 @@ import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
 
 @GenerateUncached
 public abstract class InputLengthNode extends Node {
@@ -62,6 +63,11 @@ public abstract class InputLengthNode extends Node {
         return input.length();
     }
 
+    @Specialization
+    static int getLength(TruffleString input) {
+        return input.length();
+    }
+
     @Specialization(guards = "inputs.hasArrayElements(input)", limit = "2")
     static int doBoxedCharArray(Object input,
                     @CachedLibrary("input") InteropLibrary inputs) {
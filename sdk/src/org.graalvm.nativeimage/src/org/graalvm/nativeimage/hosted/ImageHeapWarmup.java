@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.nativeimage.hosted;
+
+import org.graalvm.nativeimage.ImageSingletons;
+import org.graalvm.nativeimage.Platform;
+import org.graalvm.nativeimage.Platforms;
+import org.graalvm.nativeimage.impl.ImageHeapWarmupSupport;
+
+/**
+ * This class provides methods that can be called during native image generation to run
+ * application warmup code in the image builder and to persist its results in the image heap.
+ * <p>
+ * Typical warmup work is populating caches, parsing configuration files, or building lookup tables.
+ * The warmup code stores its results in static fields of a holder class. The holder class is
+ * initialized at image build time, so all objects reachable from its static fields are part of the
+ * image heap and available without any computation at image run time.
+ * <p>
+ * Warmup code is executed after all features have been set up and before the static analysis
+ * starts. After a warmup has finished, the object graph reachable from the static fields of the
+ * holder class is validated: objects that cannot be stored in the image heap, e.g., started threads,
+ * open file descriptors, or direct byte buffers, result in an image build error that includes the
+ * path from the holder class to the offending object.
+ *
+ * @since 20.1
+ */
+@Platforms(Platform.HOSTED_ONLY.class)
+public final class ImageHeapWarmup {
+
+    /**
+     * Registers a warmup that stores its results in static fields of {@code holder}. The holder
+     * class is registered for {@link RuntimeClassInitialization#initializeAtBuildTime
+     * initialization at build time}. Warmups are executed in registration order. This method must
+     * be called before the static analysis starts, e.g., in {@link Feature#duringSetup}.
+     *
+     * @param holder the class whose static fields reference the results of the warmup
+     * @param warmup the warmup code that is executed in the image builder
+     *
+     * @since 20.1
+     */
+    public static void register(Class<?> holder, Runnable warmup) {
+        ImageSingletons.lookup(ImageHeapWarmupSupport.class).register(holder, warmup);
+    }
+
+    private ImageHeapWarmup() {
+    }
+}
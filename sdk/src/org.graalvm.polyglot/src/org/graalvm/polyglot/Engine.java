@@ -644,6 +644,21 @@ public final class Engine implements AutoCloseable {
             return access.allowListAccess;
         }
 
+        @Override
+        public boolean isMapAccessible(HostAccess access) {
+            return access.allowMapAccess;
+        }
+
+        @Override
+        public boolean isIterableAccessible(HostAccess access) {
+            return access.allowIterableAccess;
+        }
+
+        @Override
+        public boolean isIteratorAccessible(HostAccess access) {
+            return access.allowIteratorAccess;
+        }
+
         @Override
         public Object getHostAccessImpl(HostAccess conf) {
             return conf.impl;
@@ -762,7 +777,7 @@ public final class Engine implements AutoCloseable {
         }
 
         @Override
-        public Object buildLimits(long statementLimit, Predicate<Source> statementLimitSourceFilter, Duration timeLimit, Duration timeLimitAccuracy, Consumer<ResourceLimitEvent> onLimit) {
+        public Object buildLimits(long statementLimit, Predicate<Source> statementLimitSourceFilter, long allocationLimit, Duration timeLimit, Duration timeLimitAccuracy, Consumer<ResourceLimitEvent> onLimit) {
             throw noPolyglotImplementationFound();
         }
 
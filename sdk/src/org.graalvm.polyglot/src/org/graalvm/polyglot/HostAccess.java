@@ -94,9 +94,12 @@ public final class HostAccess {
     private final boolean allowAllImplementations;
     final boolean allowArrayAccess;
     final boolean allowListAccess;
+    final boolean allowMapAccess;
+    final boolean allowIterableAccess;
+    final boolean allowIteratorAccess;
     volatile Object impl;
 
-    private static final HostAccess EMPTY = new HostAccess(null, null, null, null, null, null, null, false, false, false, false);
+    private static final HostAccess EMPTY = new HostAccess(null, null, null, null, null, null, null, false, false, false, false, false, false, false);
 
     /**
      * Predefined host access policy that allows access to public host methods or fields that were
@@ -130,12 +133,14 @@ public final class HostAccess {
      *
      * <pre>
      * HostAccess.newBuilder().allowPublicAccess(true).allowAllImplementations(true).//
-     *                 allowArrayAccess(true).allowListAccess(true).build();
+     *                 allowArrayAccess(true).allowListAccess(true).allowMapAccess(true).//
+     *                 allowIterableAccess(true).allowIteratorAccess(true).build();
      * </pre>
      *
      * @since 19.0
      */
-    public static final HostAccess ALL = newBuilder().allowPublicAccess(true).allowAllImplementations(true).allowArrayAccess(true).allowListAccess(true).name("HostAccess.ALL").build();
+    public static final HostAccess ALL = newBuilder().allowPublicAccess(true).allowAllImplementations(true).allowArrayAccess(true).allowListAccess(true).allowMapAccess(true).//
+                    allowIterableAccess(true).allowIteratorAccess(true).name("HostAccess.ALL").build();
 
     /**
      * Predefined host access policy that disallows any access to public host methods or fields.
@@ -154,7 +159,8 @@ public final class HostAccess {
                     EconomicSet<Class<? extends Annotation>> implementableAnnotations,
                     EconomicSet<Class<?>> implementableTypes, List<Object> targetMappings,
                     String name,
-                    boolean allowPublic, boolean allowAllImplementations, boolean allowArrayAccess, boolean allowListAccess) {
+                    boolean allowPublic, boolean allowAllImplementations, boolean allowArrayAccess, boolean allowListAccess,
+                    boolean allowMapAccess, boolean allowIterableAccess, boolean allowIteratorAccess) {
         // create defensive copies
         this.accessAnnotations = copySet(annotations, Equivalence.IDENTITY);
         this.excludeTypes = copyMap(excludeTypes, Equivalence.IDENTITY);
@@ -167,6 +173,9 @@ public final class HostAccess {
         this.allowAllImplementations = allowAllImplementations;
         this.allowArrayAccess = allowArrayAccess;
         this.allowListAccess = allowListAccess;
+        this.allowMapAccess = allowMapAccess;
+        this.allowIterableAccess = allowIterableAccess;
+        this.allowIteratorAccess = allowIteratorAccess;
     }
 
     private static <T> EconomicSet<T> copySet(EconomicSet<T> values, Equivalence equivalence) {
@@ -367,6 +376,9 @@ public final class HostAccess {
         private List<Object> targetMappings;
         private boolean allowPublic;
         private boolean allowListAccess;
+        private boolean allowMapAccess;
+        private boolean allowIterableAccess;
+        private boolean allowIteratorAccess;
         private boolean allowArrayAccess;
         private boolean allowAllImplementations;
         private String name;
@@ -386,6 +398,9 @@ public final class HostAccess {
             this.targetMappings = access.targetMappings;
             this.allowPublic = access.allowPublic;
             this.allowListAccess = access.allowListAccess;
+            this.allowMapAccess = access.allowMapAccess;
+            this.allowIterableAccess = access.allowIterableAccess;
+            this.allowIteratorAccess = access.allowIteratorAccess;
             this.allowArrayAccess = access.allowArrayAccess;
             this.allowAllImplementations = access.allowAllImplementations;
         }
@@ -542,6 +557,42 @@ public final class HostAccess {
             return this;
         }
 
+        /**
+         * Allows the guest application to access maps as values with
+         * {@link Value#hasHashEntries() hash entries}. By default no map access is allowed.
+         *
+         * @see Value#hasHashEntries()
+         * @since 20.1
+         */
+        public Builder allowMapAccess(boolean mapAccess) {
+            this.allowMapAccess = mapAccess;
+            return this;
+        }
+
+        /**
+         * Allows the guest application to access {@link Iterable iterables} as values with an
+         * {@link Value#hasIterator() iterator}. By default no iterable access is allowed.
+         *
+         * @see Value#getIterator()
+         * @since 20.1
+         */
+        public Builder allowIterableAccess(boolean iterableAccess) {
+            this.allowIterableAccess = iterableAccess;
+            return this;
+        }
+
+        /**
+         * Allows the guest application to access {@link java.util.Iterator iterators} as
+         * {@link Value#isIterator() iterator} values. By default no iterator access is allowed.
+         *
+         * @see Value#getIteratorNextElement()
+         * @since 20.1
+         */
+        public Builder allowIteratorAccess(boolean iteratorAccess) {
+            this.allowIteratorAccess = iteratorAccess;
+            return this;
+        }
+
         /**
          * Adds a custom source to target type mapping for Java host calls, host field assignments
          * and {@link Value#as(Class) explicit value conversions}. The source type specifies the
@@ -671,7 +722,7 @@ public final class HostAccess {
          */
         public HostAccess build() {
             return new HostAccess(accessAnnotations, excludeTypes, members, implementationAnnotations, implementableTypes, targetMappings, name, allowPublic, allowAllImplementations, allowArrayAccess,
-                            allowListAccess);
+                            allowListAccess, allowMapAccess, allowIterableAccess, allowIteratorAccess);
         }
     }
 
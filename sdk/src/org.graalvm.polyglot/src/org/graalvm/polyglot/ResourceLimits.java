@@ -58,6 +58,8 @@ import java.util.function.Predicate;
  * <ul>
  * <li>{@link Builder#statementLimit(long, Predicate) Statement count} limit per context. Allows to
  * limit the amount of statements executed per context.
+ * <li>{@link Builder#allocationLimit(long) Allocation} limit per context. Allows to limit the
+ * number of bytes a context may allocate.
  * </ul>
  * <p>
  * <h3>Statement Limit Example</h3> <code>
@@ -112,6 +114,7 @@ public final class ResourceLimits {
 
         long statementLimit;
         Predicate<Source> statementLimitSourceFilter;
+        long allocationLimit;
         Duration timeLimit;
         Duration timeLimitAccuracy;
         Consumer<ResourceLimitEvent> onLimit;
@@ -166,6 +169,40 @@ public final class ResourceLimits {
             return this;
         }
 
+        /**
+         * Specifies the maximum number of bytes a context may allocate until the onLimit event is
+         * notified and the context will be {@link Context#close() closed}. After the allocation
+         * limit was triggered for a context, it is no longer usable and every use of the context
+         * will throw a {@link PolyglotException} that returns <code>true</code> for
+         * {@link PolyglotException#isCancelled()}. Invoking this method multiple times overwrites
+         * previous allocation limit configurations. If the allocation limit is exceeded then the
+         * {@link #onLimit(Consumer) onLimit} listener is notified.
+         * <p>
+         * By default there is no allocation limit applied. The limit may be set to 0 to disable it.
+         * The provided limit must not be negative otherwise an {@link IllegalArgumentException} is
+         * thrown.
+         * <p>
+         * Allocations are accounted with the sizes that guest languages report for the values they
+         * allocate. Allocations of languages that do not report them, or that report an unknown
+         * size, are not accounted. Memory that becomes unreachable is not credited back, therefore
+         * the limit bounds the total amount of memory a context allocates, not the amount of memory
+         * it retains. The limit is applied to the context and all inner contexts it spawns.
+         * <p>
+         * If no context of an engine uses an allocation limit then languages do not report
+         * allocations and the throughput of guest applications is not affected.
+         *
+         * @see ResourceLimits Example Usage
+         * @since 20.1
+         */
+        @SuppressWarnings("hiding")
+        public Builder allocationLimit(long limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("The allocation limit must not be negative.");
+            }
+            this.allocationLimit = limit;
+            return this;
+        }
+
         /**
          * Specifies the maximum {@link ThreadMXBean#getThreadCpuTime(long) CPU time} a context may
          * be active until the onLimit event is notified and the context will be
@@ -257,7 +294,7 @@ public final class ResourceLimits {
          * @since 19.3
          */
         public ResourceLimits build() {
-            return new ResourceLimits(Engine.getImpl().buildLimits(statementLimit, statementLimitSourceFilter, timeLimit, timeLimitAccuracy, onLimit));
+            return new ResourceLimits(Engine.getImpl().buildLimits(statementLimit, statementLimitSourceFilter, allocationLimit, timeLimit, timeLimitAccuracy, onLimit));
         }
     }
 }
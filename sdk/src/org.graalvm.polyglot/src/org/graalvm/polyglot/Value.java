@@ -42,6 +42,7 @@ package org.graalvm.polyglot;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteOrder;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -97,9 +98,18 @@ import org.graalvm.polyglot.proxy.Proxy;
  * <ul>
  * <li>{@link #hasArrayElements() Array Elements}: This value may contain array elements. The array
  * indices always start with <code>0</code>, also if the language uses a different style.
+ * <li>{@link #hasBufferElements() Buffer Elements}: This value may contain binary data that can be
+ * read and written at byte offsets without converting it to polyglot values.
  * <li>{@link #hasMembers() Members}: This value may contain members. Members are structural
  * elements of an object. For example, the members of a Java object are all public methods and
  * fields. Members are accessible using {@link #getMember(String)}.
+ * <li>{@link #hasHashEntries() Hash Entries}: This value may contain hash entries. Hash entries are
+ * key-value pairs where the keys may be arbitrary values. Entries are accessible using
+ * {@link #getHashValue(Object)}.
+ * <li>{@link #hasIterator() Iterable}: This value provides an {@link #getIterator() iterator}
+ * that computes its elements lazily.
+ * <li>{@link #isIterator() Iterator}: This value represents an iterator. The elements are accessible
+ * using {@link #getIteratorNextElement()}.
  * <li>{@link #canExecute() Executable}: This value can be {@link #execute(Object...) executed}.
  * This indicates that the value represents an element that can be executed. Guest language examples
  * for executable elements are functions, methods, closures or promises.
@@ -321,6 +331,261 @@ public final class Value {
         return impl.getArraySize(receiver);
     }
 
+    /**
+     * Returns <code>true</code> if this polyglot value has buffer elements. Buffer elements are
+     * bytes that can be read and written at byte offsets, either one at a time using
+     * {@link #readBufferByte(long)}, in bulk using {@link #readBuffer(long, byte[], int, int)}
+     * or as primitive values of a given byte order using, e.g.,
+     * {@link #readBufferInt(ByteOrder, long)}. In contrast to {@link #hasArrayElements() array
+     * elements} the buffer elements are not converted to polyglot values, which allows guest
+     * languages to share binary data without copying it.
+     *
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean hasBufferElements() {
+        return impl.hasBufferElements(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if the buffer elements of this value can be written.
+     *
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean isBufferWritable() {
+        return impl.isBufferWritable(receiver);
+    }
+
+    /**
+     * Returns the buffer size in bytes for values with buffer elements.
+     *
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public long getBufferSize() {
+        return impl.getBufferSize(receiver);
+    }
+
+    /**
+     * Reads the byte at the given byte offset of the buffer.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or not smaller than the
+     *             {@link #getBufferSize() buffer size}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public byte readBufferByte(long byteOffset) {
+        return impl.readBufferByte(receiver, byteOffset);
+    }
+
+    /**
+     * Writes the byte at the given byte offset of the buffer.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or not smaller than the
+     *             {@link #getBufferSize() buffer size}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements} or if the buffer is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferByte(long byteOffset, byte value) {
+        impl.writeBufferByte(receiver, byteOffset, value);
+    }
+
+    /**
+     * Reads the short that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or if the short does not fit
+     *             into the {@link #getBufferSize() buffer}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public short readBufferShort(ByteOrder order, long byteOffset) {
+        return impl.readBufferShort(receiver, order, byteOffset);
+    }
+
+    /**
+     * Writes the short that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or if the short does not fit
+     *             into the {@link #getBufferSize() buffer}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements} or if the buffer is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferShort(ByteOrder order, long byteOffset, short value) {
+        impl.writeBufferShort(receiver, order, byteOffset, value);
+    }
+
+    /**
+     * Reads the int that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or if the int does not fit
+     *             into the {@link #getBufferSize() buffer}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public int readBufferInt(ByteOrder order, long byteOffset) {
+        return impl.readBufferInt(receiver, order, byteOffset);
+    }
+
+    /**
+     * Writes the int that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or if the int does not fit
+     *             into the {@link #getBufferSize() buffer}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements} or if the buffer is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferInt(ByteOrder order, long byteOffset, int value) {
+        impl.writeBufferInt(receiver, order, byteOffset, value);
+    }
+
+    /**
+     * Reads the long that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or if the long does not fit
+     *             into the {@link #getBufferSize() buffer}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public long readBufferLong(ByteOrder order, long byteOffset) {
+        return impl.readBufferLong(receiver, order, byteOffset);
+    }
+
+    /**
+     * Writes the long that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or if the long does not fit
+     *             into the {@link #getBufferSize() buffer}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements} or if the buffer is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferLong(ByteOrder order, long byteOffset, long value) {
+        impl.writeBufferLong(receiver, order, byteOffset, value);
+    }
+
+    /**
+     * Reads the float that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or if the float does not fit
+     *             into the {@link #getBufferSize() buffer}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public float readBufferFloat(ByteOrder order, long byteOffset) {
+        return impl.readBufferFloat(receiver, order, byteOffset);
+    }
+
+    /**
+     * Writes the float that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or if the float does not fit
+     *             into the {@link #getBufferSize() buffer}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements} or if the buffer is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferFloat(ByteOrder order, long byteOffset, float value) {
+        impl.writeBufferFloat(receiver, order, byteOffset, value);
+    }
+
+    /**
+     * Reads the double that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or if the double does not fit
+     *             into the {@link #getBufferSize() buffer}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public double readBufferDouble(ByteOrder order, long byteOffset) {
+        return impl.readBufferDouble(receiver, order, byteOffset);
+    }
+
+    /**
+     * Writes the double that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned.
+     *
+     * @throws IndexOutOfBoundsException if the byte offset is negative or if the double does not fit
+     *             into the {@link #getBufferSize() buffer}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements} or if the buffer is not
+     *             {@link #isBufferWritable() writable}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void writeBufferDouble(ByteOrder order, long byteOffset, double value) {
+        impl.writeBufferDouble(receiver, order, byteOffset, value);
+    }
+
+    /**
+     * Copies {@code length} bytes starting at the given byte offset of the buffer into
+     * {@code destination}, starting at {@code destinationOffset}.
+     *
+     * @throws IndexOutOfBoundsException if the bytes do not fit into the
+     *             {@link #getBufferSize() buffer} or into {@code destination}.
+     * @throws UnsupportedOperationException if the value does not have
+     *             {@link #hasBufferElements() buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length) {
+        impl.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
+    }
+
     /**
      * Returns <code>true</code> if this value generally supports containing members. To check
      * whether a value has <i>no</i> members use
@@ -420,6 +685,214 @@ public final class Value {
         return impl.removeMember(receiver, identifier);
     }
 
+    // hash entries
+
+    /**
+     * Returns <code>true</code> if this value represents a map-like structure with hash entries.
+     * Unlike {@link #hasMembers() members}, hash entries may use arbitrary values as keys. For
+     * example, host {@link java.util.Map maps} have hash entries if the
+     * {@link HostAccess.Builder#allowMapAccess(boolean) map access} is allowed.
+     *
+     * @see #getHashSize() To get the number of entries.
+     * @see #hasHashEntry(Object) To check the existence of an entry.
+     * @see #getHashValue(Object) To read entry values.
+     * @see #putHashEntry(Object, Object) To write entries.
+     * @see #removeHashEntry(Object) To remove entries.
+     * @see #getHashKeys() For an array of keys.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean hasHashEntries() {
+        return impl.hasHashEntries(receiver);
+    }
+
+    /**
+     * Returns the number of hash entries.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasHashEntries() hash entries}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public long getHashSize() {
+        return impl.getHashSize(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if an entry with the given key exists and is readable. If the value
+     * has no {@link #hasHashEntries() hash entries} then <code>false</code> is returned. The key is
+     * subject to polyglot value mapping rules as described in {@link Context#asValue(Object)}.
+     *
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean hasHashEntry(Object key) {
+        return impl.hasHashEntry(receiver, key);
+    }
+
+    /**
+     * Returns the value of the entry with the given key or <code>null</code> if the entry does
+     * not exist. The key is subject to polyglot value mapping rules as described in
+     * {@link Context#asValue(Object)}.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasHashEntries() hash entries} or the entry exists but is not readable.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public Value getHashValue(Object key) {
+        return impl.getHashValue(receiver, key);
+    }
+
+    /**
+     * Returns the value of the entry with the given key or the given default value if the entry
+     * does not exist. Both the key and the default value are subject to polyglot value mapping rules
+     * as described in {@link Context#asValue(Object)}.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasHashEntries() hash entries} or the entry exists but is not readable.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public Value getHashValueOrDefault(Object key, Object defaultValue) {
+        return impl.getHashValueOrDefault(receiver, key, defaultValue);
+    }
+
+    /**
+     * Associates the given value with the given key, replacing the value of an existing entry or
+     * inserting a new one. Both the key and the value are subject to polyglot value mapping rules as
+     * described in {@link Context#asValue(Object)}.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasHashEntries() hash entries}, the entry exists but is not modifiable or
+     *             the entry does not exist and cannot be inserted.
+     * @throws IllegalArgumentException if the key or the value is not accepted by the receiver.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public void putHashEntry(Object key, Object value) {
+        impl.putHashEntry(receiver, key, value);
+    }
+
+    /**
+     * Removes the entry with the given key. Returns <code>true</code> if the entry was removed,
+     * <code>false</code> if such an entry does not exist. The key is subject to polyglot value
+     * mapping rules as described in {@link Context#asValue(Object)}.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasHashEntries() hash entries} or the entry exists but cannot be removed.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean removeHashEntry(Object key) {
+        return impl.removeHashEntry(receiver, key);
+    }
+
+    /**
+     * Returns a value with {@link #hasArrayElements() array elements} containing a snapshot of the
+     * keys of all hash entries.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasHashEntries() hash entries}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public Value getHashKeys() {
+        return impl.getHashKeys(receiver);
+    }
+
+    /**
+     * Returns an {@link #isIterator() iterator} over the keys of all hash entries. Unlike
+     * {@link #getHashKeys()} the keys are not required to be copied, the iterator may compute them
+     * lazily.
+     *
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasHashEntries() hash entries}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public Value getHashKeysIterator() {
+        return impl.getHashKeysIterator(receiver);
+    }
+
+    // iterators
+
+    /**
+     * Returns <code>true</code> if this value provides an {@link #getIterator() iterator}. For
+     * example, arrays, host {@link Iterable iterables} or guest language generators provide an
+     * iterator.
+     *
+     * @see #getIterator()
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean hasIterator() {
+        return impl.hasIterator(receiver);
+    }
+
+    /**
+     * Returns a new {@link #isIterator() iterator} for this value. The elements are computed
+     * lazily by the iterator, which allows to stream collections of unknown or unbounded size
+     * without materializing them.
+     *
+     * @throws UnsupportedOperationException if the value does not {@link #hasIterator() provide an
+     *             iterator}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public Value getIterator() {
+        return impl.getIterator(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if this value represents an iterator.
+     *
+     * @see #hasIteratorNextElement()
+     * @see #getIteratorNextElement()
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean isIterator() {
+        return impl.isIterator(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if this iterator has more elements.
+     *
+     * @throws UnsupportedOperationException if the value is not an {@link #isIterator() iterator}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public boolean hasIteratorNextElement() {
+        return impl.hasIteratorNextElement(receiver);
+    }
+
+    /**
+     * Returns the next element of this iterator and advances the iterator.
+     *
+     * @throws UnsupportedOperationException if the value is not an {@link #isIterator() iterator}.
+     * @throws java.util.NoSuchElementException if the iteration has no more elements.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 20.1
+     */
+    public Value getIteratorNextElement() {
+        return impl.getIteratorNextElement(receiver);
+    }
+
     // executable
 
     /**
@@ -50,6 +50,7 @@ import java.io.Reader;
 import java.lang.reflect.AnnotatedElement;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.time.Duration;
 import java.time.Instant;
@@ -179,6 +180,12 @@ public abstract class AbstractPolyglotImpl {
 
         public abstract boolean isListAccessible(HostAccess access);
 
+        public abstract boolean isMapAccessible(HostAccess access);
+
+        public abstract boolean isIterableAccessible(HostAccess access);
+
+        public abstract boolean isIteratorAccessible(HostAccess access);
+
         public abstract Object getHostAccessImpl(HostAccess conf);
 
         public abstract void setHostAccessImpl(HostAccess conf, Object impl);
@@ -571,6 +578,40 @@ public abstract class AbstractPolyglotImpl {
 
         public abstract long getArraySize(Object receiver);
 
+        public boolean hasBufferElements(Object receiver) {
+            return false;
+        }
+
+        public abstract boolean isBufferWritable(Object receiver);
+
+        public abstract long getBufferSize(Object receiver);
+
+        public abstract byte readBufferByte(Object receiver, long byteOffset);
+
+        public abstract void writeBufferByte(Object receiver, long byteOffset, byte value);
+
+        public abstract short readBufferShort(Object receiver, ByteOrder order, long byteOffset);
+
+        public abstract void writeBufferShort(Object receiver, ByteOrder order, long byteOffset, short value);
+
+        public abstract int readBufferInt(Object receiver, ByteOrder order, long byteOffset);
+
+        public abstract void writeBufferInt(Object receiver, ByteOrder order, long byteOffset, int value);
+
+        public abstract long readBufferLong(Object receiver, ByteOrder order, long byteOffset);
+
+        public abstract void writeBufferLong(Object receiver, ByteOrder order, long byteOffset, long value);
+
+        public abstract float readBufferFloat(Object receiver, ByteOrder order, long byteOffset);
+
+        public abstract void writeBufferFloat(Object receiver, ByteOrder order, long byteOffset, float value);
+
+        public abstract double readBufferDouble(Object receiver, ByteOrder order, long byteOffset);
+
+        public abstract void writeBufferDouble(Object receiver, ByteOrder order, long byteOffset, double value);
+
+        public abstract void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length);
+
         public boolean hasMembers(Object receiver) {
             return false;
         }
@@ -593,6 +634,42 @@ public abstract class AbstractPolyglotImpl {
 
         public abstract boolean removeMember(Object receiver, String key);
 
+        public boolean hasHashEntries(Object receiver) {
+            return false;
+        }
+
+        public abstract long getHashSize(Object receiver);
+
+        public boolean hasHashEntry(Object receiver, Object key) {
+            return false;
+        }
+
+        public abstract Value getHashValue(Object receiver, Object key);
+
+        public abstract Value getHashValueOrDefault(Object receiver, Object key, Object defaultValue);
+
+        public abstract void putHashEntry(Object receiver, Object key, Object value);
+
+        public abstract boolean removeHashEntry(Object receiver, Object key);
+
+        public abstract Value getHashKeys(Object receiver);
+
+        public abstract Value getHashKeysIterator(Object receiver);
+
+        public boolean hasIterator(Object receiver) {
+            return false;
+        }
+
+        public abstract Value getIterator(Object receiver);
+
+        public boolean isIterator(Object receiver) {
+            return false;
+        }
+
+        public abstract boolean hasIteratorNextElement(Object receiver);
+
+        public abstract Value getIteratorNextElement(Object receiver);
+
         public boolean canExecute(Object receiver) {
             return false;
         }
@@ -758,7 +835,7 @@ public abstract class AbstractPolyglotImpl {
 
     public abstract <S, T> Object newTargetTypeMapping(Class<S> sourceType, Class<T> targetType, Predicate<S> acceptsValue, Function<S, T> convertValue);
 
-    public abstract Object buildLimits(long statementLimit, Predicate<Source> statementLimitSourceFilter, Duration timeLimit, Duration timeLimitAccuracy, Consumer<ResourceLimitEvent> onLimit);
+    public abstract Object buildLimits(long statementLimit, Predicate<Source> statementLimitSourceFilter, long allocationLimit, Duration timeLimit, Duration timeLimitAccuracy, Consumer<ResourceLimitEvent> onLimit);
 
     public abstract Context getLimitEventContext(Object impl);
 
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.posix.linux;
+
+import static com.oracle.svm.core.Isolates.IMAGE_HEAP_BEGIN;
+import static com.oracle.svm.core.Isolates.IMAGE_HEAP_END;
+import static com.oracle.svm.core.Isolates.IMAGE_HEAP_WRITABLE_BEGIN;
+import static com.oracle.svm.core.Isolates.IMAGE_HEAP_WRITABLE_END;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+import org.graalvm.compiler.options.Option;
+import org.graalvm.nativeimage.CurrentIsolate;
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.word.Pointer;
+
+import com.oracle.svm.core.Isolates;
+import com.oracle.svm.core.SubstrateOptions;
+import com.oracle.svm.core.annotate.AutomaticFeature;
+import com.oracle.svm.core.heap.Heap;
+import com.oracle.svm.core.jdk.RuntimeSupport;
+import com.oracle.svm.core.log.Log;
+import com.oracle.svm.core.option.RuntimeOptionKey;
+
+@AutomaticFeature
+class LinuxImageHeapPageStatisticsFeature implements Feature {
+    @Override
+    public void duringSetup(DuringSetupAccess access) {
+        RuntimeSupport.getRuntimeSupport().addShutdownHook(LinuxImageHeapPageStatistics::printAtShutdown);
+    }
+}
+
+/**
+ * Reports how many pages of the image heap of the current isolate are shared with other isolates
+ * or processes, and how many are private to the current isolate.
+ *
+ * The image heap is mapped copy-on-write from the image file (see {@link LinuxImageHeapProvider}),
+ * so pages that are never written remain shared. The numbers are taken from the
+ * {@code /proc/self/smaps} entries of the mappings that cover the image heap. The kernel counts a
+ * page as shared when it is mapped more than once, which includes the mappings of other isolates
+ * in the same process. Mappings that only partially overlap the image heap are accounted
+ * proportionally to the overlap.
+ */
+public final class LinuxImageHeapPageStatistics {
+
+    public static class Options {
+        @Option(help = "Print the number of shared and private image heap pages of the isolate at exit.")//
+        public static final RuntimeOptionKey<Boolean> PrintImageHeapPageSharing = new RuntimeOptionKey<>(false);
+    }
+
+    private static final String SMAPS = "/proc/self/smaps";
+
+    /** Sizes in kB. */
+    private long readOnlyShared;
+    private long readOnlyPrivate;
+    private long writableShared;
+    private long writablePrivate;
+
+    private LinuxImageHeapPageStatistics() {
+    }
+
+    static void printAtShutdown() {
+        if (Options.PrintImageHeapPageSharing.getValue()) {
+            print(Log.log());
+        }
+    }
+
+    /** Prints the page sharing statistics of the image heap of the current isolate. */
+    public static void print(Log log) {
+        String prefix = "PrintImageHeapPageSharing: ";
+        LinuxImageHeapPageStatistics statistics = new LinuxImageHeapPageStatistics();
+        try {
+            statistics.collect();
+        } catch (IOException ex) {
+            log.string(prefix).string("cannot read ").string(SMAPS).string(": ").string(ex.getMessage()).newline();
+            return;
+        }
+        log.string(prefix).string("read-only shared: ").signed(statistics.readOnlyShared).string(" kB  private: ").signed(statistics.readOnlyPrivate).string(" kB").newline();
+        log.string(prefix).string("writable shared: ").signed(statistics.writableShared).string(" kB  private: ").signed(statistics.writablePrivate).string(" kB").newline();
+    }
+
+    private void collect() throws IOException {
+        Pointer imageHeapBegin = IMAGE_HEAP_BEGIN.get();
+        Pointer heapBegin = imageHeapBegin;
+        if (SubstrateOptions.SpawnIsolates.getValue()) {
+            heapBegin = ((Pointer) Isolates.getHeapBase(CurrentIsolate.getIsolate())).add(Heap.getHeap().getImageHeapOffsetInAddressSpace());
+        }
+        long begin = heapBegin.rawValue();
+        long end = begin + IMAGE_HEAP_END.get().subtract(imageHeapBegin).rawValue();
+        long writableBegin = begin + IMAGE_HEAP_WRITABLE_BEGIN.get().subtract(imageHeapBegin).rawValue();
+        long writableEnd = begin + IMAGE_HEAP_WRITABLE_END.get().subtract(imageHeapBegin).rawValue();
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(SMAPS))) {
+            long mappingStart = 0;
+            long mappingEnd = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int colon = line.indexOf(':');
+                int dash = line.indexOf('-');
+                if (dash > 0 && (colon < 0 || dash < colon) && isHex(line, 0, dash)) {
+                    /* Header line of a mapping: "start-end perms offset dev inode path". */
+                    int space = line.indexOf(' ', dash);
+                    mappingStart = Long.parseUnsignedLong(line.substring(0, dash), 16);
+                    mappingEnd = Long.parseUnsignedLong(line.substring(dash + 1, space), 16);
+                    continue;
+                }
+                if (colon < 0 || mappingEnd <= begin || mappingStart >= end) {
+                    continue;
+                }
+                String key = line.substring(0, colon);
+                boolean shared = key.equals("Shared_Clean") || key.equals("Shared_Dirty");
+                boolean isPrivate = key.equals("Private_Clean") || key.equals("Private_Dirty");
+                if (!shared && !isPrivate) {
+                    continue;
+                }
+                long kilobytes = parseKilobytes(line, colon + 1);
+                long mappingSize = mappingEnd - mappingStart;
+                long writableOverlap = overlap(mappingStart, mappingEnd, writableBegin, writableEnd);
+                long readOnlyOverlap = overlap(mappingStart, mappingEnd, begin, end) - writableOverlap;
+                long writable = kilobytes * writableOverlap / mappingSize;
+                long readOnly = kilobytes * readOnlyOverlap / mappingSize;
+                if (shared) {
+                    readOnlyShared += readOnly;
+                    writableShared += writable;
+                } else {
+                    readOnlyPrivate += readOnly;
+                    writablePrivate += writable;
+                }
+            }
+        }
+    }
+
+    private static long overlap(long start1, long end1, long start2, long end2) {
+        return Math.max(0, Math.min(end1, end2) - Math.max(start1, start2));
+    }
+
+    private static boolean isHex(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.digit(s.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseKilobytes(String line, int from) {
+        long result = 0;
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                result = result * 10 + (c - '0');
+            } else if (result != 0 || c != ' ') {
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.hosted;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the heap usage of the image builder at the end of each build stage, so that the memory
+ * retained by each stage (e.g., the analysis universe, the compiled code) and the peak usage during
+ * each stage can be reported with {@link NativeImageOptions#PrintBuildMemoryUsage}.
+ *
+ * The retained size is measured after a full garbage collection. The peak usage is the sum of the
+ * peak usages of all heap memory pools during the stage, which can overestimate the real peak
+ * because the pools do not necessarily peak at the same time.
+ */
+public final class BuildMemoryStatistics {
+
+    private static final class Sample {
+        final String stage;
+        final long retainedBytes;
+        final long peakBytes;
+
+        Sample(String stage, long retainedBytes, long peakBytes) {
+            this.stage = stage;
+            this.retainedBytes = retainedBytes;
+            this.peakBytes = peakBytes;
+        }
+    }
+
+    private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+    private final List<Sample> samples = new ArrayList<>();
+    private final long initialRetainedBytes;
+
+    public BuildMemoryStatistics() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                heapPools.add(pool);
+            }
+        }
+        initialRetainedBytes = retainedBytes();
+        resetPeakUsage();
+    }
+
+    /** Records the memory usage at the end of {@code stage}. */
+    public void record(String stage) {
+        long peakBytes = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakBytes += pool.getPeakUsage().getUsed();
+        }
+        samples.add(new Sample(stage, retainedBytes(), peakBytes));
+        resetPeakUsage();
+    }
+
+    public void print(String imageName) {
+        String prefix = "[" + imageName + "] PrintBuildMemoryUsage: ";
+        System.out.format("%s%-24s %12s %12s %12s%n", prefix, "stage", "retained MB", "delta MB", "peak MB");
+        long previous = initialRetainedBytes;
+        for (Sample sample : samples) {
+            System.out.format("%s%-24s %,12d %,12d %,12d%n", prefix, sample.stage, toMegabytes(sample.retainedBytes), toMegabytes(sample.retainedBytes - previous), toMegabytes(sample.peakBytes));
+            previous = sample.retainedBytes;
+        }
+    }
+
+    private long retainedBytes() {
+        System.gc();
+        long used = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            used += pool.getUsage().getUsed();
+        }
+        return used;
+    }
+
+    private void resetPeakUsage() {
+        for (MemoryPoolMXBean pool : heapPools) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static long toMegabytes(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+}
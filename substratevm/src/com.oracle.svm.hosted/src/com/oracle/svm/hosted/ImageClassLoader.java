@@ -55,6 +55,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -78,6 +79,14 @@ public final class ImageClassLoader {
     private static final int CLASS_EXTENSION_LENGTH = CLASS_EXTENSION.length();
     private static final int CLASS_LOADING_TIMEOUT_IN_MINUTES = 10;
 
+    /**
+     * Classes of the JDK modules, keyed by the set of module names they were loaded from. They are
+     * loaded by the boot and platform class loaders and therefore identical for all images built
+     * in the same VM, e.g., by the {@link com.oracle.svm.hosted.server.NativeImageBuildServer}.
+     * Caching them avoids enumerating and loading all module resources again for every build.
+     */
+    private static final ConcurrentHashMap<Set<String>, List<Class<?>>> moduleClassesCache = new ConcurrentHashMap<>();
+
     static {
         /*
          * ImageClassLoader is one of the first classes used during image generation, so early
@@ -137,6 +146,8 @@ public final class ImageClassLoader {
 
     private void initAllClasses() {
         final ForkJoinPool executor = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        Set<String> moduleClassesKey = null;
+        List<Class<?>> moduleClasses = null;
 
         if (JavaVersionUtil.JAVA_SPEC > 8) {
             Set<String> modules = new HashSet<>();
@@ -153,10 +164,20 @@ public final class ImageClassLoader {
                     throw shouldNotReachHere(e);
                 }
             }
-            for (String moduleResource : ModuleSupport.getModuleResources(modules)) {
-                if (moduleResource.endsWith(CLASS_EXTENSION)) {
-                    executor.execute(() -> handleClassFileName(moduleResource, '/'));
+            List<Class<?>> cachedModuleClasses = moduleClassesCache.get(modules);
+            if (cachedModuleClasses != null) {
+                for (Class<?> moduleClass : cachedModuleClasses) {
+                    executor.execute(() -> handleClass(moduleClass));
+                }
+            } else {
+                List<Class<?>> loadedModuleClasses = Collections.synchronizedList(new ArrayList<>());
+                for (String moduleResource : ModuleSupport.getModuleResources(modules)) {
+                    if (moduleResource.endsWith(CLASS_EXTENSION)) {
+                        executor.execute(() -> addModuleClass(loadedModuleClasses, handleClassFileName(moduleResource, '/')));
+                    }
                 }
+                moduleClassesKey = modules;
+                moduleClasses = loadedModuleClasses;
             }
         }
 
@@ -167,7 +188,17 @@ public final class ImageClassLoader {
                                         .collect(Collectors.toList()));
         uniquePaths.parallelStream().forEach(path -> loadClassesFromPath(executor, path));
 
-        executor.awaitQuiescence(CLASS_LOADING_TIMEOUT_IN_MINUTES, TimeUnit.MINUTES);
+        boolean completed = executor.awaitQuiescence(CLASS_LOADING_TIMEOUT_IN_MINUTES, TimeUnit.MINUTES);
+        if (completed && moduleClasses != null) {
+            moduleClassesCache.putIfAbsent(moduleClassesKey, new ArrayList<>(moduleClasses));
+        }
+    }
+
+    private void addModuleClass(List<Class<?>> moduleClasses, Class<?> clazz) {
+        /* Classes defined by the image class loader are specific to this build. */
+        if (clazz != null && clazz.getClassLoader() != classLoader) {
+            moduleClasses.add(clazz);
+        }
     }
 
     static Stream<Path> toClassPathEntries(String classPathEntry) {
@@ -272,10 +303,10 @@ public final class ImageClassLoader {
         /* we ignore class loading errors due to incomplete paths that people often have */
     }
 
-    private void handleClassFileName(String unversionedClassFileName, char fileSystemSeparatorChar) {
+    private Class<?> handleClassFileName(String unversionedClassFileName, char fileSystemSeparatorChar) {
         String unversionedClassFileNameWithoutSuffix = unversionedClassFileName.substring(0, unversionedClassFileName.length() - CLASS_EXTENSION_LENGTH);
         if (unversionedClassFileNameWithoutSuffix.equals("module-info")) {
-            return;
+            return null;
         }
         String className = unversionedClassFileNameWithoutSuffix.replace(fileSystemSeparatorChar, '.');
 
@@ -288,6 +319,7 @@ public final class ImageClassLoader {
         if (clazz != null) {
             handleClass(clazz);
         }
+        return clazz;
     }
 
     private void initAllClasses(final Path root, Set<Path> excludes, ForkJoinPool executor) {
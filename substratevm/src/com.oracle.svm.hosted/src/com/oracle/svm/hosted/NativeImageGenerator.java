@@ -289,6 +289,7 @@ public class NativeImageGenerator {
     private Inflation bigbang;
     private NativeLibraries nativeLibraries;
     private AbstractBootImage image;
+    private BuildMemoryStatistics memoryStatistics;
     private AtomicBoolean buildStarted = new AtomicBoolean();
 
     private Pair<Method, CEntryPointData> mainEntryPoint;
@@ -526,10 +527,16 @@ public class NativeImageGenerator {
         OptionValues options = HostedOptionValues.singleton();
         SnippetReflectionProvider originalSnippetReflection = GraalAccess.getOriginalSnippetReflection();
         try (DebugContext debug = DebugContext.create(options, new GraalDebugHandlersFactory(originalSnippetReflection))) {
+            if (NativeImageOptions.PrintBuildMemoryUsage.getValue()) {
+                memoryStatistics = new BuildMemoryStatistics();
+            }
             setupNativeImage(imageName, options, entryPoints, javaMainSupport, harnessSubstitutions, analysisExecutor, originalSnippetReflection, debug);
+            recordMemoryUsage("setup");
 
             boolean returnAfterAnalysis = runPointsToAnalysis(imageName, options, debug);
+            recordMemoryUsage("analysis");
             if (returnAfterAnalysis) {
+                printMemoryUsage(imageName);
                 return;
             }
 
@@ -580,6 +587,7 @@ public class NativeImageGenerator {
 
             recordMethodsWithStackValues();
             recordRestrictHeapAccessCallees(aUniverse.getMethods());
+            recordMemoryUsage("universe");
 
             /*
              * After this point, all TypeFlow (and therefore also TypeState) objects are unreachable
@@ -589,6 +597,7 @@ public class NativeImageGenerator {
              * after this point.
              */
             bigbang.cleanupAfterAnalysis();
+            recordMemoryUsage("analysis cleanup");
 
             NativeImageCodeCache codeCache;
             CompileQueue compileQueue;
@@ -596,9 +605,11 @@ public class NativeImageGenerator {
                 compileQueue = HostedConfiguration.instance().createCompileQueue(debug, featureHandler, hUniverse, runtime, DeoptTester.enabled(), bigbang.getProviders().getSnippetReflection(),
                                 compilationExecutor);
                 compileQueue.finish(debug);
+                recordMemoryUsage("compile");
 
                 /* release memory taken by graphs for the image writing */
                 hUniverse.getMethods().forEach(HostedMethod::clear);
+                recordMemoryUsage("graph release");
 
                 codeCache = NativeImageCodeCacheFactory.get().newCodeCache(compileQueue, heap, loader.platform, tempDirectory());
                 codeCache.layoutConstants();
@@ -643,6 +654,8 @@ public class NativeImageGenerator {
                 }
             }
 
+            recordMemoryUsage("image");
+
             BeforeImageWriteAccessImpl beforeConfig = new BeforeImageWriteAccessImpl(featureHandler, loader, imageName, image,
                             runtime.getRuntimeConfig(), aUniverse, hUniverse, optionProvider, hMetaAccess, debug);
             featureHandler.forEachFeature(feature -> feature.beforeImageWrite(beforeConfig));
@@ -664,6 +677,21 @@ public class NativeImageGenerator {
                 AfterImageWriteAccessImpl afterConfig = new AfterImageWriteAccessImpl(featureHandler, loader, hUniverse, imagePath, tmpDir, image.getBootImageKind(), debug);
                 featureHandler.forEachFeature(feature -> feature.afterImageWrite(afterConfig));
             }
+            recordMemoryUsage("write");
+            printMemoryUsage(imageName);
+        }
+    }
+
+    private void recordMemoryUsage(String stage) {
+        if (memoryStatistics != null) {
+            memoryStatistics.record(stage);
+        }
+    }
+
+    private void printMemoryUsage(String imageName) {
+        if (memoryStatistics != null) {
+            memoryStatistics.print(imageName);
+            memoryStatistics = null;
         }
     }
 
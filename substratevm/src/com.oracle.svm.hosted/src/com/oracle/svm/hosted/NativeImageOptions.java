@@ -74,6 +74,9 @@ public class NativeImageOptions {
     @Option(help = "Print statistics of methods in native image heap")//
     public static final HostedOptionKey<Boolean> PrintMethodHistogram = new HostedOptionKey<>(false);
 
+    @Option(help = "Print the time spent in the parse, inline and compile stages of the compile queue, and the given number of methods that took the longest")//
+    public static final HostedOptionKey<Integer> PrintCompileQueueStatistics = new HostedOptionKey<>(0);
+
     @Option(help = "Print the sizes of the elements of the built image")//
     public static final HostedOptionKey<Boolean> PrintImageElementSizes = new HostedOptionKey<>(false);
 
@@ -159,6 +162,12 @@ public class NativeImageOptions {
     @Option(help = "The number of threads to use for analysis during native image generation. The number must be smaller than the NumberOfThreads.")//
     public static final HostedOptionKey<Integer> NumberOfAnalysisThreads = new HostedOptionKey<>(-1);
 
+    @Option(help = "Reduce the peak memory usage of the image builder by releasing the graph of each method as soon as it is compiled")//
+    public static final HostedOptionKey<Boolean> ConserveBuildMemory = new HostedOptionKey<>(false);
+
+    @Option(help = "Print the heap memory retained after each stage of image building and the peak heap usage during each stage")//
+    public static final HostedOptionKey<Boolean> PrintBuildMemoryUsage = new HostedOptionKey<>(false);
+
     @Option(help = "Return after analysis")//
     public static final HostedOptionKey<Boolean> ReturnAfterAnalysis = new HostedOptionKey<>(false);
 
@@ -176,6 +176,8 @@ public class CompileQueue {
 
     private volatile boolean inliningProgress;
 
+    private CompileQueueStatistics statistics;
+
     public abstract static class CompileReason {
         /**
          * For debugging only: chaining of the compile reason, so that you can track the compilation
@@ -258,6 +260,10 @@ public class CompileQueue {
                 method.compilationInfo.graph.resetDebug(debug);
             }
             result = doCompile(debug, method, compilationIdentifier, reason);
+            if (NativeImageOptions.ConserveBuildMemory.getValue()) {
+                /* All inlining is done, so the graph is no longer needed by other compilations. */
+                method.compilationInfo.clear();
+            }
         }
 
         @Override
@@ -335,11 +341,16 @@ public class CompileQueue {
 
     @SuppressWarnings("try")
     public void finish(DebugContext debug) {
+        if (NativeImageOptions.PrintCompileQueueStatistics.getValue() > 0) {
+            statistics = new CompileQueueStatistics();
+        }
         try {
             String imageName = universe.getBigBang().getHostVM().getImageName();
+            long start = System.nanoTime();
             try (StopTimer t = new Timer(imageName, "(parse)").start()) {
                 parseAll();
             }
+            addWallTime(CompileQueueStatistics.Stage.Parse, start);
             // Checking @Uninterruptible annotations does not take long enough to justify a timer.
             UninterruptibleAnnotationChecker.check(debug, universe.getMethods());
             // Checking @RestrictHeapAccess annotations does not take long enough to justify a
@@ -350,22 +361,52 @@ public class CompileQueue {
             MustNotSynchronizeAnnotationChecker.check(debug, universe.getMethods());
 
             if (SubstrateOptions.AOTInline.getValue() && SubstrateOptions.AOTTrivialInline.getValue()) {
+                start = System.nanoTime();
                 try (StopTimer ignored = new Timer(imageName, "(inline)").start()) {
                     inlineTrivialMethods(debug);
                 }
+                addWallTime(CompileQueueStatistics.Stage.Inline, start);
             }
 
             assert suitesNotCreated();
             createSuites();
+            start = System.nanoTime();
             try (StopTimer t = new Timer(imageName, "(compile)").start()) {
                 compileAll();
             }
+            addWallTime(CompileQueueStatistics.Stage.Compile, start);
         } catch (InterruptedException ie) {
             throw new InterruptImageBuilding();
         }
         if (NativeImageOptions.PrintMethodHistogram.getValue()) {
             printMethodHistogram();
         }
+        if (statistics != null) {
+            statistics.print(NativeImageOptions.PrintCompileQueueStatistics.getValue());
+            statistics = null;
+        }
+    }
+
+    private CompileQueueStatistics.StageTiming timing(CompileQueueStatistics.Stage stage) {
+        return statistics == null ? null : statistics.get(stage);
+    }
+
+    private void addWallTime(CompileQueueStatistics.Stage stage, long startNanos) {
+        if (statistics != null) {
+            statistics.get(stage).addWallTime(System.nanoTime() - startNanos);
+        }
+    }
+
+    /** Returns the method that a task of the compile queue operates on. */
+    static HostedMethod taskMethod(DebugContextRunnable task) {
+        if (task instanceof CompileTask) {
+            return ((CompileTask) task).method;
+        } else if (task instanceof ParseTask) {
+            return ((ParseTask) task).method;
+        } else if (task instanceof TrivialInlineTask) {
+            return ((TrivialInlineTask) task).method;
+        }
+        return null;
     }
 
     private boolean suitesNotCreated() {
@@ -459,7 +500,7 @@ public class CompileQueue {
     }
 
     private void parseAll() throws InterruptedException {
-        executor.init();
+        executor.init(timing(CompileQueueStatistics.Stage.Parse));
 
         parseDeoptimizationTargetMethods();
         parseAheadOfTimeCompiledMethods();
@@ -537,7 +578,7 @@ public class CompileQueue {
             round++;
             try (Indent ignored = debug.logAndIndent("==== Trivial Inlining  round %d\n", round)) {
 
-                executor.init();
+                executor.init(timing(CompileQueueStatistics.Stage.Inline));
                 universe.getMethods().stream().filter(method -> method.compilationInfo.getGraph() != null).forEach(method -> executor.execute(new TrivialInlineTask(method)));
 
                 universe.getMethods().stream().map(method -> method.compilationInfo.getDeoptTargetMethod()).filter(Objects::nonNull).forEach(
@@ -655,7 +696,7 @@ public class CompileQueue {
     }
 
     protected void compileAll() throws InterruptedException {
-        executor.init();
+        executor.init(timing(CompileQueueStatistics.Stage.Compile));
         universe.getMethods().stream()
                         .filter(method -> method.isEntryPoint() || CompilationInfoSupport.singleton().isForcedCompilation(method))
                         .forEach(method -> ensureCompiled(method, new EntryPointReason()));
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.hosted.code;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.graal.pointsto.util.CompletionExecutor;
+import com.oracle.graal.pointsto.util.CompletionExecutor.DebugContextRunnable;
+import com.oracle.svm.hosted.meta.HostedMethod;
+
+/**
+ * Collects the time spent in the stages of the {@link CompileQueue}, both in total and for each
+ * method. The per-task times are reported by the {@link CompletionExecutor}, so they are only
+ * available when the compile queue runs in parallel.
+ */
+final class CompileQueueStatistics {
+
+    enum Stage {
+        Parse,
+        Inline,
+        Compile
+    }
+
+    /** Receives the task times of one stage from the {@link CompletionExecutor}. */
+    final class StageTiming implements CompletionExecutor.Timing {
+        private final Stage stage;
+        private final LongAdder taskNanos = new LongAdder();
+        private final LongAdder tasks = new LongAdder();
+        private long wallNanos;
+
+        StageTiming(Stage stage) {
+            this.stage = stage;
+        }
+
+        void addWallTime(long nanos) {
+            wallNanos += nanos;
+        }
+
+        @Override
+        public long getPrintIntervalNanos() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public void addScheduled(DebugContextRunnable r) {
+        }
+
+        @Override
+        public void addCompleted(DebugContextRunnable r, long nanos) {
+            taskNanos.add(nanos);
+            tasks.increment();
+            HostedMethod method = CompileQueue.taskMethod(r);
+            if (method != null) {
+                methodNanos.computeIfAbsent(method, m -> new AtomicLongArray(Stage.values().length)).addAndGet(stage.ordinal(), nanos);
+            }
+        }
+
+        @Override
+        public void printHeader() {
+        }
+
+        @Override
+        public void print() {
+        }
+    }
+
+    private final Map<HostedMethod, AtomicLongArray> methodNanos = new ConcurrentHashMap<>();
+    private final StageTiming[] stages;
+
+    CompileQueueStatistics() {
+        stages = new StageTiming[Stage.values().length];
+        for (Stage stage : Stage.values()) {
+            stages[stage.ordinal()] = new StageTiming(stage);
+        }
+    }
+
+    StageTiming get(Stage stage) {
+        return stages[stage.ordinal()];
+    }
+
+    void print(int numMethods) {
+        String prefix = "PrintCompileQueueStatistics: ";
+        System.out.format("%s%-8s %10s %10s %8s %11s%n", prefix, "stage", "wall ms", "task ms", "tasks", "parallelism");
+        for (StageTiming timing : stages) {
+            long taskNanos = timing.taskNanos.sum();
+            double parallelism = timing.wallNanos == 0 ? 0 : (double) taskNanos / timing.wallNanos;
+            System.out.format("%s%-8s %10d %10d %8d %11.2f%n", prefix, timing.stage, toMillis(timing.wallNanos), toMillis(taskNanos), timing.tasks.sum(), parallelism);
+        }
+
+        List<Map.Entry<HostedMethod, AtomicLongArray>> entries = new ArrayList<>(methodNanos.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<HostedMethod, AtomicLongArray> e) -> totalNanos(e.getValue())).reversed());
+        System.out.format("%s%10s %10s %10s %10s  %s%n", prefix, "total ms", "parse ms", "inline ms", "compile ms", "method");
+        for (int i = 0; i < Math.min(numMethods, entries.size()); i++) {
+            AtomicLongArray nanos = entries.get(i).getValue();
+            System.out.format("%s%10.1f %10.1f %10.1f %10.1f  %s%n", prefix, totalNanos(nanos) / 1e6, nanos.get(Stage.Parse.ordinal()) / 1e6, nanos.get(Stage.Inline.ordinal()) / 1e6,
+                            nanos.get(Stage.Compile.ordinal()) / 1e6, format(entries.get(i).getKey()));
+        }
+    }
+
+    private static String format(HostedMethod method) {
+        return method.format("%H.%n(%p)") + (method.isDeoptTarget() ? " (deopt target)" : "");
+    }
+
+    private static long totalNanos(AtomicLongArray nanos) {
+        long result = 0;
+        for (int i = 0; i < nanos.length(); i++) {
+            result += nanos.get(i);
+        }
+        return result;
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
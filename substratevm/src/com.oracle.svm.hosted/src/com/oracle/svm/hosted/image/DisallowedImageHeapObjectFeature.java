@@ -65,16 +65,28 @@ public class DisallowedImageHeapObjectFeature implements Feature {
     }
 
     private Object replacer(Object original) {
+        if (original instanceof ImageGeneratorThreadMarker) {
+            return ((ImageGeneratorThreadMarker) original).asTerminated();
+        }
+        String message = disallowedObjectMessage(original);
+        if (message != null) {
+            throw error(message + " " + classInitialization.objectInstantiationTraceMessage(original,
+                            "Try avoiding to initialize the class that caused initialization of the " + original.getClass().getTypeName() + " object."));
+        }
+        return original;
+    }
+
+    /**
+     * Returns a message that describes why {@code original} cannot be stored in the image heap, or
+     * null if the object is allowed in the image heap.
+     */
+    static String disallowedObjectMessage(Object original) {
         /* Started Threads can not be in the image heap. */
-        if (original instanceof Thread) {
+        if (original instanceof Thread && !(original instanceof ImageGeneratorThreadMarker)) {
             final Thread asThread = (Thread) original;
-            if (asThread instanceof ImageGeneratorThreadMarker) {
-                return ((ImageGeneratorThreadMarker) asThread).asTerminated();
-            }
             if (asThread.getState() != Thread.State.NEW && asThread.getState() != Thread.State.TERMINATED) {
-                throw error("Detected a started Thread in the image heap. " +
-                                "Threads running in the image generator are no longer running at image run time. " +
-                                classInitialization.objectInstantiationTraceMessage(asThread, "Try avoiding to initialize the class that caused initialization of the Thread."));
+                return "Detected a started Thread in the image heap. " +
+                                "Threads running in the image generator are no longer running at image run time.";
             }
         }
         /* FileDescriptors can not be in the image heap. */
@@ -82,9 +94,8 @@ public class DisallowedImageHeapObjectFeature implements Feature {
             final FileDescriptor asFileDescriptor = (FileDescriptor) original;
             /* Except for a few well-known FileDescriptors. */
             if (!((asFileDescriptor == FileDescriptor.in) || (asFileDescriptor == FileDescriptor.out) || (asFileDescriptor == FileDescriptor.err) || (!asFileDescriptor.valid()))) {
-                throw error("Detected a FileDescriptor in the image heap. " +
-                                "File descriptors opened during image generation are no longer open at image run time, and the files might not even be present anymore at image run time. " +
-                                classInitialization.objectInstantiationTraceMessage(asFileDescriptor, "Try avoiding to initialize the class that caused initialization of the FileDescriptor."));
+                return "Detected a FileDescriptor in the image heap. " +
+                                "File descriptors opened during image generation are no longer open at image run time, and the files might not even be present anymore at image run time.";
             }
         }
         /* Direct ByteBuffers can not be in the image heap. */
@@ -95,31 +106,26 @@ public class DisallowedImageHeapObjectFeature implements Feature {
              * Target_java_nio_DirectByteBuffer.
              */
             if (buffer.capacity() != 0 || getFileDescriptor(buffer) != null) {
-                throw error("Detected a direct/mapped ByteBuffer in the image heap. " +
+                return "Detected a direct/mapped ByteBuffer in the image heap. " +
                                 "A direct ByteBuffer has a pointer to unmanaged C memory, and C memory from the image generator is not available at image run time. " +
-                                "A mapped ByteBuffer references a file descriptor, which is no longer open and mapped at run time. " +
-                                classInitialization.objectInstantiationTraceMessage(buffer, "Try avoiding to initialize the class that caused initialization of the MappedByteBuffer."));
+                                "A mapped ByteBuffer references a file descriptor, which is no longer open and mapped at run time.";
             }
         } else if (original instanceof Buffer && ((Buffer) original).isDirect()) {
-            throw error("Detected a direct Buffer in the image heap. " +
-                            "A direct Buffer has a pointer to unmanaged C memory, and C memory from the image generator is not available at image run time. " +
-                            classInitialization.objectInstantiationTraceMessage(original, "Try avoiding to initialize the class that caused initialization of the direct Buffer."));
+            return "Detected a direct Buffer in the image heap. " +
+                            "A direct Buffer has a pointer to unmanaged C memory, and C memory from the image generator is not available at image run time.";
         }
 
         /* ZipFiles can not be in the image heap. */
         if (original instanceof java.util.zip.ZipFile) {
-            throw error("Detected a ZipFile object in the image heap. " +
-                            "A ZipFile object contains pointers to unmanaged C memory and file descriptors, and these resources are no longer available at image run time. " +
-                            classInitialization.objectInstantiationTraceMessage(original, "Try avoiding to initialize the class that caused initialization of the direct Buffer."));
+            return "Detected a ZipFile object in the image heap. " +
+                            "A ZipFile object contains pointers to unmanaged C memory and file descriptors, and these resources are no longer available at image run time.";
         }
 
         if (CANCELLABLE_CLASS.isInstance(original)) {
-            throw error("Detected an instance of a class that extends " + CANCELLABLE_CLASS.getTypeName() + ": " + original.getClass().getTypeName() + ". " +
-                            "It contains a pointer to unmanaged C memory, which is no longer available at image run time. " +
-                            classInitialization.objectInstantiationTraceMessage(original, "Try avoiding to initialize the class that caused initialization of the object."));
+            return "Detected an instance of a class that extends " + CANCELLABLE_CLASS.getTypeName() + ": " + original.getClass().getTypeName() + ". " +
+                            "It contains a pointer to unmanaged C memory, which is no longer available at image run time.";
         }
-
-        return original;
+        return null;
     }
 
     private static RuntimeException error(String msg) {
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.hosted.image;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionType;
+import org.graalvm.nativeimage.ImageSingletons;
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.nativeimage.impl.ImageHeapWarmupSupport;
+
+import com.oracle.svm.core.annotate.AutomaticFeature;
+import com.oracle.svm.core.option.HostedOptionKey;
+import com.oracle.svm.core.util.UserError;
+import com.oracle.svm.hosted.FeatureImpl.BeforeAnalysisAccessImpl;
+import com.oracle.svm.hosted.FeatureImpl.DuringSetupAccessImpl;
+import com.oracle.svm.hosted.classinitialization.ClassInitializationSupport;
+
+/**
+ * Runs the warmups registered via {@link org.graalvm.nativeimage.hosted.ImageHeapWarmup} before
+ * the static analysis and validates that the objects they produced can be stored in the image
+ * heap.
+ */
+@AutomaticFeature
+public class ImageHeapWarmupFeature implements Feature, ImageHeapWarmupSupport {
+
+    public static class Options {
+        @Option(help = "Print the number of objects and the time of each image heap warmup.", type = OptionType.Debug)//
+        public static final HostedOptionKey<Boolean> PrintImageHeapWarmup = new HostedOptionKey<>(false);
+    }
+
+    private static final class Warmup {
+        final Class<?> holder;
+        final Runnable code;
+
+        Warmup(Class<?> holder, Runnable code) {
+            this.holder = holder;
+            this.code = code;
+        }
+    }
+
+    /** Parent link of an object reached during validation, used to report the path to it. */
+    private static final class Edge {
+        final Object parent;
+        final String label;
+
+        Edge(Object parent, String label) {
+            this.parent = parent;
+            this.label = label;
+        }
+    }
+
+    private final List<Warmup> warmups = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Class<?>, List<Field>> referenceFieldsCache = new HashMap<>();
+    private ClassInitializationSupport classInitialization;
+    private boolean sealed;
+
+    @Override
+    public void afterRegistration(AfterRegistrationAccess access) {
+        ImageSingletons.add(ImageHeapWarmupSupport.class, this);
+    }
+
+    @Override
+    public void duringSetup(DuringSetupAccess a) {
+        DuringSetupAccessImpl access = (DuringSetupAccessImpl) a;
+        classInitialization = access.getHostVM().getClassInitializationSupport();
+        for (Warmup warmup : warmups) {
+            classInitialization.initializeAtBuildTime(warmup.holder, "for image heap warmup");
+        }
+    }
+
+    @Override
+    public void register(Class<?> holder, Runnable warmup) {
+        UserError.guarantee(!sealed, "Image heap warmup for %s registered after the static analysis has started. Register warmups in Feature.duringSetup or earlier.", holder.getTypeName());
+        warmups.add(new Warmup(holder, warmup));
+        if (classInitialization != null) {
+            classInitialization.initializeAtBuildTime(holder, "for image heap warmup");
+        }
+    }
+
+    @Override
+    public void beforeAnalysis(BeforeAnalysisAccess a) {
+        BeforeAnalysisAccessImpl access = (BeforeAnalysisAccessImpl) a;
+        sealed = true;
+        for (Warmup warmup : warmups) {
+            long start = System.nanoTime();
+            access.getHostVM().getClassInitializationSupport().forceInitializeHosted(warmup.holder, "for image heap warmup", false);
+            try {
+                warmup.code.run();
+            } catch (Throwable ex) {
+                throw UserError.abort(ex, "Image heap warmup for " + warmup.holder.getTypeName() + " failed: " + ex);
+            }
+            int numObjects = validate(warmup.holder);
+            if (Options.PrintImageHeapWarmup.getValue()) {
+                System.out.printf("PrintImageHeapWarmup:  holder: %s  objects: %d  time: %d ms%n", warmup.holder.getTypeName(), numObjects, (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+        referenceFieldsCache.clear();
+    }
+
+    /**
+     * Walks the object graph reachable from the static fields of {@code holder} and reports an
+     * error with the path to the first object that is not allowed in the image heap.
+     *
+     * @return the number of objects reachable from the static fields
+     */
+    private int validate(Class<?> holder) {
+        Map<Object, Edge> reached = new IdentityHashMap<>();
+        ArrayDeque<Object> worklist = new ArrayDeque<>();
+        for (Field field : referenceFields(holder, true)) {
+            Object value = readField(field, null);
+            if (value != null && !reached.containsKey(value)) {
+                reached.put(value, new Edge(null, holder.getTypeName() + "." + field.getName()));
+                worklist.add(value);
+            }
+        }
+        while (!worklist.isEmpty()) {
+            Object current = worklist.removeFirst();
+            String message = DisallowedImageHeapObjectFeature.disallowedObjectMessage(current);
+            if (message != null) {
+                throw UserError.abort("%s The object was created by the image heap warmup for %s and is reachable via %s. " +
+                                "Objects that hold operating system resources must be created at image run time.", message, holder.getTypeName(), path(reached, current));
+            }
+            if (current instanceof Class) {
+                /* Static fields of other classes are scanned by the regular image heap scanning. */
+                continue;
+            }
+            Class<?> clazz = current.getClass();
+            if (clazz.isArray()) {
+                if (!clazz.getComponentType().isPrimitive()) {
+                    int length = Array.getLength(current);
+                    for (int i = 0; i < length; i++) {
+                        push(reached, worklist, current, "[" + i + "]", Array.get(current, i));
+                    }
+                }
+            } else {
+                for (Field field : referenceFields(clazz, false)) {
+                    push(reached, worklist, current, field.getName(), readField(field, current));
+                }
+            }
+        }
+        return reached.size();
+    }
+
+    private static void push(Map<Object, Edge> reached, ArrayDeque<Object> worklist, Object parent, String label, Object value) {
+        if (value != null && !reached.containsKey(value)) {
+            reached.put(value, new Edge(parent, label));
+            worklist.addLast(value);
+        }
+    }
+
+    private static String path(Map<Object, Edge> reached, Object target) {
+        List<String> labels = new ArrayList<>();
+        Object cur = target;
+        while (cur != null) {
+            Edge edge = reached.get(cur);
+            labels.add(edge.label);
+            cur = edge.parent;
+        }
+        Collections.reverse(labels);
+        StringBuilder sb = new StringBuilder();
+        for (String label : labels) {
+            if (sb.length() > 0 && !label.startsWith("[")) {
+                sb.append('.');
+            }
+            sb.append(label);
+        }
+        return sb.toString();
+    }
+
+    private List<Field> referenceFields(Class<?> clazz, boolean statics) {
+        if (!statics) {
+            List<Field> cached = referenceFieldsCache.get(clazz);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<Field> result = new ArrayList<>();
+        for (Class<?> cur = clazz; cur != null; cur = statics ? null : cur.getSuperclass()) {
+            for (Field field : cur.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) == statics && !field.getType().isPrimitive() && trySetAccessible(field)) {
+                    result.add(field);
+                }
+            }
+        }
+        if (!statics) {
+            referenceFieldsCache.put(clazz, result);
+        }
+        return result;
+    }
+
+    private static boolean trySetAccessible(Field field) {
+        try {
+            field.setAccessible(true);
+            return true;
+        } catch (RuntimeException ex) {
+            /* Fields of classes in modules that are not open to us are not validated. */
+            return false;
+        }
+    }
+
+    private static Object readField(Field field, Object receiver) {
+        try {
+            return field.get(receiver);
+        } catch (IllegalAccessException ex) {
+            return null;
+        }
+    }
+}
@@ -29,6 +29,8 @@
  */
 package com.oracle.truffle.llvm.runtime.pointer;
 
+import java.nio.ByteOrder;
+
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
@@ -38,6 +40,7 @@ import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
@@ -47,6 +50,7 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.llvm.runtime.LLVMLanguage;
 import com.oracle.truffle.llvm.runtime.interop.access.LLVMInteropType;
+import com.oracle.truffle.llvm.runtime.interop.access.LLVMInteropType.ValueKind;
 import com.oracle.truffle.llvm.runtime.interop.export.LLVMForeignGetIndexPointerNode;
 import com.oracle.truffle.llvm.runtime.interop.export.LLVMForeignGetMemberPointerNode;
 import com.oracle.truffle.llvm.runtime.interop.export.LLVMForeignReadNode;
@@ -193,6 +197,152 @@ abstract class CommonPointerLibraries {
         write.execute(ptr, ptr.getExportType(), value);
     }
 
+    /**
+     * Pointers to arrays of primitive values expose the memory of the array as a buffer. Sulong
+     * memory is in native byte order, values in the other byte order are swapped.
+     */
+    @ExportMessage
+    static boolean hasBufferElements(LLVMPointerImpl receiver) {
+        return isPrimitiveArray(receiver.getExportType());
+    }
+
+    @ExportMessage
+    static boolean isBufferWritable(LLVMPointerImpl receiver) throws UnsupportedMessageException {
+        if (isPrimitiveArray(receiver.getExportType())) {
+            return true;
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    static long getBufferSize(LLVMPointerImpl receiver) throws UnsupportedMessageException {
+        if (isPrimitiveArray(receiver.getExportType())) {
+            return receiver.getExportType().getSize();
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    static byte readBufferByte(LLVMPointerImpl receiver, long byteOffset,
+                    @Shared("bufferRead") @Cached LLVMForeignReadNode read) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return asBufferValue(read.execute(getBufferPointer(receiver, byteOffset, Byte.BYTES), ValueKind.I8.type)).byteValue();
+    }
+
+    @ExportMessage
+    static void writeBufferByte(LLVMPointerImpl receiver, long byteOffset, byte value,
+                    @Shared("bufferWrite") @Cached LLVMForeignWriteNode write) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        write.execute(getBufferPointer(receiver, byteOffset, Byte.BYTES), ValueKind.I8.type, value);
+    }
+
+    @ExportMessage
+    static short readBufferShort(LLVMPointerImpl receiver, ByteOrder order, long byteOffset,
+                    @Shared("bufferRead") @Cached LLVMForeignReadNode read) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        short value = asBufferValue(read.execute(getBufferPointer(receiver, byteOffset, Short.BYTES), ValueKind.I16.type)).shortValue();
+        return order == ByteOrder.nativeOrder() ? value : Short.reverseBytes(value);
+    }
+
+    @ExportMessage
+    static void writeBufferShort(LLVMPointerImpl receiver, ByteOrder order, long byteOffset, short value,
+                    @Shared("bufferWrite") @Cached LLVMForeignWriteNode write) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        short nativeValue = order == ByteOrder.nativeOrder() ? value : Short.reverseBytes(value);
+        write.execute(getBufferPointer(receiver, byteOffset, Short.BYTES), ValueKind.I16.type, nativeValue);
+    }
+
+    @ExportMessage
+    static int readBufferInt(LLVMPointerImpl receiver, ByteOrder order, long byteOffset,
+                    @Shared("bufferRead") @Cached LLVMForeignReadNode read) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        int value = asBufferValue(read.execute(getBufferPointer(receiver, byteOffset, Integer.BYTES), ValueKind.I32.type)).intValue();
+        return order == ByteOrder.nativeOrder() ? value : Integer.reverseBytes(value);
+    }
+
+    @ExportMessage
+    static void writeBufferInt(LLVMPointerImpl receiver, ByteOrder order, long byteOffset, int value,
+                    @Shared("bufferWrite") @Cached LLVMForeignWriteNode write) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        int nativeValue = order == ByteOrder.nativeOrder() ? value : Integer.reverseBytes(value);
+        write.execute(getBufferPointer(receiver, byteOffset, Integer.BYTES), ValueKind.I32.type, nativeValue);
+    }
+
+    @ExportMessage
+    static long readBufferLong(LLVMPointerImpl receiver, ByteOrder order, long byteOffset,
+                    @Shared("bufferRead") @Cached LLVMForeignReadNode read) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        long value = asBufferValue(read.execute(getBufferPointer(receiver, byteOffset, Long.BYTES), ValueKind.I64.type)).longValue();
+        return order == ByteOrder.nativeOrder() ? value : Long.reverseBytes(value);
+    }
+
+    @ExportMessage
+    static void writeBufferLong(LLVMPointerImpl receiver, ByteOrder order, long byteOffset, long value,
+                    @Shared("bufferWrite") @Cached LLVMForeignWriteNode write) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        long nativeValue = order == ByteOrder.nativeOrder() ? value : Long.reverseBytes(value);
+        write.execute(getBufferPointer(receiver, byteOffset, Long.BYTES), ValueKind.I64.type, nativeValue);
+    }
+
+    @ExportMessage
+    static float readBufferFloat(LLVMPointerImpl receiver, ByteOrder order, long byteOffset,
+                    @Shared("bufferRead") @Cached LLVMForeignReadNode read) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (order == ByteOrder.nativeOrder()) {
+            return asBufferValue(read.execute(getBufferPointer(receiver, byteOffset, Float.BYTES), ValueKind.FLOAT.type)).floatValue();
+        } else {
+            return Float.intBitsToFloat(readBufferInt(receiver, order, byteOffset, read));
+        }
+    }
+
+    @ExportMessage
+    static void writeBufferFloat(LLVMPointerImpl receiver, ByteOrder order, long byteOffset, float value,
+                    @Shared("bufferWrite") @Cached LLVMForeignWriteNode write) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (order == ByteOrder.nativeOrder()) {
+            write.execute(getBufferPointer(receiver, byteOffset, Float.BYTES), ValueKind.FLOAT.type, value);
+        } else {
+            writeBufferInt(receiver, order, byteOffset, Float.floatToRawIntBits(value), write);
+        }
+    }
+
+    @ExportMessage
+    static double readBufferDouble(LLVMPointerImpl receiver, ByteOrder order, long byteOffset,
+                    @Shared("bufferRead") @Cached LLVMForeignReadNode read) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (order == ByteOrder.nativeOrder()) {
+            return asBufferValue(read.execute(getBufferPointer(receiver, byteOffset, Double.BYTES), ValueKind.DOUBLE.type)).doubleValue();
+        } else {
+            return Double.longBitsToDouble(readBufferLong(receiver, order, byteOffset, read));
+        }
+    }
+
+    @ExportMessage
+    static void writeBufferDouble(LLVMPointerImpl receiver, ByteOrder order, long byteOffset, double value,
+                    @Shared("bufferWrite") @Cached LLVMForeignWriteNode write) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (order == ByteOrder.nativeOrder()) {
+            write.execute(getBufferPointer(receiver, byteOffset, Double.BYTES), ValueKind.DOUBLE.type, value);
+        } else {
+            writeBufferLong(receiver, order, byteOffset, Double.doubleToRawLongBits(value), write);
+        }
+    }
+
+    private static boolean isPrimitiveArray(LLVMInteropType type) {
+        if (type instanceof LLVMInteropType.Array) {
+            LLVMInteropType elementType = ((LLVMInteropType.Array) type).getElementType();
+            // pointers may refer to managed objects that have no byte representation
+            return elementType instanceof LLVMInteropType.Value && ((LLVMInteropType.Value) elementType).getKind() != ValueKind.POINTER;
+        }
+        return false;
+    }
+
+    private static LLVMPointer getBufferPointer(LLVMPointerImpl receiver, long byteOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (byteOffset < 0 || byteOffset > getBufferSize(receiver) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        return receiver.increment(byteOffset);
+    }
+
+    private static Number asBufferValue(Object value) throws UnsupportedMessageException {
+        if (value instanceof Number) {
+            return (Number) value;
+        } else {
+            // e.g., a managed pointer stored in managed memory
+            throw UnsupportedMessageException.create();
+        }
+    }
+
     @ExportLibrary(InteropLibrary.class)
     public static final class Keys implements TruffleObject {
 
@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.tests.interop;
 
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -59,18 +60,19 @@ public final class PrimitiveArrayInteropTest extends InteropTestBase {
     @Parameters(name = "{0}")
     public static Collection<Object[]> data() {
         ArrayList<Object[]> tests = new ArrayList<>();
-        tests.add(new Object[]{"i8", (byte) 5, (byte) 3});
-        tests.add(new Object[]{"i16", (short) 5, (short) 3});
-        tests.add(new Object[]{"i32", 5, 3});
-        tests.add(new Object[]{"i64", 5L, 3L});
-        tests.add(new Object[]{"float", 5.5f, 3.125f});
-        tests.add(new Object[]{"double", 5.7, 3.1});
+        tests.add(new Object[]{"i8", (byte) 5, (byte) 3, Byte.BYTES});
+        tests.add(new Object[]{"i16", (short) 5, (short) 3, Short.BYTES});
+        tests.add(new Object[]{"i32", 5, 3, Integer.BYTES});
+        tests.add(new Object[]{"i64", 5L, 3L, Long.BYTES});
+        tests.add(new Object[]{"float", 5.5f, 3.125f, Float.BYTES});
+        tests.add(new Object[]{"double", 5.7, 3.1, Double.BYTES});
         return tests;
     }
 
     @Parameter(0) public String name;
     @Parameter(1) public Number start;
     @Parameter(2) public Number step;
+    @Parameter(3) public int elementSize;
 
     @Test
     public void testFromArray() {
@@ -84,6 +86,48 @@ public final class PrimitiveArrayInteropTest extends InteropTestBase {
         freeSeq.execute(seq);
     }
 
+    @Test
+    public void testFromArrayBuffer() {
+        Value seq = testLibrary.getMember("alloc_seq_" + name).execute(start, step, 20);
+        Assert.assertTrue("hasBufferElements", seq.hasBufferElements());
+        Assert.assertTrue("isBufferWritable", seq.isBufferWritable());
+        Assert.assertEquals("bufferSize", 20 * elementSize, seq.getBufferSize());
+        ByteOrder order = ByteOrder.nativeOrder();
+        for (int i = 0; i < 20; i++) {
+            double expected = start.doubleValue() + i * step.doubleValue();
+            Assert.assertEquals("seq[" + i + "]", expected, readBufferElement(seq, order, i * elementSize), 0.0);
+        }
+
+        byte[] bytes = new byte[elementSize];
+        seq.readBuffer(elementSize, bytes, 0, elementSize);
+        Assert.assertEquals("first byte of seq[1]", seq.readBufferByte(elementSize), bytes[0]);
+
+        for (int i = 0; i < elementSize; i++) {
+            seq.writeBufferByte(i, (byte) 0);
+        }
+        Assert.assertEquals("seq[0]", 0.0, seq.getArrayElement(0).asDouble(), 0.0);
+        freeSeq.execute(seq);
+    }
+
+    private double readBufferElement(Value buffer, ByteOrder order, long byteOffset) {
+        switch (name) {
+            case "i8":
+                return buffer.readBufferByte(byteOffset);
+            case "i16":
+                return buffer.readBufferShort(order, byteOffset);
+            case "i32":
+                return buffer.readBufferInt(order, byteOffset);
+            case "i64":
+                return buffer.readBufferLong(order, byteOffset);
+            case "float":
+                return buffer.readBufferFloat(order, byteOffset);
+            case "double":
+                return buffer.readBufferDouble(order, byteOffset);
+            default:
+                throw new AssertionError(name);
+        }
+    }
+
     @Test
     public void testAsArray() {
         int[] arr = new int[15];
@@ -112,7 +112,7 @@ public final class HoverRequestHandler extends AbstractRequestHandler {
     private Hover evalHoverInfos(List<CoverageData> coverages, SourceSection hoverSection, LanguageInfo langInfo) {
         String textAtHoverPosition = hoverSection.getCharacters().toString();
         for (CoverageData coverageData : coverages) {
-            Hover frameSlotHover = tryFrameSlot(coverageData.getFrame(), textAtHoverPosition, langInfo, hoverSection);
+            Hover frameSlotHover = tryFrameSlot(coverageData, textAtHoverPosition, langInfo, hoverSection);
             if (frameSlotHover != null) {
                 return frameSlotHover;
             }
@@ -196,7 +196,13 @@ public final class HoverRequestHandler extends AbstractRequestHandler {
         return null;
     }
 
-    private Hover tryFrameSlot(MaterializedFrame frame, String textAtHoverPosition, LanguageInfo langInfo, SourceSection hoverSection) {
+    private Hover tryFrameSlot(CoverageData coverageData, String textAtHoverPosition, LanguageInfo langInfo, SourceSection hoverSection) {
+        MaterializedFrame frame = coverageData.getFrame();
+        int indexedSlot = coverageData.findIndexedSlot(textAtHoverPosition);
+        if (indexedSlot >= 0) {
+            Object frameSlotValue = frame.getValue(indexedSlot);
+            return Hover.create(createDefaultHoverInfos(textAtHoverPosition, frameSlotValue, langInfo)).setRange(SourceUtils.sourceSectionToRange(hoverSection));
+        }
         FrameSlot frameSlot = frame.getFrameDescriptor().getSlots().stream().filter(slot -> slot.getIdentifier().equals(textAtHoverPosition)).findFirst().orElseGet(() -> null);
         if (frameSlot != null) {
             Object frameSlotValue = frame.getValue(frameSlot);
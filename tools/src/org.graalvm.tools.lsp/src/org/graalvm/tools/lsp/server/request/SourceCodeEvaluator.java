@@ -166,8 +166,14 @@ public final class SourceCodeEvaluator extends AbstractRequestHandler {
         CoverageData coverageData = dataBeforeNode.get(dataBeforeNode.size() - 1);
         if (((InstrumentableNode) nearestNode).hasTag(StandardTags.ReadVariableTag.class)) {
             // Shortcut for variables
-            List<? extends FrameSlot> slots = coverageData.getFrame().getFrameDescriptor().getSlots();
             String symbol = nearestNode.getSourceSection().getCharacters().toString();
+            int indexedSlot = coverageData.findIndexedSlot(symbol);
+            if (indexedSlot >= 0) {
+                logger.fine("Coverage-based variable look-up");
+                Object frameSlotValue = coverageData.getFrame().getValue(indexedSlot);
+                return EvaluationResult.createResult(frameSlotValue);
+            }
+            List<? extends FrameSlot> slots = coverageData.getFrame().getFrameDescriptor().getSlots();
             FrameSlot frameSlot = slots.stream().filter(slot -> slot.getIdentifier().equals(symbol)).findFirst().orElseGet(() -> null);
             if (frameSlot != null) {
                 logger.fine("Coverage-based variable look-up");
@@ -26,6 +26,7 @@ package org.graalvm.tools.lsp.server.utils;
 
 import java.net.URI;
 
+import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 
 public final class CoverageData {
@@ -43,6 +44,20 @@ public final class CoverageData {
         return frame;
     }
 
+    /**
+     * Returns the index of the indexed frame slot with the given name, or <code>-1</code> if there
+     * is no such slot.
+     */
+    public int findIndexedSlot(Object name) {
+        FrameDescriptor frameDescriptor = frame.getFrameDescriptor();
+        for (int i = 0; i < frameDescriptor.getNumberOfSlots(); i++) {
+            if (name.equals(frameDescriptor.getSlotName(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     public URI getCovarageUri() {
         return coverageUri;
     }
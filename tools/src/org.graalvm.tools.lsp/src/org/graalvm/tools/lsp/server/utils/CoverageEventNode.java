@@ -121,8 +121,9 @@ public final class CoverageEventNode extends ExecutionEventNode {
      * section. This is useful for code completion based on coverage data. So, completion can be
      * based on the frame state at the completion's source section.
      *
-     * The frame copying does not perform a deep copy of objects in frame slots, so that we cannot
-     * freeze the state of these objects.
+     * Both the {@link FrameDescriptor#getNumberOfSlots() indexed slots} and the {@link FrameSlot
+     * frame slots} are copied. The frame copying does not perform a deep copy of objects in frame
+     * slots, so that we cannot freeze the state of these objects.
      *
      * @param frame to copy
      * @return the copy
@@ -130,6 +131,9 @@ public final class CoverageEventNode extends ExecutionEventNode {
     private static MaterializedFrame copyFrame(MaterializedFrame frame) {
         FrameDescriptor frameDescriptor = frame.getFrameDescriptor();
         FrameDescriptor descriptorCopy = frameDescriptor.copy();
+        for (int i = 0; i < frameDescriptor.getNumberOfSlots(); i++) {
+            descriptorCopy.setSlotKind(i, frameDescriptor.getSlotKind(i));
+        }
         for (FrameSlot slotCopy : descriptorCopy.getSlots()) {
             FrameSlotKind frameSlotKind = frameDescriptor.getFrameSlotKind(frameDescriptor.findFrameSlot(slotCopy.getIdentifier()));
             descriptorCopy.setFrameSlotKind(slotCopy, frameSlotKind);
@@ -137,6 +141,33 @@ public final class CoverageEventNode extends ExecutionEventNode {
         Object[] arguments = frame.getArguments();
         MaterializedFrame frameCopy = Truffle.getRuntime().createMaterializedFrame(Arrays.copyOf(arguments, arguments.length), descriptorCopy);
         try {
+            for (int i = 0; i < frameDescriptor.getNumberOfSlots(); i++) {
+                switch (FrameSlotKind.fromTag(frame.getTag(i))) {
+                    case Object:
+                        frameCopy.setObject(i, frame.getObject(i));
+                        break;
+                    case Boolean:
+                        frameCopy.setBoolean(i, frame.getBoolean(i));
+                        break;
+                    case Int:
+                        frameCopy.setInt(i, frame.getInt(i));
+                        break;
+                    case Byte:
+                        frameCopy.setByte(i, frame.getByte(i));
+                        break;
+                    case Long:
+                        frameCopy.setLong(i, frame.getLong(i));
+                        break;
+                    case Double:
+                        frameCopy.setDouble(i, frame.getDouble(i));
+                        break;
+                    case Float:
+                        frameCopy.setFloat(i, frame.getFloat(i));
+                        break;
+                    default:
+                        break;
+                }
+            }
             for (FrameSlot slot : frameDescriptor.getSlots()) {
                 FrameSlotKind slotKind = frameDescriptor.getFrameSlotKind(slot);
                 FrameSlot id = descriptorCopy.findFrameSlot(slot.getIdentifier());
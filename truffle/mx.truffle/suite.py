@@ -382,6 +382,18 @@ suite = {
       "workingSets" : "API,Truffle",
     },
 
+    "com.oracle.truffle.api.strings" : {
+      "subDir" : "src",
+      "sourceDirs" : ["src"],
+      "dependencies" : [
+        "com.oracle.truffle.api.interop",
+      ],
+      "annotationProcessors" : ["TRUFFLE_DSL_PROCESSOR"],
+      "checkstyle" : "com.oracle.truffle.api",
+      "javaCompliance" : "8+",
+      "workingSets" : "API,Truffle",
+    },
+
     "com.oracle.truffle.api.object.dsl" : {
       "subDir" : "src",
       "sourceDirs" : ["src"],
@@ -788,6 +800,8 @@ suite = {
           "com.oracle.truffle.api.profiles",
           "com.oracle.truffle.api.interop",
           "com.oracle.truffle.api.object",
+          "com.oracle.truffle.api.staticobject",
+          "com.oracle.truffle.api.strings",
           "com.oracle.truffle.api.utilities",
           "com.oracle.truffle.api.library",
 
@@ -806,6 +820,7 @@ suite = {
         "com.oracle.truffle.api.utilities",
         "com.oracle.truffle.object",
         "com.oracle.truffle.api.object.dsl",
+        "com.oracle.truffle.api.strings",
         "com.oracle.truffle.polyglot",
       ],
       "distDependencies" : [
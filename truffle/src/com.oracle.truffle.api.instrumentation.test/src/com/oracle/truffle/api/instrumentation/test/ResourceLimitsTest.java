@@ -139,6 +139,68 @@ public class ResourceLimitsTest {
         executorService.awaitTermination(100, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void testTimeLimitAfterContextsClosed() throws InterruptedException, ClassNotFoundException {
+        Class<?> engineLimits = Class.forName("com.oracle.truffle.polyglot.PolyglotLimits$EngineLimits");
+        ResourceLimits unreachedLimits = cpuTimeLimit(ResourceLimits.newBuilder(), //
+                        Duration.ofSeconds(100), Duration.ofMillis(10)).//
+                                        build();
+        Engine engine = Engine.create();
+        for (int i = 0; i < 10; i++) {
+            try (Context c = Context.newBuilder().engine(engine).resourceLimits(unreachedLimits).build()) {
+                c.eval(statements(10));
+                assertTrue((int) ReflectionUtils.invokeStatic(engineLimits, "getTimeLimitCheckerCount") > 0);
+                assertTrue((boolean) ReflectionUtils.invokeStatic(engineLimits, "isTimeLimitTaskScheduled"));
+            }
+        }
+        // the checkers of the closed contexts are dropped and the periodic task is cancelled
+        long deadline = System.currentTimeMillis() + 10000;
+        while ((int) ReflectionUtils.invokeStatic(engineLimits, "getTimeLimitCheckerCount") > 0 ||
+                        (boolean) ReflectionUtils.invokeStatic(engineLimits, "isTimeLimitTaskScheduled")) {
+            assertTrue("time limit checkers of closed contexts were not dropped", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+
+        ResourceLimits limits = cpuTimeLimit(ResourceLimits.newBuilder(), //
+                        Duration.ofMillis(10), Duration.ofMillis(1)).//
+                                        build();
+        try (Context c = Context.newBuilder().engine(engine).resourceLimits(limits).build()) {
+            try {
+                evalStatements(c);
+                fail();
+            } catch (PolyglotException e) {
+                assertTimeout(c, e);
+            }
+        }
+        engine.close();
+    }
+
+    @Test
+    public void testTimeLimitTaskPeriodAfterContextClosed() throws InterruptedException, ClassNotFoundException {
+        Class<?> engineLimits = Class.forName("com.oracle.truffle.polyglot.PolyglotLimits$EngineLimits");
+        ResourceLimits coarseLimits = cpuTimeLimit(ResourceLimits.newBuilder(), //
+                        Duration.ofSeconds(100), Duration.ofMillis(500)).//
+                                        build();
+        ResourceLimits fineLimits = cpuTimeLimit(ResourceLimits.newBuilder(), //
+                        Duration.ofSeconds(100), Duration.ofMillis(10)).//
+                                        build();
+        Engine engine = Engine.create();
+        try (Context coarse = Context.newBuilder().engine(engine).resourceLimits(coarseLimits).build()) {
+            coarse.eval(statements(10));
+            try (Context fine = Context.newBuilder().engine(engine).resourceLimits(fineLimits).build()) {
+                fine.eval(statements(10));
+                assertEquals(10L, (long) ReflectionUtils.invokeStatic(engineLimits, "getTimeLimitTaskPeriod"));
+            }
+            // the checker of the closed context is dropped and the periodic task is relaxed
+            long deadline = System.currentTimeMillis() + 10000;
+            while ((long) ReflectionUtils.invokeStatic(engineLimits, "getTimeLimitTaskPeriod") != 500L) {
+                assertTrue("time limit task was not rescheduled", System.currentTimeMillis() < deadline);
+                Thread.sleep(10);
+            }
+        }
+        engine.close();
+    }
+
     private static ResourceLimits.Builder cpuTimeLimit(ResourceLimits.Builder builder, Duration timeLimit, Duration accuracy) {
         try {
             Method m = builder.getClass().getDeclaredMethod("cpuTimeLimit", Duration.class, Duration.class);
@@ -698,6 +760,101 @@ public class ResourceLimitsTest {
         Context.newBuilder().resourceLimits(null); // allowed
     }
 
+    @Test
+    public void testAllocationLimit() {
+        ResourceLimits limits = ResourceLimits.newBuilder().//
+                        allocationLimit(50).//
+                        build();
+
+        try (Context context = Context.newBuilder().resourceLimits(limits).build()) {
+            context.eval(allocations(50));
+            try {
+                context.eval(allocations(1));
+                fail();
+            } catch (PolyglotException e) {
+                assertAllocationLimit(context, e, 50);
+            }
+        }
+    }
+
+    @Test
+    public void testAllocationLimitReset() {
+        ResourceLimits limits = ResourceLimits.newBuilder().//
+                        allocationLimit(50).//
+                        build();
+
+        try (Context context = Context.newBuilder().resourceLimits(limits).build()) {
+            for (int i = 0; i < 5; i++) {
+                context.eval(allocations(40));
+                context.resetLimits();
+            }
+            try {
+                context.eval(allocations(60));
+                fail();
+            } catch (PolyglotException e) {
+                assertAllocationLimit(context, e, 50);
+            }
+        }
+    }
+
+    @Test
+    public void testAllocationLimitDifferentPerContext() {
+        List<ResourceLimitEvent> events = new ArrayList<>();
+        ResourceLimits limits1 = ResourceLimits.newBuilder().//
+                        allocationLimit(10).//
+                        onLimit((e) -> events.add(e)).//
+                        build();
+        ResourceLimits limits2 = ResourceLimits.newBuilder().//
+                        allocationLimit(20).//
+                        build();
+        Engine engine = Engine.create();
+        try (Context c1 = Context.newBuilder().engine(engine).resourceLimits(limits1).build();
+                        Context c2 = Context.newBuilder().engine(engine).resourceLimits(limits2).build();
+                        Context c3 = Context.newBuilder().engine(engine).build()) {
+            c1.eval(allocations(10));
+            c2.eval(allocations(20));
+            c3.eval(allocations(100));
+            try {
+                c1.eval(allocations(1));
+                fail();
+            } catch (PolyglotException e) {
+                assertAllocationLimit(c1, e, 10);
+                assertEquals(1, events.size());
+                assertSame(c1, events.get(0).getContext());
+            }
+            try {
+                c2.eval(allocations(1));
+                fail();
+            } catch (PolyglotException e) {
+                assertAllocationLimit(c2, e, 20);
+            }
+            c3.eval(allocations(100));
+        }
+        engine.close();
+    }
+
+    @Test
+    public void testAllocationLimitErrors() {
+        assertFails(() -> ResourceLimits.newBuilder().allocationLimit(-1), IllegalArgumentException.class);
+        ResourceLimits.newBuilder().allocationLimit(0).build(); // allowed to disable
+    }
+
+    private static Source allocations(int count) {
+        return Source.create(InstrumentationTestLanguage.ID, "LOOP(" + count + ", ALLOCATION)");
+    }
+
+    private static void assertAllocationLimit(Context c, PolyglotException e, int limit) {
+        assertTrue(e.isCancelled());
+        String expectedMessage = "Allocation limit of " + limit + " bytes exceeded. Bytes allocated " + (limit + 1) + ".";
+        assertEquals(expectedMessage, e.getMessage());
+        try {
+            c.eval(InstrumentationTestLanguage.ID, "EXPRESSION");
+            fail();
+        } catch (PolyglotException ex) {
+            assertTrue(ex.isCancelled());
+        }
+    }
+
     private static void assertStatementCountLimit(Context c, PolyglotException e, int limit) {
         assertTrue(e.isCancelled());
         String expectedMessage = "Statement count limit of " + limit + " exceeded. Statements executed " + (limit + 1) + ".";
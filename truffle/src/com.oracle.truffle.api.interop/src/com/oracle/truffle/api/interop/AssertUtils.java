@@ -103,6 +103,10 @@ final class AssertUtils {
         return String.format("Invariant contract violation for receiver %s and identifier %s.", formatValue(receiver), arg);
     }
 
+    static String violationInvariant(Object receiver, Object key) {
+        return String.format("Invariant contract violation for receiver %s and key %s.", formatValue(receiver), formatValue(key));
+    }
+
     static String violationInvariant(Object receiver, long arg) {
         return String.format("Invariant contract violation for receiver %s and index %s.", formatValue(receiver), arg);
     }
@@ -48,6 +48,7 @@ import static com.oracle.truffle.api.interop.AssertUtils.validReturn;
 import static com.oracle.truffle.api.interop.AssertUtils.violationInvariant;
 import static com.oracle.truffle.api.interop.AssertUtils.violationPost;
 
+import java.nio.ByteOrder;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -123,6 +124,10 @@ import com.oracle.truffle.api.source.SourceSection;
  * <li>{@link #isPointer(Object) pointer}
  * <li>{@link #hasMembers(Object) members}
  * <li>{@link #hasArrayElements(Object) array elements}
+ * <li>{@link #hasBufferElements(Object) buffer elements}
+ * <li>{@link #hasHashEntries(Object) hash entries}
+ * <li>{@link #hasIterator(Object) iterable}
+ * <li>{@link #isIterator(Object) iterator}
  * <li>{@link #hasLanguage(Object) language}
  * <li>{@link #hasMetaObject(Object) associated metaobject}
  * <li>{@link #hasSourceLocation(Object) source location}
@@ -926,1121 +931,2148 @@ public abstract class InteropLibrary extends Library {
     }
 
     /**
-     * Returns <code>true</code> if the receiver value represents a native pointer. Native pointers
-     * are represented as 64 bit pointers. Invoking this message does not cause any observable
-     * side-effects. Returns <code>false</code> by default.
+     * Returns <code>true</code> if the receiver may have buffer elements, i.e., if its contents
+     * can be accessed as a sequence of bytes. For example, the contents of a byte buffer or of a
+     * typed array could be interpreted as buffer elements. Buffers allow to access elements of
+     * primitive types at byte offsets with a given byte order, without converting every element
+     * to an interop value. Invoking this message does not cause any observable side-effects.
+     * Returns <code>false</code> by default.
      * <p>
-     * It is expected that objects should only return <code>true</code> if the native pointer value
-     * corresponding to this object already exists, and obtaining it is a cheap operation. If an
-     * object can be transformed to a pointer representation, but this hasn't happened yet, the
-     * object is expected to return <code>false</code> with {@link #isPointer(Object)}, and wait for
-     * the {@link #toNative(Object)} message to trigger the transformation.
+     * A receiver may have both {@link #hasArrayElements(Object) array elements} and buffer
+     * elements.
      *
-     * @see #asPointer(Object)
-     * @see #toNative(Object)
-     * @since 19.0
+     * @see #getBufferSize(Object)
+     * @see #readBufferByte(Object, long)
+     * @since 20.1
      */
-    @Abstract(ifExported = {"asPointer"})
-    public boolean isPointer(Object receiver) {
+    @Abstract(ifExported = {"getBufferSize", "isBufferWritable", "readBufferByte", "readBufferShort", "readBufferInt", "readBufferLong", "readBufferFloat", "readBufferDouble"})
+    public boolean hasBufferElements(Object receiver) {
         return false;
     }
 
     /**
-     * Returns the pointer value as long value if the receiver represents a pointer like value.
+     * Returns <code>true</code> if the receiver is a buffer whose elements can be written. Invoking
+     * this message does not cause any observable side-effects.
      *
-     * @throws UnsupportedMessageException if and only if {@link #isPointer(Object)} returns
-     *             <code>false</code> for the same receiver.
-     * @see #isPointer(Object)
-     * @since 19.0
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)}
+     *             returns <code>false</code>.
+     * @see #writeBufferByte(Object, long, byte)
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isPointer"})
-    public long asPointer(Object receiver) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasBufferElements", "writeBufferByte", "writeBufferShort", "writeBufferInt", "writeBufferLong", "writeBufferFloat", "writeBufferDouble"})
+    public boolean isBufferWritable(Object receiver) throws UnsupportedMessageException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Attempts to transform a {@link TruffleObject receiver} to a value that represents a raw
-     * native pointer. After a successful transformation, the provided receiver returns true for
-     * {@link #isPointer(Object)} and can be unwrapped using the {@link #asPointer(Object)} message.
-     * If transformation cannot be done {@link #isPointer(Object)} will keep returning false.
+     * Returns the buffer size of the receiver in bytes.
      *
-     * @see #isPointer(Object)
-     * @see #asPointer(Object)
-     * @since 19.0
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)}
+     *             returns <code>false</code>.
+     * @since 20.1
      */
-    public void toNative(Object receiver) {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public long getBufferSize(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the receiver as instant if this object represents an {@link #isInstant(Object)
-     * instant}. If a value is an instant then it is also a {@link #isDate(Object) date},
-     * {@link #isTime(Object) time} and {@link #isTimeZone(Object) timezone}. Using this method may
-     * be more efficient than reconstructing the timestamp from the date, time and timezone data.
-     * <p>
-     * Implementers should implement this method if they can provide a more efficient conversion to
-     * Instant than reconstructing it from date, time and timezone date. Implementers must ensure
-     * that the following Java code snippet always holds:
-     *
-     * <pre>
-     * ZoneId zone = getTimeZone(receiver);
-     * LocalDate date = getDate(receiver);
-     * LocalTime time = getTime(receiver);
-     * assert ZonedDateTime.of(date, time, zone).toInstant().equals(getInstant(receiver));
-     * </pre>
+     * Reads the byte at the given byte offset of the buffer. This method must have no observable
+     * side-effects.
      *
-     * @see #isDate(Object)
-     * @see #isTime(Object)
-     * @see #isTimeZone(Object)
-     * @throws UnsupportedMessageException if {@link #isInstant(Object)} returns <code>false</code>.
-     * @since 20.0.0 beta 2
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)}
+     *             returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if the byte offset is negative or not smaller than the
+     *             {@link #getBufferSize(Object) buffer size}.
+     * @since 20.1
      */
-    public Instant asInstant(Object receiver) throws UnsupportedMessageException {
-        if (isDate(receiver) && isTime(receiver) && isTimeZone(receiver)) {
-            LocalDate date = asDate(receiver);
-            LocalTime time = asTime(receiver);
-            ZoneId zone = asTimeZone(receiver);
-            return toInstant(date, time, zone);
-        }
+    @Abstract(ifExported = {"hasBufferElements"})
+    public byte readBufferByte(Object receiver, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
         throw UnsupportedMessageException.create();
     }
 
-    @TruffleBoundary
-    private static Instant toInstant(LocalDate date, LocalTime time, ZoneId zone) {
-        return ZonedDateTime.of(date, time, zone).toInstant();
+    /**
+     * Writes the byte at the given byte offset of the buffer. This method must have no observable
+     * side-effects other than the changed buffer element.
+     *
+     * @throws UnsupportedMessageException if {@link #hasBufferElements(Object)} or
+     *             {@link #isBufferWritable(Object)} returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if the byte offset is negative or not smaller than the
+     *             {@link #getBufferSize(Object) buffer size}.
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferByte(Object receiver, long byteOffset, byte value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if the receiver represents an instant. If a value is an instant
-     * then it is also a {@link #isDate(Object) date}, {@link #isTime(Object) time} and
-     * {@link #isTimeZone(Object) timezone}.
+     * Reads the short that starts at the given byte offset of the buffer, in the given byte order.
+     * The byte offset does not need to be aligned. This method must have no observable
+     * side-effects.
      *
-     * This method is short-hand for:
-     *
-     * <pre>
-     * {@linkplain #isDate(Object) isDate}(v) && {@link #isTime(Object) isTime}(v) && {@link #isTimeZone(Object) isTimeZone}(v)
-     * </pre>
-     *
-     * @see #isDate(Object)
-     * @see #isTime(Object)
-     * @see #isInstant(Object)
-     * @see #asInstant(Object)
-     * @since 20.0.0 beta 2
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)}
+     *             returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if the byte offset is negative or if the short does not
+     *             fit into the {@link #getBufferSize(Object) buffer}.
+     * @since 20.1
      */
-    public final boolean isInstant(Object receiver) {
-        return isDate(receiver) && isTime(receiver) && isTimeZone(receiver);
+    @Abstract(ifExported = {"hasBufferElements"})
+    public short readBufferShort(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if this object represents a timezone, else <code>false</code>. The
-     * interpretation of timezone objects may vary:
-     * <ul>
-     * <li>If {@link #isDate(Object)} and {@link #isTime(Object)} return <code>true</code>, then the
-     * returned date or time information is aware of this timezone.
-     * <li>If {@link #isDate(Object)} and {@link #isTime(Object)} returns <code>false</code>, then
-     * it represents just timezone information.
-     * </ul>
-     * Objects with only date information must not have timezone information attached and objects
-     * with only time information must have either none, or {@link ZoneRules#isFixedOffset() fixed
-     * zone} only. If this rule is violated then an {@link AssertionError} is thrown if assertions
-     * are enabled.
-     * <p>
-     * If this method is implemented then also {@link #asTimeZone(Object)} must be implemented.
+     * Writes the short that starts at the given byte offset of the buffer, in the given byte
+     * order. The byte offset does not need to be aligned. This method must have no observable
+     * side-effects other than the changed buffer elements.
      *
-     * @see #asTimeZone(Object)
-     * @see #asInstant(Object)
-     * @since 20.0.0 beta 2
+     * @throws UnsupportedMessageException if {@link #hasBufferElements(Object)} or
+     *             {@link #isBufferWritable(Object)} returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if the byte offset is negative or if the short does not
+     *             fit into the {@link #getBufferSize(Object) buffer}.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"asTimeZone", "asInstant"})
-    public boolean isTimeZone(Object receiver) {
-        return false;
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferShort(Object receiver, ByteOrder order, long byteOffset, short value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the receiver as timestamp if this object represents a {@link #isTimeZone(Object)
-     * timezone}.
+     * Reads the int that starts at the given byte offset of the buffer, in the given byte order.
+     * See {@link #readBufferShort(Object, ByteOrder, long)} for details.
      *
-     * @throws UnsupportedMessageException if {@link #isTimeZone(Object)} returns <code>false</code>
-     *             .
-     * @see #isTimeZone(Object)
-     * @since 20.0.0 beta 2
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isTimeZone", "asInstant"})
-    public ZoneId asTimeZone(Object receiver) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public int readBufferInt(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if this object represents a date, else <code>false</code>. If the
-     * receiver is also a {@link #isTimeZone(Object) timezone} then the date is aware, otherwise it
-     * is naive.
+     * Writes the int that starts at the given byte offset of the buffer, in the given byte order.
+     * See {@link #writeBufferShort(Object, ByteOrder, long, short)} for details.
      *
-     * @see #asDate(Object)
-     * @since 20.0.0 beta 2
+     * @since 20.1
      */
-    @Abstract(ifExported = {"asDate", "asInstant"})
-    public boolean isDate(Object receiver) {
-        return false;
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferInt(Object receiver, ByteOrder order, long byteOffset, int value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the receiver as date if this object represents a {@link #isDate(Object) date}. The
-     * returned date is either aware if the receiver has a {@link #isTimeZone(Object) timezone}
-     * otherwise it is naive.
+     * Reads the long that starts at the given byte offset of the buffer, in the given byte order.
+     * See {@link #readBufferShort(Object, ByteOrder, long)} for details.
      *
-     * @throws UnsupportedMessageException if {@link #isDate(Object)} returns <code>false</code>.
-     * @see #isDate(Object)
-     * @since 20.0.0 beta 2
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isTime", "asInstant"})
-    public LocalDate asDate(Object receiver) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public long readBufferLong(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if this object represents a time, else <code>false</code>. If the
-     * receiver is also a {@link #isTimeZone(Object) timezone} then the time is aware, otherwise it
-     * is naive.
+     * Writes the long that starts at the given byte offset of the buffer, in the given byte order.
+     * See {@link #writeBufferShort(Object, ByteOrder, long, short)} for details.
      *
-     * @see #asTime(Object)
-     * @since 20.0.0 beta 2
+     * @since 20.1
      */
-    @Abstract(ifExported = {"asTime", "asInstant"})
-    public boolean isTime(Object receiver) {
-        return false;
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferLong(Object receiver, ByteOrder order, long byteOffset, long value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the receiver as time if this object represents a {@link #isTime(Object) time}. The
-     * returned time is either aware if the receiver has a {@link #isTimeZone(Object) timezone}
-     * otherwise it is naive.
+     * Reads the float that starts at the given byte offset of the buffer, in the given byte order.
+     * See {@link #readBufferShort(Object, ByteOrder, long)} for details.
      *
-     * @throws UnsupportedMessageException if {@link #isTime(Object)} returns <code>false</code>.
-     * @see #isTime(Object)
-     * @since 20.0.0 beta 2
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isTime", "asInstant"})
-    public LocalTime asTime(Object receiver) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public float readBufferFloat(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if this object represents a duration, else <code>false</code>.
+     * Writes the float that starts at the given byte offset of the buffer, in the given byte
+     * order. See {@link #writeBufferShort(Object, ByteOrder, long, short)} for details.
      *
-     * @see Duration
-     * @see #asDuration(Object)
-     * @since 20.0.0 beta 2
+     * @since 20.1
      */
-    @Abstract(ifExported = {"asDuration"})
-    public boolean isDuration(Object receiver) {
-        return false;
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferFloat(Object receiver, ByteOrder order, long byteOffset, float value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the receiver as duration if this object represents a {@link #isDuration(Object)
-     * duration}.
+     * Reads the double that starts at the given byte offset of the buffer, in the given byte
+     * order. See {@link #readBufferShort(Object, ByteOrder, long)} for details.
      *
-     * @throws UnsupportedMessageException if {@link #isDuration(Object)} returns <code>false</code>
-     *             .
-     * @see #isDuration(Object)
-     * @since 20.0.0 beta 2
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isDuration"})
-    public Duration asDuration(Object receiver) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"hasBufferElements"})
+    public double readBufferDouble(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if the receiver value represents a throwable
-     * {@linkplain TruffleException#getExceptionObject() exception/error object}. Invoking this
-     * message does not cause any observable side-effects. Returns <code>false</code> by default.
-     * <p>
-     * Objects must only return <code>true</code> if they support {@link #throwException} as well.
-     * If this method is implemented then also {@link #throwException(Object)} must be implemented.
+     * Writes the double that starts at the given byte offset of the buffer, in the given byte
+     * order. See {@link #writeBufferShort(Object, ByteOrder, long, short)} for details.
      *
-     * @see #throwException(Object)
-     * @see TruffleException#getExceptionObject()
-     * @since 19.3
+     * @since 20.1
      */
-    @Abstract(ifExported = {"throwException"})
-    public boolean isException(Object receiver) {
-        return false;
+    @Abstract(ifExported = {"isBufferWritable"})
+    public void writeBufferDouble(Object receiver, ByteOrder order, long byteOffset, double value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Throws the receiver object as an exception of the source language, as if it was thrown by the
-     * source language itself. Allows rethrowing exceptions caught by another language.
-     * <p>
-     * If this method is implemented then also {@link #isException(Object)} must be implemented.
+     * Copies {@code length} bytes starting at the given byte offset of the buffer into
+     * {@code destination}, starting at {@code destinationOffset}. Buffers should export this
+     * message if they can copy their contents in bulk, e.g., with
+     * {@link System#arraycopy(Object, int, Object, int, int)}. By default, the bytes are read one
+     * at a time with {@link #readBufferByte(Object, long)}. This method must have no observable
+     * side-effects other than the changed destination array.
      *
-     * @throws UnsupportedMessageException if and only if {@link #isException(Object)} returns
-     *             <code>false</code> for the same receiver.
-     * @see #isException(Object)
-     * @since 19.3
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)}
+     *             returns <code>false</code>.
+     * @throws InvalidBufferOffsetException if the byte offset or the length is negative or if the
+     *             bytes do not fit into the {@link #getBufferSize(Object) buffer}.
+     * @throws IndexOutOfBoundsException if the bytes do not fit into {@code destination} at
+     *             {@code destinationOffset}.
+     * @since 20.1
      */
-    @Abstract(ifExported = {"isException"})
-    public RuntimeException throwException(Object receiver) throws UnsupportedMessageException {
-        throw UnsupportedMessageException.create();
+    public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (length < 0 || byteOffset < 0 || byteOffset > getBufferSize(receiver) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        if (destinationOffset < 0 || destinationOffset > destination.length - length) {
+            throw indexOutOfBounds(destinationOffset, length);
+        }
+        for (int i = 0; i < length; i++) {
+            destination[destinationOffset + i] = readBufferByte(receiver, byteOffset + i);
+        }
+    }
+
+    @TruffleBoundary
+    private static IndexOutOfBoundsException indexOutOfBounds(int destinationOffset, int length) {
+        return new IndexOutOfBoundsException("Invalid destination offset " + destinationOffset + " for length " + length + ".");
     }
 
     /**
-     * Returns <code>true</code> if the receiver value has a declared source location attached, else
-     * <code>false</code>. Returning a source location for a value is optional and typically impacts
-     * the capabilities of tools like debuggers to jump to the declaration of a value.
-     * <p>
-     * Examples for values that may provide a source location:
-     * <ul>
-     * <li>{@link #isMetaObject(Object) Metaobjects} like classes or types.
-     * <li>First class {@link #isExecutable(Object) executables}, like functions, closures or
-     * promises.
-     * <li>Allocation sites for instances. Note that in most languages it is very expensive to track
-     * the allocation site of an instance and it is therefore not recommended to support this
-     * feature by default, but ideally behind an optional language option.
-     * <ul>
+     * Returns <code>true</code> if the receiver may have hash entries, i.e., if it maps keys to
+     * values. Unlike {@link #hasMembers(Object) members}, the keys of hash entries may be arbitrary
+     * interop values. For example, a Java {@link java.util.Map Map}, a JavaScript
+     * <code>Map</code> or a Python dictionary could be interpreted as hash entries. Invoking this
+     * message does not cause any observable side-effects. Returns <code>false</code> by default.
      * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #getSourceLocation(Object)} must be implemented.
+     * A receiver may have both {@link #hasMembers(Object) members} and hash entries.
      *
-     * @see #getSourceLocation(Object)
+     * @see #getHashSize(Object)
+     * @see #readHashValue(Object, Object)
+     * @see #getHashKeys(Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"getSourceLocation"})
-    @TruffleBoundary
-    public boolean hasSourceLocation(Object receiver) {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null) {
-            SourceSection location = InteropAccessor.ACCESSOR.languageSupport().legacyFindSourceLocation(env, receiver);
-            if (location != null) {
-                return true;
-            }
-        }
+    @Abstract(ifExported = {"getHashSize", "getHashKeys", "isHashEntryReadable", "readHashValue", "isHashEntryModifiable", "isHashEntryInsertable", "writeHashEntry", "isHashEntryRemovable",
+                    "removeHashEntry"})
+    public boolean hasHashEntries(Object receiver) {
         return false;
     }
 
     /**
-     * Returns the declared source location of the receiver value. Throws an
-     * {@link UnsupportedMessageException} if the value does not have a declared source location.
-     * See {@link #hasSourceLocation(Object)} for further details on potential interpretations.
-     * Throws {@link UnsupportedMessageException} by default.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #hasSourceLocation(Object)} must be implemented.
+     * Returns the number of hash entries of the receiver. Invoking this message does not cause any
+     * observable side-effects.
      *
-     * @throws UnsupportedMessageException if and only if {@link #hasSourceLocation(Object)} returns
-     *             <code>false</code> for the same receiver.
+     * @throws UnsupportedMessageException if and only if {@link #hasHashEntries(Object)} returns
+     *             <code>false</code>.
      * @since 20.1
      */
-    @Abstract(ifExported = {"hasSourceLocation"})
-    @TruffleBoundary
-    public SourceSection getSourceLocation(Object receiver) throws UnsupportedMessageException {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null) {
-            SourceSection location = InteropAccessor.ACCESSOR.languageSupport().legacyFindSourceLocation(env, receiver);
-            if (location != null) {
-                return location;
-            }
-        }
+    @Abstract(ifExported = "hasHashEntries")
+    public long getHashSize(Object receiver) throws UnsupportedMessageException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns <code>true</code> if the receiver originates from a language, else <code>false</code>
-     * . Primitive values or other shared interop value representations that are not associated with
-     * a language may return <code>false</code>. Values that originate from a language should return
-     * <code>true</code>. Returns <code>false</code> by default.
-     * <p>
-     * The associated language allows tools to identify the original language of a value. If an
-     * instrument requests a
-     * {@link com.oracle.truffle.api.instrumentation.TruffleInstrument.Env#getLanguageView(LanguageInfo, Object)
-     * language view} then values that are already associated with a language will just return the
-     * same value. Otherwise {@link TruffleLanguage#getLanguageView(Object, Object)} will be invoked
-     * on the language. The returned language may be also exposed to embedders in the future.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #getLanguage(Object)} and {@link #toDisplayString(Object, boolean)} must be
-     * implemented.
+     * Returns the keys of the hash entries of the receiver. The return value is always an
+     * {@link #hasArrayElements(Object) array} of interop values with
+     * {@link #getHashSize(Object)} elements. The array is a snapshot of the keys, later changes of
+     * the receiver are not reflected in the array. Invoking this message does not cause any
+     * observable side-effects.
      *
-     * @see #getLanguage(Object)
-     * @see #toDisplayString(Object)
+     * @throws UnsupportedMessageException if and only if {@link #hasHashEntries(Object)} returns
+     *             <code>false</code>.
      * @since 20.1
      */
-    @Abstract(ifExported = {"getLanguage"})
-    @TruffleBoundary
-    public boolean hasLanguage(Object receiver) {
-        return getLegacyEnv(receiver, false) != null;
+    @Abstract(ifExported = "hasHashEntries")
+    public Object getHashKeys(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the the original language of the receiver value. The returned language class must be
-     * non-null and represent a valid {@link Registration registered} language class. For more
-     * details see {@link #hasLanguage(Object)}.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #hasLanguage(Object)} must be implemented.
+     * Returns an {@link #isIterator(Object) iterator} over the keys of the hash entries of the
+     * receiver. Unlike {@link #getHashKeys(Object)} the keys are not required to be copied, so
+     * implementations should override this message if they can enumerate the keys lazily. By
+     * default an iterator over the {@link #getHashKeys(Object) key snapshot} is returned.
      *
-     * @throws UnsupportedMessageException if and only if {@link #hasLanguage(Object)} returns
-     *             <code>false</code> for the same receiver.
+     * @throws UnsupportedMessageException if and only if {@link #hasHashEntries(Object)} returns
+     *             <code>false</code>.
+     * @see #getHashKeys(Object)
      * @since 20.1
      */
-    @SuppressWarnings("unchecked")
-    @Abstract(ifExported = {"hasLanguage"})
-    @TruffleBoundary
-    public Class<? extends TruffleLanguage<?>> getLanguage(Object receiver) throws UnsupportedMessageException {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null) {
-            return (Class<? extends TruffleLanguage<?>>) InteropAccessor.ACCESSOR.languageSupport().getSPI(env).getClass();
-        }
-        throw UnsupportedMessageException.create();
+    public Object getHashKeysIterator(Object receiver) throws UnsupportedMessageException {
+        return new ArrayIterator(getHashKeys(receiver));
     }
 
     /**
-     * Returns <code>true</code> if the receiver value has a metaobject associated. The metaobject
-     * represents a description of the object, reveals its kind and its features. Some information
-     * that a metaobject might define includes the base object's type, interface, class, methods,
-     * attributes, etc. Should return <code>false</code> when no metaobject is known for this type.
-     * Returns <code>false</code> by default.
-     * <p>
-     * An example, for Java objects the returned metaobject is the {@link Object#getClass() class}
-     * instance. In JavaScript this could be the function or class that is associated with the
-     * object.
-     * <p>
-     * Metaobjects for primitive values or values of other languages may be provided using
-     * {@link TruffleLanguage#getLanguageView(Object, Object) language views}. While an object is
-     * associated with a metaobject in one language, the metaobject might be a different when viewed
-     * from another language.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #getMetaObject(Object)} must be implemented.
+     * Returns <code>true</code> if the mapping for the specified key exists and is
+     * {@link #readHashValue(Object, Object) readable}. This method may only return
+     * <code>true</code> if {@link #hasHashEntries(Object)} returns <code>true</code> as well and
+     * {@link #isHashEntryInsertable(Object, Object)} returns <code>false</code>. Invoking this
+     * message does not cause any observable side-effects. Returns <code>false</code> by default.
      *
-     * @see #getMetaObject(Object)
-     * @see #isMetaObject(Object)
+     * @see #readHashValue(Object, Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"getMetaObject"})
-    @TruffleBoundary
-    public boolean hasMetaObject(Object receiver) {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null) {
-            Object metaObject = InteropAccessor.ACCESSOR.languageSupport().legacyFindMetaObject(env, receiver);
-            if (metaObject != null) {
-                return true;
-            }
-        }
+    @Abstract(ifExported = "readHashValue")
+    public boolean isHashEntryReadable(Object receiver, Object key) {
         return false;
     }
 
     /**
-     * Returns the metaobject that is associated with this value. The metaobject represents a
-     * description of the object, reveals its kind and its features. Some information that a
-     * metaobject might define includes the base object's type, interface, class, methods,
-     * attributes, etc. When no metaobject is known for this type. Throws
-     * {@link UnsupportedMessageException} by default.
-     * <p>
-     * The returned object must return <code>true</code> for {@link #isMetaObject(Object)} and
-     * provide implementations for {@link #getMetaSimpleName(Object)},
-     * {@link #getMetaQualifiedName(Object)}, and {@link #isMetaInstance(Object, Object)}. For all
-     * values with metaobjects it must at hold that
-     * <code>isMetaInstance(getMetaObject(value), value) ==
-     * true</code>.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #hasMetaObject(Object)} must be implemented.
-     *
-     * @throws UnsupportedMessageException if and only if {@link #hasMetaObject(Object)} returns
-     *             <code>false</code> for the same receiver.
+     * Reads the value for the specified key. This method must have no observable side-effects.
      *
-     * @see #hasMetaObject(Object)
+     * @throws UnsupportedMessageException if the receiver does not support reading at all. An
+     *             empty receiver with no readable hash entries supports the read operation (even
+     *             though there is nothing to read), therefore it throws
+     *             {@link UnknownKeyException} for all arguments instead.
+     * @throws UnknownKeyException if mapping for the specified key is not
+     *             {@link #isHashEntryReadable(Object, Object) readable}, e.g. when the hash does
+     *             not contain specified key.
+     * @see #isHashEntryReadable(Object, Object)
+     * @see #readHashValueOrDefault(Object, Object, Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"hasMetaObject"})
-    @TruffleBoundary
-    public Object getMetaObject(Object receiver) throws UnsupportedMessageException {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null) {
-            Object metaObject = InteropAccessor.ACCESSOR.languageSupport().legacyFindMetaObject(env, receiver);
-            if (metaObject != null) {
-                return new LegacyMetaObjectWrapper(receiver, metaObject);
-            }
-        }
+    @Abstract(ifExported = "isHashEntryReadable")
+    public Object readHashValue(Object receiver, Object key) throws UnsupportedMessageException, UnknownKeyException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Converts the receiver to a human readable {@link #isString(Object) string}. Each language may
-     * have special formating conventions - even primitive values may not follow the traditional
-     * Java rules. The format of the returned string is intended to be interpreted by humans not
-     * machines and should therefore not be relied upon by machines. By default the receiver class
-     * name and its {@link System#identityHashCode(Object) identity hash code} is used as string
-     * representation.
-     * <p>
-     * String representations for primitive values or values of other languages may be provided
-     * using {@link TruffleLanguage#getLanguageView(Object, Object) language views}. It is common
-     * that languages provide different string representations for primitive and foreign values. To
-     * convert the result value to a Java string use {@link InteropLibrary#asString(Object)}.
+     * Reads the value for the specified key or returns the {@code defaultValue} when the mapping
+     * for the specified key does not exist or is not readable.
      *
-     * @param allowSideEffects whether side-effects are allowed in the production of the string.
-     * @see TruffleLanguage#getLanguageView(Object, Object)
+     * @throws UnsupportedMessageException if the receiver does not support reading at all.
+     * @see #readHashValue(Object, Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"hasLanguage", "getLanguage"})
-    @TruffleBoundary
-    public Object toDisplayString(Object receiver, boolean allowSideEffects) {
-        Env env = getLegacyEnv(receiver, false);
-        if (env != null && allowSideEffects) {
-            return InteropAccessor.ACCESSOR.languageSupport().legacyToString(env, receiver);
-        } else {
-            return receiver.getClass().getTypeName() + "@" + Integer.toHexString(System.identityHashCode(receiver));
+    public Object readHashValueOrDefault(Object receiver, Object key, Object defaultValue) throws UnsupportedMessageException {
+        try {
+            return readHashValue(receiver, key);
+        } catch (UnknownKeyException e) {
+            return defaultValue;
         }
     }
 
-    private static Env getLegacyEnv(Object receiver, boolean nullForhost) {
-        return InteropAccessor.ACCESSOR.engineSupport().getLegacyLanguageEnv(receiver, nullForhost);
-    }
-
     /**
-     * Converts the receiver to a human readable {@link #isString(Object) string} of the language.
-     * Short-cut for <code>{@link #toDisplayString(Object) toDisplayString}(true)</code>.
+     * Returns <code>true</code> if the mapping for the specified key exists and is
+     * {@link #writeHashEntry(Object, Object, Object) writable}. This method may only return
+     * <code>true</code> if {@link #hasHashEntries(Object)} returns <code>true</code> as well and
+     * {@link #isHashEntryInsertable(Object, Object)} returns <code>false</code>. Invoking this
+     * message does not cause any observable side-effects. Returns <code>false</code> by default.
      *
-     * @see #toDisplayString(Object, boolean)
+     * @see #writeHashEntry(Object, Object, Object)
      * @since 20.1
      */
-    public final Object toDisplayString(Object receiver) {
-        return toDisplayString(receiver, true);
+    @Abstract(ifExported = "writeHashEntry")
+    public boolean isHashEntryModifiable(Object receiver, Object key) {
+        return false;
     }
 
     /**
-     * Returns <code>true</code> if the receiver value represents a metaobject. Metaobjects may be
-     * values that naturally occur in a language or they may be returned by
-     * {@link #getMetaObject(Object)}. A metaobject represents a description of the object, reveals
-     * its kind and its features. If a receiver is a metaobject it is often also
-     * {@link #isInstantiable(Object) instantiable}, but this is not a requirement.
-     * <p>
-     * <b>Sample interpretations:</b> In Java an instance of the type {@link Class} is a metaobject.
-     * In JavaScript any function instance is a metaobject. For example, the metaobject of a
-     * JavaScript class is the associated constructor function.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #getMetaQualifiedName(Object)}, {@link #getMetaSimpleName(Object)} and
-     * {@link #isMetaInstance(Object, Object)} must be implemented as well.
+     * Returns <code>true</code> if the mapping for the specified key does not exist and is
+     * {@link #writeHashEntry(Object, Object, Object) writable}. This method may only return
+     * <code>true</code> if {@link #hasHashEntries(Object)} returns <code>true</code> as well and
+     * {@link #isHashEntryExisting(Object, Object)} returns <code>false</code>. Invoking this
+     * message does not cause any observable side-effects. Returns <code>false</code> by default.
      *
+     * @see #writeHashEntry(Object, Object, Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"getMetaQualifiedName", "getMetaSimpleName", "isMetaInstance"})
-    public boolean isMetaObject(Object receiver) {
+    @Abstract(ifExported = "writeHashEntry")
+    public boolean isHashEntryInsertable(Object receiver, Object key) {
         return false;
     }
 
     /**
-     * Returns the qualified name of a metaobject as {@link #isString(Object) string}.
-     * <p>
-     * <b>Sample interpretations:</b> The qualified name of a Java class includes the package name
-     * and its class name. JavaScript does not have the notion of qualified name and therefore
-     * returns the {@link #getMetaSimpleName(Object) simple name} instead.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #isMetaObject(Object)} must be implemented as well.
+     * Returns <code>true</code> if the mapping for the specified key is
+     * {@link #isHashEntryModifiable(Object, Object) modifiable} or
+     * {@link #isHashEntryInsertable(Object, Object) insertable}.
      *
-     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
-     *             <code>false</code> for the same receiver.
+     * @since 20.1
+     */
+    public final boolean isHashEntryWritable(Object receiver, Object key) {
+        return isHashEntryModifiable(receiver, key) || isHashEntryInsertable(receiver, key);
+    }
+
+    /**
+     * Associates the specified value with the specified key in the receiver. Writing the entry is
+     * allowed if it is existing and {@link #isHashEntryModifiable(Object, Object) modifiable}, or
+     * not existing and {@link #isHashEntryInsertable(Object, Object) insertable}.
      *
+     * @throws UnsupportedMessageException when the receiver does not support writing at all, e.g.
+     *             when it is immutable.
+     * @throws UnknownKeyException if the mapping for the specified key is not
+     *             {@link #isHashEntryModifiable(Object, Object) modifiable} nor
+     *             {@link #isHashEntryInsertable(Object, Object) insertable}.
+     * @throws UnsupportedTypeException if the provided key type or value type is not allowed to be
+     *             written.
      * @since 20.1
      */
-    @Abstract(ifExported = {"isMetaObject"})
-    public Object getMetaQualifiedName(Object metaObject) throws UnsupportedMessageException {
+    @Abstract(ifExported = {"isHashEntryModifiable", "isHashEntryInsertable"})
+    public void writeHashEntry(Object receiver, Object key, Object value) throws UnsupportedMessageException, UnknownKeyException, UnsupportedTypeException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the simple name of a metaobject as {@link #isString(Object) string}.
-     * <p>
-     * <b>Sample interpretations:</b> The simple name of a Java class is the class name.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #isMetaObject(Object)} must be implemented as well.
-     *
-     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
-     *             <code>false</code> for the same receiver.
+     * Returns <code>true</code> if the mapping for the specified key exists and is
+     * {@link #removeHashEntry(Object, Object) removable}. This method may only return
+     * <code>true</code> if {@link #hasHashEntries(Object)} returns <code>true</code> as well and
+     * {@link #isHashEntryInsertable(Object, Object)} returns <code>false</code>. Invoking this
+     * message does not cause any observable side-effects. Returns <code>false</code> by default.
      *
+     * @see #removeHashEntry(Object, Object)
      * @since 20.1
      */
-    @Abstract(ifExported = {"isMetaObject"})
-    public Object getMetaSimpleName(Object metaObject) throws UnsupportedMessageException {
-        throw UnsupportedMessageException.create();
+    @Abstract(ifExported = "removeHashEntry")
+    public boolean isHashEntryRemovable(Object receiver, Object key) {
+        return false;
     }
 
     /**
-     * Returns <code>true</code> if the given instance is of the provided receiver metaobject, else
-     * <code>false</code>.
-     * <p>
-     * <b>Sample interpretations:</b> A Java object is an instance of its returned
-     * {@link Object#getClass() class}.
-     * <p>
-     * This method must not cause any observable side-effects. If this method is implemented then
-     * also {@link #isMetaObject(Object)} must be implemented as well.
+     * Removes the mapping for a given key from the receiver. Mappings can only be removed if they
+     * are {@link #isHashEntryRemovable(Object, Object) removable}.
      *
-     * @param instance the instance object to check.
-     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
-     *             <code>false</code> for the same receiver.
+     * @throws UnsupportedMessageException when the receiver does not support removing at all, e.g.
+     *             when it is immutable.
+     * @throws UnknownKeyException if the given mapping is not
+     *             {@link #isHashEntryRemovable(Object, Object) removable}, e.g. the receiver does
+     *             not have a mapping for given key.
      * @since 20.1
      */
-    @Abstract(ifExported = {"isMetaObject"})
-    public boolean isMetaInstance(Object receiver, Object instance) throws UnsupportedMessageException {
+    @Abstract(ifExported = "isHashEntryRemovable")
+    public void removeHashEntry(Object receiver, Object key) throws UnsupportedMessageException, UnknownKeyException {
         throw UnsupportedMessageException.create();
     }
 
     /**
-     * Returns the library factory for the interop library. Short-cut for
-     * {@link LibraryFactory#resolve(Class) ResolvedLibrary.resolve(InteropLibrary.class)}.
+     * Returns <code>true</code> if the mapping for the specified key exists. A mapping is existing
+     * if it is {@link #isHashEntryModifiable(Object, Object) modifiable},
+     * {@link #isHashEntryReadable(Object, Object) readable} or
+     * {@link #isHashEntryRemovable(Object, Object) removable}.
      *
-     * @see LibraryFactory#resolve(Class)
-     * @since 19.0
+     * @since 20.1
      */
-    public static LibraryFactory<InteropLibrary> getFactory() {
-        return FACTORY;
+    public final boolean isHashEntryExisting(Object receiver, Object key) {
+        return isHashEntryReadable(receiver, key) || isHashEntryModifiable(receiver, key) || isHashEntryRemovable(receiver, key);
     }
 
     /**
-     * Utility for libraries to require adoption before cached versions of nodes can be executed.
-     * Only fails if assertions (-ea) are enabled.
+     * Returns <code>true</code> if the receiver provides an {@link #getIterator(Object) iterator}.
+     * For example, an array or a list provide an iterator over their content. Invoking this message
+     * does not cause any observable side-effects. By default returns <code>true</code> for
+     * receivers that have {@link #hasArrayElements(Object) array elements}.
      *
-     * @since 19.0
+     * @see #getIterator(Object)
+     * @since 20.1
      */
-    protected final boolean assertAdopted() {
-        assert assertAdoptedImpl();
-        return true;
+    @Abstract(ifExported = {"getIterator"})
+    public boolean hasIterator(Object receiver) {
+        return hasArrayElements(receiver);
     }
 
-    private boolean assertAdoptedImpl() {
-        Node node = this;
-        do {
-            if (node instanceof RootNode) {
-                return true;
-            }
-            node = node.getParent();
-        } while (node != null);
-
-        assert false : "Invalid library usage. Cached library must be adopted by a RootNode before it is executed.";
-        return true;
+    /**
+     * Returns a new {@link #isIterator(Object) iterator} for the receiver. The iterator elements
+     * are computed lazily, which allows to iterate collections of unknown or unbounded size, like
+     * generators or database cursors, without materializing them. By default an iterator that
+     * reads the {@link #hasArrayElements(Object) array elements} one by one is returned.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #hasIterator(Object)} returns
+     *             <code>false</code>.
+     * @see #hasIterator(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"hasIterator"})
+    public Object getIterator(Object receiver) throws UnsupportedMessageException {
+        if (!hasIterator(receiver)) {
+            throw UnsupportedMessageException.create();
+        }
+        return new ArrayIterator(receiver);
     }
 
-    static final LibraryFactory<InteropLibrary> FACTORY = LibraryFactory.resolve(InteropLibrary.class);
-
-    static class Asserts extends InteropLibrary {
+    /**
+     * Returns <code>true</code> if the receiver represents an iterator. Invoking this message does
+     * not cause any observable side-effects. Returns <code>false</code> by default.
+     *
+     * @see #hasIteratorNextElement(Object)
+     * @see #getIteratorNextElement(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"hasIteratorNextElement", "getIteratorNextElement"})
+    public boolean isIterator(Object receiver) {
+        return false;
+    }
 
-        @Child private InteropLibrary delegate;
+    /**
+     * Returns <code>true</code> if the receiver is an iterator which has more elements, else
+     * <code>false</code>. Multiple calls to this message without an interleaving
+     * {@link #getIteratorNextElement(Object)} must return the same result.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isIterator(Object)} returns
+     *             <code>false</code>.
+     * @see #getIteratorNextElement(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isIterator", "getIteratorNextElement"})
+    public boolean hasIteratorNextElement(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
 
-        public enum Type {
-            NULL,
-            BOOLEAN,
-            DATE_TIME_ZONE,
-            DURATION,
-            STRING,
-            NUMBER,
-            POINTER,
-            META_OBJECT;
-        }
+    /**
+     * Returns the next element of the iteration and advances the iterator.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isIterator(Object)} returns
+     *             <code>false</code>.
+     * @throws StopIterationException if the iteration has no more elements. Even if
+     *             {@link #hasIteratorNextElement(Object)} returned <code>true</code> the iteration
+     *             may still stop, e.g. if the underlying collection was modified concurrently.
+     * @see #hasIteratorNextElement(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isIterator", "hasIteratorNextElement"})
+    public Object getIteratorNextElement(Object receiver) throws UnsupportedMessageException, StopIterationException {
+        throw UnsupportedMessageException.create();
+    }
 
-        Asserts(InteropLibrary delegate) {
+    /**
+     * Returns <code>true</code> if the receiver value represents a native pointer. Native pointers
+     * are represented as 64 bit pointers. Invoking this message does not cause any observable
+     * side-effects. Returns <code>false</code> by default.
+     * <p>
+     * It is expected that objects should only return <code>true</code> if the native pointer value
+     * corresponding to this object already exists, and obtaining it is a cheap operation. If an
+     * object can be transformed to a pointer representation, but this hasn't happened yet, the
+     * object is expected to return <code>false</code> with {@link #isPointer(Object)}, and wait for
+     * the {@link #toNative(Object)} message to trigger the transformation.
+     *
+     * @see #asPointer(Object)
+     * @see #toNative(Object)
+     * @since 19.0
+     */
+    @Abstract(ifExported = {"asPointer"})
+    public boolean isPointer(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the pointer value as long value if the receiver represents a pointer like value.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isPointer(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @see #isPointer(Object)
+     * @since 19.0
+     */
+    @Abstract(ifExported = {"isPointer"})
+    public long asPointer(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Attempts to transform a {@link TruffleObject receiver} to a value that represents a raw
+     * native pointer. After a successful transformation, the provided receiver returns true for
+     * {@link #isPointer(Object)} and can be unwrapped using the {@link #asPointer(Object)} message.
+     * If transformation cannot be done {@link #isPointer(Object)} will keep returning false.
+     *
+     * @see #isPointer(Object)
+     * @see #asPointer(Object)
+     * @since 19.0
+     */
+    public void toNative(Object receiver) {
+    }
+
+    /**
+     * Returns the receiver as instant if this object represents an {@link #isInstant(Object)
+     * instant}. If a value is an instant then it is also a {@link #isDate(Object) date},
+     * {@link #isTime(Object) time} and {@link #isTimeZone(Object) timezone}. Using this method may
+     * be more efficient than reconstructing the timestamp from the date, time and timezone data.
+     * <p>
+     * Implementers should implement this method if they can provide a more efficient conversion to
+     * Instant than reconstructing it from date, time and timezone date. Implementers must ensure
+     * that the following Java code snippet always holds:
+     *
+     * <pre>
+     * ZoneId zone = getTimeZone(receiver);
+     * LocalDate date = getDate(receiver);
+     * LocalTime time = getTime(receiver);
+     * assert ZonedDateTime.of(date, time, zone).toInstant().equals(getInstant(receiver));
+     * </pre>
+     *
+     * @see #isDate(Object)
+     * @see #isTime(Object)
+     * @see #isTimeZone(Object)
+     * @throws UnsupportedMessageException if {@link #isInstant(Object)} returns <code>false</code>.
+     * @since 20.0.0 beta 2
+     */
+    public Instant asInstant(Object receiver) throws UnsupportedMessageException {
+        if (isDate(receiver) && isTime(receiver) && isTimeZone(receiver)) {
+            LocalDate date = asDate(receiver);
+            LocalTime time = asTime(receiver);
+            ZoneId zone = asTimeZone(receiver);
+            return toInstant(date, time, zone);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @TruffleBoundary
+    private static Instant toInstant(LocalDate date, LocalTime time, ZoneId zone) {
+        return ZonedDateTime.of(date, time, zone).toInstant();
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver represents an instant. If a value is an instant
+     * then it is also a {@link #isDate(Object) date}, {@link #isTime(Object) time} and
+     * {@link #isTimeZone(Object) timezone}.
+     *
+     * This method is short-hand for:
+     *
+     * <pre>
+     * {@linkplain #isDate(Object) isDate}(v) && {@link #isTime(Object) isTime}(v) && {@link #isTimeZone(Object) isTimeZone}(v)
+     * </pre>
+     *
+     * @see #isDate(Object)
+     * @see #isTime(Object)
+     * @see #isInstant(Object)
+     * @see #asInstant(Object)
+     * @since 20.0.0 beta 2
+     */
+    public final boolean isInstant(Object receiver) {
+        return isDate(receiver) && isTime(receiver) && isTimeZone(receiver);
+    }
+
+    /**
+     * Returns <code>true</code> if this object represents a timezone, else <code>false</code>. The
+     * interpretation of timezone objects may vary:
+     * <ul>
+     * <li>If {@link #isDate(Object)} and {@link #isTime(Object)} return <code>true</code>, then the
+     * returned date or time information is aware of this timezone.
+     * <li>If {@link #isDate(Object)} and {@link #isTime(Object)} returns <code>false</code>, then
+     * it represents just timezone information.
+     * </ul>
+     * Objects with only date information must not have timezone information attached and objects
+     * with only time information must have either none, or {@link ZoneRules#isFixedOffset() fixed
+     * zone} only. If this rule is violated then an {@link AssertionError} is thrown if assertions
+     * are enabled.
+     * <p>
+     * If this method is implemented then also {@link #asTimeZone(Object)} must be implemented.
+     *
+     * @see #asTimeZone(Object)
+     * @see #asInstant(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"asTimeZone", "asInstant"})
+    public boolean isTimeZone(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the receiver as timestamp if this object represents a {@link #isTimeZone(Object)
+     * timezone}.
+     *
+     * @throws UnsupportedMessageException if {@link #isTimeZone(Object)} returns <code>false</code>
+     *             .
+     * @see #isTimeZone(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"isTimeZone", "asInstant"})
+    public ZoneId asTimeZone(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if this object represents a date, else <code>false</code>. If the
+     * receiver is also a {@link #isTimeZone(Object) timezone} then the date is aware, otherwise it
+     * is naive.
+     *
+     * @see #asDate(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"asDate", "asInstant"})
+    public boolean isDate(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the receiver as date if this object represents a {@link #isDate(Object) date}. The
+     * returned date is either aware if the receiver has a {@link #isTimeZone(Object) timezone}
+     * otherwise it is naive.
+     *
+     * @throws UnsupportedMessageException if {@link #isDate(Object)} returns <code>false</code>.
+     * @see #isDate(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"isTime", "asInstant"})
+    public LocalDate asDate(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if this object represents a time, else <code>false</code>. If the
+     * receiver is also a {@link #isTimeZone(Object) timezone} then the time is aware, otherwise it
+     * is naive.
+     *
+     * @see #asTime(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"asTime", "asInstant"})
+    public boolean isTime(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the receiver as time if this object represents a {@link #isTime(Object) time}. The
+     * returned time is either aware if the receiver has a {@link #isTimeZone(Object) timezone}
+     * otherwise it is naive.
+     *
+     * @throws UnsupportedMessageException if {@link #isTime(Object)} returns <code>false</code>.
+     * @see #isTime(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"isTime", "asInstant"})
+    public LocalTime asTime(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if this object represents a duration, else <code>false</code>.
+     *
+     * @see Duration
+     * @see #asDuration(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"asDuration"})
+    public boolean isDuration(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the receiver as duration if this object represents a {@link #isDuration(Object)
+     * duration}.
+     *
+     * @throws UnsupportedMessageException if {@link #isDuration(Object)} returns <code>false</code>
+     *             .
+     * @see #isDuration(Object)
+     * @since 20.0.0 beta 2
+     */
+    @Abstract(ifExported = {"isDuration"})
+    public Duration asDuration(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver value represents a throwable
+     * {@linkplain TruffleException#getExceptionObject() exception/error object}. Invoking this
+     * message does not cause any observable side-effects. Returns <code>false</code> by default.
+     * <p>
+     * Objects must only return <code>true</code> if they support {@link #throwException} as well.
+     * If this method is implemented then also {@link #throwException(Object)} must be implemented.
+     *
+     * @see #throwException(Object)
+     * @see TruffleException#getExceptionObject()
+     * @since 19.3
+     */
+    @Abstract(ifExported = {"throwException"})
+    public boolean isException(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Throws the receiver object as an exception of the source language, as if it was thrown by the
+     * source language itself. Allows rethrowing exceptions caught by another language.
+     * <p>
+     * If this method is implemented then also {@link #isException(Object)} must be implemented.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isException(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @see #isException(Object)
+     * @since 19.3
+     */
+    @Abstract(ifExported = {"isException"})
+    public RuntimeException throwException(Object receiver) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver value has a declared source location attached, else
+     * <code>false</code>. Returning a source location for a value is optional and typically impacts
+     * the capabilities of tools like debuggers to jump to the declaration of a value.
+     * <p>
+     * Examples for values that may provide a source location:
+     * <ul>
+     * <li>{@link #isMetaObject(Object) Metaobjects} like classes or types.
+     * <li>First class {@link #isExecutable(Object) executables}, like functions, closures or
+     * promises.
+     * <li>Allocation sites for instances. Note that in most languages it is very expensive to track
+     * the allocation site of an instance and it is therefore not recommended to support this
+     * feature by default, but ideally behind an optional language option.
+     * <ul>
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #getSourceLocation(Object)} must be implemented.
+     *
+     * @see #getSourceLocation(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"getSourceLocation"})
+    @TruffleBoundary
+    public boolean hasSourceLocation(Object receiver) {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null) {
+            SourceSection location = InteropAccessor.ACCESSOR.languageSupport().legacyFindSourceLocation(env, receiver);
+            if (location != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the declared source location of the receiver value. Throws an
+     * {@link UnsupportedMessageException} if the value does not have a declared source location.
+     * See {@link #hasSourceLocation(Object)} for further details on potential interpretations.
+     * Throws {@link UnsupportedMessageException} by default.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #hasSourceLocation(Object)} must be implemented.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #hasSourceLocation(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"hasSourceLocation"})
+    @TruffleBoundary
+    public SourceSection getSourceLocation(Object receiver) throws UnsupportedMessageException {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null) {
+            SourceSection location = InteropAccessor.ACCESSOR.languageSupport().legacyFindSourceLocation(env, receiver);
+            if (location != null) {
+                return location;
+            }
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver originates from a language, else <code>false</code>
+     * . Primitive values or other shared interop value representations that are not associated with
+     * a language may return <code>false</code>. Values that originate from a language should return
+     * <code>true</code>. Returns <code>false</code> by default.
+     * <p>
+     * The associated language allows tools to identify the original language of a value. If an
+     * instrument requests a
+     * {@link com.oracle.truffle.api.instrumentation.TruffleInstrument.Env#getLanguageView(LanguageInfo, Object)
+     * language view} then values that are already associated with a language will just return the
+     * same value. Otherwise {@link TruffleLanguage#getLanguageView(Object, Object)} will be invoked
+     * on the language. The returned language may be also exposed to embedders in the future.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #getLanguage(Object)} and {@link #toDisplayString(Object, boolean)} must be
+     * implemented.
+     *
+     * @see #getLanguage(Object)
+     * @see #toDisplayString(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"getLanguage"})
+    @TruffleBoundary
+    public boolean hasLanguage(Object receiver) {
+        return getLegacyEnv(receiver, false) != null;
+    }
+
+    /**
+     * Returns the the original language of the receiver value. The returned language class must be
+     * non-null and represent a valid {@link Registration registered} language class. For more
+     * details see {@link #hasLanguage(Object)}.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #hasLanguage(Object)} must be implemented.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #hasLanguage(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @since 20.1
+     */
+    @SuppressWarnings("unchecked")
+    @Abstract(ifExported = {"hasLanguage"})
+    @TruffleBoundary
+    public Class<? extends TruffleLanguage<?>> getLanguage(Object receiver) throws UnsupportedMessageException {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null) {
+            return (Class<? extends TruffleLanguage<?>>) InteropAccessor.ACCESSOR.languageSupport().getSPI(env).getClass();
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver value has a metaobject associated. The metaobject
+     * represents a description of the object, reveals its kind and its features. Some information
+     * that a metaobject might define includes the base object's type, interface, class, methods,
+     * attributes, etc. Should return <code>false</code> when no metaobject is known for this type.
+     * Returns <code>false</code> by default.
+     * <p>
+     * An example, for Java objects the returned metaobject is the {@link Object#getClass() class}
+     * instance. In JavaScript this could be the function or class that is associated with the
+     * object.
+     * <p>
+     * Metaobjects for primitive values or values of other languages may be provided using
+     * {@link TruffleLanguage#getLanguageView(Object, Object) language views}. While an object is
+     * associated with a metaobject in one language, the metaobject might be a different when viewed
+     * from another language.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #getMetaObject(Object)} must be implemented.
+     *
+     * @see #getMetaObject(Object)
+     * @see #isMetaObject(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"getMetaObject"})
+    @TruffleBoundary
+    public boolean hasMetaObject(Object receiver) {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null) {
+            Object metaObject = InteropAccessor.ACCESSOR.languageSupport().legacyFindMetaObject(env, receiver);
+            if (metaObject != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the metaobject that is associated with this value. The metaobject represents a
+     * description of the object, reveals its kind and its features. Some information that a
+     * metaobject might define includes the base object's type, interface, class, methods,
+     * attributes, etc. When no metaobject is known for this type. Throws
+     * {@link UnsupportedMessageException} by default.
+     * <p>
+     * The returned object must return <code>true</code> for {@link #isMetaObject(Object)} and
+     * provide implementations for {@link #getMetaSimpleName(Object)},
+     * {@link #getMetaQualifiedName(Object)}, and {@link #isMetaInstance(Object, Object)}. For all
+     * values with metaobjects it must at hold that
+     * <code>isMetaInstance(getMetaObject(value), value) ==
+     * true</code>.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #hasMetaObject(Object)} must be implemented.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #hasMetaObject(Object)} returns
+     *             <code>false</code> for the same receiver.
+     *
+     * @see #hasMetaObject(Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"hasMetaObject"})
+    @TruffleBoundary
+    public Object getMetaObject(Object receiver) throws UnsupportedMessageException {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null) {
+            Object metaObject = InteropAccessor.ACCESSOR.languageSupport().legacyFindMetaObject(env, receiver);
+            if (metaObject != null) {
+                return new LegacyMetaObjectWrapper(receiver, metaObject);
+            }
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Converts the receiver to a human readable {@link #isString(Object) string}. Each language may
+     * have special formating conventions - even primitive values may not follow the traditional
+     * Java rules. The format of the returned string is intended to be interpreted by humans not
+     * machines and should therefore not be relied upon by machines. By default the receiver class
+     * name and its {@link System#identityHashCode(Object) identity hash code} is used as string
+     * representation.
+     * <p>
+     * String representations for primitive values or values of other languages may be provided
+     * using {@link TruffleLanguage#getLanguageView(Object, Object) language views}. It is common
+     * that languages provide different string representations for primitive and foreign values. To
+     * convert the result value to a Java string use {@link InteropLibrary#asString(Object)}.
+     *
+     * @param allowSideEffects whether side-effects are allowed in the production of the string.
+     * @see TruffleLanguage#getLanguageView(Object, Object)
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"hasLanguage", "getLanguage"})
+    @TruffleBoundary
+    public Object toDisplayString(Object receiver, boolean allowSideEffects) {
+        Env env = getLegacyEnv(receiver, false);
+        if (env != null && allowSideEffects) {
+            return InteropAccessor.ACCESSOR.languageSupport().legacyToString(env, receiver);
+        } else {
+            return receiver.getClass().getTypeName() + "@" + Integer.toHexString(System.identityHashCode(receiver));
+        }
+    }
+
+    private static Env getLegacyEnv(Object receiver, boolean nullForhost) {
+        return InteropAccessor.ACCESSOR.engineSupport().getLegacyLanguageEnv(receiver, nullForhost);
+    }
+
+    /**
+     * Converts the receiver to a human readable {@link #isString(Object) string} of the language.
+     * Short-cut for <code>{@link #toDisplayString(Object) toDisplayString}(true)</code>.
+     *
+     * @see #toDisplayString(Object, boolean)
+     * @since 20.1
+     */
+    public final Object toDisplayString(Object receiver) {
+        return toDisplayString(receiver, true);
+    }
+
+    /**
+     * Returns <code>true</code> if the receiver value represents a metaobject. Metaobjects may be
+     * values that naturally occur in a language or they may be returned by
+     * {@link #getMetaObject(Object)}. A metaobject represents a description of the object, reveals
+     * its kind and its features. If a receiver is a metaobject it is often also
+     * {@link #isInstantiable(Object) instantiable}, but this is not a requirement.
+     * <p>
+     * <b>Sample interpretations:</b> In Java an instance of the type {@link Class} is a metaobject.
+     * In JavaScript any function instance is a metaobject. For example, the metaobject of a
+     * JavaScript class is the associated constructor function.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #getMetaQualifiedName(Object)}, {@link #getMetaSimpleName(Object)} and
+     * {@link #isMetaInstance(Object, Object)} must be implemented as well.
+     *
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"getMetaQualifiedName", "getMetaSimpleName", "isMetaInstance"})
+    public boolean isMetaObject(Object receiver) {
+        return false;
+    }
+
+    /**
+     * Returns the qualified name of a metaobject as {@link #isString(Object) string}.
+     * <p>
+     * <b>Sample interpretations:</b> The qualified name of a Java class includes the package name
+     * and its class name. JavaScript does not have the notion of qualified name and therefore
+     * returns the {@link #getMetaSimpleName(Object) simple name} instead.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #isMetaObject(Object)} must be implemented as well.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
+     *             <code>false</code> for the same receiver.
+     *
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isMetaObject"})
+    public Object getMetaQualifiedName(Object metaObject) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns the simple name of a metaobject as {@link #isString(Object) string}.
+     * <p>
+     * <b>Sample interpretations:</b> The simple name of a Java class is the class name.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #isMetaObject(Object)} must be implemented as well.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
+     *             <code>false</code> for the same receiver.
+     *
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isMetaObject"})
+    public Object getMetaSimpleName(Object metaObject) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns <code>true</code> if the given instance is of the provided receiver metaobject, else
+     * <code>false</code>.
+     * <p>
+     * <b>Sample interpretations:</b> A Java object is an instance of its returned
+     * {@link Object#getClass() class}.
+     * <p>
+     * This method must not cause any observable side-effects. If this method is implemented then
+     * also {@link #isMetaObject(Object)} must be implemented as well.
+     *
+     * @param instance the instance object to check.
+     * @throws UnsupportedMessageException if and only if {@link #isMetaObject(Object)} returns
+     *             <code>false</code> for the same receiver.
+     * @since 20.1
+     */
+    @Abstract(ifExported = {"isMetaObject"})
+    public boolean isMetaInstance(Object receiver, Object instance) throws UnsupportedMessageException {
+        throw UnsupportedMessageException.create();
+    }
+
+    /**
+     * Returns the library factory for the interop library. Short-cut for
+     * {@link LibraryFactory#resolve(Class) ResolvedLibrary.resolve(InteropLibrary.class)}.
+     *
+     * @see LibraryFactory#resolve(Class)
+     * @since 19.0
+     */
+    public static LibraryFactory<InteropLibrary> getFactory() {
+        return FACTORY;
+    }
+
+    /**
+     * Utility for libraries to require adoption before cached versions of nodes can be executed.
+     * Only fails if assertions (-ea) are enabled.
+     *
+     * @since 19.0
+     */
+    protected final boolean assertAdopted() {
+        assert assertAdoptedImpl();
+        return true;
+    }
+
+    private boolean assertAdoptedImpl() {
+        Node node = this;
+        do {
+            if (node instanceof RootNode) {
+                return true;
+            }
+            node = node.getParent();
+        } while (node != null);
+
+        assert false : "Invalid library usage. Cached library must be adopted by a RootNode before it is executed.";
+        return true;
+    }
+
+    static final LibraryFactory<InteropLibrary> FACTORY = LibraryFactory.resolve(InteropLibrary.class);
+
+    static class Asserts extends InteropLibrary {
+
+        @Child private InteropLibrary delegate;
+
+        public enum Type {
+            NULL,
+            BOOLEAN,
+            DATE_TIME_ZONE,
+            DURATION,
+            STRING,
+            NUMBER,
+            POINTER,
+            META_OBJECT;
+        }
+
+        Asserts(InteropLibrary delegate) {
             this.delegate = delegate;
         }
 
-        private static boolean isMultiThreaded(Object receiver) {
-            EngineSupport engine = InteropAccessor.ACCESSOR.engineSupport();
-            if (engine == null) {
-                return false;
+        private static boolean isMultiThreaded(Object receiver) {
+            EngineSupport engine = InteropAccessor.ACCESSOR.engineSupport();
+            if (engine == null) {
+                return false;
+            }
+            return engine.isMultiThreaded(receiver);
+        }
+
+        @Override
+        public boolean accepts(Object receiver) {
+            assert preCondition(receiver);
+            return delegate.accepts(receiver);
+        }
+
+        @Override
+        public boolean isNull(Object receiver) {
+            assert preCondition(receiver);
+            boolean result = delegate.isNull(receiver);
+            assert !result || notOtherType(receiver, Type.NULL);
+            return result;
+        }
+
+        private boolean notOtherType(Object receiver, Type type) {
+            if (receiver instanceof LegacyMetaObjectWrapper) {
+                // ignore other type assertions for legacy meta object wrapper
+                return true;
+            }
+            assert type == Type.NULL || !delegate.isNull(receiver) : violationInvariant(receiver);
+            assert type == Type.BOOLEAN || !delegate.isBoolean(receiver) : violationInvariant(receiver);
+            assert type == Type.STRING || !delegate.isString(receiver) : violationInvariant(receiver);
+            assert type == Type.NUMBER || !delegate.isNumber(receiver) : violationInvariant(receiver);
+            assert type == Type.DATE_TIME_ZONE || (!delegate.isDate(receiver) && !delegate.isTime(receiver) && !delegate.isTimeZone(receiver)) : violationInvariant(receiver);
+            assert type == Type.DURATION || !delegate.isDuration(receiver) : violationInvariant(receiver);
+            assert type == Type.META_OBJECT || !delegate.isMetaObject(receiver) : violationInvariant(receiver);
+            return true;
+        }
+
+        @Override
+        public boolean isBoolean(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.isBoolean(receiver);
+            }
+            assert preCondition(receiver);
+            boolean result = delegate.isBoolean(receiver);
+            if (result) {
+                try {
+                    delegate.asBoolean(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !result || notOtherType(receiver, Type.BOOLEAN);
+            return result;
+        }
+
+        @Override
+        public boolean asBoolean(Object receiver) throws UnsupportedMessageException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.asBoolean(receiver);
+            }
+            assert preCondition(receiver);
+            boolean wasBoolean = delegate.isBoolean(receiver);
+            try {
+                boolean result = delegate.asBoolean(receiver);
+                assert wasBoolean : violationInvariant(receiver);
+                assert notOtherType(receiver, Type.BOOLEAN);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert !wasBoolean : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean isExecutable(Object receiver) {
+            assert preCondition(receiver);
+            boolean result = delegate.isExecutable(receiver);
+            return result;
+        }
+
+        @Override
+        public Object execute(Object receiver, Object... arguments) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.execute(receiver, arguments);
+            }
+            assert preCondition(receiver);
+            assert validArguments(receiver, arguments);
+            boolean wasExecutable = delegate.isExecutable(receiver);
+            try {
+                Object result = delegate.execute(receiver, arguments);
+                assert wasExecutable : violationInvariant(receiver, arguments);
+                assert validReturn(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnsupportedTypeException : violationInvariant(receiver, arguments);
+                assert !(e instanceof UnsupportedMessageException) || !wasExecutable : violationInvariant(receiver, arguments);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean isInstantiable(Object receiver) {
+            assert preCondition(receiver);
+            boolean result = delegate.isInstantiable(receiver);
+            return result;
+        }
+
+        @Override
+        public Object instantiate(Object receiver, Object... arguments) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.instantiate(receiver, arguments);
+            }
+            assert preCondition(receiver);
+            assert validArguments(receiver, arguments);
+            boolean wasInstantiable = delegate.isInstantiable(receiver);
+            try {
+                Object result = delegate.instantiate(receiver, arguments);
+                assert wasInstantiable : violationInvariant(receiver, arguments);
+                assert validReturn(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnsupportedTypeException : violationInvariant(receiver, arguments);
+                assert !(e instanceof UnsupportedMessageException) || !wasInstantiable : violationInvariant(receiver, arguments);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean isString(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.isString(receiver);
+            }
+            assert preCondition(receiver);
+            boolean result = delegate.isString(receiver);
+            if (result) {
+                try {
+                    delegate.asString(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !result || notOtherType(receiver, Type.STRING);
+            return result;
+        }
+
+        @Override
+        public String asString(Object receiver) throws UnsupportedMessageException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.asString(receiver);
+            }
+            assert preCondition(receiver);
+            boolean wasString = delegate.isString(receiver);
+            try {
+                String result = delegate.asString(receiver);
+                assert wasString : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert !wasString : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean isNumber(Object receiver) {
+            assert preCondition(receiver);
+            boolean result = delegate.isNumber(receiver);
+            assert !result || notOtherType(receiver, Type.NUMBER);
+            return result;
+        }
+
+        @Override
+        public boolean fitsInByte(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInByte(receiver);
+            }
+            assert preCondition(receiver);
+            boolean fits = delegate.fitsInByte(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInShort(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInInt(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInFloat(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asByte(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public boolean fitsInShort(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInShort(receiver);
+            }
+            assert preCondition(receiver);
+
+            boolean fits = delegate.fitsInShort(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInInt(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInFloat(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asShort(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public boolean fitsInInt(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInInt(receiver);
+            }
+            assert preCondition(receiver);
+
+            boolean fits = delegate.fitsInInt(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
+            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asInt(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public boolean fitsInLong(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInLong(receiver);
+            }
+            assert preCondition(receiver);
+
+            boolean fits = delegate.fitsInLong(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asLong(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public boolean fitsInFloat(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInFloat(receiver);
+            }
+            assert preCondition(receiver);
+            boolean fits = delegate.fitsInFloat(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asFloat(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public boolean fitsInDouble(Object receiver) {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.fitsInDouble(receiver);
+            }
+            assert preCondition(receiver);
+            boolean fits = delegate.fitsInDouble(receiver);
+            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
+            if (fits) {
+                try {
+                    delegate.asDouble(receiver);
+                } catch (InteropException e) {
+                    assert false : violationInvariant(receiver);
+                } catch (Exception e) {
+                }
+            }
+            assert !fits || notOtherType(receiver, Type.NUMBER);
+            return fits;
+        }
+
+        @Override
+        public byte asByte(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                byte result = delegate.asByte(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInByte(receiver) : violationInvariant(receiver);
+                assert result == delegate.asShort(receiver) : violationInvariant(receiver);
+                assert result == delegate.asInt(receiver) : violationInvariant(receiver);
+                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
+                assert result == delegate.asFloat(receiver) : violationInvariant(receiver);
+                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public short asShort(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                short result = delegate.asShort(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInShort(receiver) : violationInvariant(receiver);
+                assert result == delegate.asInt(receiver) : violationInvariant(receiver);
+                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
+                assert result == delegate.asFloat(receiver) : violationInvariant(receiver);
+                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public int asInt(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                int result = delegate.asInt(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInInt(receiver) : violationInvariant(receiver);
+                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
+                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public long asLong(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                long result = delegate.asLong(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInLong(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public float asFloat(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                float result = delegate.asFloat(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInFloat(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
+            }
+        }
+
+        @Override
+        public double asDouble(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                double result = delegate.asDouble(receiver);
+                assert delegate.isNumber(receiver) : violationInvariant(receiver);
+                assert delegate.fitsInDouble(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                throw e;
             }
-            return engine.isMultiThreaded(receiver);
         }
 
         @Override
-        public boolean accepts(Object receiver) {
+        public boolean hasMembers(Object receiver) {
             assert preCondition(receiver);
-            return delegate.accepts(receiver);
+            return delegate.hasMembers(receiver);
         }
 
         @Override
-        public boolean isNull(Object receiver) {
+        public Object readMember(Object receiver, String identifier) throws UnsupportedMessageException, UnknownIdentifierException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readMember(receiver, identifier);
+            }
             assert preCondition(receiver);
-            boolean result = delegate.isNull(receiver);
-            assert !result || notOtherType(receiver, Type.NULL);
-            return result;
+            assert validArgument(receiver, identifier);
+            boolean wasReadable = delegate.isMemberReadable(receiver, identifier);
+            try {
+                Object result = delegate.readMember(receiver, identifier);
+                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+                assert wasReadable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+                assert validReturn(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
-        private boolean notOtherType(Object receiver, Type type) {
-            if (receiver instanceof LegacyMetaObjectWrapper) {
-                // ignore other type assertions for legacy meta object wrapper
-                return true;
+        @Override
+        public void writeMember(Object receiver, String identifier, Object value) throws UnsupportedMessageException, UnknownIdentifierException, UnsupportedTypeException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeMember(receiver, identifier, value);
+                return;
+            }
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            assert validArgument(receiver, value);
+            boolean wasWritable = (delegate.isMemberModifiable(receiver, identifier) || delegate.isMemberInsertable(receiver, identifier));
+            try {
+                delegate.writeMember(receiver, identifier, value);
+                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+                assert wasWritable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException || e instanceof UnsupportedTypeException : violationPost(receiver, e);
+                throw e;
             }
-            assert type == Type.NULL || !delegate.isNull(receiver) : violationInvariant(receiver);
-            assert type == Type.BOOLEAN || !delegate.isBoolean(receiver) : violationInvariant(receiver);
-            assert type == Type.STRING || !delegate.isString(receiver) : violationInvariant(receiver);
-            assert type == Type.NUMBER || !delegate.isNumber(receiver) : violationInvariant(receiver);
-            assert type == Type.DATE_TIME_ZONE || (!delegate.isDate(receiver) && !delegate.isTime(receiver) && !delegate.isTimeZone(receiver)) : violationInvariant(receiver);
-            assert type == Type.DURATION || !delegate.isDuration(receiver) : violationInvariant(receiver);
-            assert type == Type.META_OBJECT || !delegate.isMetaObject(receiver) : violationInvariant(receiver);
-            return true;
         }
 
         @Override
-        public boolean isBoolean(Object receiver) {
+        public void removeMember(Object receiver, String identifier) throws UnsupportedMessageException, UnknownIdentifierException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.isBoolean(receiver);
+                delegate.removeMember(receiver, identifier);
+                return;
             }
             assert preCondition(receiver);
-            boolean result = delegate.isBoolean(receiver);
-            if (result) {
-                try {
-                    delegate.asBoolean(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+            assert validArgument(receiver, identifier);
+            boolean wasRemovable = delegate.isMemberRemovable(receiver, identifier);
+            try {
+                delegate.removeMember(receiver, identifier);
+                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+                assert wasRemovable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException : violationPost(receiver, e);
+                throw e;
             }
-            assert !result || notOtherType(receiver, Type.BOOLEAN);
-            return result;
         }
 
         @Override
-        public boolean asBoolean(Object receiver) throws UnsupportedMessageException {
+        public Object invokeMember(Object receiver, String identifier, Object... arguments)
+                        throws UnsupportedMessageException, ArityException, UnknownIdentifierException, UnsupportedTypeException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.asBoolean(receiver);
+                return delegate.invokeMember(receiver, identifier, arguments);
             }
             assert preCondition(receiver);
-            boolean wasBoolean = delegate.isBoolean(receiver);
+            assert validArgument(receiver, identifier);
+            assert validArguments(receiver, arguments);
+            boolean wasInvocable = delegate.isMemberInvocable(receiver, identifier);
             try {
-                boolean result = delegate.asBoolean(receiver);
-                assert wasBoolean : violationInvariant(receiver);
-                assert notOtherType(receiver, Type.BOOLEAN);
+                Object result = delegate.invokeMember(receiver, identifier, arguments);
+                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+                assert wasInvocable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+                assert validReturn(receiver, result);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
-                assert !wasBoolean : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnknownIdentifierException ||
+                                e instanceof UnsupportedTypeException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public boolean isExecutable(Object receiver) {
+        public Object getMembers(Object receiver, boolean internal) throws UnsupportedMessageException {
             assert preCondition(receiver);
-            boolean result = delegate.isExecutable(receiver);
+            try {
+                Object result = delegate.getMembers(receiver, internal);
+                assert validReturn(receiver, result);
+                assert isMultiThreaded(receiver) || assertMemberKeys(receiver, result, internal);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
+        private static boolean assertMemberKeys(Object receiver, Object result, boolean internal) {
+            assert result != null : violationPost(receiver, result);
+            InteropLibrary uncached = InteropLibrary.getFactory().getUncached(result);
+            assert uncached.hasArrayElements(result) : violationPost(receiver, result);
+            long arraySize;
+            try {
+                arraySize = uncached.getArraySize(result);
+            } catch (UnsupportedMessageException e) {
+                assert false : violationPost(receiver, e);
+                return true;
+            }
+            for (int i = 0; i < arraySize; i++) {
+                assert uncached.isArrayElementReadable(result, i) : violationPost(receiver, result);
+                Object element;
+                try {
+                    element = uncached.readArrayElement(result, i);
+                } catch (UnsupportedMessageException | InvalidArrayIndexException e) {
+                    assert false : violationPost(receiver, result);
+                    return true;
+                }
+                assert InteropLibrary.getFactory().getUncached().isString(element) : violationPost(receiver, element);
+                try {
+                    InteropLibrary.getFactory().getUncached().asString(element);
+                } catch (UnsupportedMessageException e) {
+                    assert false : violationInvariant(result, i);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean hasMemberReadSideEffects(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.hasMemberReadSideEffects(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+            assert !result || (delegate.isMemberReadable(receiver, identifier) || isMultiThreaded(receiver)) : violationInvariant(receiver, identifier);
             return result;
         }
 
         @Override
-        public Object execute(Object receiver, Object... arguments) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+        public boolean hasMemberWriteSideEffects(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.hasMemberWriteSideEffects(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+            assert !result || (delegate.isMemberWritable(receiver, identifier) || isMultiThreaded(receiver)) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberReadable(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberReadable(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberModifiable(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberModifiable(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberInsertable(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberInsertable(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberExisting(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberRemovable(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberRemovable(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberInvocable(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberInvocable(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean isMemberInternal(Object receiver, String identifier) {
+            assert preCondition(receiver);
+            assert validArgument(receiver, identifier);
+            boolean result = delegate.isMemberInternal(receiver, identifier);
+            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
+            return result;
+        }
+
+        @Override
+        public boolean hasArrayElements(Object receiver) {
+            assert preCondition(receiver);
+            return delegate.hasArrayElements(receiver);
+        }
+
+        @Override
+        public Object readArrayElement(Object receiver, long index) throws UnsupportedMessageException, InvalidArrayIndexException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.execute(receiver, arguments);
+                return delegate.readArrayElement(receiver, index);
             }
             assert preCondition(receiver);
-            assert validArguments(receiver, arguments);
-            boolean wasExecutable = delegate.isExecutable(receiver);
+            boolean wasReadable = delegate.isArrayElementReadable(receiver, index);
             try {
-                Object result = delegate.execute(receiver, arguments);
-                assert wasExecutable : violationInvariant(receiver, arguments);
+                Object result = delegate.readArrayElement(receiver, index);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
+                assert wasReadable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
                 assert validReturn(receiver, result);
                 return result;
-            } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnsupportedTypeException : violationInvariant(receiver, arguments);
-                assert !(e instanceof UnsupportedMessageException) || !wasExecutable : violationInvariant(receiver, arguments);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public boolean isInstantiable(Object receiver) {
-            assert preCondition(receiver);
-            boolean result = delegate.isInstantiable(receiver);
-            return result;
-        }
-
-        @Override
-        public Object instantiate(Object receiver, Object... arguments) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+        public void writeArrayElement(Object receiver, long index, Object value) throws UnsupportedMessageException, UnsupportedTypeException, InvalidArrayIndexException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.instantiate(receiver, arguments);
+                delegate.writeArrayElement(receiver, index, value);
+                return;
             }
             assert preCondition(receiver);
-            assert validArguments(receiver, arguments);
-            boolean wasInstantiable = delegate.isInstantiable(receiver);
+            assert validArgument(receiver, value);
+            boolean wasWritable = delegate.isArrayElementModifiable(receiver, index) || delegate.isArrayElementInsertable(receiver, index);
             try {
-                Object result = delegate.instantiate(receiver, arguments);
-                assert wasInstantiable : violationInvariant(receiver, arguments);
-                assert validReturn(receiver, result);
-                return result;
+                delegate.writeArrayElement(receiver, index, value);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
+                assert wasWritable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnsupportedTypeException : violationInvariant(receiver, arguments);
-                assert !(e instanceof UnsupportedMessageException) || !wasInstantiable : violationInvariant(receiver, arguments);
+                assert e instanceof UnsupportedMessageException || e instanceof UnsupportedTypeException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public boolean isString(Object receiver) {
+        public void removeArrayElement(Object receiver, long index) throws UnsupportedMessageException, InvalidArrayIndexException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.isString(receiver);
+                delegate.removeArrayElement(receiver, index);
+                return;
             }
             assert preCondition(receiver);
-            boolean result = delegate.isString(receiver);
-            if (result) {
-                try {
-                    delegate.asString(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+            boolean wasRemovable = delegate.isArrayElementRemovable(receiver, index);
+            try {
+                delegate.removeArrayElement(receiver, index);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
+                assert wasRemovable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
+                throw e;
             }
-            assert !result || notOtherType(receiver, Type.STRING);
-            return result;
         }
 
         @Override
-        public String asString(Object receiver) throws UnsupportedMessageException {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.asString(receiver);
-            }
+        public long getArraySize(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
-            boolean wasString = delegate.isString(receiver);
             try {
-                String result = delegate.asString(receiver);
-                assert wasString : violationInvariant(receiver);
+                long result = delegate.getArraySize(receiver);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
-                assert !wasString : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public boolean isNumber(Object receiver) {
+        public boolean isArrayElementReadable(Object receiver, long identifier) {
             assert preCondition(receiver);
-            boolean result = delegate.isNumber(receiver);
-            assert !result || notOtherType(receiver, Type.NUMBER);
+            boolean result = delegate.isArrayElementReadable(receiver, identifier);
+            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
             return result;
         }
 
         @Override
-        public boolean fitsInByte(Object receiver) {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInByte(receiver);
-            }
+        public boolean isArrayElementModifiable(Object receiver, long identifier) {
             assert preCondition(receiver);
-            boolean fits = delegate.fitsInByte(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInShort(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInInt(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInFloat(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asByte(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
-            }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
+            boolean result = delegate.isArrayElementModifiable(receiver, identifier);
+            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
         }
 
         @Override
-        public boolean fitsInShort(Object receiver) {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInShort(receiver);
-            }
+        public boolean isArrayElementInsertable(Object receiver, long identifier) {
             assert preCondition(receiver);
+            boolean result = delegate.isArrayElementInsertable(receiver, identifier);
+            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementExisting(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
+        }
 
-            boolean fits = delegate.fitsInShort(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInInt(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInFloat(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asShort(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
-            }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
+        @Override
+        public boolean isArrayElementRemovable(Object receiver, long identifier) {
+            assert preCondition(receiver);
+            boolean result = delegate.isArrayElementRemovable(receiver, identifier);
+            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            return result;
         }
 
         @Override
-        public boolean fitsInInt(Object receiver) {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInInt(receiver);
-            }
+        public boolean hasBufferElements(Object receiver) {
             assert preCondition(receiver);
+            return delegate.hasBufferElements(receiver);
+        }
 
-            boolean fits = delegate.fitsInInt(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInLong(receiver) : violationInvariant(receiver);
-            assert !fits || delegate.fitsInDouble(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asInt(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+        @Override
+        public boolean isBufferWritable(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
+            try {
+                boolean result = delegate.isBufferWritable(receiver);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                throw e;
             }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
         }
 
         @Override
-        public boolean fitsInLong(Object receiver) {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInLong(receiver);
-            }
+        public long getBufferSize(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
-
-            boolean fits = delegate.fitsInLong(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asLong(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+            try {
+                long result = delegate.getBufferSize(receiver);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver);
+                assert result >= 0 : violationPost(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                throw e;
             }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
         }
 
         @Override
-        public boolean fitsInFloat(Object receiver) {
+        public byte readBufferByte(Object receiver, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInFloat(receiver);
+                return delegate.readBufferByte(receiver, byteOffset);
             }
             assert preCondition(receiver);
-            boolean fits = delegate.fitsInFloat(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asFloat(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+            try {
+                byte result = delegate.readBufferByte(receiver, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
             }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
         }
 
         @Override
-        public boolean fitsInDouble(Object receiver) {
+        public void writeBufferByte(Object receiver, long byteOffset, byte value) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.fitsInDouble(receiver);
+                delegate.writeBufferByte(receiver, byteOffset, value);
+                return;
             }
             assert preCondition(receiver);
-            boolean fits = delegate.fitsInDouble(receiver);
-            assert !fits || delegate.isNumber(receiver) : violationInvariant(receiver);
-            if (fits) {
-                try {
-                    delegate.asDouble(receiver);
-                } catch (InteropException e) {
-                    assert false : violationInvariant(receiver);
-                } catch (Exception e) {
-                }
+            try {
+                delegate.writeBufferByte(receiver, byteOffset, value);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+                assert delegate.isBufferWritable(receiver) || isMultiThreaded(receiver) : violationInvariant(receiver, byteOffset);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
             }
-            assert !fits || notOtherType(receiver, Type.NUMBER);
-            return fits;
         }
 
         @Override
-        public byte asByte(Object receiver) throws UnsupportedMessageException {
+        public short readBufferShort(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readBufferShort(receiver, order, byteOffset);
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                byte result = delegate.asByte(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInByte(receiver) : violationInvariant(receiver);
-                assert result == delegate.asShort(receiver) : violationInvariant(receiver);
-                assert result == delegate.asInt(receiver) : violationInvariant(receiver);
-                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
-                assert result == delegate.asFloat(receiver) : violationInvariant(receiver);
-                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
+                short result = delegate.readBufferShort(receiver, order, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public short asShort(Object receiver) throws UnsupportedMessageException {
+        public void writeBufferShort(Object receiver, ByteOrder order, long byteOffset, short value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeBufferShort(receiver, order, byteOffset, value);
+                return;
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                short result = delegate.asShort(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInShort(receiver) : violationInvariant(receiver);
-                assert result == delegate.asInt(receiver) : violationInvariant(receiver);
-                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
-                assert result == delegate.asFloat(receiver) : violationInvariant(receiver);
-                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
-                return result;
+                delegate.writeBufferShort(receiver, order, byteOffset, value);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+                assert delegate.isBufferWritable(receiver) || isMultiThreaded(receiver) : violationInvariant(receiver, byteOffset);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public int asInt(Object receiver) throws UnsupportedMessageException {
+        public int readBufferInt(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readBufferInt(receiver, order, byteOffset);
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                int result = delegate.asInt(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInInt(receiver) : violationInvariant(receiver);
-                assert result == delegate.asLong(receiver) : violationInvariant(receiver);
-                assert result == delegate.asDouble(receiver) : violationInvariant(receiver);
+                int result = delegate.readBufferInt(receiver, order, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public long asLong(Object receiver) throws UnsupportedMessageException {
+        public void writeBufferInt(Object receiver, ByteOrder order, long byteOffset, int value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeBufferInt(receiver, order, byteOffset, value);
+                return;
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                long result = delegate.asLong(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInLong(receiver) : violationInvariant(receiver);
+                delegate.writeBufferInt(receiver, order, byteOffset, value);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+                assert delegate.isBufferWritable(receiver) || isMultiThreaded(receiver) : violationInvariant(receiver, byteOffset);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public long readBufferLong(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readBufferLong(receiver, order, byteOffset);
+            }
+            assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
+            try {
+                long result = delegate.readBufferLong(receiver, order, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public float asFloat(Object receiver) throws UnsupportedMessageException {
+        public void writeBufferLong(Object receiver, ByteOrder order, long byteOffset, long value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeBufferLong(receiver, order, byteOffset, value);
+                return;
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                float result = delegate.asFloat(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInFloat(receiver) : violationInvariant(receiver);
-                return result;
+                delegate.writeBufferLong(receiver, order, byteOffset, value);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+                assert delegate.isBufferWritable(receiver) || isMultiThreaded(receiver) : violationInvariant(receiver, byteOffset);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public double asDouble(Object receiver) throws UnsupportedMessageException {
+        public float readBufferFloat(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readBufferFloat(receiver, order, byteOffset);
+            }
             assert preCondition(receiver);
+            assert validNonInteropArgument(receiver, order);
             try {
-                double result = delegate.asDouble(receiver);
-                assert delegate.isNumber(receiver) : violationInvariant(receiver);
-                assert delegate.fitsInDouble(receiver) : violationInvariant(receiver);
+                float result = delegate.readBufferFloat(receiver, order, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationInvariant(receiver);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public boolean hasMembers(Object receiver) {
+        public void writeBufferFloat(Object receiver, ByteOrder order, long byteOffset, float value) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeBufferFloat(receiver, order, byteOffset, value);
+                return;
+            }
             assert preCondition(receiver);
-            return delegate.hasMembers(receiver);
+            assert validNonInteropArgument(receiver, order);
+            try {
+                delegate.writeBufferFloat(receiver, order, byteOffset, value);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+                assert delegate.isBufferWritable(receiver) || isMultiThreaded(receiver) : violationInvariant(receiver, byteOffset);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
         @Override
-        public Object readMember(Object receiver, String identifier) throws UnsupportedMessageException, UnknownIdentifierException {
+        public double readBufferDouble(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                return delegate.readMember(receiver, identifier);
+                return delegate.readBufferDouble(receiver, order, byteOffset);
             }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean wasReadable = delegate.isMemberReadable(receiver, identifier);
+            assert validNonInteropArgument(receiver, order);
             try {
-                Object result = delegate.readMember(receiver, identifier);
-                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-                assert wasReadable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
-                assert validReturn(receiver, result);
+                double result = delegate.readBufferDouble(receiver, order, byteOffset);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public void writeMember(Object receiver, String identifier, Object value) throws UnsupportedMessageException, UnknownIdentifierException, UnsupportedTypeException {
+        public void writeBufferDouble(Object receiver, ByteOrder order, long byteOffset, double value) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                delegate.writeMember(receiver, identifier, value);
+                delegate.writeBufferDouble(receiver, order, byteOffset, value);
                 return;
             }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            assert validArgument(receiver, value);
-            boolean wasWritable = (delegate.isMemberModifiable(receiver, identifier) || delegate.isMemberInsertable(receiver, identifier));
+            assert validNonInteropArgument(receiver, order);
             try {
-                delegate.writeMember(receiver, identifier, value);
-                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-                assert wasWritable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+                delegate.writeBufferDouble(receiver, order, byteOffset, value);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+                assert delegate.isBufferWritable(receiver) || isMultiThreaded(receiver) : violationInvariant(receiver, byteOffset);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException || e instanceof UnsupportedTypeException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public void removeMember(Object receiver, String identifier) throws UnsupportedMessageException, UnknownIdentifierException {
+        public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
             if (CompilerDirectives.inCompiledCode()) {
-                delegate.removeMember(receiver, identifier);
+                delegate.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
                 return;
             }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean wasRemovable = delegate.isMemberRemovable(receiver, identifier);
+            assert validNonInteropArgument(receiver, destination);
             try {
-                delegate.removeMember(receiver, identifier);
-                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-                assert wasRemovable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
+                delegate.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof UnknownIdentifierException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public Object invokeMember(Object receiver, String identifier, Object... arguments)
-                        throws UnsupportedMessageException, ArityException, UnknownIdentifierException, UnsupportedTypeException {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.invokeMember(receiver, identifier, arguments);
-            }
+        public boolean hasHashEntries(Object receiver) {
+            assert preCondition(receiver);
+            return delegate.hasHashEntries(receiver);
+        }
+
+        @Override
+        public long getHashSize(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            assert validArguments(receiver, arguments);
-            boolean wasInvocable = delegate.isMemberInvocable(receiver, identifier);
             try {
-                Object result = delegate.invokeMember(receiver, identifier, arguments);
-                assert delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-                assert wasInvocable || isMultiThreaded(receiver) : violationInvariant(receiver, identifier);
-                assert validReturn(receiver, result);
+                long result = delegate.getHashSize(receiver);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver);
+                assert result >= 0 : violationPost(receiver, result);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof ArityException || e instanceof UnknownIdentifierException ||
-                                e instanceof UnsupportedTypeException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public Object getMembers(Object receiver, boolean internal) throws UnsupportedMessageException {
+        public Object getHashKeys(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
             try {
-                Object result = delegate.getMembers(receiver, internal);
+                Object result = delegate.getHashKeys(receiver);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver);
                 assert validReturn(receiver, result);
-                assert isMultiThreaded(receiver) || assertMemberKeys(receiver, result, internal);
+                assert InteropLibrary.getFactory().getUncached().hasArrayElements(result) : violationPost(receiver, result);
                 return result;
             } catch (InteropException e) {
                 assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
@@ -2048,217 +3080,192 @@ public abstract class InteropLibrary extends Library {
             }
         }
 
-        private static boolean assertMemberKeys(Object receiver, Object result, boolean internal) {
-            assert result != null : violationPost(receiver, result);
-            InteropLibrary uncached = InteropLibrary.getFactory().getUncached(result);
-            assert uncached.hasArrayElements(result) : violationPost(receiver, result);
-            long arraySize;
+        @Override
+        public Object getHashKeysIterator(Object receiver) throws UnsupportedMessageException {
+            assert preCondition(receiver);
             try {
-                arraySize = uncached.getArraySize(result);
-            } catch (UnsupportedMessageException e) {
-                assert false : violationPost(receiver, e);
-                return true;
-            }
-            for (int i = 0; i < arraySize; i++) {
-                assert uncached.isArrayElementReadable(result, i) : violationPost(receiver, result);
-                Object element;
-                try {
-                    element = uncached.readArrayElement(result, i);
-                } catch (UnsupportedMessageException | InvalidArrayIndexException e) {
-                    assert false : violationPost(receiver, result);
-                    return true;
-                }
-                assert InteropLibrary.getFactory().getUncached().isString(element) : violationPost(receiver, element);
-                try {
-                    InteropLibrary.getFactory().getUncached().asString(element);
-                } catch (UnsupportedMessageException e) {
-                    assert false : violationInvariant(result, i);
-                }
+                Object result = delegate.getHashKeysIterator(receiver);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver);
+                assert validReturn(receiver, result);
+                assert InteropLibrary.getFactory().getUncached().isIterator(result) : violationPost(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                throw e;
             }
-            return true;
         }
 
         @Override
-        public boolean hasMemberReadSideEffects(Object receiver, String identifier) {
+        public boolean isHashEntryReadable(Object receiver, Object key) {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.hasMemberReadSideEffects(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-            assert !result || (delegate.isMemberReadable(receiver, identifier) || isMultiThreaded(receiver)) : violationInvariant(receiver, identifier);
+            assert validArgument(receiver, key);
+            boolean result = delegate.isHashEntryReadable(receiver, key);
+            assert !result || delegate.hasHashEntries(receiver) && !delegate.isHashEntryInsertable(receiver, key) : violationInvariant(receiver, key);
             return result;
         }
 
         @Override
-        public boolean hasMemberWriteSideEffects(Object receiver, String identifier) {
+        public Object readHashValue(Object receiver, Object key) throws UnsupportedMessageException, UnknownKeyException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readHashValue(receiver, key);
+            }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.hasMemberWriteSideEffects(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-            assert !result || (delegate.isMemberWritable(receiver, identifier) || isMultiThreaded(receiver)) : violationInvariant(receiver, identifier);
-            return result;
+            assert validArgument(receiver, key);
+            boolean wasReadable = delegate.isHashEntryReadable(receiver, key);
+            try {
+                Object result = delegate.readHashValue(receiver, key);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver, key);
+                assert wasReadable || isMultiThreaded(receiver) : violationInvariant(receiver, key);
+                assert validReturn(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownKeyException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
         @Override
-        public boolean isMemberReadable(Object receiver, String identifier) {
+        public Object readHashValueOrDefault(Object receiver, Object key, Object defaultValue) throws UnsupportedMessageException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.readHashValueOrDefault(receiver, key, defaultValue);
+            }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberReadable(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
+            assert validArgument(receiver, key);
+            assert validArgument(receiver, defaultValue);
+            try {
+                Object result = delegate.readHashValueOrDefault(receiver, key, defaultValue);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver, key);
+                assert validReturn(receiver, result);
+                return result;
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
         @Override
-        public boolean isMemberModifiable(Object receiver, String identifier) {
+        public boolean isHashEntryModifiable(Object receiver, Object key) {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberModifiable(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            assert validArgument(receiver, key);
+            boolean result = delegate.isHashEntryModifiable(receiver, key);
+            assert !result || delegate.hasHashEntries(receiver) && !delegate.isHashEntryInsertable(receiver, key) : violationInvariant(receiver, key);
             return result;
         }
 
         @Override
-        public boolean isMemberInsertable(Object receiver, String identifier) {
+        public boolean isHashEntryInsertable(Object receiver, Object key) {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberInsertable(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberExisting(receiver, identifier) : violationInvariant(receiver, identifier);
+            assert validArgument(receiver, key);
+            boolean result = delegate.isHashEntryInsertable(receiver, key);
+            assert !result || delegate.hasHashEntries(receiver) && !delegate.isHashEntryExisting(receiver, key) : violationInvariant(receiver, key);
             return result;
         }
 
         @Override
-        public boolean isMemberRemovable(Object receiver, String identifier) {
+        public void writeHashEntry(Object receiver, Object key, Object value) throws UnsupportedMessageException, UnknownKeyException, UnsupportedTypeException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeHashEntry(receiver, key, value);
+                return;
+            }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberRemovable(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
+            assert validArgument(receiver, key);
+            assert validArgument(receiver, value);
+            boolean wasWritable = delegate.isHashEntryModifiable(receiver, key) || delegate.isHashEntryInsertable(receiver, key);
+            try {
+                delegate.writeHashEntry(receiver, key, value);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver, key);
+                assert wasWritable || isMultiThreaded(receiver) : violationInvariant(receiver, key);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownKeyException || e instanceof UnsupportedTypeException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
         @Override
-        public boolean isMemberInvocable(Object receiver, String identifier) {
+        public boolean isHashEntryRemovable(Object receiver, Object key) {
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberInvocable(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) && !delegate.isMemberInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
+            assert validArgument(receiver, key);
+            boolean result = delegate.isHashEntryRemovable(receiver, key);
+            assert !result || delegate.hasHashEntries(receiver) && !delegate.isHashEntryInsertable(receiver, key) : violationInvariant(receiver, key);
             return result;
         }
 
         @Override
-        public boolean isMemberInternal(Object receiver, String identifier) {
+        public void removeHashEntry(Object receiver, Object key) throws UnsupportedMessageException, UnknownKeyException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.removeHashEntry(receiver, key);
+                return;
+            }
             assert preCondition(receiver);
-            assert validArgument(receiver, identifier);
-            boolean result = delegate.isMemberInternal(receiver, identifier);
-            assert !result || delegate.hasMembers(receiver) : violationInvariant(receiver, identifier);
-            return result;
+            assert validArgument(receiver, key);
+            boolean wasRemovable = delegate.isHashEntryRemovable(receiver, key);
+            try {
+                delegate.removeHashEntry(receiver, key);
+                assert delegate.hasHashEntries(receiver) : violationInvariant(receiver, key);
+                assert wasRemovable || isMultiThreaded(receiver) : violationInvariant(receiver, key);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof UnknownKeyException : violationPost(receiver, e);
+                throw e;
+            }
         }
 
         @Override
-        public boolean hasArrayElements(Object receiver) {
+        public boolean hasIterator(Object receiver) {
             assert preCondition(receiver);
-            return delegate.hasArrayElements(receiver);
+            return delegate.hasIterator(receiver);
         }
 
         @Override
-        public Object readArrayElement(Object receiver, long index) throws UnsupportedMessageException, InvalidArrayIndexException {
-            if (CompilerDirectives.inCompiledCode()) {
-                return delegate.readArrayElement(receiver, index);
-            }
+        public Object getIterator(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
-            boolean wasReadable = delegate.isArrayElementReadable(receiver, index);
             try {
-                Object result = delegate.readArrayElement(receiver, index);
-                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
-                assert wasReadable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
+                Object result = delegate.getIterator(receiver);
+                assert delegate.hasIterator(receiver) : violationInvariant(receiver);
                 assert validReturn(receiver, result);
+                assert InteropLibrary.getFactory().getUncached().isIterator(result) : violationPost(receiver, result);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public void writeArrayElement(Object receiver, long index, Object value) throws UnsupportedMessageException, UnsupportedTypeException, InvalidArrayIndexException {
-            if (CompilerDirectives.inCompiledCode()) {
-                delegate.writeArrayElement(receiver, index, value);
-                return;
-            }
+        public boolean isIterator(Object receiver) {
             assert preCondition(receiver);
-            assert validArgument(receiver, value);
-            boolean wasWritable = delegate.isArrayElementModifiable(receiver, index) || delegate.isArrayElementInsertable(receiver, index);
-            try {
-                delegate.writeArrayElement(receiver, index, value);
-                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
-                assert wasWritable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
-            } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof UnsupportedTypeException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
-                throw e;
-            }
+            return delegate.isIterator(receiver);
         }
 
         @Override
-        public void removeArrayElement(Object receiver, long index) throws UnsupportedMessageException, InvalidArrayIndexException {
-            if (CompilerDirectives.inCompiledCode()) {
-                delegate.removeArrayElement(receiver, index);
-                return;
-            }
+        public boolean hasIteratorNextElement(Object receiver) throws UnsupportedMessageException {
             assert preCondition(receiver);
-            boolean wasRemovable = delegate.isArrayElementRemovable(receiver, index);
             try {
-                delegate.removeArrayElement(receiver, index);
-                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
-                assert wasRemovable || isMultiThreaded(receiver) : violationInvariant(receiver, index);
+                boolean result = delegate.hasIteratorNextElement(receiver);
+                assert delegate.isIterator(receiver) : violationInvariant(receiver);
+                return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException || e instanceof InvalidArrayIndexException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
                 throw e;
             }
         }
 
         @Override
-        public long getArraySize(Object receiver) throws UnsupportedMessageException {
+        public Object getIteratorNextElement(Object receiver) throws UnsupportedMessageException, StopIterationException {
+            if (CompilerDirectives.inCompiledCode()) {
+                return delegate.getIteratorNextElement(receiver);
+            }
             assert preCondition(receiver);
             try {
-                long result = delegate.getArraySize(receiver);
-                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver);
+                Object result = delegate.getIteratorNextElement(receiver);
+                assert delegate.isIterator(receiver) : violationInvariant(receiver);
+                assert validReturn(receiver, result);
                 return result;
             } catch (InteropException e) {
-                assert e instanceof UnsupportedMessageException : violationPost(receiver, e);
+                assert e instanceof UnsupportedMessageException || e instanceof StopIterationException : violationPost(receiver, e);
                 throw e;
             }
         }
 
-        @Override
-        public boolean isArrayElementReadable(Object receiver, long identifier) {
-            assert preCondition(receiver);
-            boolean result = delegate.isArrayElementReadable(receiver, identifier);
-            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
-        }
-
-        @Override
-        public boolean isArrayElementModifiable(Object receiver, long identifier) {
-            assert preCondition(receiver);
-            boolean result = delegate.isArrayElementModifiable(receiver, identifier);
-            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
-        }
-
-        @Override
-        public boolean isArrayElementInsertable(Object receiver, long identifier) {
-            assert preCondition(receiver);
-            boolean result = delegate.isArrayElementInsertable(receiver, identifier);
-            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementExisting(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
-        }
-
-        @Override
-        public boolean isArrayElementRemovable(Object receiver, long identifier) {
-            assert preCondition(receiver);
-            boolean result = delegate.isArrayElementRemovable(receiver, identifier);
-            assert !result || delegate.hasArrayElements(receiver) && !delegate.isArrayElementInsertable(receiver, identifier) : violationInvariant(receiver, identifier);
-            return result;
-        }
-
         @Override
         public boolean isPointer(Object receiver) {
             assert preCondition(receiver);
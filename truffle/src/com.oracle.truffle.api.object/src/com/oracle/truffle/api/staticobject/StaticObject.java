@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.staticobject;
+
+import java.util.Objects;
+
+/**
+ * Instance of a {@link StaticShape}. The layout of a static object is fixed when its shape is
+ * built, so the values of its properties can be stored without any per-property indirection:
+ * primitive values are packed into a single byte array and object values into a single object
+ * array. Properties are accessed with {@link StaticProperty}.
+ * <p>
+ * Languages may subclass static objects, e.g., to export interop messages for their instances.
+ *
+ * @since 20.1
+ */
+public class StaticObject {
+
+    private static final byte[] EMPTY_PRIMITIVE_STORAGE = {};
+    private static final Object[] EMPTY_OBJECT_STORAGE = {};
+
+    final StaticShape shape;
+    final byte[] primitive;
+    final Object[] object;
+
+    /**
+     * Creates a new static object with the layout of the given shape. Primitive properties are
+     * initialized with zero, object properties with <code>null</code>.
+     *
+     * @since 20.1
+     */
+    public StaticObject(StaticShape shape) {
+        this.shape = Objects.requireNonNull(shape);
+        this.primitive = shape.primitiveSize == 0 ? EMPTY_PRIMITIVE_STORAGE : new byte[shape.primitiveSize];
+        this.object = shape.objectCount == 0 ? EMPTY_OBJECT_STORAGE : new Object[shape.objectCount];
+    }
+
+    /**
+     * Returns the shape this object was created with.
+     *
+     * @since 20.1
+     */
+    public final StaticShape getShape() {
+        return shape;
+    }
+}
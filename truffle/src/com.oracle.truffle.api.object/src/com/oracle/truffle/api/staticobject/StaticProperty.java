@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.staticobject;
+
+import java.lang.reflect.Field;
+import java.util.Objects;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+
+import sun.misc.Unsafe;
+
+/**
+ * Property of a {@link StaticShape}. The storage offset of a property is assigned when its shape is
+ * built and never changes afterwards. If the property is a compilation constant, e.g. it is stored
+ * in a final field of a node, the accessors compile to a check of the receiver shape followed by a
+ * single load or store at a constant offset.
+ *
+ * @since 20.1
+ */
+public final class StaticProperty {
+
+    private static final Unsafe UNSAFE = getUnsafe();
+
+    private final String id;
+    private final StaticPropertyKind kind;
+    @CompilationFinal StaticShape shape;
+    @CompilationFinal long offset;
+
+    /**
+     * Creates a new property. The property can be accessed once it was added to a
+     * {@link StaticShape.Builder#property(StaticProperty) shape}.
+     *
+     * @param id the name of the property, unique within its shape
+     * @param kind the kind of the values stored in the property
+     * @since 20.1
+     */
+    public StaticProperty(String id, StaticPropertyKind kind) {
+        this.id = Objects.requireNonNull(id);
+        this.kind = Objects.requireNonNull(kind);
+    }
+
+    /**
+     * Returns the id of this property.
+     *
+     * @since 20.1
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the kind of this property.
+     *
+     * @since 20.1
+     */
+    public StaticPropertyKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the shape this property belongs to, or <code>null</code> if it was not added to a
+     * shape yet.
+     *
+     * @since 20.1
+     */
+    public StaticShape getShape() {
+        return shape;
+    }
+
+    /**
+     * Reads the value of an {@link StaticPropertyKind#Object Object} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Object}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public Object getObject(StaticObject obj) {
+        checkKind(StaticPropertyKind.Object);
+        return UNSAFE.getObject(objectStorage(obj), offset);
+    }
+
+    /**
+     * Writes the value of an {@link StaticPropertyKind#Object Object} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Object}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public void setObject(StaticObject obj, Object value) {
+        checkKind(StaticPropertyKind.Object);
+        UNSAFE.putObject(objectStorage(obj), offset, value);
+    }
+
+    /**
+     * Atomically sets the value of an {@link StaticPropertyKind#Object Object} property to the
+     * given value if the current value is the expected value.
+     *
+     * @return <code>true</code> if the value was updated
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Object}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public boolean compareAndSwapObject(StaticObject obj, Object expect, Object update) {
+        checkKind(StaticPropertyKind.Object);
+        return UNSAFE.compareAndSwapObject(objectStorage(obj), offset, expect, update);
+    }
+
+    /**
+     * Reads the value of a {@link StaticPropertyKind#Boolean Boolean} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Boolean}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public boolean getBoolean(StaticObject obj) {
+        checkKind(StaticPropertyKind.Boolean);
+        return UNSAFE.getBoolean(primitiveStorage(obj), offset);
+    }
+
+    /**
+     * Writes the value of a {@link StaticPropertyKind#Boolean Boolean} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Boolean}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public void setBoolean(StaticObject obj, boolean value) {
+        checkKind(StaticPropertyKind.Boolean);
+        UNSAFE.putBoolean(primitiveStorage(obj), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@link StaticPropertyKind#Byte Byte} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Byte}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public byte getByte(StaticObject obj) {
+        checkKind(StaticPropertyKind.Byte);
+        return UNSAFE.getByte(primitiveStorage(obj), offset);
+    }
+
+    /**
+     * Writes the value of a {@link StaticPropertyKind#Byte Byte} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Byte}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public void setByte(StaticObject obj, byte value) {
+        checkKind(StaticPropertyKind.Byte);
+        UNSAFE.putByte(primitiveStorage(obj), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@link StaticPropertyKind#Char Char} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Char}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public char getChar(StaticObject obj) {
+        checkKind(StaticPropertyKind.Char);
+        return UNSAFE.getChar(primitiveStorage(obj), offset);
+    }
+
+    /**
+     * Writes the value of a {@link StaticPropertyKind#Char Char} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Char}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public void setChar(StaticObject obj, char value) {
+        checkKind(StaticPropertyKind.Char);
+        UNSAFE.putChar(primitiveStorage(obj), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@link StaticPropertyKind#Short Short} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Short}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public short getShort(StaticObject obj) {
+        checkKind(StaticPropertyKind.Short);
+        return UNSAFE.getShort(primitiveStorage(obj), offset);
+    }
+
+    /**
+     * Writes the value of a {@link StaticPropertyKind#Short Short} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Short}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public void setShort(StaticObject obj, short value) {
+        checkKind(StaticPropertyKind.Short);
+        UNSAFE.putShort(primitiveStorage(obj), offset, value);
+    }
+
+    /**
+     * Reads the value of an {@link StaticPropertyKind#Int Int} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Int}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public int getInt(StaticObject obj) {
+        checkKind(StaticPropertyKind.Int);
+        return UNSAFE.getInt(primitiveStorage(obj), offset);
+    }
+
+    /**
+     * Writes the value of an {@link StaticPropertyKind#Int Int} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Int}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public void setInt(StaticObject obj, int value) {
+        checkKind(StaticPropertyKind.Int);
+        UNSAFE.putInt(primitiveStorage(obj), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@link StaticPropertyKind#Long Long} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Long}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public long getLong(StaticObject obj) {
+        checkKind(StaticPropertyKind.Long);
+        return UNSAFE.getLong(primitiveStorage(obj), offset);
+    }
+
+    /**
+     * Writes the value of a {@link StaticPropertyKind#Long Long} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Long}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public void setLong(StaticObject obj, long value) {
+        checkKind(StaticPropertyKind.Long);
+        UNSAFE.putLong(primitiveStorage(obj), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@link StaticPropertyKind#Float Float} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Float}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public float getFloat(StaticObject obj) {
+        checkKind(StaticPropertyKind.Float);
+        return UNSAFE.getFloat(primitiveStorage(obj), offset);
+    }
+
+    /**
+     * Writes the value of a {@link StaticPropertyKind#Float Float} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Float}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public void setFloat(StaticObject obj, float value) {
+        checkKind(StaticPropertyKind.Float);
+        UNSAFE.putFloat(primitiveStorage(obj), offset, value);
+    }
+
+    /**
+     * Reads the value of a {@link StaticPropertyKind#Double Double} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Double}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public double getDouble(StaticObject obj) {
+        checkKind(StaticPropertyKind.Double);
+        return UNSAFE.getDouble(primitiveStorage(obj), offset);
+    }
+
+    /**
+     * Writes the value of a {@link StaticPropertyKind#Double Double} property.
+     *
+     * @throws IllegalArgumentException if the property kind is not {@link StaticPropertyKind#Double}
+     *             or the object does not have the shape of this property
+     * @since 20.1
+     */
+    public void setDouble(StaticObject obj, double value) {
+        checkKind(StaticPropertyKind.Double);
+        UNSAFE.putDouble(primitiveStorage(obj), offset, value);
+    }
+
+    /** @since 20.1 */
+    @Override
+    public String toString() {
+        return id + ":" + kind;
+    }
+
+    private void checkKind(StaticPropertyKind accessKind) {
+        if (kind != accessKind) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalArgumentException("Static property " + id + " of kind " + kind + " cannot be accessed as " + accessKind + ".");
+        }
+    }
+
+    private byte[] primitiveStorage(StaticObject obj) {
+        checkShape(obj);
+        return obj.primitive;
+    }
+
+    private Object[] objectStorage(StaticObject obj) {
+        checkShape(obj);
+        return obj.object;
+    }
+
+    private void checkShape(StaticObject obj) {
+        /*
+         * The offset is only valid for objects of the shape of this property, accessing any other
+         * object could read or write outside of its storage.
+         */
+        if (obj.shape != shape) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalArgumentException("Static property " + id + " is not part of the shape of " + obj + ".");
+        }
+    }
+
+    private static Unsafe getUnsafe() {
+        try {
+            return Unsafe.getUnsafe();
+        } catch (SecurityException e) {
+        }
+        try {
+            Field theUnsafeInstance = Unsafe.class.getDeclaredField("theUnsafe");
+            theUnsafeInstance.setAccessible(true);
+            return (Unsafe) theUnsafeInstance.get(Unsafe.class);
+        } catch (Exception e) {
+            throw new RuntimeException("exception while trying to get Unsafe.theUnsafe via reflection:", e);
+        }
+    }
+}
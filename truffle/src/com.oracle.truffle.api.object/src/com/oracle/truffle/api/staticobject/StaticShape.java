@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.staticobject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.oracle.truffle.api.CompilerAsserts;
+
+import sun.misc.Unsafe;
+
+/**
+ * Fixed layout of {@link StaticObject static objects}. Unlike a
+ * {@link com.oracle.truffle.api.object.Shape Shape} of a dynamic object, a static shape never
+ * changes after it was built: properties cannot be added or removed, and the kind of a property is
+ * fixed. This allows every {@link StaticProperty} to access its value at a constant offset without
+ * a shape lookup, which makes static objects a good fit for guest languages with fixed class
+ * layouts.
+ *
+ * <pre>
+ * StaticProperty x = new StaticProperty("x", StaticPropertyKind.Int);
+ * StaticProperty name = new StaticProperty("name", StaticPropertyKind.Object);
+ * StaticShape shape = StaticShape.newBuilder().property(x).property(name).build();
+ *
+ * StaticObject point = shape.newInstance();
+ * x.setInt(point, 42);
+ * name.setObject(point, "origin");
+ * </pre>
+ *
+ * @since 20.1
+ */
+public final class StaticShape {
+
+    final int primitiveSize;
+    final int objectCount;
+    private final List<StaticProperty> properties;
+
+    private StaticShape(int primitiveSize, int objectCount, List<StaticProperty> properties) {
+        this.primitiveSize = primitiveSize;
+        this.objectCount = objectCount;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates a new static object of this shape.
+     *
+     * @since 20.1
+     */
+    public StaticObject newInstance() {
+        return new StaticObject(this);
+    }
+
+    /**
+     * Returns the properties of this shape in the order in which they were added to the builder.
+     *
+     * @since 20.1
+     */
+    public List<StaticProperty> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the property with the given id, or <code>null</code> if there is none.
+     *
+     * @since 20.1
+     */
+    public StaticProperty getProperty(String id) {
+        CompilerAsserts.neverPartOfCompilation();
+        for (StaticProperty property : properties) {
+            if (property.getId().equals(id)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of bytes used to store the primitive properties of an instance.
+     *
+     * @since 20.1
+     */
+    public int getPrimitiveStorageSize() {
+        return primitiveSize;
+    }
+
+    /** @since 20.1 */
+    @Override
+    public String toString() {
+        return "StaticShape" + properties;
+    }
+
+    /**
+     * Creates a builder for a new static shape.
+     *
+     * @since 20.1
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link StaticShape static shapes}.
+     *
+     * @since 20.1
+     */
+    public static final class Builder {
+
+        private final Map<String, StaticProperty> properties = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a property to the shape. A property can only be added to a single shape.
+         *
+         * @throws IllegalArgumentException if the shape already has a property with the same id,
+         *             or if the property was already added to another shape
+         * @since 20.1
+         */
+        public Builder property(StaticProperty property) {
+            Objects.requireNonNull(property);
+            if (properties.containsKey(property.getId())) {
+                throw new IllegalArgumentException("Duplicate property id: " + property.getId());
+            }
+            if (property.shape != null) {
+                throw new IllegalArgumentException("Property " + property.getId() + " is already part of a shape.");
+            }
+            properties.put(property.getId(), property);
+            return this;
+        }
+
+        /**
+         * Builds the shape and assigns the storage offsets of its properties. Primitive properties
+         * are packed by descending size, and every offset is aligned to the size of its value.
+         *
+         * @throws IllegalArgumentException if a property was already added to another shape, e.g.,
+         *             if the property was added to multiple builders or if this builder was already
+         *             built
+         * @since 20.1
+         */
+        public StaticShape build() {
+            synchronized (Builder.class) {
+                for (StaticProperty property : properties.values()) {
+                    if (property.shape != null) {
+                        throw new IllegalArgumentException("Property " + property.getId() + " is already part of a shape.");
+                    }
+                }
+                return buildShape();
+            }
+        }
+
+        private StaticShape buildShape() {
+            List<StaticProperty> primitives = new ArrayList<>();
+            List<StaticProperty> objects = new ArrayList<>();
+            for (StaticProperty property : properties.values()) {
+                if (property.getKind().isPrimitive()) {
+                    primitives.add(property);
+                } else {
+                    objects.add(property);
+                }
+            }
+            primitives.sort(Comparator.comparingInt((StaticProperty p) -> p.getKind().byteSize).reversed());
+
+            /*
+             * The array base offset is not necessarily a multiple of the value size, so offsets are
+             * aligned explicitly. Arrays start at an object alignment of at least 8 bytes, hence an
+             * aligned offset is an aligned address.
+             */
+            long primitiveOffset = Unsafe.ARRAY_BYTE_BASE_OFFSET;
+            for (StaticProperty property : primitives) {
+                int byteSize = property.getKind().byteSize;
+                primitiveOffset = (primitiveOffset + byteSize - 1) & -byteSize;
+                property.offset = primitiveOffset;
+                primitiveOffset += byteSize;
+            }
+            int primitiveSize = Math.toIntExact(primitiveOffset - Unsafe.ARRAY_BYTE_BASE_OFFSET);
+            for (int i = 0; i < objects.size(); i++) {
+                objects.get(i).offset = Unsafe.ARRAY_OBJECT_BASE_OFFSET + (long) i * Unsafe.ARRAY_OBJECT_INDEX_SCALE;
+            }
+
+            StaticShape shape = new StaticShape(primitiveSize, objects.size(), Collections.unmodifiableList(Arrays.asList(properties.values().toArray(new StaticProperty[0]))));
+            for (StaticProperty property : properties.values()) {
+                property.shape = shape;
+            }
+            return shape;
+        }
+    }
+}
@@ -0,0 +1,742 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.strings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+/**
+ * Immutable string that can be passed between Truffle languages without conversion. Languages that
+ * use a truffle string as their string representation avoid the copying and re-encoding that an
+ * {@link InteropLibrary#asString(Object)} conversion at every language boundary would cause.
+ * <p>
+ * A truffle string stores its content in the most compact form available: strings that only
+ * contain {@link CodeRange#LATIN_1 Latin-1} characters use one byte per character, all other
+ * strings use UTF-16. Strings {@link #fromByteArray(byte[], int, int, Encoding) created} from UTF-8
+ * bytes keep their bytes and are only transcoded when their characters are accessed, at most once.
+ * The hash code, the {@link #getCodeRange() code range} and the {@link #toJavaString() Java string}
+ * are computed lazily and cached.
+ * <p>
+ * All indices and lengths are in UTF-16 code units, so {@link #length()}, {@link #charAt(int)} and
+ * {@link #substring(int, int)} behave like their {@link String} counterparts. A
+ * {@link #substring(int, int) substring} is a view of the original string and does not copy its
+ * content. {@link #charAt(int)}, {@link #length()} and the search and compare operations only read
+ * final fields and arrays, which makes them suitable for partial evaluation.
+ * <p>
+ * Truffle strings are {@link InteropLibrary#isString(Object) interop strings}.
+ *
+ * @since 20.1
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class TruffleString implements TruffleObject, Comparable<TruffleString> {
+
+    /**
+     * Encodings a truffle string can be created from and {@link TruffleString#switchEncoding
+     * transcoded} to.
+     *
+     * @since 20.1
+     */
+    public enum Encoding {
+        /**
+         * UTF-8, stored as a byte array.
+         *
+         * @since 20.1
+         */
+        UTF_8,
+        /**
+         * UTF-16, stored as a char array.
+         *
+         * @since 20.1
+         */
+        UTF_16,
+        /**
+         * ISO-8859-1, stored as a byte array.
+         *
+         * @since 20.1
+         */
+        LATIN_1
+    }
+
+    /**
+     * The range of code points contained in a string. Code ranges are ordered, each code range
+     * includes all previous ones.
+     *
+     * @since 20.1
+     */
+    public enum CodeRange {
+        /**
+         * All code points are smaller than <code>0x80</code>.
+         *
+         * @since 20.1
+         */
+        ASCII,
+        /**
+         * All code points are smaller than <code>0x100</code>.
+         *
+         * @since 20.1
+         */
+        LATIN_1,
+        /**
+         * All code points are in the basic multilingual plane and no code point is a surrogate.
+         *
+         * @since 20.1
+         */
+        BMP,
+        /**
+         * The string is correctly encoded, but may contain code points outside of the basic
+         * multilingual plane.
+         *
+         * @since 20.1
+         */
+        VALID,
+        /**
+         * The string contains unpaired surrogates or invalid UTF-8 byte sequences.
+         *
+         * @since 20.1
+         */
+        BROKEN
+    }
+
+    /**
+     * The empty string.
+     *
+     * @since 20.1
+     */
+    public static final TruffleString EMPTY = new TruffleString(new byte[0], 0, 0, Encoding.LATIN_1);
+
+    /*
+     * A byte[] for UTF-8 and Latin-1 strings, a char[] for UTF-16 strings. Offset and length are
+     * in code units of the encoding.
+     */
+    private final Object data;
+    private final int offset;
+    private final int length;
+    private final Encoding encoding;
+
+    private int hash;
+    private CodeRange codeRange;
+    private TruffleString decoded;
+    private String javaString;
+
+    private TruffleString(Object data, int offset, int length, Encoding encoding) {
+        assert encoding == Encoding.UTF_16 ? data instanceof char[] : data instanceof byte[];
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+        this.encoding = encoding;
+    }
+
+    /**
+     * Creates a truffle string with the characters of a Java string. The string is stored with one
+     * byte per character if all characters are Latin-1 characters.
+     *
+     * @since 20.1
+     */
+    @TruffleBoundary
+    public static TruffleString fromJavaString(String value) {
+        char[] chars = value.toCharArray();
+        TruffleString result = fromChars(chars, 0, chars.length, false);
+        result.javaString = value;
+        return result;
+    }
+
+    /**
+     * Creates a truffle string with a copy of the characters from <code>fromIndex</code>
+     * (inclusive) to <code>toIndex</code> (exclusive). The string is stored with one byte per
+     * character if all characters are Latin-1 characters.
+     *
+     * @throws IndexOutOfBoundsException if the indices are not within the array.
+     * @since 20.1
+     */
+    @TruffleBoundary
+    public static TruffleString fromCharArray(char[] chars, int fromIndex, int toIndex) {
+        checkBounds(fromIndex, toIndex, chars.length);
+        return fromChars(chars, fromIndex, toIndex, true);
+    }
+
+    /**
+     * Creates a truffle string with a copy of the bytes from <code>fromIndex</code> (inclusive) to
+     * <code>toIndex</code> (exclusive) in the given encoding. UTF-8 bytes are kept as is and only
+     * decoded when characters of the string are accessed. Invalid UTF-8 sequences are accepted,
+     * the {@link #getCodeRange() code range} of such strings is {@link CodeRange#BROKEN broken}.
+     *
+     * @throws IllegalArgumentException if the encoding is {@link Encoding#UTF_16}, use
+     *             {@link #fromCharArray(char[], int, int)} instead.
+     * @throws IndexOutOfBoundsException if the indices are not within the array.
+     * @since 20.1
+     */
+    @TruffleBoundary
+    public static TruffleString fromByteArray(byte[] bytes, int fromIndex, int toIndex, Encoding encoding) {
+        if (encoding == Encoding.UTF_16) {
+            throw new IllegalArgumentException("UTF-16 strings must be created from char arrays.");
+        }
+        checkBounds(fromIndex, toIndex, bytes.length);
+        return new TruffleString(Arrays.copyOfRange(bytes, fromIndex, toIndex), 0, toIndex - fromIndex, encoding);
+    }
+
+    private static TruffleString fromChars(char[] chars, int fromIndex, int toIndex, boolean copy) {
+        int newLength = toIndex - fromIndex;
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (chars[i] > 0xFF) {
+                char[] utf16 = copy ? Arrays.copyOfRange(chars, fromIndex, toIndex) : chars;
+                return new TruffleString(utf16, copy ? 0 : fromIndex, newLength, Encoding.UTF_16);
+            }
+        }
+        byte[] bytes = new byte[newLength];
+        for (int i = 0; i < newLength; i++) {
+            bytes[i] = (byte) chars[fromIndex + i];
+        }
+        return new TruffleString(bytes, 0, newLength, Encoding.LATIN_1);
+    }
+
+    /**
+     * Returns the encoding the content of this string is currently stored in.
+     *
+     * @since 20.1
+     */
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Returns the range of code points contained in this string. The code range is computed on
+     * first use and cached.
+     *
+     * @since 20.1
+     */
+    public CodeRange getCodeRange() {
+        CodeRange result = codeRange;
+        if (result == null) {
+            result = computeCodeRange();
+            codeRange = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of UTF-16 code units of this string.
+     *
+     * @since 20.1
+     */
+    public int length() {
+        return decoded().length;
+    }
+
+    /**
+     * Returns the UTF-16 code unit at the given index.
+     *
+     * @throws IndexOutOfBoundsException if the index is negative or not less than
+     *             {@link #length()}.
+     * @since 20.1
+     */
+    public char charAt(int index) {
+        TruffleString s = decoded();
+        if (index < 0 || index >= s.length) {
+            throw outOfBounds(index, s.length);
+        }
+        return s.readUnit(index);
+    }
+
+    /**
+     * Returns the string from <code>fromIndex</code> (inclusive) to <code>toIndex</code>
+     * (exclusive). The substring shares the content of this string and does not copy it.
+     *
+     * @throws IndexOutOfBoundsException if the indices are not within this string.
+     * @since 20.1
+     */
+    public TruffleString substring(int fromIndex, int toIndex) {
+        TruffleString s = decoded();
+        checkBounds(fromIndex, toIndex, s.length);
+        if (fromIndex == 0 && toIndex == s.length) {
+            return s;
+        }
+        return new TruffleString(s.data, s.offset + fromIndex, toIndex - fromIndex, s.encoding);
+    }
+
+    /**
+     * Returns the concatenation of this string and <code>other</code>. The result is stored with
+     * one byte per character if both strings are.
+     *
+     * @since 20.1
+     */
+    @TruffleBoundary
+    public TruffleString concat(TruffleString other) {
+        TruffleString a = decoded();
+        TruffleString b = other.decoded();
+        if (b.length == 0) {
+            return a;
+        } else if (a.length == 0) {
+            return b;
+        }
+        int newLength = Math.addExact(a.length, b.length);
+        if (a.data instanceof byte[] && b.data instanceof byte[]) {
+            byte[] bytes = new byte[newLength];
+            System.arraycopy(a.data, a.offset, bytes, 0, a.length);
+            System.arraycopy(b.data, b.offset, bytes, a.length, b.length);
+            return new TruffleString(bytes, 0, newLength, Encoding.LATIN_1);
+        }
+        char[] chars = new char[newLength];
+        a.copyTo(chars, 0);
+        b.copyTo(chars, a.length);
+        return new TruffleString(chars, 0, newLength, Encoding.UTF_16);
+    }
+
+    /**
+     * Returns the index of the first occurrence of <code>c</code> at or after
+     * <code>fromIndex</code>, or <code>-1</code> if there is no such occurrence.
+     *
+     * @since 20.1
+     */
+    public int indexOf(char c, int fromIndex) {
+        TruffleString s = decoded();
+        int start = Math.max(fromIndex, 0);
+        if (s.data instanceof byte[]) {
+            if (c > 0xFF) {
+                return -1;
+            }
+            byte[] bytes = (byte[]) s.data;
+            for (int i = start; i < s.length; i++) {
+                if (bytes[s.offset + i] == (byte) c) {
+                    return i;
+                }
+            }
+        } else {
+            char[] chars = (char[]) s.data;
+            for (int i = start; i < s.length; i++) {
+                if (chars[s.offset + i] == c) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of <code>pattern</code> at or after
+     * <code>fromIndex</code>, or <code>-1</code> if there is no such occurrence.
+     *
+     * @since 20.1
+     */
+    public int indexOf(TruffleString pattern, int fromIndex) {
+        TruffleString s = decoded();
+        TruffleString p = pattern.decoded();
+        int start = Math.max(fromIndex, 0);
+        if (p.length == 0) {
+            return Math.min(start, s.length);
+        }
+        char first = p.readUnit(0);
+        int max = s.length - p.length;
+        for (int i = start; i <= max; i++) {
+            if (s.readUnit(i) == first && regionEqualsUnchecked(s, i + 1, p, 1, p.length - 1)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns <code>true</code> if the <code>regionLength</code> code units of this string
+     * starting at <code>fromIndex</code> are equal to the code units of <code>other</code> starting
+     * at <code>otherFromIndex</code>. Returns <code>false</code> if a region is not within its
+     * string.
+     *
+     * @since 20.1
+     */
+    public boolean regionEquals(int fromIndex, TruffleString other, int otherFromIndex, int regionLength) {
+        TruffleString a = decoded();
+        TruffleString b = other.decoded();
+        if (fromIndex < 0 || otherFromIndex < 0 || regionLength < 0 || fromIndex > a.length - regionLength || otherFromIndex > b.length - regionLength) {
+            return false;
+        }
+        return regionEqualsUnchecked(a, fromIndex, b, otherFromIndex, regionLength);
+    }
+
+    private static boolean regionEqualsUnchecked(TruffleString a, int fromIndexA, TruffleString b, int fromIndexB, int regionLength) {
+        for (int i = 0; i < regionLength; i++) {
+            if (a.readUnit(fromIndexA + i) != b.readUnit(fromIndexB + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two strings lexicographically by their UTF-16 code units, like
+     * {@link String#compareTo(String)}.
+     *
+     * @since 20.1
+     */
+    @Override
+    public int compareTo(TruffleString other) {
+        TruffleString a = decoded();
+        TruffleString b = other.decoded();
+        int minLength = Math.min(a.length, b.length);
+        for (int i = 0; i < minLength; i++) {
+            char ca = a.readUnit(i);
+            char cb = b.readUnit(i);
+            if (ca != cb) {
+                return ca - cb;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    /**
+     * Returns this string transcoded to the given encoding. Returns this string if it is already
+     * stored in the given encoding. Latin-1 strings that only contain ASCII characters are
+     * transcoded to UTF-8 without copying. Characters that cannot be represented in Latin-1 are
+     * replaced with <code>'?'</code>.
+     *
+     * @since 20.1
+     */
+    @TruffleBoundary
+    public TruffleString switchEncoding(Encoding targetEncoding) {
+        if (targetEncoding == encoding) {
+            return this;
+        }
+        TruffleString s = decoded();
+        switch (targetEncoding) {
+            case UTF_16:
+                if (s.encoding == Encoding.UTF_16) {
+                    return s;
+                }
+                char[] chars = new char[s.length];
+                s.copyTo(chars, 0);
+                return new TruffleString(chars, 0, s.length, Encoding.UTF_16);
+            case LATIN_1:
+                if (s.encoding == Encoding.LATIN_1) {
+                    return s;
+                }
+                byte[] bytes = new byte[s.length];
+                for (int i = 0; i < s.length; i++) {
+                    char c = s.readUnit(i);
+                    bytes[i] = c <= 0xFF ? (byte) c : (byte) '?';
+                }
+                return new TruffleString(bytes, 0, s.length, Encoding.LATIN_1);
+            case UTF_8:
+                if (s.data instanceof byte[] && s.getCodeRange() == CodeRange.ASCII) {
+                    return new TruffleString(s.data, s.offset, s.length, Encoding.UTF_8);
+                }
+                byte[] utf8 = s.toJavaString().getBytes(StandardCharsets.UTF_8);
+                return new TruffleString(utf8, 0, utf8.length, Encoding.UTF_8);
+            default:
+                throw new AssertionError(targetEncoding);
+        }
+    }
+
+    /**
+     * Returns a copy of the content of this string in the given byte based encoding.
+     *
+     * @throws IllegalArgumentException if the encoding is {@link Encoding#UTF_16}.
+     * @see #switchEncoding(Encoding)
+     * @since 20.1
+     */
+    @TruffleBoundary
+    public byte[] getBytes(Encoding targetEncoding) {
+        if (targetEncoding == Encoding.UTF_16) {
+            throw new IllegalArgumentException("UTF-16 strings are not stored as bytes.");
+        }
+        TruffleString s = switchEncoding(targetEncoding);
+        return Arrays.copyOfRange((byte[]) s.data, s.offset, s.offset + s.length);
+    }
+
+    /**
+     * Returns the content of this string as a Java string. The result is cached.
+     *
+     * @since 20.1
+     */
+    public String toJavaString() {
+        String result = javaString;
+        if (result == null) {
+            result = createJavaString();
+            javaString = result;
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private String createJavaString() {
+        TruffleString s = decoded();
+        if (s.data instanceof byte[]) {
+            return new String((byte[]) s.data, s.offset, s.length, StandardCharsets.ISO_8859_1);
+        }
+        return new String((char[]) s.data, s.offset, s.length);
+    }
+
+    /**
+     * Returns <code>true</code> if the other object is a truffle string with the same UTF-16 code
+     * units, independent of the encodings the two strings are stored in.
+     *
+     * @since 20.1
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (!(obj instanceof TruffleString)) {
+            return false;
+        }
+        TruffleString a = decoded();
+        TruffleString b = ((TruffleString) obj).decoded();
+        if (a.length != b.length) {
+            return false;
+        }
+        return regionEqualsUnchecked(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Returns the hash code of this string, which is equal to the {@link String#hashCode() hash
+     * code} of the {@link #toJavaString() Java string} with the same content. The hash code is
+     * cached.
+     *
+     * @since 20.1
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = computeHashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    private int computeHashCode() {
+        TruffleString s = decoded();
+        int h = 0;
+        for (int i = 0; i < s.length; i++) {
+            h = 31 * h + s.readUnit(i);
+        }
+        return h;
+    }
+
+    /**
+     * Returns the {@link #toJavaString() Java string} with the same content.
+     *
+     * @since 20.1
+     */
+    @Override
+    public String toString() {
+        return toJavaString();
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    boolean isString() {
+        return true;
+    }
+
+    @ExportMessage
+    String asString() {
+        return toJavaString();
+    }
+
+    /*
+     * Returns the UTF-16 code unit at the given index. Must only be called on decoded strings.
+     */
+    private char readUnit(int index) {
+        assert encoding != Encoding.UTF_8;
+        if (data instanceof byte[]) {
+            return (char) (((byte[]) data)[offset + index] & 0xFF);
+        }
+        return ((char[]) data)[offset + index];
+    }
+
+    private void copyTo(char[] dest, int destOffset) {
+        if (data instanceof byte[]) {
+            byte[] bytes = (byte[]) data;
+            for (int i = 0; i < length; i++) {
+                dest[destOffset + i] = (char) (bytes[offset + i] & 0xFF);
+            }
+        } else {
+            System.arraycopy(data, offset, dest, destOffset, length);
+        }
+    }
+
+    /*
+     * Returns a string with the same content that is stored as Latin-1 or UTF-16. UTF-8 strings
+     * are decoded on first use.
+     */
+    private TruffleString decoded() {
+        if (encoding != Encoding.UTF_8) {
+            return this;
+        }
+        TruffleString result = decoded;
+        if (result == null) {
+            result = decodeUTF8();
+            decoded = result;
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private TruffleString decodeUTF8() {
+        if (getCodeRange() == CodeRange.ASCII) {
+            // ASCII bytes are valid Latin-1, no need to copy
+            TruffleString result = new TruffleString(data, offset, length, Encoding.LATIN_1);
+            result.codeRange = CodeRange.ASCII;
+            return result;
+        }
+        String value = new String((byte[]) data, offset, length, StandardCharsets.UTF_8);
+        return fromJavaString(value);
+    }
+
+    @TruffleBoundary
+    private CodeRange computeCodeRange() {
+        switch (encoding) {
+            case LATIN_1:
+                return computeLatin1CodeRange((byte[]) data, offset, length);
+            case UTF_16:
+                return computeUTF16CodeRange((char[]) data, offset, length);
+            case UTF_8:
+                return computeUTF8CodeRange((byte[]) data, offset, length);
+            default:
+                throw new AssertionError(encoding);
+        }
+    }
+
+    private static CodeRange computeLatin1CodeRange(byte[] bytes, int fromIndex, int len) {
+        for (int i = fromIndex; i < fromIndex + len; i++) {
+            if (bytes[i] < 0) {
+                return CodeRange.LATIN_1;
+            }
+        }
+        return CodeRange.ASCII;
+    }
+
+    private static CodeRange computeUTF16CodeRange(char[] chars, int fromIndex, int len) {
+        int end = fromIndex + len;
+        int max = 0;
+        boolean supplementary = false;
+        for (int i = fromIndex; i < end; i++) {
+            char c = chars[i];
+            if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                supplementary = true;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                return CodeRange.BROKEN;
+            } else {
+                max = Math.max(max, c);
+            }
+        }
+        return supplementary ? CodeRange.VALID : codeRangeOf(max);
+    }
+
+    private static CodeRange computeUTF8CodeRange(byte[] bytes, int fromIndex, int len) {
+        int end = fromIndex + len;
+        int max = 0;
+        int i = fromIndex;
+        while (i < end) {
+            int b = bytes[i] & 0xFF;
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+            int continuationBytes;
+            int codePoint;
+            int minCodePoint;
+            if ((b & 0xE0) == 0xC0) {
+                continuationBytes = 1;
+                codePoint = b & 0x1F;
+                minCodePoint = 0x80;
+            } else if ((b & 0xF0) == 0xE0) {
+                continuationBytes = 2;
+                codePoint = b & 0x0F;
+                minCodePoint = 0x800;
+            } else if ((b & 0xF8) == 0xF0) {
+                continuationBytes = 3;
+                codePoint = b & 0x07;
+                minCodePoint = 0x10000;
+            } else {
+                return CodeRange.BROKEN;
+            }
+            if (i + continuationBytes >= end) {
+                return CodeRange.BROKEN;
+            }
+            for (int k = 1; k <= continuationBytes; k++) {
+                int c = bytes[i + k] & 0xFF;
+                if ((c & 0xC0) != 0x80) {
+                    return CodeRange.BROKEN;
+                }
+                codePoint = (codePoint << 6) | (c & 0x3F);
+            }
+            if (codePoint < minCodePoint || codePoint > Character.MAX_CODE_POINT || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                return CodeRange.BROKEN;
+            }
+            max = Math.max(max, codePoint);
+            i += continuationBytes + 1;
+        }
+        return max >= Character.MIN_SUPPLEMENTARY_CODE_POINT ? CodeRange.VALID : codeRangeOf(max);
+    }
+
+    private static CodeRange codeRangeOf(int maxChar) {
+        if (maxChar < 0x80) {
+            return CodeRange.ASCII;
+        } else if (maxChar < 0x100) {
+            return CodeRange.LATIN_1;
+        } else {
+            return CodeRange.BMP;
+        }
+    }
+
+    private static void checkBounds(int fromIndex, int toIndex, int len) {
+        if (fromIndex < 0 || toIndex > len || fromIndex > toIndex) {
+            throw outOfBounds(fromIndex, toIndex, len);
+        }
+    }
+
+    @TruffleBoundary
+    private static IndexOutOfBoundsException outOfBounds(int fromIndex, int toIndex, int len) {
+        return new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", " + toIndex + ") for length " + len + ".");
+    }
+
+    @TruffleBoundary
+    private static IndexOutOfBoundsException outOfBounds(int index, int len) {
+        return new IndexOutOfBoundsException("Invalid index " + index + " for length " + len + ".");
+    }
+
+}
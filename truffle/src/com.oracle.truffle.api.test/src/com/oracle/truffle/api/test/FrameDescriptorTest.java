@@ -207,4 +207,60 @@ public class FrameDescriptorTest {
         assertEquals("c", frame.getObject(slot3));
         assertEquals("d", frame.getObject(slot4));
     }
+
+    @Test
+    public void indexedSlots() throws FrameSlotTypeException {
+        FrameDescriptor.Builder builder = FrameDescriptor.newBuilder().defaultValue("default");
+        int i1 = builder.addSlot(FrameSlotKind.Illegal, "v1", "i1");
+        int i2 = builder.addSlot(FrameSlotKind.Long, "v2", null);
+        int i3 = builder.addSlots(2, FrameSlotKind.Object);
+        FrameDescriptor d = builder.build();
+
+        assertEquals(0, i1);
+        assertEquals(1, i2);
+        assertEquals(2, i3);
+        assertEquals(4, d.getNumberOfSlots());
+        assertEquals(4, d.getSize());
+        assertEquals("v1", d.getSlotName(i1));
+        assertEquals("i1", d.getSlotInfo(i1));
+        assertNull(d.getSlotName(i3 + 1));
+        assertEquals(FrameSlotKind.Illegal, d.getSlotKind(i1));
+        assertEquals(FrameSlotKind.Long, d.getSlotKind(i2));
+
+        Assumption version = d.getVersion();
+        d.setSlotKind(i1, FrameSlotKind.Int);
+        assertEquals(FrameSlotKind.Int, d.getSlotKind(i1));
+        assertTrue("Indexed slot kinds do not invalidate the version", version.isValid());
+
+        s1 = d.addFrameSlot("legacy");
+        assertEquals("Frame slots follow the indexed slots", 5, d.getSize());
+
+        VirtualFrame f = Truffle.getRuntime().createVirtualFrame(new Object[0], d);
+        assertEquals("default", f.getValue(i1));
+        f.setInt(i1, 42);
+        f.setLong(i2, 43L);
+        f.setObject(i3, "o");
+        f.setObject(s1, "legacy");
+        assertTrue(f.isInt(i1));
+        assertFalse(f.isLong(i1));
+        assertEquals(42, f.getInt(i1));
+        assertEquals(43L, f.getLong(i2));
+        assertEquals("o", f.getObject(i3));
+        assertEquals("legacy", f.getObject(s1));
+        try {
+            f.getLong(i1);
+            fail();
+        } catch (FrameSlotTypeException e) {
+            // expected
+        }
+
+        Frame materialized = f.materialize();
+        assertEquals(42, materialized.getValue(i1));
+        assertEquals(FrameSlotKind.Int.tag, materialized.getTag(i1));
+
+        FrameDescriptor copy = d.copy();
+        assertEquals(4, copy.getNumberOfSlots());
+        assertEquals("v1", copy.getSlotName(i1));
+        assertEquals("Kind isn't copied", FrameSlotKind.Illegal, copy.getSlotKind(i2));
+    }
 }
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.polyglot;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.graalvm.polyglot.Value;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+public class BufferInteropTest extends AbstractPolyglotTest {
+
+    @Before
+    public void before() {
+        setupEnv();
+    }
+
+    @Test
+    public void testHostByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.BIG_ENDIAN);
+        Value value = context.asValue(buffer);
+        assertTrue(value.hasBufferElements());
+        assertTrue(value.isBufferWritable());
+        assertEquals(16, value.getBufferSize());
+
+        value.writeBufferByte(0, (byte) 42);
+        assertEquals(42, buffer.get(0));
+        assertEquals(42, value.readBufferByte(0));
+
+        value.writeBufferInt(ByteOrder.LITTLE_ENDIAN, 1, 0x01020304);
+        assertEquals(0x04030201, buffer.getInt(1));
+        assertEquals(0x01020304, value.readBufferInt(ByteOrder.LITTLE_ENDIAN, 1));
+        assertEquals(0x04030201, value.readBufferInt(ByteOrder.BIG_ENDIAN, 1));
+
+        value.writeBufferShort(ByteOrder.BIG_ENDIAN, 5, (short) 0x0102);
+        assertEquals((short) 0x0102, value.readBufferShort(ByteOrder.BIG_ENDIAN, 5));
+        assertEquals((short) 0x0201, value.readBufferShort(ByteOrder.LITTLE_ENDIAN, 5));
+
+        value.writeBufferLong(ByteOrder.LITTLE_ENDIAN, 8, 0x0102030405060708L);
+        assertEquals(0x0807060504030201L, buffer.getLong(8));
+        assertEquals(0x0102030405060708L, value.readBufferLong(ByteOrder.LITTLE_ENDIAN, 8));
+
+        value.writeBufferFloat(ByteOrder.LITTLE_ENDIAN, 0, 1.5f);
+        assertEquals(1.5f, value.readBufferFloat(ByteOrder.LITTLE_ENDIAN, 0), 0f);
+        value.writeBufferDouble(ByteOrder.BIG_ENDIAN, 8, 2.5d);
+        assertEquals(2.5d, buffer.getDouble(8), 0d);
+        assertEquals(2.5d, value.readBufferDouble(ByteOrder.BIG_ENDIAN, 8), 0d);
+
+        byte[] bytes = new byte[4];
+        value.readBuffer(8, bytes, 1, 3);
+        assertArrayEquals(new byte[]{0, buffer.get(8), buffer.get(9), buffer.get(10)}, bytes);
+    }
+
+    @Test
+    public void testHostByteBufferErrors() {
+        Value value = context.asValue(ByteBuffer.allocate(8));
+        assertFails(() -> value.readBufferByte(-1), IndexOutOfBoundsException.class);
+        assertFails(() -> value.readBufferByte(8), IndexOutOfBoundsException.class);
+        assertFails(() -> value.readBufferLong(ByteOrder.BIG_ENDIAN, 1), IndexOutOfBoundsException.class);
+        assertFails(() -> value.writeBufferInt(ByteOrder.BIG_ENDIAN, 5, 0), IndexOutOfBoundsException.class);
+        assertFails(() -> value.readBuffer(4, new byte[8], 0, 8), IndexOutOfBoundsException.class);
+
+        Value readOnly = context.asValue(ByteBuffer.allocate(8).asReadOnlyBuffer());
+        assertTrue(readOnly.hasBufferElements());
+        assertFalse(readOnly.isBufferWritable());
+        assertEquals(0, readOnly.readBufferLong(ByteOrder.BIG_ENDIAN, 0));
+        assertFails(() -> readOnly.writeBufferByte(0, (byte) 0), UnsupportedOperationException.class);
+
+        Value noBuffer = context.asValue(new Object());
+        assertFalse(noBuffer.hasBufferElements());
+        assertFails(() -> noBuffer.getBufferSize(), UnsupportedOperationException.class);
+        assertFails(() -> noBuffer.readBufferByte(0), UnsupportedOperationException.class);
+        assertFails(() -> noBuffer.readBufferInt(ByteOrder.BIG_ENDIAN, 0), UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testInteropLibrary() throws UnsupportedMessageException, InvalidBufferOffsetException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        Object guest = languageEnv.asGuestValue(buffer);
+        assertTrue(INTEROP.hasBufferElements(guest));
+        assertEquals(8, INTEROP.getBufferSize(guest));
+        INTEROP.writeBufferInt(guest, ByteOrder.nativeOrder(), 2, 0xCAFEBABE);
+        assertEquals(0xCAFEBABE, buffer.order(ByteOrder.nativeOrder()).getInt(2));
+        assertEquals(0xCAFEBABE, INTEROP.readBufferInt(guest, ByteOrder.nativeOrder(), 2));
+        try {
+            INTEROP.readBufferShort(guest, ByteOrder.BIG_ENDIAN, 7);
+            throw new AssertionError();
+        } catch (InvalidBufferOffsetException e) {
+            assertEquals(7, e.getByteOffset());
+            assertEquals(2, e.getLength());
+        }
+
+        Object noBuffer = languageEnv.asGuestValue(new int[4]);
+        assertFalse(INTEROP.hasBufferElements(noBuffer));
+        assertFails(() -> INTEROP.getBufferSize(noBuffer), UnsupportedMessageException.class);
+    }
+
+    @Test
+    public void testDefaultReadBuffer() throws UnsupportedMessageException, InvalidBufferOffsetException {
+        TestBuffer buffer = new TestBuffer(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        byte[] bytes = new byte[4];
+        INTEROP.readBuffer(buffer, 5, bytes, 1, 3);
+        assertArrayEquals(new byte[]{0, 6, 7, 8}, bytes);
+
+        byte[] untouched = new byte[8];
+        assertInvalidBufferOffset(() -> INTEROP.readBuffer(buffer, 6, untouched, 0, 4), 6, 4);
+        assertInvalidBufferOffset(() -> INTEROP.readBuffer(buffer, -1, untouched, 0, 4), -1, 4);
+        assertInvalidBufferOffset(() -> INTEROP.readBuffer(buffer, 0, untouched, 0, -1), 0, -1);
+        assertArrayEquals(new byte[8], untouched);
+        assertFails(() -> {
+            INTEROP.readBuffer(buffer, 0, untouched, 6, 4);
+            return null;
+        }, IndexOutOfBoundsException.class);
+        assertFails(() -> {
+            INTEROP.readBuffer(buffer, 0, untouched, -1, 4);
+            return null;
+        }, IndexOutOfBoundsException.class);
+        assertArrayEquals(new byte[8], untouched);
+    }
+
+    private static void assertInvalidBufferOffset(InteropCallable callable, long byteOffset, long length) throws UnsupportedMessageException {
+        try {
+            callable.call();
+            throw new AssertionError();
+        } catch (InvalidBufferOffsetException e) {
+            assertEquals(byteOffset, e.getByteOffset());
+            assertEquals(length, e.getLength());
+        }
+    }
+
+    private interface InteropCallable {
+
+        void call() throws UnsupportedMessageException, InvalidBufferOffsetException;
+
+    }
+
+    /**
+     * A buffer that does not export the bulk {@link InteropLibrary#readBuffer} message.
+     */
+    @ExportLibrary(InteropLibrary.class)
+    static final class TestBuffer implements TruffleObject {
+
+        private final ByteBuffer buffer;
+
+        TestBuffer(byte[] bytes) {
+            this.buffer = ByteBuffer.wrap(bytes);
+        }
+
+        @ExportMessage
+        @SuppressWarnings("static-method")
+        boolean hasBufferElements() {
+            return true;
+        }
+
+        @ExportMessage
+        @SuppressWarnings("static-method")
+        boolean isBufferWritable() {
+            return true;
+        }
+
+        @ExportMessage
+        long getBufferSize() {
+            return buffer.capacity();
+        }
+
+        @ExportMessage
+        byte readBufferByte(long byteOffset) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Byte.BYTES);
+            return buffer.get((int) byteOffset);
+        }
+
+        @ExportMessage
+        short readBufferShort(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Short.BYTES);
+            return buffer.duplicate().order(order).getShort((int) byteOffset);
+        }
+
+        @ExportMessage
+        int readBufferInt(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Integer.BYTES);
+            return buffer.duplicate().order(order).getInt((int) byteOffset);
+        }
+
+        @ExportMessage
+        long readBufferLong(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Long.BYTES);
+            return buffer.duplicate().order(order).getLong((int) byteOffset);
+        }
+
+        @ExportMessage
+        float readBufferFloat(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Float.BYTES);
+            return buffer.duplicate().order(order).getFloat((int) byteOffset);
+        }
+
+        @ExportMessage
+        double readBufferDouble(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Double.BYTES);
+            return buffer.duplicate().order(order).getDouble((int) byteOffset);
+        }
+
+        @ExportMessage
+        void writeBufferByte(long byteOffset, byte value) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Byte.BYTES);
+            buffer.put((int) byteOffset, value);
+        }
+
+        @ExportMessage
+        void writeBufferShort(ByteOrder order, long byteOffset, short value) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Short.BYTES);
+            buffer.duplicate().order(order).putShort((int) byteOffset, value);
+        }
+
+        @ExportMessage
+        void writeBufferInt(ByteOrder order, long byteOffset, int value) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Integer.BYTES);
+            buffer.duplicate().order(order).putInt((int) byteOffset, value);
+        }
+
+        @ExportMessage
+        void writeBufferLong(ByteOrder order, long byteOffset, long value) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Long.BYTES);
+            buffer.duplicate().order(order).putLong((int) byteOffset, value);
+        }
+
+        @ExportMessage
+        void writeBufferFloat(ByteOrder order, long byteOffset, float value) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Float.BYTES);
+            buffer.duplicate().order(order).putFloat((int) byteOffset, value);
+        }
+
+        @ExportMessage
+        void writeBufferDouble(ByteOrder order, long byteOffset, double value) throws InvalidBufferOffsetException {
+            checkOffset(byteOffset, Double.BYTES);
+            buffer.duplicate().order(order).putDouble((int) byteOffset, value);
+        }
+
+        private void checkOffset(long byteOffset, int length) throws InvalidBufferOffsetException {
+            if (byteOffset < 0 || byteOffset > buffer.capacity() - length) {
+                throw InvalidBufferOffsetException.create(byteOffset, length);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.polyglot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.nodes.RootNode;
+
+public class EngineCacheTest {
+
+    private final List<String> parsed = Collections.synchronizedList(new ArrayList<>());
+    private Path cacheFile;
+
+    @Before
+    public void setup() throws IOException {
+        cacheFile = Files.createTempFile("engine", ".cache");
+        Files.delete(cacheFile);
+        ProxyLanguage.setDelegate(new ProxyLanguage() {
+            @Override
+            protected CallTarget parse(ParsingRequest request) throws Exception {
+                parsed.add(request.getSource().getName());
+                return Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(42));
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(cacheFile);
+        ProxyLanguage.setDelegate(new ProxyLanguage());
+    }
+
+    private Engine createEngine(String option) {
+        return Engine.newBuilder().allowExperimentalOptions(true).option(option, cacheFile.toString()).build();
+    }
+
+    private static Source source(String name) {
+        return Source.newBuilder(ProxyLanguage.ID, name + " content", name).buildLiteral();
+    }
+
+    @Test
+    public void testStoreAndLoad() {
+        try (Engine engine = createEngine("engine.CacheStore")) {
+            try (Context context = Context.newBuilder().engine(engine).build()) {
+                context.eval(source("a"));
+                context.eval(source("b"));
+            }
+        }
+        assertTrue(Files.exists(cacheFile));
+        assertEquals(Arrays.asList("a", "b"), parsed);
+
+        parsed.clear();
+        try (Engine engine = createEngine("engine.CacheLoad")) {
+            try (Context context = Context.newBuilder().engine(engine).build()) {
+                context.initialize(ProxyLanguage.ID);
+                assertEquals(Arrays.asList("a", "b"), parsed);
+                assertEquals(42, context.eval(source("a")).asInt());
+                assertEquals(42, context.eval(source("b")).asInt());
+                assertEquals(Arrays.asList("a", "b"), parsed);
+            }
+            try (Context context = Context.newBuilder().engine(engine).build()) {
+                context.eval(source("a"));
+                assertEquals(Arrays.asList("a", "b"), parsed);
+            }
+        }
+    }
+
+    @Test
+    public void testMissingCacheFile() {
+        try (Engine engine = createEngine("engine.CacheLoad")) {
+            try (Context context = Context.newBuilder().engine(engine).build()) {
+                context.initialize(ProxyLanguage.ID);
+                assertTrue(parsed.isEmpty());
+                context.eval(source("a"));
+                assertEquals(Arrays.asList("a"), parsed);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidCacheFile() throws IOException {
+        Files.write(cacheFile, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        try (Engine engine = createEngine("engine.CacheLoad")) {
+            try (Context context = Context.newBuilder().engine(engine).build()) {
+                context.initialize(ProxyLanguage.ID);
+                assertTrue(parsed.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testCorruptLength() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(cacheFile))) {
+            out.writeInt(0x54434143);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(Integer.MAX_VALUE);
+        }
+        try (Engine engine = createEngine("engine.CacheLoad")) {
+            try (Context context = Context.newBuilder().engine(engine).build()) {
+                context.initialize(ProxyLanguage.ID);
+                assertTrue(parsed.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testFileSourceRequiresIO() throws IOException {
+        Path file = Files.createTempFile("engine", ".source");
+        try {
+            Files.write(file, "file content".getBytes());
+            try (Engine engine = createEngine("engine.CacheStore")) {
+                try (Context context = Context.newBuilder().engine(engine).allowIO(true).build()) {
+                    context.eval(Source.newBuilder(ProxyLanguage.ID, file.toFile()).name("file").build());
+                    context.eval(source("a"));
+                }
+            }
+            assertEquals(Arrays.asList("file", "a"), parsed);
+
+            parsed.clear();
+            try (Engine engine = createEngine("engine.CacheLoad")) {
+                try (Context context = Context.newBuilder().engine(engine).build()) {
+                    context.initialize(ProxyLanguage.ID);
+                    assertEquals(Arrays.asList("a"), parsed);
+                }
+            }
+
+            parsed.clear();
+            try (Engine engine = createEngine("engine.CacheLoad")) {
+                try (Context context = Context.newBuilder().engine(engine).allowIO(true).build()) {
+                    context.initialize(ProxyLanguage.ID);
+                    assertEquals(Arrays.asList("file", "a"), parsed);
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.polyglot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.api.interop.UnknownKeyException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+
+public class HashInteropTest extends AbstractPolyglotTest {
+
+    @Test
+    public void testHostMap() {
+        setupEnv();
+        Map<Object, Object> map = new HashMap<>();
+        map.put("a", 1);
+        map.put(42, "b");
+        Value value = context.asValue(map);
+        assertTrue(value.hasHashEntries());
+        assertEquals(2, value.getHashSize());
+
+        assertTrue(value.hasHashEntry("a"));
+        assertTrue(value.hasHashEntry(42));
+        assertFalse(value.hasHashEntry("b"));
+        assertEquals(1, value.getHashValue("a").asInt());
+        assertEquals("b", value.getHashValue(42).asString());
+        assertNull(value.getHashValue("b"));
+        assertEquals(1, value.getHashValueOrDefault("a", 7).asInt());
+        assertEquals(7, value.getHashValueOrDefault("b", 7).asInt());
+
+        value.putHashEntry("a", 2);
+        value.putHashEntry("c", 3);
+        assertEquals(2, map.get("a"));
+        assertEquals(3, map.get("c"));
+        assertEquals(3, value.getHashSize());
+
+        assertTrue(value.removeHashEntry("c"));
+        assertFalse(value.removeHashEntry("c"));
+        assertFalse(map.containsKey("c"));
+
+        Value keys = value.getHashKeys();
+        assertTrue(keys.hasArrayElements());
+        assertEquals(2, keys.getArraySize());
+        map.put("d", 4);
+        assertEquals(2, keys.getArraySize());
+    }
+
+    @Test
+    public void testHostMapErrors() {
+        setupEnv();
+        Value readOnly = context.asValue(Collections.singletonMap("a", 1));
+        assertTrue(readOnly.hasHashEntries());
+        assertEquals(1, readOnly.getHashValue("a").asInt());
+        assertFails(() -> readOnly.putHashEntry("a", 2), UnsupportedOperationException.class);
+        assertFails(() -> readOnly.removeHashEntry("a"), UnsupportedOperationException.class);
+        assertFalse(readOnly.removeHashEntry("b"));
+
+        Value noHash = context.asValue(new Object());
+        assertFalse(noHash.hasHashEntries());
+        assertFalse(noHash.hasHashEntry("a"));
+        assertFails(() -> noHash.getHashSize(), UnsupportedOperationException.class);
+        assertFails(() -> noHash.getHashValue("a"), UnsupportedOperationException.class);
+        assertFails(() -> noHash.putHashEntry("a", 1), UnsupportedOperationException.class);
+        assertFails(() -> noHash.getHashKeys(), UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testMapAccessDisabled() {
+        setupEnv(Context.newBuilder().allowHostAccess(HostAccess.newBuilder().allowPublicAccess(true).build()).build());
+        Value value = context.asValue(new HashMap<>());
+        assertFalse(value.hasHashEntries());
+        assertFails(() -> value.getHashSize(), UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testInteropLibrary() throws UnsupportedMessageException, UnknownKeyException {
+        setupEnv();
+        Map<Object, Object> map = new HashMap<>();
+        map.put("a", 1);
+        Object guest = languageEnv.asGuestValue(map);
+        assertTrue(INTEROP.hasHashEntries(guest));
+        assertEquals(1, INTEROP.getHashSize(guest));
+        assertTrue(INTEROP.isHashEntryReadable(guest, "a"));
+        assertTrue(INTEROP.isHashEntryModifiable(guest, "a"));
+        assertTrue(INTEROP.isHashEntryRemovable(guest, "a"));
+        assertFalse(INTEROP.isHashEntryInsertable(guest, "a"));
+        assertTrue(INTEROP.isHashEntryInsertable(guest, "b"));
+        assertTrue(INTEROP.isHashEntryExisting(guest, "a"));
+        assertEquals(1, INTEROP.readHashValue(guest, "a"));
+        assertEquals(2, INTEROP.readHashValueOrDefault(guest, "b", 2));
+        assertFails(() -> INTEROP.readHashValue(guest, "b"), UnknownKeyException.class);
+        assertEquals(1, INTEROP.getArraySize(INTEROP.getHashKeys(guest)));
+
+        Object noHash = languageEnv.asGuestValue(new Object());
+        assertFalse(INTEROP.hasHashEntries(noHash));
+        assertFalse(INTEROP.isHashEntryReadable(noHash, "a"));
+        assertFails(() -> INTEROP.getHashSize(noHash), UnsupportedMessageException.class);
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.polyglot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.junit.Test;
+
+import com.oracle.truffle.api.interop.StopIterationException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+
+public class IteratorInteropTest extends AbstractPolyglotTest {
+
+    /**
+     * An unbounded sequence that cannot be materialized into an array.
+     */
+    static final class Naturals implements Iterable<Integer> {
+
+        int produced;
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+
+                @Override
+                public boolean hasNext() {
+                    return true;
+                }
+
+                @Override
+                public Integer next() {
+                    return produced++;
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testHostIterable() {
+        setupEnv();
+        Naturals naturals = new Naturals();
+        Value value = context.asValue(naturals);
+        assertTrue(value.hasIterator());
+        assertFalse(value.hasArrayElements());
+        Value iterator = value.getIterator();
+        assertTrue(iterator.isIterator());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(iterator.hasIteratorNextElement());
+            assertEquals(i, iterator.getIteratorNextElement().asInt());
+        }
+        // elements are produced lazily
+        assertEquals(5, naturals.produced);
+    }
+
+    @Test
+    public void testHostArrayAndList() {
+        setupEnv();
+        assertElements(context.asValue(new int[]{1, 2, 3}).getIterator(), 1, 2, 3);
+        assertElements(context.asValue(Arrays.asList(1, 2, 3)).getIterator(), 1, 2, 3);
+        assertElements(context.asValue(Arrays.asList(1, 2, 3).iterator()), 1, 2, 3);
+        assertElements(context.asValue(ProxyArray.fromArray(1, 2, 3)).getIterator(), 1, 2, 3);
+    }
+
+    @Test
+    public void testHashKeysIterator() {
+        setupEnv();
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put(1, "a");
+        map.put(2, "b");
+        assertElements(context.asValue(map).getHashKeysIterator(), 1, 2);
+    }
+
+    @Test
+    public void testErrors() {
+        setupEnv();
+        Value empty = context.asValue(new int[0]).getIterator();
+        assertFalse(empty.hasIteratorNextElement());
+        assertFails(() -> empty.getIteratorNextElement(), NoSuchElementException.class);
+
+        Value noIterator = context.asValue(new Object());
+        assertFalse(noIterator.hasIterator());
+        assertFalse(noIterator.isIterator());
+        assertFails(() -> noIterator.getIterator(), UnsupportedOperationException.class);
+        assertFails(() -> noIterator.hasIteratorNextElement(), UnsupportedOperationException.class);
+        assertFails(() -> noIterator.getIteratorNextElement(), UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testIteratorAccessDisabled() {
+        setupEnv(Context.newBuilder().allowHostAccess(HostAccess.newBuilder().allowPublicAccess(true).build()).build());
+        assertFalse(context.asValue(new Naturals()).hasIterator());
+        assertFalse(context.asValue(new Naturals().iterator()).isIterator());
+    }
+
+    @Test
+    public void testInteropLibrary() throws UnsupportedMessageException, StopIterationException {
+        setupEnv();
+        Object guest = languageEnv.asGuestValue(new Naturals());
+        assertTrue(INTEROP.hasIterator(guest));
+        Object iterator = INTEROP.getIterator(guest);
+        assertTrue(INTEROP.isIterator(iterator));
+        assertEquals(0, INTEROP.getIteratorNextElement(iterator));
+        assertEquals(1, INTEROP.getIteratorNextElement(iterator));
+
+        Object noIterator = languageEnv.asGuestValue(new Object());
+        assertFalse(INTEROP.hasIterator(noIterator));
+        assertFails(() -> INTEROP.getIterator(noIterator), UnsupportedMessageException.class);
+        assertFails(() -> INTEROP.getIteratorNextElement(noIterator), UnsupportedMessageException.class);
+    }
+
+    private static void assertElements(Value iterator, int... expected) {
+        assertTrue(iterator.isIterator());
+        for (int element : expected) {
+            assertTrue(iterator.hasIteratorNextElement());
+            assertEquals(element, iterator.getIteratorNextElement().asInt());
+        }
+        assertFalse(iterator.hasIteratorNextElement());
+        assertFails(() -> iterator.getIteratorNextElement(), NoSuchElementException.class);
+    }
+
+}
@@ -743,6 +743,86 @@ public class ValueHostInteropTest extends AbstractPolyglotTest {
         }
     }
 
+    public static class Arities {
+        public final String prefix;
+
+        public Arities(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public Arities(String prefix, int a, long b, String c) {
+            this.prefix = prefix + a + b + c;
+        }
+
+        public String m0() {
+            return prefix;
+        }
+
+        public String m1(int a) {
+            return prefix + a;
+        }
+
+        public String m2(int a, double b) {
+            return prefix + a + b;
+        }
+
+        public String m3(int a, double b, String c) {
+            return prefix + a + b + c;
+        }
+
+        public String m4(int a, double b, String c, long d) {
+            return prefix + a + b + c + d;
+        }
+
+        public static int s0() {
+            return 0;
+        }
+
+        public static int s3(int a, int b, int c) {
+            return a + b + c;
+        }
+
+        public static int s5(int a, int b, int c, int d, int e) {
+            return a + b + c + d + e;
+        }
+
+        public static int sVarArgs(int a, int... rest) {
+            int sum = a;
+            for (int r : rest) {
+                sum += r;
+            }
+            return sum;
+        }
+    }
+
+    @Test
+    public void testInvokeArities() {
+        Value arities = context.asValue(new Arities("p"));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("p", arities.invokeMember("m0").asString());
+            assertEquals("p1", arities.invokeMember("m1", 1).asString());
+            assertEquals("p12.5", arities.invokeMember("m2", 1, 2.5).asString());
+            assertEquals("p12.5c", arities.invokeMember("m3", 1, 2.5, "c").asString());
+            assertEquals("p12.5c4", arities.invokeMember("m4", 1, 2.5, "c", 4L).asString());
+            assertEquals(0, arities.invokeMember("s0").asInt());
+            assertEquals(6, arities.invokeMember("s3", 1, 2, 3).asInt());
+            assertEquals(15, arities.invokeMember("s5", 1, 2, 3, 4, 5).asInt());
+            assertEquals(1, arities.invokeMember("sVarArgs", 1).asInt());
+            assertEquals(10, arities.invokeMember("sVarArgs", 1, 2, 3, 4).asInt());
+        }
+        Value aritiesClass = context.asValue(Arities.class);
+        assertEquals("q", aritiesClass.newInstance("q").invokeMember("m0").asString());
+        assertEquals("q12c", aritiesClass.newInstance("q", 1, 2, "c").invokeMember("m0").asString());
+        Value m3 = arities.getMember("m3");
+        assertEquals("p12.5c", m3.execute(1, 2.5, "c").asString());
+        try {
+            m3.execute("a", 2.5, "c");
+            fail("IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // O.K.
+        }
+    }
+
     private static final TypeLiteral<Map<String, String>> MAP_STRING_STRING = new TypeLiteral<Map<String, String>>() {
     };
 
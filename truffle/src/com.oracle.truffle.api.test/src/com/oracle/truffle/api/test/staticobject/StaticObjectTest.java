@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.staticobject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.staticobject.StaticObject;
+import com.oracle.truffle.api.staticobject.StaticProperty;
+import com.oracle.truffle.api.staticobject.StaticPropertyKind;
+import com.oracle.truffle.api.staticobject.StaticShape;
+
+public class StaticObjectTest {
+
+    @Test
+    public void allKinds() {
+        StaticShape.Builder builder = StaticShape.newBuilder();
+        StaticProperty[] properties = new StaticProperty[StaticPropertyKind.values().length];
+        for (StaticPropertyKind kind : StaticPropertyKind.values()) {
+            properties[kind.ordinal()] = new StaticProperty(kind.name(), kind);
+            builder.property(properties[kind.ordinal()]);
+        }
+        StaticShape shape = builder.build();
+        assertEquals(1 + 1 + 2 + 2 + 4 + 8 + 4 + 8, shape.getPrimitiveStorageSize());
+        assertEquals(properties.length, shape.getProperties().size());
+
+        StaticObject o = shape.newInstance();
+        assertSame(shape, o.getShape());
+        assertFalse(properties[StaticPropertyKind.Boolean.ordinal()].getBoolean(o));
+        assertEquals(0L, properties[StaticPropertyKind.Long.ordinal()].getLong(o));
+        assertNull(properties[StaticPropertyKind.Object.ordinal()].getObject(o));
+
+        properties[StaticPropertyKind.Boolean.ordinal()].setBoolean(o, true);
+        properties[StaticPropertyKind.Byte.ordinal()].setByte(o, (byte) 1);
+        properties[StaticPropertyKind.Char.ordinal()].setChar(o, 'c');
+        properties[StaticPropertyKind.Short.ordinal()].setShort(o, (short) 3);
+        properties[StaticPropertyKind.Int.ordinal()].setInt(o, 4);
+        properties[StaticPropertyKind.Long.ordinal()].setLong(o, Long.MIN_VALUE);
+        properties[StaticPropertyKind.Float.ordinal()].setFloat(o, 6.5f);
+        properties[StaticPropertyKind.Double.ordinal()].setDouble(o, 7.5d);
+        properties[StaticPropertyKind.Object.ordinal()].setObject(o, "object");
+
+        assertTrue(properties[StaticPropertyKind.Boolean.ordinal()].getBoolean(o));
+        assertEquals((byte) 1, properties[StaticPropertyKind.Byte.ordinal()].getByte(o));
+        assertEquals('c', properties[StaticPropertyKind.Char.ordinal()].getChar(o));
+        assertEquals((short) 3, properties[StaticPropertyKind.Short.ordinal()].getShort(o));
+        assertEquals(4, properties[StaticPropertyKind.Int.ordinal()].getInt(o));
+        assertEquals(Long.MIN_VALUE, properties[StaticPropertyKind.Long.ordinal()].getLong(o));
+        assertEquals(6.5f, properties[StaticPropertyKind.Float.ordinal()].getFloat(o), 0);
+        assertEquals(7.5d, properties[StaticPropertyKind.Double.ordinal()].getDouble(o), 0);
+        assertEquals("object", properties[StaticPropertyKind.Object.ordinal()].getObject(o));
+
+        assertTrue(properties[StaticPropertyKind.Object.ordinal()].compareAndSwapObject(o, "object", "swapped"));
+        assertFalse(properties[StaticPropertyKind.Object.ordinal()].compareAndSwapObject(o, "object", "other"));
+        assertEquals("swapped", properties[StaticPropertyKind.Object.ordinal()].getObject(o));
+    }
+
+    @Test
+    public void independentInstances() {
+        StaticProperty x = new StaticProperty("x", StaticPropertyKind.Int);
+        StaticProperty y = new StaticProperty("y", StaticPropertyKind.Int);
+        StaticShape shape = StaticShape.newBuilder().property(x).property(y).build();
+        assertSame(x, shape.getProperty("x"));
+        assertNull(shape.getProperty("z"));
+
+        StaticObject o1 = shape.newInstance();
+        StaticObject o2 = shape.newInstance();
+        x.setInt(o1, 1);
+        y.setInt(o1, 2);
+        x.setInt(o2, 3);
+        assertEquals(1, x.getInt(o1));
+        assertEquals(2, y.getInt(o1));
+        assertEquals(3, x.getInt(o2));
+        assertEquals(0, y.getInt(o2));
+    }
+
+    @Test
+    public void wrongKind() {
+        StaticProperty x = new StaticProperty("x", StaticPropertyKind.Int);
+        StaticShape shape = StaticShape.newBuilder().property(x).build();
+        try {
+            x.getLong(shape.newInstance());
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void wrongShape() {
+        StaticProperty x = new StaticProperty("x", StaticPropertyKind.Object);
+        StaticShape.newBuilder().property(x).build();
+        StaticShape other = StaticShape.newBuilder().property(new StaticProperty("x", StaticPropertyKind.Object)).build();
+        try {
+            x.getObject(other.newInstance());
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void invalidBuilder() {
+        StaticProperty x = new StaticProperty("x", StaticPropertyKind.Int);
+        try {
+            StaticShape.newBuilder().property(x).property(new StaticProperty("x", StaticPropertyKind.Long));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        StaticShape.newBuilder().property(x).build();
+        try {
+            StaticShape.newBuilder().property(x);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void propertyClaimedByBuild() {
+        StaticProperty x = new StaticProperty("x", StaticPropertyKind.Int);
+        StaticProperty y = new StaticProperty("y", StaticPropertyKind.Int);
+        StaticShape.Builder builder = StaticShape.newBuilder().property(x).property(y);
+        StaticShape.Builder other = StaticShape.newBuilder().property(y);
+        StaticShape shape = builder.build();
+        StaticObject o = shape.newInstance();
+        x.setInt(o, 1);
+        y.setInt(o, 2);
+        try {
+            builder.build();
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            other.build();
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertSame(shape, x.getShape());
+        assertSame(shape, y.getShape());
+        assertEquals(1, x.getInt(o));
+        assertEquals(2, y.getInt(o));
+    }
+
+    @Test
+    public void subclass() {
+        StaticProperty x = new StaticProperty("x", StaticPropertyKind.Double);
+        StaticShape shape = StaticShape.newBuilder().property(x).build();
+        StaticObject o = new StaticObject(shape) {
+        };
+        x.setDouble(o, 42.0d);
+        assertEquals(42.0d, x.getDouble(o), 0);
+    }
+}
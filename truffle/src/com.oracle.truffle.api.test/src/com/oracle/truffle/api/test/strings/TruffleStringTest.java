@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.test.strings;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleString.CodeRange;
+import com.oracle.truffle.api.strings.TruffleString.Encoding;
+import com.oracle.truffle.api.test.polyglot.AbstractPolyglotTest;
+
+public class TruffleStringTest {
+
+    private static TruffleString utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return TruffleString.fromByteArray(bytes, 0, bytes.length, Encoding.UTF_8);
+    }
+
+    @Test
+    public void compactStorage() {
+        TruffleString latin1 = TruffleString.fromJavaString("caf\u00e9");
+        assertEquals(Encoding.LATIN_1, latin1.getEncoding());
+        assertEquals(CodeRange.LATIN_1, latin1.getCodeRange());
+        assertEquals(4, latin1.length());
+        assertEquals('\u00e9', latin1.charAt(3));
+
+        TruffleString utf16 = TruffleString.fromJavaString("\u20ac1");
+        assertEquals(Encoding.UTF_16, utf16.getEncoding());
+        assertEquals(CodeRange.BMP, utf16.getCodeRange());
+        assertEquals(CodeRange.ASCII, TruffleString.fromJavaString("abc").getCodeRange());
+        assertEquals(CodeRange.VALID, TruffleString.fromJavaString("a\ud83d\ude00").getCodeRange());
+        assertEquals(CodeRange.BROKEN, TruffleString.fromJavaString("a\ud83d").getCodeRange());
+    }
+
+    @Test
+    public void utf8() {
+        TruffleString ascii = utf8("hello");
+        assertEquals(Encoding.UTF_8, ascii.getEncoding());
+        assertEquals(CodeRange.ASCII, ascii.getCodeRange());
+        assertEquals(5, ascii.length());
+        assertEquals('o', ascii.charAt(4));
+
+        TruffleString s = utf8("gr\u00fc\u00df \u20ac \ud83d\ude00");
+        assertEquals(CodeRange.VALID, s.getCodeRange());
+        assertEquals("gr\u00fc\u00df \u20ac \ud83d\ude00", s.toJavaString());
+        assertEquals(9, s.length());
+        assertEquals('\u20ac', s.charAt(5));
+        assertEquals(CodeRange.BMP, utf8("\u20ac").getCodeRange());
+        assertEquals(CodeRange.LATIN_1, utf8("\u00fc").getCodeRange());
+
+        byte[] broken = {'a', (byte) 0xC3};
+        TruffleString brokenString = TruffleString.fromByteArray(broken, 0, broken.length, Encoding.UTF_8);
+        assertEquals(CodeRange.BROKEN, brokenString.getCodeRange());
+        assertEquals(2, brokenString.length());
+        assertEquals('\ufffd', brokenString.charAt(1));
+    }
+
+    @Test
+    public void switchEncoding() {
+        TruffleString s = TruffleString.fromJavaString("abc");
+        TruffleString asUTF8 = s.switchEncoding(Encoding.UTF_8);
+        assertEquals(Encoding.UTF_8, asUTF8.getEncoding());
+        assertEquals(s, asUTF8);
+        assertSame(s, s.switchEncoding(Encoding.LATIN_1));
+        assertEquals(Encoding.UTF_16, s.switchEncoding(Encoding.UTF_16).getEncoding());
+
+        TruffleString euro = TruffleString.fromJavaString("\u20ac");
+        assertArrayEquals("\u20ac".getBytes(StandardCharsets.UTF_8), euro.getBytes(Encoding.UTF_8));
+        assertArrayEquals(new byte[]{'?'}, euro.getBytes(Encoding.LATIN_1));
+        assertEquals(euro, utf8("\u20ac"));
+    }
+
+    @Test
+    public void substringAndConcat() {
+        TruffleString s = TruffleString.fromJavaString("hello world");
+        TruffleString world = s.substring(6, 11);
+        assertEquals("world", world.toJavaString());
+        assertSame(s, s.substring(0, s.length()));
+        AbstractPolyglotTest.assertFails(() -> s.substring(5, 12), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> s.charAt(11), IndexOutOfBoundsException.class);
+
+        TruffleString concat = world.concat(TruffleString.fromJavaString(" \u20ac"));
+        assertEquals("world \u20ac", concat.toJavaString());
+        assertEquals(Encoding.UTF_16, concat.getEncoding());
+        assertEquals(Encoding.LATIN_1, world.concat(world).getEncoding());
+        assertSame(world, world.concat(TruffleString.EMPTY));
+    }
+
+    @Test
+    public void searchAndCompare() {
+        TruffleString s = TruffleString.fromJavaString("abcabc\u20ac");
+        assertEquals(1, s.indexOf('b', 0));
+        assertEquals(4, s.indexOf('b', 2));
+        assertEquals(6, s.indexOf('\u20ac', 0));
+        assertEquals(-1, TruffleString.fromJavaString("abc").indexOf('\u20ac', 0));
+        assertEquals(3, s.indexOf(TruffleString.fromJavaString("abc"), 1));
+        assertEquals(-1, s.indexOf(TruffleString.fromJavaString("abd"), 0));
+        assertTrue(s.regionEquals(3, utf8("abc"), 0, 3));
+        assertFalse(s.regionEquals(5, utf8("abc"), 0, 3));
+
+        assertTrue(TruffleString.fromJavaString("a").compareTo(TruffleString.fromJavaString("b")) < 0);
+        assertTrue(TruffleString.fromJavaString("ab").compareTo(TruffleString.fromJavaString("a")) > 0);
+        assertEquals(0, utf8("\u20ac").compareTo(TruffleString.fromJavaString("\u20ac")));
+        assertNotEquals(TruffleString.fromJavaString("a"), TruffleString.fromJavaString("b"));
+    }
+
+    @Test
+    public void hashCodeMatchesString() {
+        for (String value : new String[]{"", "abc", "caf\u00e9", "\u20ac\ud83d\ude00"}) {
+            assertEquals(value.hashCode(), TruffleString.fromJavaString(value).hashCode());
+            assertEquals(value.hashCode(), utf8(value).hashCode());
+        }
+    }
+
+    @Test
+    public void interop() throws UnsupportedMessageException {
+        TruffleString s = utf8("\u00e4\u00f6\u00fc");
+        InteropLibrary interop = InteropLibrary.getFactory().getUncached();
+        assertTrue(interop.isString(s));
+        assertEquals("\u00e4\u00f6\u00fc", interop.asString(s));
+    }
+
+}
@@ -256,4 +256,251 @@ public interface Frame {
      * @since 0.8 or earlier
      */
     boolean isDouble(FrameSlot slot);
+
+    /**
+     * Read access to an indexed slot of type {@link Object}. Indexed slots are declared using
+     * {@link FrameDescriptor#newBuilder()}.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of this type
+     * @since 20.1
+     */
+    default Object getObject(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type {@link Object}.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setObject(int slot, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type byte.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of this type
+     * @since 20.1
+     */
+    default byte getByte(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type byte.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setByte(int slot, byte value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type boolean.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of this type
+     * @since 20.1
+     */
+    default boolean getBoolean(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type boolean.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setBoolean(int slot, boolean value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type int.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of this type
+     * @since 20.1
+     */
+    default int getInt(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type int.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setInt(int slot, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type long.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of this type
+     * @since 20.1
+     */
+    default long getLong(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type long.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setLong(int slot, long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type float.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of this type
+     * @since 20.1
+     */
+    default float getFloat(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type float.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setFloat(int slot, float value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of type double.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of this type
+     * @since 20.1
+     */
+    default double getDouble(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed slot of type double.
+     *
+     * @param slot the index of the slot
+     * @param value the new value of the slot
+     * @since 20.1
+     */
+    default void setDouble(int slot, double value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed slot of any type.
+     *
+     * @param slot the index of the slot
+     * @return the current value of the slot or the default value if unset
+     * @since 20.1
+     */
+    default Object getValue(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the {@link FrameSlotKind#tag tag} of the value that is currently stored in the
+     * indexed slot. The tag of an unset slot is the tag of {@link FrameSlotKind#Object}.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    default byte getTag(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check whether the given indexed slot is of type Object.
+     *
+     * @since 20.1
+     */
+    default boolean isObject(int slot) {
+        return getTag(slot) == FrameSlotKind.Object.tag;
+    }
+
+    /**
+     * Check whether the given indexed slot is of type byte.
+     *
+     * @since 20.1
+     */
+    default boolean isByte(int slot) {
+        return getTag(slot) == FrameSlotKind.Byte.tag;
+    }
+
+    /**
+     * Check whether the given indexed slot is of type boolean.
+     *
+     * @since 20.1
+     */
+    default boolean isBoolean(int slot) {
+        return getTag(slot) == FrameSlotKind.Boolean.tag;
+    }
+
+    /**
+     * Check whether the given indexed slot is of type int.
+     *
+     * @since 20.1
+     */
+    default boolean isInt(int slot) {
+        return getTag(slot) == FrameSlotKind.Int.tag;
+    }
+
+    /**
+     * Check whether the given indexed slot is of type long.
+     *
+     * @since 20.1
+     */
+    default boolean isLong(int slot) {
+        return getTag(slot) == FrameSlotKind.Long.tag;
+    }
+
+    /**
+     * Check whether the given indexed slot is of type float.
+     *
+     * @since 20.1
+     */
+    default boolean isFloat(int slot) {
+        return getTag(slot) == FrameSlotKind.Float.tag;
+    }
+
+    /**
+     * Check whether the given indexed slot is of type double.
+     *
+     * @since 20.1
+     */
+    default boolean isDouble(int slot) {
+        return getTag(slot) == FrameSlotKind.Double.tag;
+    }
 }
@@ -42,6 +42,7 @@ package com.oracle.truffle.api.frame;
 
 import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -62,12 +63,26 @@ import com.oracle.truffle.api.impl.TVMCI;
 /**
  * Descriptor of the slots of frame objects. Multiple frame instances are associated with one such
  * descriptor. The FrameDescriptor is thread-safe.
+ * <p>
+ * A descriptor has two kinds of slots. <em>Indexed slots</em> are declared up front using a
+ * {@link #newBuilder() builder} and are accessed by their index, e.g., using
+ * {@link Frame#getInt(int)}. The number of indexed slots never changes after the descriptor was
+ * built, so changing the {@link #setSlotKind(int, FrameSlotKind) kind} of an indexed slot does not
+ * invalidate the {@link #getVersion() version} of the descriptor. {@link FrameSlot Frame slots} can
+ * be added at any time and are accessed by their {@link FrameSlot} object. Frame slots are placed
+ * after the indexed slots in the frame.
  *
  * @since 0.8 or earlier
  */
 public final class FrameDescriptor implements Cloneable {
 
+    private static final byte[] EMPTY_BYTE_ARRAY = {};
+    private static final Object[] EMPTY_OBJECT_ARRAY = {};
+
     private final Object defaultValue;
+    @CompilationFinal(dimensions = 1) private final byte[] indexedSlotTags;
+    private final Object[] indexedSlotNames;
+    private final Object[] indexedSlotInfos;
     private final ArrayList<FrameSlot> slots;
     private final EconomicMap<Object, FrameSlot> identifierToSlotMap;
     @CompilationFinal private volatile Assumption version;
@@ -106,8 +121,16 @@ public final class FrameDescriptor implements Cloneable {
     }
 
     private FrameDescriptor(Object defaultValue, Object lock) {
+        this(defaultValue, lock, EMPTY_BYTE_ARRAY, EMPTY_OBJECT_ARRAY, EMPTY_OBJECT_ARRAY);
+    }
+
+    private FrameDescriptor(Object defaultValue, Object lock, byte[] indexedSlotTags, Object[] indexedSlotNames, Object[] indexedSlotInfos) {
         CompilerAsserts.neverPartOfCompilation("do not create a FrameDescriptor from compiled code");
         this.defaultValue = defaultValue;
+        this.indexedSlotTags = indexedSlotTags;
+        this.indexedSlotNames = indexedSlotNames;
+        this.indexedSlotInfos = indexedSlotInfos;
+        this.size = indexedSlotTags.length;
         this.slots = new ArrayList<>();
         this.identifierToSlotMap = EconomicMap.create();
         this.lock = lock == null ? this : lock;
@@ -354,8 +377,184 @@ public final class FrameDescriptor implements Cloneable {
     }
 
     /**
-     * Returns the size of an array which is needed for storing all the frame slots. (The number may
-     * be bigger than the number of slots, if some slots are removed.)
+     * Returns the number of indexed slots declared with the {@link #newBuilder() builder} of this
+     * descriptor. Indexed slots use the indices <code>0</code> to
+     * <code>getNumberOfSlots() - 1</code>.
+     *
+     * @since 20.1
+     */
+    public int getNumberOfSlots() {
+        return indexedSlotTags.length;
+    }
+
+    /**
+     * Returns the current kind of the indexed slot. The kind is typically used by language
+     * implementations to speculate on the type of the values stored in the slot.
+     *
+     * @param slot the index of the slot
+     * @throws IndexOutOfBoundsException if the slot index is not smaller than
+     *             {@link #getNumberOfSlots()}
+     * @since 20.1
+     */
+    public FrameSlotKind getSlotKind(int slot) {
+        return FrameSlotKind.fromTag(indexedSlotTags[slot]);
+    }
+
+    /**
+     * Changes the kind of the indexed slot. Unlike
+     * {@link #setFrameSlotKind(FrameSlot, FrameSlotKind)} this does not invalidate the
+     * {@link #getVersion() version} of this descriptor. Only the compiled code that performed the
+     * change is invalidated, the kind is read as a compilation final value everywhere else.
+     *
+     * @param slot the index of the slot
+     * @param kind the new kind of the slot
+     * @throws IndexOutOfBoundsException if the slot index is not smaller than
+     *             {@link #getNumberOfSlots()}
+     * @since 20.1
+     */
+    public void setSlotKind(int slot, FrameSlotKind kind) {
+        if (indexedSlotTags[slot] != kind.tag) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            indexedSlotTags[slot] = kind.tag;
+        }
+    }
+
+    /**
+     * Returns the name of the indexed slot as specified in
+     * {@link Builder#addSlot(FrameSlotKind, Object, Object)}, or <code>null</code>.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    public Object getSlotName(int slot) {
+        return indexedSlotNames[slot];
+    }
+
+    /**
+     * Returns the info of the indexed slot as specified in
+     * {@link Builder#addSlot(FrameSlotKind, Object, Object)}, or <code>null</code>.
+     *
+     * @param slot the index of the slot
+     * @since 20.1
+     */
+    public Object getSlotInfo(int slot) {
+        return indexedSlotInfos[slot];
+    }
+
+    /**
+     * Creates a builder for a descriptor with indexed slots.
+     *
+     * @since 20.1
+     */
+    public static Builder newBuilder() {
+        return new Builder(Builder.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a builder for a descriptor with indexed slots. The capacity is a hint for the
+     * expected number of slots.
+     *
+     * @since 20.1
+     */
+    public static Builder newBuilder(int capacity) {
+        return new Builder(capacity);
+    }
+
+    /**
+     * Builder for descriptors with indexed slots. The slots are numbered in the order in which they
+     * are added, starting with <code>0</code>.
+     *
+     * @see FrameDescriptor#newBuilder()
+     * @since 20.1
+     */
+    public static final class Builder {
+
+        private static final int DEFAULT_CAPACITY = 8;
+
+        private Object defaultValue;
+        private byte[] tags;
+        private Object[] names;
+        private Object[] infos;
+        private int size;
+
+        private Builder(int capacity) {
+            this.tags = new byte[capacity];
+            this.names = new Object[capacity];
+            this.infos = new Object[capacity];
+        }
+
+        private void ensureCapacity(int count) {
+            if (tags.length < size + count) {
+                int newLength = Math.max(size + count, tags.length * 2);
+                tags = Arrays.copyOf(tags, newLength);
+                names = Arrays.copyOf(names, newLength);
+                infos = Arrays.copyOf(infos, newLength);
+            }
+        }
+
+        /**
+         * Sets the {@link FrameDescriptor#getDefaultValue() default value} of the descriptor.
+         *
+         * @since 20.1
+         */
+        public Builder defaultValue(Object newDefaultValue) {
+            this.defaultValue = newDefaultValue;
+            return this;
+        }
+
+        /**
+         * Adds an indexed slot with the given initial kind, name and info.
+         *
+         * @param kind the initial kind of the slot
+         * @param name the name of the slot, may be <code>null</code>
+         * @param info additional information for the slot, may be <code>null</code>
+         * @return the index of the new slot
+         * @since 20.1
+         */
+        public int addSlot(FrameSlotKind kind, Object name, Object info) {
+            Objects.requireNonNull(kind, "kind");
+            ensureCapacity(1);
+            tags[size] = kind.tag;
+            names[size] = name;
+            infos[size] = info;
+            return size++;
+        }
+
+        /**
+         * Adds a number of indexed slots with the given initial kind and without name or info.
+         *
+         * @param count the number of slots to add
+         * @param kind the initial kind of the slots
+         * @return the index of the first new slot
+         * @since 20.1
+         */
+        public int addSlots(int count, FrameSlotKind kind) {
+            Objects.requireNonNull(kind, "kind");
+            if (count < 0) {
+                throw new IllegalArgumentException("negative slot count: " + count);
+            }
+            ensureCapacity(count);
+            Arrays.fill(tags, size, size + count, kind.tag);
+            int first = size;
+            size += count;
+            return first;
+        }
+
+        /**
+         * Builds the descriptor. The builder can be used further, later changes are not reflected
+         * in the built descriptor.
+         *
+         * @since 20.1
+         */
+        public FrameDescriptor build() {
+            return new FrameDescriptor(defaultValue, null, Arrays.copyOf(tags, size), Arrays.copyOf(names, size), Arrays.copyOf(infos, size));
+        }
+    }
+
+    /**
+     * Returns the size of an array which is needed for storing all the frame slots, including the
+     * {@link #getNumberOfSlots() indexed slots}. (The number may be bigger than the number of
+     * slots, if some slots are removed.)
      *
      * @return the size of the frame
      * @since 0.8 or earlier
@@ -467,7 +666,8 @@ public final class FrameDescriptor implements Cloneable {
     /**
      * Deeper copy of the descriptor. Copies all slots in the descriptor, but only their
      * {@linkplain FrameSlot#getIdentifier() identifier} and {@linkplain FrameSlot#getInfo() info}
-     * but not their {@linkplain FrameDescriptor#getFrameSlotKind(FrameSlot) kind}!
+     * but not their {@linkplain FrameDescriptor#getFrameSlotKind(FrameSlot) kind}! The same applies
+     * to indexed slots, their kinds are reset to {@link FrameSlotKind#Illegal}.
      *
      * @return new instance of a descriptor with copies of values from this one
      * @since 0.8 or earlier
@@ -475,7 +675,9 @@ public final class FrameDescriptor implements Cloneable {
     public FrameDescriptor copy() {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
         synchronized (lock) {
-            FrameDescriptor clonedFrameDescriptor = new FrameDescriptor(this.defaultValue);
+            byte[] clonedTags = new byte[indexedSlotTags.length];
+            Arrays.fill(clonedTags, FrameSlotKind.Illegal.tag);
+            FrameDescriptor clonedFrameDescriptor = new FrameDescriptor(this.defaultValue, null, clonedTags, indexedSlotNames.clone(), indexedSlotInfos.clone());
             for (int i = 0; i < slots.size(); i++) {
                 FrameSlot slot = slots.get(i);
                 clonedFrameDescriptor.addFrameSlot(slot.getIdentifier(), slot.getInfo(), FrameSlotKind.Illegal);
@@ -571,6 +773,14 @@ public final class FrameDescriptor implements Cloneable {
             sb.append("FrameDescriptor@").append(Integer.toHexString(hashCode()));
             sb.append("{");
             boolean comma = false;
+            for (int i = 0; i < indexedSlotTags.length; i++) {
+                if (comma) {
+                    sb.append(", ");
+                } else {
+                    comma = true;
+                }
+                sb.append(i).append(":").append(indexedSlotNames[i]);
+            }
             for (FrameSlot slot : slots) {
                 if (comma) {
                     sb.append(", ");
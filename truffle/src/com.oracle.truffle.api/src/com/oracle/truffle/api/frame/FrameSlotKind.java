@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.api.frame;
 
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+
 /** @since 0.8 or earlier */
 public enum FrameSlotKind {
     /** @since 0.8 or earlier */
@@ -65,4 +67,15 @@ public enum FrameSlotKind {
     FrameSlotKind() {
         this.tag = (byte) ordinal();
     }
+
+    @CompilationFinal(dimensions = 1) private static final FrameSlotKind[] VALUES = values();
+
+    /**
+     * Returns the kind with the given {@link #tag}.
+     *
+     * @since 20.1
+     */
+    public static FrameSlotKind fromTag(byte tag) {
+        return VALUES[tag];
+    }
 }
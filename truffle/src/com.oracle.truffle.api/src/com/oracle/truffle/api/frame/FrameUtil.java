@@ -163,4 +163,123 @@ public final class FrameUtil {
             throw new IllegalStateException();
         }
     }
+
+    /**
+     * Read an indexed frame slot that is guaranteed to be of the desired kind (either previously
+     * checked by a guard or statically known).
+     *
+     * @param slot the index of the slot in the {@link FrameDescriptor}
+     * @throws IllegalStateException if the slot kind does not match
+     * @see Frame#getObject(int)
+     * @since 20.1
+     */
+    public static Object getObjectSafe(Frame frame, int slot) {
+        try {
+            return frame.getObject(slot);
+        } catch (FrameSlotTypeException e) {
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Read an indexed frame slot that is guaranteed to be of the desired kind (either previously
+     * checked by a guard or statically known).
+     *
+     * @param slot the index of the slot in the {@link FrameDescriptor}
+     * @throws IllegalStateException if the slot kind does not match
+     * @see Frame#getByte(int)
+     * @since 20.1
+     */
+    public static byte getByteSafe(Frame frame, int slot) {
+        try {
+            return frame.getByte(slot);
+        } catch (FrameSlotTypeException e) {
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Read an indexed frame slot that is guaranteed to be of the desired kind (either previously
+     * checked by a guard or statically known).
+     *
+     * @param slot the index of the slot in the {@link FrameDescriptor}
+     * @throws IllegalStateException if the slot kind does not match
+     * @see Frame#getBoolean(int)
+     * @since 20.1
+     */
+    public static boolean getBooleanSafe(Frame frame, int slot) {
+        try {
+            return frame.getBoolean(slot);
+        } catch (FrameSlotTypeException e) {
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Read an indexed frame slot that is guaranteed to be of the desired kind (either previously
+     * checked by a guard or statically known).
+     *
+     * @param slot the index of the slot in the {@link FrameDescriptor}
+     * @throws IllegalStateException if the slot kind does not match
+     * @see Frame#getInt(int)
+     * @since 20.1
+     */
+    public static int getIntSafe(Frame frame, int slot) {
+        try {
+            return frame.getInt(slot);
+        } catch (FrameSlotTypeException e) {
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Read an indexed frame slot that is guaranteed to be of the desired kind (either previously
+     * checked by a guard or statically known).
+     *
+     * @param slot the index of the slot in the {@link FrameDescriptor}
+     * @throws IllegalStateException if the slot kind does not match
+     * @see Frame#getLong(int)
+     * @since 20.1
+     */
+    public static long getLongSafe(Frame frame, int slot) {
+        try {
+            return frame.getLong(slot);
+        } catch (FrameSlotTypeException e) {
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Read an indexed frame slot that is guaranteed to be of the desired kind (either previously
+     * checked by a guard or statically known).
+     *
+     * @param slot the index of the slot in the {@link FrameDescriptor}
+     * @throws IllegalStateException if the slot kind does not match
+     * @see Frame#getDouble(int)
+     * @since 20.1
+     */
+    public static double getDoubleSafe(Frame frame, int slot) {
+        try {
+            return frame.getDouble(slot);
+        } catch (FrameSlotTypeException e) {
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Read an indexed frame slot that is guaranteed to be of the desired kind (either previously
+     * checked by a guard or statically known).
+     *
+     * @param slot the index of the slot in the {@link FrameDescriptor}
+     * @throws IllegalStateException if the slot kind does not match
+     * @see Frame#getFloat(int)
+     * @since 20.1
+     */
+    public static float getFloatSafe(Frame frame, int slot) {
+        try {
+            return frame.getFloat(slot);
+        } catch (FrameSlotTypeException e) {
+            throw new IllegalStateException();
+        }
+    }
 }
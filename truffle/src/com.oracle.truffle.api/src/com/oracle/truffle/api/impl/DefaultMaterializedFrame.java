@@ -150,6 +150,86 @@ final class DefaultMaterializedFrame implements MaterializedFrame {
         return wrapped.getFrameDescriptor();
     }
 
+    @Override
+    public Object getObject(int slot) throws FrameSlotTypeException {
+        return wrapped.getObject(slot);
+    }
+
+    @Override
+    public void setObject(int slot, Object value) {
+        wrapped.setObject(slot, value);
+    }
+
+    @Override
+    public byte getByte(int slot) throws FrameSlotTypeException {
+        return wrapped.getByte(slot);
+    }
+
+    @Override
+    public void setByte(int slot, byte value) {
+        wrapped.setByte(slot, value);
+    }
+
+    @Override
+    public boolean getBoolean(int slot) throws FrameSlotTypeException {
+        return wrapped.getBoolean(slot);
+    }
+
+    @Override
+    public void setBoolean(int slot, boolean value) {
+        wrapped.setBoolean(slot, value);
+    }
+
+    @Override
+    public int getInt(int slot) throws FrameSlotTypeException {
+        return wrapped.getInt(slot);
+    }
+
+    @Override
+    public void setInt(int slot, int value) {
+        wrapped.setInt(slot, value);
+    }
+
+    @Override
+    public long getLong(int slot) throws FrameSlotTypeException {
+        return wrapped.getLong(slot);
+    }
+
+    @Override
+    public void setLong(int slot, long value) {
+        wrapped.setLong(slot, value);
+    }
+
+    @Override
+    public float getFloat(int slot) throws FrameSlotTypeException {
+        return wrapped.getFloat(slot);
+    }
+
+    @Override
+    public void setFloat(int slot, float value) {
+        wrapped.setFloat(slot, value);
+    }
+
+    @Override
+    public double getDouble(int slot) throws FrameSlotTypeException {
+        return wrapped.getDouble(slot);
+    }
+
+    @Override
+    public void setDouble(int slot, double value) {
+        wrapped.setDouble(slot, value);
+    }
+
+    @Override
+    public Object getValue(int slot) {
+        return wrapped.getValue(slot);
+    }
+
+    @Override
+    public byte getTag(int slot) {
+        return wrapped.getTag(slot);
+    }
+
     @Override
     public boolean isObject(FrameSlot slot) {
         return wrapped.isObject(slot);
@@ -174,6 +174,106 @@ final class DefaultVirtualFrame implements VirtualFrame {
         return this.descriptor;
     }
 
+    @Override
+    public Object getObject(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Object);
+        return locals[slot];
+    }
+
+    @Override
+    public void setObject(int slot, Object value) {
+        tags[slot] = FrameSlotKind.Object.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public byte getByte(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Byte);
+        return (byte) locals[slot];
+    }
+
+    @Override
+    public void setByte(int slot, byte value) {
+        tags[slot] = FrameSlotKind.Byte.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean getBoolean(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Boolean);
+        return (boolean) locals[slot];
+    }
+
+    @Override
+    public void setBoolean(int slot, boolean value) {
+        tags[slot] = FrameSlotKind.Boolean.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public int getInt(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Int);
+        return (int) locals[slot];
+    }
+
+    @Override
+    public void setInt(int slot, int value) {
+        tags[slot] = FrameSlotKind.Int.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public long getLong(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Long);
+        return (long) locals[slot];
+    }
+
+    @Override
+    public void setLong(int slot, long value) {
+        tags[slot] = FrameSlotKind.Long.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public float getFloat(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Float);
+        return (float) locals[slot];
+    }
+
+    @Override
+    public void setFloat(int slot, float value) {
+        tags[slot] = FrameSlotKind.Float.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public double getDouble(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Double);
+        return (double) locals[slot];
+    }
+
+    @Override
+    public void setDouble(int slot, double value) {
+        tags[slot] = FrameSlotKind.Double.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public Object getValue(int slot) {
+        return locals[slot];
+    }
+
+    @Override
+    public byte getTag(int slot) {
+        return tags[slot];
+    }
+
+    private void verifyIndexedGet(int slot, FrameSlotKind accessKind) throws FrameSlotTypeException {
+        if (tags[slot] != accessKind.tag) {
+            throw new FrameSlotTypeException();
+        }
+    }
+
     @Override
     public Object getValue(FrameSlot slot) {
         int slotIndex = getSlotIndexChecked(slot);
@@ -207,4 +207,100 @@ class ReadOnlyFrame implements Frame {
     public boolean isDouble(FrameSlot slot) {
         return delegate.isDouble(slot);
     }
+
+    @Override
+    @TruffleBoundary
+    public Object getObject(int slot) throws FrameSlotTypeException {
+        return delegate.getObject(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setObject(int slot, Object value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public byte getByte(int slot) throws FrameSlotTypeException {
+        return delegate.getByte(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setByte(int slot, byte value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public boolean getBoolean(int slot) throws FrameSlotTypeException {
+        return delegate.getBoolean(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setBoolean(int slot, boolean value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public int getInt(int slot) throws FrameSlotTypeException {
+        return delegate.getInt(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setInt(int slot, int value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public long getLong(int slot) throws FrameSlotTypeException {
+        return delegate.getLong(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setLong(int slot, long value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public float getFloat(int slot) throws FrameSlotTypeException {
+        return delegate.getFloat(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setFloat(int slot, float value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public double getDouble(int slot) throws FrameSlotTypeException {
+        return delegate.getDouble(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public void setDouble(int slot, double value) {
+        throw newReadonlyAssertionError();
+    }
+
+    @Override
+    @TruffleBoundary
+    public Object getValue(int slot) {
+        return delegate.getValue(slot);
+    }
+
+    @Override
+    @TruffleBoundary
+    public byte getTag(int slot) {
+        return delegate.getTag(slot);
+    }
 }
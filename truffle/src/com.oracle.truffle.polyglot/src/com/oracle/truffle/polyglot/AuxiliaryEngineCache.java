@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.polyglot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.graalvm.polyglot.io.ByteSequence;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.Source.LiteralBuilder;
+import com.oracle.truffle.api.source.Source.SourceBuilder;
+
+/**
+ * Persists the sources parsed by an engine to a file and parses them again eagerly the next time a
+ * language is initialized in an engine that loads the file. Enabled with the
+ * {@link PolyglotEngineOptions#CacheStore} and {@link PolyglotEngineOptions#CacheLoad} options.
+ *
+ * Only sources that can be rebuilt from the file are persisted: literal sources with their content
+ * and file sources with their path. The content of file sources is read again when they are
+ * restored, so changed files are parsed with their current content. Sources loaded from an URL are
+ * not persisted. File sources are restored through the public file system of the context, so
+ * files the context may not access are skipped.
+ */
+final class AuxiliaryEngineCache {
+
+    private static final int MAGIC = 0x54434143;
+    private static final int FORMAT_VERSION = 1;
+
+    private final TruffleLogger logger;
+    private final Path storeFile;
+    private final Map<String, List<Entry>> loadedEntries;
+    private final Set<Entry> recordedEntries;
+    private final Set<String> restoredLanguages = ConcurrentHashMap.newKeySet();
+    /*
+     * Keeps the restored sources of a language instance alive, as the source cache only references
+     * its sources weakly.
+     */
+    private final Map<PolyglotLanguageInstance, List<Source>> restoredSources = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private AuxiliaryEngineCache(PolyglotEngineImpl engine, Path loadFile, Path storeFile) {
+        this.logger = EngineAccessor.LANGUAGE.getLogger(PolyglotEngineImpl.OPTION_GROUP_ENGINE, AuxiliaryEngineCache.class.getName(), engine.getOrCreateEngineLoggers());
+        this.storeFile = storeFile;
+        this.loadedEntries = loadFile != null ? load(loadFile) : Collections.emptyMap();
+        this.recordedEntries = storeFile != null ? Collections.synchronizedSet(new LinkedHashSet<>()) : null;
+    }
+
+    static AuxiliaryEngineCache create(PolyglotEngineImpl engine) {
+        String load = engine.engineOptionValues.get(PolyglotEngineOptions.CacheLoad);
+        String store = engine.engineOptionValues.get(PolyglotEngineOptions.CacheStore);
+        if (load.isEmpty() && store.isEmpty()) {
+            return null;
+        }
+        return new AuxiliaryEngineCache(engine, load.isEmpty() ? null : Paths.get(load), store.isEmpty() ? null : Paths.get(store));
+    }
+
+    /**
+     * Records a source that was parsed and added to the source cache of a language.
+     */
+    void record(PolyglotLanguageContext context, Source source, String[] argumentNames) {
+        if (recordedEntries == null || source.getURL() != null) {
+            return;
+        }
+        recordedEntries.add(Entry.create(context.language.getId(), source, argumentNames));
+    }
+
+    /**
+     * Parses the persisted sources of the language of a newly initialized language context. Sources
+     * are parsed once per language instance, so contexts sharing a language instance do not parse
+     * them again.
+     */
+    void restore(PolyglotLanguageContext context, PolyglotSourceCache sourceCache, PolyglotLanguageInstance languageInstance) {
+        String languageId = context.language.getId();
+        List<Entry> entries = loadedEntries.get(languageId);
+        if (entries == null || restoredSources.containsKey(languageInstance)) {
+            return;
+        }
+        restoredLanguages.add(languageId);
+        List<Source> sources = new ArrayList<>(entries.size());
+        restoredSources.put(languageInstance, sources);
+        for (Entry entry : entries) {
+            try {
+                Source source = entry.toSource(context);
+                if (source == null) {
+                    logger.log(Level.FINE, "Skipped cached source {0} of language {1} not accessible to the context.", new Object[]{entry.name, languageId});
+                    continue;
+                }
+                sourceCache.parseCached(context, source, entry.argumentNames);
+                sources.add(source);
+            } catch (Throwable t) {
+                logger.log(Level.FINE, String.format("Failed to restore cached source %s of language %s.", entry.name, languageId), t);
+            }
+        }
+        logger.log(Level.FINE, "Restored {0} of {1} cached sources of language {2}.", new Object[]{sources.size(), entries.size(), languageId});
+    }
+
+    /**
+     * Writes the recorded sources to the store file. Loaded sources of languages that were not
+     * initialized are written again, so they remain cached for the next run.
+     */
+    void store() {
+        if (storeFile == null) {
+            return;
+        }
+        Set<Entry> entries = new LinkedHashSet<>();
+        for (Map.Entry<String, List<Entry>> loaded : loadedEntries.entrySet()) {
+            if (!restoredLanguages.contains(loaded.getKey())) {
+                entries.addAll(loaded.getValue());
+            }
+        }
+        synchronized (recordedEntries) {
+            entries.addAll(recordedEntries);
+        }
+        Path tmpFile = null;
+        try {
+            Path absoluteStoreFile = storeFile.toAbsolutePath();
+            tmpFile = Files.createTempFile(absoluteStoreFile.getParent(), absoluteStoreFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    entry.write(out);
+                }
+            }
+            try {
+                Files.move(tmpFile, absoluteStoreFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile, absoluteStoreFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tmpFile = null;
+            logger.log(Level.FINE, "Stored {0} cached sources to {1}.", new Object[]{entries.size(), storeFile.toString()});
+        } catch (IOException e) {
+            logger.log(Level.WARNING, String.format("Failed to store the engine cache to %s.", storeFile), e);
+        } finally {
+            if (tmpFile != null) {
+                try {
+                    Files.deleteIfExists(tmpFile);
+                } catch (IOException e) {
+                    logger.log(Level.FINE, String.format("Failed to delete the temporary engine cache file %s.", tmpFile), e);
+                }
+            }
+        }
+    }
+
+    private Map<String, List<Entry>> load(Path file) {
+        Map<String, List<Entry>> entries = new HashMap<>();
+        /*
+         * The file is read fully, so the lengths stored in the file can be checked against the
+         * remaining bytes before allocating. A corrupt length must not cause an OutOfMemoryError.
+         */
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                logger.log(Level.WARNING, "Ignoring engine cache {0} with an unsupported format.", file.toString());
+                return Collections.emptyMap();
+            }
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                Entry entry = Entry.read(in);
+                entries.computeIfAbsent(entry.languageId, (id) -> new ArrayList<>()).add(entry);
+            }
+        } catch (NoSuchFileException e) {
+            logger.log(Level.FINE, "Engine cache {0} does not exist yet.", file.toString());
+            return Collections.emptyMap();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, String.format("Failed to load the engine cache from %s.", file), e);
+            return Collections.emptyMap();
+        }
+        return entries;
+    }
+
+    private static final class Entry {
+
+        final String languageId;
+        final String name;
+        final String mimeType;
+        final String path;
+        final String characters;
+        final byte[] bytes;
+        final boolean internal;
+        final boolean interactive;
+        final String[] argumentNames;
+
+        private Entry(String languageId, String name, String mimeType, String path, String characters, byte[] bytes, boolean internal, boolean interactive, String[] argumentNames) {
+            this.languageId = languageId;
+            this.name = name;
+            this.mimeType = mimeType;
+            this.path = path;
+            this.characters = characters;
+            this.bytes = bytes;
+            this.internal = internal;
+            this.interactive = interactive;
+            this.argumentNames = argumentNames != null && argumentNames.length == 0 ? null : argumentNames;
+        }
+
+        static Entry create(String languageId, Source source, String[] argumentNames) {
+            String path = source.getPath();
+            String characters = null;
+            byte[] bytes = null;
+            if (path == null) {
+                if (source.hasBytes()) {
+                    bytes = source.getBytes().toByteArray();
+                } else {
+                    characters = source.getCharacters().toString();
+                }
+            }
+            return new Entry(languageId, source.getName(), source.getMimeType(), path, characters, bytes, source.isInternal(), source.isInteractive(), argumentNames);
+        }
+
+        /**
+         * Returns the restored source or {@code null} if the file of the source is not accessible
+         * to the context.
+         */
+        Source toSource(PolyglotLanguageContext context) throws IOException {
+            if (path != null) {
+                TruffleFile file;
+                try {
+                    file = context.requireEnv().getPublicTruffleFile(path);
+                    if (!file.isReadable()) {
+                        return null;
+                    }
+                } catch (SecurityException e) {
+                    return null;
+                }
+                SourceBuilder builder = Source.newBuilder(languageId, file);
+                return builder.name(name).mimeType(mimeType).internal(internal).interactive(interactive).build();
+            } else {
+                LiteralBuilder builder;
+                if (bytes != null) {
+                    builder = Source.newBuilder(languageId, ByteSequence.create(bytes), name);
+                } else {
+                    builder = Source.newBuilder(languageId, characters, name);
+                }
+                return builder.mimeType(mimeType).internal(internal).interactive(interactive).build();
+            }
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            writeString(out, languageId);
+            writeString(out, name);
+            writeString(out, mimeType);
+            writeString(out, path);
+            writeString(out, characters);
+            writeBytes(out, bytes);
+            out.writeBoolean(internal);
+            out.writeBoolean(interactive);
+            out.writeInt(argumentNames == null ? 0 : argumentNames.length);
+            if (argumentNames != null) {
+                for (String argumentName : argumentNames) {
+                    writeString(out, argumentName);
+                }
+            }
+        }
+
+        static Entry read(DataInputStream in) throws IOException {
+            String languageId = readString(in);
+            String name = readString(in);
+            String mimeType = readString(in);
+            String path = readString(in);
+            String characters = readString(in);
+            byte[] bytes = readBytes(in);
+            boolean internal = in.readBoolean();
+            boolean interactive = in.readBoolean();
+            String[] argumentNames = new String[readLength(in, 4)];
+            for (int i = 0; i < argumentNames.length; i++) {
+                argumentNames[i] = readString(in);
+            }
+            return new Entry(languageId, name, mimeType, path, characters, bytes, internal, interactive, argumentNames);
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            byte[] value = readBytes(in);
+            return value == null ? null : new String(value, StandardCharsets.UTF_8);
+        }
+
+        private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(value.length);
+                out.write(value);
+            }
+        }
+
+        private static byte[] readBytes(DataInputStream in) throws IOException {
+            int length = in.readInt();
+            if (length == -1) {
+                return null;
+            }
+            byte[] value = new byte[checkLength(in, length, 1)];
+            in.readFully(value);
+            return value;
+        }
+
+        private static int readLength(DataInputStream in, int minElementSize) throws IOException {
+            return checkLength(in, in.readInt(), minElementSize);
+        }
+
+        /*
+         * Each element takes at least minElementSize bytes in the file, so a length exceeding the
+         * remaining bytes can only come from a corrupt file.
+         */
+        private static int checkLength(DataInputStream in, int length, int minElementSize) throws IOException {
+            if (length < 0 || length > in.available() / minElementSize) {
+                throw new IOException(String.format("Invalid length %d in the engine cache.", length));
+            }
+            return length;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hash(languageId, name, mimeType, path, characters, internal, interactive);
+            result = 31 * result + Arrays.hashCode(bytes);
+            return 31 * result + Arrays.hashCode(argumentNames);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) obj;
+            return languageId.equals(other.languageId) && Objects.equals(name, other.name) && Objects.equals(mimeType, other.mimeType) && Objects.equals(path, other.path) &&
+                            internal == other.internal && interactive == other.interactive && Arrays.equals(argumentNames, other.argumentNames) &&
+                            Objects.equals(characters, other.characters) && Arrays.equals(bytes, other.bytes);
+        }
+    }
+}
@@ -63,6 +63,9 @@ final class HostClassCache {
     final HostAccess hostAccess;
     private final boolean arrayAccess;
     private final boolean listAccess;
+    private final boolean mapAccess;
+    private final boolean iterableAccess;
+    private final boolean iteratorAccess;
     private final Map<Class<?>, Object> targetMappings;
     private final Object unnamedModule;
 
@@ -70,6 +73,9 @@ final class HostClassCache {
         this.hostAccess = conf;
         this.arrayAccess = apiAccess.isArrayAccessible(hostAccess);
         this.listAccess = apiAccess.isListAccessible(hostAccess);
+        this.mapAccess = apiAccess.isMapAccessible(hostAccess);
+        this.iterableAccess = apiAccess.isIterableAccessible(hostAccess);
+        this.iteratorAccess = apiAccess.isIteratorAccessible(hostAccess);
         this.apiAccess = apiAccess;
         this.targetMappings = groupMappings(apiAccess, conf);
         this.unnamedModule = EngineAccessor.JDKSERVICES.getUnnamedModule(classLoader);
@@ -204,6 +210,18 @@ final class HostClassCache {
         return listAccess;
     }
 
+    boolean isMapAccess() {
+        return mapAccess;
+    }
+
+    boolean isIterableAccess() {
+        return iterableAccess;
+    }
+
+    boolean isIteratorAccess() {
+        return iteratorAccess;
+    }
+
     boolean allowsImplementation(Class<?> type) {
         return apiAccess.allowsImplementation(hostAccess, type);
     }
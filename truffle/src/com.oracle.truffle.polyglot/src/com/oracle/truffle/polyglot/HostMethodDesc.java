@@ -43,6 +43,7 @@ package com.oracle.truffle.polyglot;
 import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.InvocationTargetException;
@@ -276,6 +277,12 @@ abstract class HostMethodDesc {
         }
 
         abstract static class MHBase extends SingleMethod {
+            /*
+             * Handles of methods with up to this number of parameters take the arguments
+             * individually, which avoids spreading the arguments array with every invocation.
+             */
+            static final int MAX_EXACT_ARITY = 3;
+
             @CompilationFinal private MethodHandle methodHandle;
 
             MHBase(Executable executable) {
@@ -299,7 +306,18 @@ abstract class HostMethodDesc {
 
             @TruffleBoundary(allowInlining = true)
             static Object invokeHandle(MethodHandle invokeHandle, Object receiver, Object[] arguments) throws Throwable {
-                return invokeHandle.invokeExact(receiver, arguments);
+                switch (arguments.length) {
+                    case 0:
+                        return invokeHandle.invokeExact(receiver);
+                    case 1:
+                        return invokeHandle.invokeExact(receiver, arguments[0]);
+                    case 2:
+                        return invokeHandle.invokeExact(receiver, arguments[0], arguments[1]);
+                    case 3:
+                        return invokeHandle.invokeExact(receiver, arguments[0], arguments[1], arguments[2]);
+                    default:
+                        return invokeHandle.invokeExact(receiver, arguments);
+                }
             }
 
             protected abstract MethodHandle makeMethodHandle();
@@ -312,7 +330,11 @@ abstract class HostMethodDesc {
                 } else {
                     adaptedHandle = adaptedHandle.asType(adaptedHandle.type().changeParameterType(0, Object.class));
                 }
-                adaptedHandle = adaptedHandle.asSpreader(Object[].class, parameterCount);
+                if (parameterCount <= MAX_EXACT_ARITY) {
+                    adaptedHandle = adaptedHandle.asType(MethodType.genericMethodType(parameterCount + 1));
+                } else {
+                    adaptedHandle = adaptedHandle.asSpreader(Object[].class, parameterCount);
+                }
                 return adaptedHandle;
             }
 
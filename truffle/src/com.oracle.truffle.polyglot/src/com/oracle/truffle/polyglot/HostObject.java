@@ -41,6 +41,8 @@
 package com.oracle.truffle.polyglot;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -49,7 +51,10 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 import com.oracle.truffle.api.CompilerDirectives;
@@ -63,8 +68,11 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.StopIterationException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnknownKeyException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -617,6 +625,557 @@ final class HostObject implements TruffleObject {
         return ((List<?>) obj).size();
     }
 
+    @ExportMessage
+    boolean hasBufferElements(@Shared("isBuffer") @Cached IsBufferNode isBuffer) {
+        return isBuffer.execute(this);
+    }
+
+    @ExportMessage
+    boolean isBufferWritable(@Shared("isBuffer") @Cached IsBufferNode isBuffer) throws UnsupportedMessageException {
+        if (isBuffer.execute(this)) {
+            return !isBufferReadOnly((ByteBuffer) obj);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    long getBufferSize(@Shared("isBuffer") @Cached IsBufferNode isBuffer) throws UnsupportedMessageException {
+        if (isBuffer.execute(this)) {
+            return getBufferLimit((ByteBuffer) obj);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    byte readBufferByte(long byteOffset,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        ByteBuffer buffer = checkBufferAccess(isBuffer, error, byteOffset, Byte.BYTES);
+        return getBufferByte(buffer, (int) byteOffset);
+    }
+
+    @ExportMessage
+    void writeBufferByte(long byteOffset, byte value,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        ByteBuffer buffer = checkBufferWrite(isBuffer, error, byteOffset, Byte.BYTES);
+        putBufferByte(buffer, (int) byteOffset, value);
+    }
+
+    @ExportMessage
+    short readBufferShort(ByteOrder order, long byteOffset,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        ByteBuffer buffer = checkBufferAccess(isBuffer, error, byteOffset, Short.BYTES);
+        short v = getBufferShort(buffer, (int) byteOffset);
+        return getBufferOrder(buffer) == order ? v : Short.reverseBytes(v);
+    }
+
+    @ExportMessage
+    void writeBufferShort(ByteOrder order, long byteOffset, short value,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        ByteBuffer buffer = checkBufferWrite(isBuffer, error, byteOffset, Short.BYTES);
+        putBufferShort(buffer, (int) byteOffset, getBufferOrder(buffer) == order ? value : Short.reverseBytes(value));
+    }
+
+    @ExportMessage
+    int readBufferInt(ByteOrder order, long byteOffset,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        ByteBuffer buffer = checkBufferAccess(isBuffer, error, byteOffset, Integer.BYTES);
+        int v = getBufferInt(buffer, (int) byteOffset);
+        return getBufferOrder(buffer) == order ? v : Integer.reverseBytes(v);
+    }
+
+    @ExportMessage
+    void writeBufferInt(ByteOrder order, long byteOffset, int value,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        ByteBuffer buffer = checkBufferWrite(isBuffer, error, byteOffset, Integer.BYTES);
+        putBufferInt(buffer, (int) byteOffset, getBufferOrder(buffer) == order ? value : Integer.reverseBytes(value));
+    }
+
+    @ExportMessage
+    long readBufferLong(ByteOrder order, long byteOffset,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        ByteBuffer buffer = checkBufferAccess(isBuffer, error, byteOffset, Long.BYTES);
+        long v = getBufferLong(buffer, (int) byteOffset);
+        return getBufferOrder(buffer) == order ? v : Long.reverseBytes(v);
+    }
+
+    @ExportMessage
+    void writeBufferLong(ByteOrder order, long byteOffset, long value,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        ByteBuffer buffer = checkBufferWrite(isBuffer, error, byteOffset, Long.BYTES);
+        putBufferLong(buffer, (int) byteOffset, getBufferOrder(buffer) == order ? value : Long.reverseBytes(value));
+    }
+
+    @ExportMessage
+    float readBufferFloat(ByteOrder order, long byteOffset,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return Float.intBitsToFloat(readBufferInt(order, byteOffset, isBuffer, error));
+    }
+
+    @ExportMessage
+    void writeBufferFloat(ByteOrder order, long byteOffset, float value,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        writeBufferInt(order, byteOffset, Float.floatToRawIntBits(value), isBuffer, error);
+    }
+
+    @ExportMessage
+    double readBufferDouble(ByteOrder order, long byteOffset,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        return Double.longBitsToDouble(readBufferLong(order, byteOffset, isBuffer, error));
+    }
+
+    @ExportMessage
+    void writeBufferDouble(ByteOrder order, long byteOffset, double value,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        writeBufferLong(order, byteOffset, Double.doubleToRawLongBits(value), isBuffer, error);
+    }
+
+    @ExportMessage
+    void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("bufferError") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (length < 0) {
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        ByteBuffer buffer = checkBufferAccess(isBuffer, error, byteOffset, length);
+        getBufferBytes(buffer, (int) byteOffset, destination, destinationOffset, length);
+    }
+
+    private ByteBuffer checkBufferAccess(IsBufferNode isBuffer, BranchProfile error, long byteOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (!isBuffer.execute(this)) {
+            error.enter();
+            throw UnsupportedMessageException.create();
+        }
+        ByteBuffer buffer = (ByteBuffer) obj;
+        if (byteOffset < 0 || byteOffset > getBufferLimit(buffer) - length) {
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        return buffer;
+    }
+
+    private ByteBuffer checkBufferWrite(IsBufferNode isBuffer, BranchProfile error, long byteOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        ByteBuffer buffer = checkBufferAccess(isBuffer, error, byteOffset, length);
+        if (isBufferReadOnly(buffer)) {
+            error.enter();
+            throw UnsupportedMessageException.create();
+        }
+        return buffer;
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static boolean isBufferReadOnly(ByteBuffer buffer) {
+        return buffer.isReadOnly();
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static int getBufferLimit(ByteBuffer buffer) {
+        return buffer.limit();
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static ByteOrder getBufferOrder(ByteBuffer buffer) {
+        return buffer.order();
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static byte getBufferByte(ByteBuffer buffer, int index) {
+        return buffer.get(index);
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static void putBufferByte(ByteBuffer buffer, int index, byte value) {
+        buffer.put(index, value);
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static short getBufferShort(ByteBuffer buffer, int index) {
+        return buffer.getShort(index);
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static void putBufferShort(ByteBuffer buffer, int index, short value) {
+        buffer.putShort(index, value);
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static int getBufferInt(ByteBuffer buffer, int index) {
+        return buffer.getInt(index);
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static void putBufferInt(ByteBuffer buffer, int index, int value) {
+        buffer.putInt(index, value);
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static long getBufferLong(ByteBuffer buffer, int index) {
+        return buffer.getLong(index);
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static void putBufferLong(ByteBuffer buffer, int index, long value) {
+        buffer.putLong(index, value);
+    }
+
+    @TruffleBoundary
+    private static void getBufferBytes(ByteBuffer buffer, int index, byte[] destination, int destinationOffset, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(index);
+        view.get(destination, destinationOffset, length);
+    }
+
+    /*
+     * The hash messages intentionally take no cached arguments: the exported InteropLibrary of
+     * HostObject is at the state bit limit of the DSL. The map operations are behind a boundary
+     * anyway, so the host conversions of keys and values are done behind the same boundary.
+     */
+    @ExportMessage
+    boolean hasHashEntries() {
+        return isMap();
+    }
+
+    @ExportMessage
+    long getHashSize() throws UnsupportedMessageException {
+        if (isMap()) {
+            return getMapSize();
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    Object getHashKeys() throws UnsupportedMessageException {
+        if (isMap()) {
+            return new HashKeysArray(getMapKeys());
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    Object getHashKeysIterator() throws UnsupportedMessageException {
+        if (isMap()) {
+            return new IteratorAdapter(getMapKeysIterator());
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage(name = "isHashEntryReadable")
+    @ExportMessage(name = "isHashEntryModifiable")
+    @ExportMessage(name = "isHashEntryRemovable")
+    boolean isHashEntryMapped(Object key) {
+        return isMap() && containsMapKey(key, false);
+    }
+
+    @ExportMessage
+    boolean isHashEntryInsertable(Object key) {
+        return isMap() && !containsMapKey(key, true);
+    }
+
+    @ExportMessage
+    Object readHashValue(Object key) throws UnsupportedMessageException, UnknownKeyException {
+        if (isMap()) {
+            return getMapValue(key);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    void writeHashEntry(Object key, Object value) throws UnsupportedMessageException, UnsupportedTypeException {
+        if (isMap()) {
+            putMapValue(key, value);
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @ExportMessage
+    void removeHashEntry(Object key) throws UnsupportedMessageException, UnknownKeyException {
+        if (isMap()) {
+            removeMapValue(key);
+        } else {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    boolean isMap() {
+        return obj instanceof Map && getHostClassCache().isMapAccess();
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private long getMapSize() {
+        return ((Map<?, ?>) obj).size();
+    }
+
+    @TruffleBoundary
+    private Object[] getMapKeys() {
+        return ((Map<?, ?>) obj).keySet().toArray();
+    }
+
+    @TruffleBoundary
+    private Iterator<?> getMapKeysIterator() {
+        return ((Map<?, ?>) obj).keySet().iterator();
+    }
+
+    /**
+     * Returns whether the map contains the key, or <code>unconvertible</code> if the key cannot be
+     * converted to a key of the map.
+     */
+    @TruffleBoundary
+    private boolean containsMapKey(Object key, boolean unconvertible) {
+        try {
+            return ((Map<?, ?>) obj).containsKey(toMapKey(key));
+        } catch (UnknownKeyException | ClassCastException | NullPointerException e) {
+            // the map does not support keys of this type
+            return unconvertible;
+        }
+    }
+
+    @TruffleBoundary
+    private Object getMapValue(Object key) throws UnknownKeyException {
+        Object hostKey = toMapKey(key);
+        Map<?, ?> map = (Map<?, ?>) obj;
+        Object hostValue;
+        try {
+            hostValue = map.get(hostKey);
+            if (hostValue == null && !map.containsKey(hostKey)) {
+                throw UnknownKeyException.create(key);
+            }
+        } catch (ClassCastException | NullPointerException e) {
+            throw UnknownKeyException.create(key);
+        }
+        return languageContext.toGuestValue(hostValue);
+    }
+
+    @TruffleBoundary
+    @SuppressWarnings("unchecked")
+    private void putMapValue(Object key, Object value) throws UnsupportedMessageException, UnsupportedTypeException {
+        ToHostNode toHost = ToHostNodeGen.getUncached();
+        Object hostKey;
+        Object hostValue;
+        try {
+            hostKey = toHost.execute(key, Object.class, null, languageContext, true);
+            hostValue = toHost.execute(value, Object.class, null, languageContext, true);
+        } catch (ClassCastException | NullPointerException e) {
+            throw UnsupportedTypeException.create(new Object[]{key, value}, e.getMessage());
+        }
+        try {
+            ((Map<Object, Object>) obj).put(hostKey, hostValue);
+        } catch (UnsupportedOperationException e) {
+            throw UnsupportedMessageException.create();
+        } catch (ClassCastException | IllegalArgumentException | NullPointerException e) {
+            throw UnsupportedTypeException.create(new Object[]{key, value}, e.getMessage());
+        }
+    }
+
+    @TruffleBoundary
+    private void removeMapValue(Object key) throws UnsupportedMessageException, UnknownKeyException {
+        Object hostKey = toMapKey(key);
+        Map<?, ?> map = (Map<?, ?>) obj;
+        try {
+            if (!map.containsKey(hostKey)) {
+                throw UnknownKeyException.create(key);
+            }
+            map.remove(hostKey);
+        } catch (UnsupportedOperationException e) {
+            throw UnsupportedMessageException.create();
+        } catch (ClassCastException | NullPointerException e) {
+            throw UnknownKeyException.create(key);
+        }
+    }
+
+    private Object toMapKey(Object key) throws UnknownKeyException {
+        try {
+            return ToHostNodeGen.getUncached().execute(key, Object.class, null, languageContext, true);
+        } catch (ClassCastException | NullPointerException e) {
+            throw UnknownKeyException.create(key);
+        }
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    final class HashKeysArray implements TruffleObject {
+
+        private final Object[] keys;
+
+        HashKeysArray(Object[] keys) {
+            this.keys = keys;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean hasArrayElements() {
+            return true;
+        }
+
+        @ExportMessage
+        long getArraySize() {
+            return keys.length;
+        }
+
+        @ExportMessage
+        boolean isArrayElementReadable(long idx) {
+            return 0 <= idx && idx < keys.length;
+        }
+
+        @ExportMessage
+        Object readArrayElement(long idx,
+                        @Cached ToGuestValueNode toGuest,
+                        @Cached BranchProfile exception) throws InvalidArrayIndexException {
+            if (!isArrayElementReadable(idx)) {
+                exception.enter();
+                throw InvalidArrayIndexException.create(idx);
+            }
+            return toGuest.execute(languageContext, keys[(int) idx]);
+        }
+    }
+
+    /*
+     * Like the hash messages, the iterator messages take no cached arguments to stay within the
+     * state bit limit of the DSL. Iterators created for the guest are exported by the separate
+     * IteratorAdapter, which caches the guest conversion of the elements.
+     */
+    @ExportMessage
+    boolean hasIterator() {
+        return isIterable() || isListOrArray();
+    }
+
+    @ExportMessage
+    Object getIterator() throws UnsupportedMessageException {
+        if (isListOrArray() && obj.getClass().isArray()) {
+            return new IteratorAdapter(new ArrayIterator(obj));
+        } else if (isIterable() || isListOrArray()) {
+            return new IteratorAdapter(getIterableIterator());
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    boolean isIterator() {
+        return obj instanceof Iterator && getHostClassCache().isIteratorAccess();
+    }
+
+    @ExportMessage
+    boolean hasIteratorNextElement() throws UnsupportedMessageException {
+        if (isIterator()) {
+            return iteratorHasNext((Iterator<?>) obj);
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    @ExportMessage
+    Object getIteratorNextElement() throws UnsupportedMessageException, StopIterationException {
+        if (isIterator()) {
+            return getIteratorNextGuestElement();
+        }
+        throw UnsupportedMessageException.create();
+    }
+
+    private boolean isIterable() {
+        return obj instanceof Iterable && getHostClassCache().isIterableAccess();
+    }
+
+    private boolean isListOrArray() {
+        if (obj instanceof List) {
+            return getHostClassCache().isListAccess();
+        }
+        return obj != null && obj.getClass().isArray() && getHostClassCache().isArrayAccess();
+    }
+
+    @TruffleBoundary
+    private Object getIteratorNextGuestElement() throws StopIterationException {
+        try {
+            return languageContext.toGuestValue(((Iterator<?>) obj).next());
+        } catch (NoSuchElementException e) {
+            throw StopIterationException.create();
+        }
+    }
+
+    @TruffleBoundary
+    private Iterator<?> getIterableIterator() {
+        return ((Iterable<?>) obj).iterator();
+    }
+
+    @TruffleBoundary
+    static boolean iteratorHasNext(Iterator<?> iterator) {
+        return iterator.hasNext();
+    }
+
+    @TruffleBoundary
+    static Object iteratorNext(Iterator<?> iterator) {
+        return iterator.next();
+    }
+
+    /**
+     * Exposes a host iterator created for an iterable, array or map to the guest. The adapter is
+     * an interop iterator independent of {@link HostClassCache#isIteratorAccess()}, as the guest
+     * only asked for an iterator and never sees the host iterator object itself.
+     */
+    @ExportLibrary(InteropLibrary.class)
+    final class IteratorAdapter implements TruffleObject {
+
+        private final Iterator<?> iterator;
+
+        IteratorAdapter(Iterator<?> iterator) {
+            this.iterator = iterator;
+        }
+
+        @SuppressWarnings("static-method")
+        @ExportMessage
+        boolean isIterator() {
+            return true;
+        }
+
+        @ExportMessage
+        boolean hasIteratorNextElement() {
+            return iteratorHasNext(iterator);
+        }
+
+        @ExportMessage
+        Object getIteratorNextElement(@Cached ToGuestValueNode toGuest,
+                        @Cached BranchProfile stop) throws StopIterationException {
+            try {
+                return toGuest.execute(languageContext, iteratorNext(iterator));
+            } catch (NoSuchElementException e) {
+                stop.enter();
+                throw StopIterationException.create();
+            }
+        }
+    }
+
+    private static final class ArrayIterator implements Iterator<Object> {
+
+        private final Object array;
+        private int index;
+
+        ArrayIterator(Object array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < Array.getLength(array);
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return Array.get(array, index++);
+        }
+    }
+
     @ExportMessage
     boolean isNull() {
         return obj == null;
@@ -1478,4 +2037,18 @@ final class HostObject implements TruffleObject {
         }
 
     }
+
+    @GenerateUncached
+    abstract static class IsBufferNode extends Node {
+
+        public abstract boolean execute(HostObject receiver);
+
+        @Specialization
+        public boolean doDefault(HostObject receiver,
+                        @Cached(value = "receiver.getHostClassCache().isArrayAccess()", allowUncached = true) boolean isArrayAccess) {
+            assert receiver.getHostClassCache().isArrayAccess() == isArrayAccess;
+            return isArrayAccess && receiver.obj instanceof ByteBuffer;
+        }
+
+    }
 }
@@ -203,6 +203,8 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
     long statementCounter;
     long elapsedTime;
     final long statementLimit;
+    final AtomicLong allocationCounter = new AtomicLong();
+    final long allocationLimit;
 
     /* Constructor for testing. */
     private PolyglotContextImpl() {
@@ -218,6 +220,7 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         this.creatorArguments = null;
         this.weakReference = null;
         this.statementLimit = 0;
+        this.allocationLimit = 0;
         this.subProcesses = new HashSet<>();
     }
 
@@ -242,6 +245,8 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         this.statementLimit = config.limits != null ? config.limits.statementLimit : Long.MAX_VALUE - 1;
         this.statementCounter = statementLimit;
         this.volatileStatementCounter.set(statementLimit);
+        this.allocationLimit = config.limits != null && config.limits.allocationLimit != 0 ? config.limits.allocationLimit : Long.MAX_VALUE;
+        this.allocationCounter.set(allocationLimit);
         notifyContextCreated();
         PolyglotContextImpl.initializeStaticContext(this);
     }
@@ -259,6 +264,7 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         this.creator = creator.language;
         this.creatorArguments = langConfig;
         this.statementLimit = 0; // inner context limit must not be used anyway
+        this.allocationLimit = 0;
         this.weakReference = new ContextWeakReference(this);
         this.parent.addChildContext(this);
         this.truffleContext = spiContext;
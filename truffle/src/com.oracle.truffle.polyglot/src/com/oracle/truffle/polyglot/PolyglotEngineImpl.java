@@ -179,6 +179,7 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
     final int contextLength;
     private volatile EngineLimits limits;
     final boolean conservativeContextReferences;
+    AuxiliaryEngineCache auxiliaryCache; // effectively final
     private final MessageTransport messageInterceptor;
 
     PolyglotEngineImpl(PolyglotImpl impl, DispatchOutputStream out, DispatchOutputStream err, InputStream in, Map<String, String> options,
@@ -261,6 +262,7 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
 
         ENGINES.put(this, null);
         if (!preInitialization) {
+            this.auxiliaryCache = AuxiliaryEngineCache.create(this);
             createInstruments(instrumentsOptions, allowExperimentalOptions);
             registerShutDownHook();
         }
@@ -340,6 +342,7 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
         }
 
         ENGINES.put(this, null);
+        this.auxiliaryCache = AuxiliaryEngineCache.create(this);
         Collection<PolyglotInstrument> instrumentsToCreate = new ArrayList<>();
         for (String instrumentId : idToInstrument.keySet()) {
             OptionValuesImpl prototypeOptions = prototype.idToInstrument.get(instrumentId).getOptionValuesIfExists();
@@ -396,6 +399,7 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
         if (this.runtimeData != null) {
             EngineAccessor.ACCESSOR.reloadEngineOptions(this.runtimeData, this.engineOptionValues);
         }
+        this.auxiliaryCache = AuxiliaryEngineCache.create(this);
 
         for (PolyglotLanguage language : languagesOptions.keySet()) {
             language.getOptionValues().putAll(languagesOptions.get(language), newAllowExperimentalOptions);
@@ -987,6 +991,9 @@ final class PolyglotEngineImpl extends AbstractPolyglotImpl.AbstractEngineImpl i
                     }
                 }
             }
+            if (auxiliaryCache != null) {
+                auxiliaryCache.store();
+            }
             // don't commit to the close if still running as this might cause races in the executing
             // context.
             if (closeContexts) {
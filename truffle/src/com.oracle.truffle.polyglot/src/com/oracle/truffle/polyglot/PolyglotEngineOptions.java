@@ -65,4 +65,12 @@ final class PolyglotEngineOptions {
                     "This allows invalid sharing between contexts. " +
                     "For testing purposes only.")//
     static final OptionKey<Boolean> UseConservativeContextReferences = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Stores the sources parsed by the engine to the given file when the engine is closed. " +
+                    "Use with --engine.CacheLoad to start warm with the sources of a previous run.")//
+    static final OptionKey<String> CacheStore = new OptionKey<>("");
+
+    @Option(category = OptionCategory.EXPERT, stability = OptionStability.EXPERIMENTAL, help = "Loads the sources stored with --engine.CacheStore from the given file. " +
+                    "The sources of a language are parsed eagerly when the language is initialized.")//
+    static final OptionKey<String> CacheLoad = new OptionKey<>("");
 }
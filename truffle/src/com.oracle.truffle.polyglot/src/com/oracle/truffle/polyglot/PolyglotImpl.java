@@ -127,10 +127,10 @@ public final class PolyglotImpl extends AbstractPolyglotImpl {
     }
 
     @Override
-    public Object buildLimits(long statementLimit, Predicate<org.graalvm.polyglot.Source> statementLimitSourceFilter,
+    public Object buildLimits(long statementLimit, Predicate<org.graalvm.polyglot.Source> statementLimitSourceFilter, long allocationLimit,
                     Duration timeLimit, Duration timeLimitAccuracy,
                     Consumer<ResourceLimitEvent> onLimit) {
-        return new PolyglotLimits(statementLimit, statementLimitSourceFilter, timeLimit, timeLimitAccuracy, onLimit);
+        return new PolyglotLimits(statementLimit, statementLimitSourceFilter, allocationLimit, timeLimit, timeLimitAccuracy, onLimit);
     }
 
     /**
@@ -426,6 +426,8 @@ public final class PolyglotImpl extends AbstractPolyglotImpl {
             throw (PolyglotIllegalArgumentException) e;
         } else if (e instanceof PolyglotArrayIndexOutOfBoundsException) {
             throw (PolyglotArrayIndexOutOfBoundsException) e;
+        } else if (e instanceof PolyglotNoSuchElementException) {
+            throw (PolyglotNoSuchElementException) e;
         }
     }
 
@@ -566,6 +566,12 @@ final class PolyglotLanguageContext implements PolyglotImpl.VMObject {
                 }
             }
         }
+        if (wasInitialized && !context.inContextPreInitialization) {
+            AuxiliaryEngineCache auxiliaryCache = context.engine.auxiliaryCache;
+            if (auxiliaryCache != null) {
+                auxiliaryCache.restore(this, lazy.sourceCache, lazy.languageInstance);
+            }
+        }
         if (wasInitialized && eventsEnabled) {
             EngineAccessor.INSTRUMENT.notifyLanguageContextInitialized(context.engine, context.truffleContext, language.info);
         }
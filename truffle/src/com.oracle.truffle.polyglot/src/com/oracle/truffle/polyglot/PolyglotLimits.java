@@ -43,11 +43,13 @@ package com.oracle.truffle.polyglot;
 import java.lang.management.ManagementFactory;
 import java.lang.ref.WeakReference;
 import java.time.Duration;
-import java.util.TimerTask;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -55,6 +57,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.logging.Level;
 
 import org.graalvm.polyglot.ResourceLimitEvent;
 import org.graalvm.polyglot.ResourceLimits;
@@ -64,12 +67,17 @@ import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLogger;
 import com.oracle.truffle.api.TruffleOptions;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.frame.FrameSlotTypeException;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.AllocationEvent;
+import com.oracle.truffle.api.instrumentation.AllocationEventFilter;
+import com.oracle.truffle.api.instrumentation.AllocationListener;
+import com.oracle.truffle.api.instrumentation.AllocationReporter;
 import com.oracle.truffle.api.instrumentation.EventBinding;
 import com.oracle.truffle.api.instrumentation.EventContext;
 import com.oracle.truffle.api.instrumentation.ExecutionEventNode;
@@ -88,13 +96,16 @@ final class PolyglotLimits {
 
     final long statementLimit;
     final Predicate<Source> statementLimitSourcePredicate;
+    final long allocationLimit;
     final Duration timeLimit;
     final Duration timeAccuracy;
     final Consumer<ResourceLimitEvent> onEvent;
 
-    PolyglotLimits(long statementLimit, Predicate<Source> statementLimitSourcePredicate, Duration timeLimit, Duration timeAccuracy, Consumer<ResourceLimitEvent> onEvent) {
+    PolyglotLimits(long statementLimit, Predicate<Source> statementLimitSourcePredicate, long allocationLimit, Duration timeLimit, Duration timeAccuracy,
+                    Consumer<ResourceLimitEvent> onEvent) {
         this.statementLimit = statementLimit;
         this.statementLimitSourcePredicate = statementLimitSourcePredicate;
+        this.allocationLimit = allocationLimit;
         this.timeLimit = timeLimit;
         this.timeAccuracy = timeAccuracy;
         this.onEvent = onEvent;
@@ -108,6 +119,7 @@ final class PolyglotLimits {
             }
             context.statementCounter = context.statementLimit;
             context.volatileStatementCounter.set(context.statementLimit);
+            context.allocationCounter.set(context.allocationLimit);
         }
     }
 
@@ -224,35 +236,118 @@ final class PolyglotLimits {
 
     }
 
-    static final class TimeLimitChecker extends TimerTask {
+    /**
+     * Accounts the sizes of the allocations reported by languages to the context that performed
+     * them. Only attached if a context of the engine uses an allocation limit, otherwise languages
+     * do not report allocations at all.
+     */
+    static final class AllocationLimitListener implements AllocationListener {
+
+        final EngineLimits limits;
+        final PolyglotEngineImpl engine;
+
+        AllocationLimitListener(EngineLimits limits) {
+            this.limits = limits;
+            this.engine = limits.engine;
+        }
+
+        @Override
+        public void onEnter(AllocationEvent event) {
+        }
+
+        @Override
+        public void onReturnValue(AllocationEvent event) {
+            long newSize = event.getNewSize();
+            if (newSize == AllocationReporter.SIZE_UNKNOWN) {
+                return;
+            }
+            long oldSize = event.getOldSize();
+            long allocated = oldSize == AllocationReporter.SIZE_UNKNOWN ? newSize : newSize - oldSize;
+            if (allocated <= 0) {
+                return;
+            }
+            PolyglotContextImpl context = PolyglotContextImpl.currentEntered(engine);
+            while (context.parent != null) {
+                context = context.parent;
+            }
+            long remaining = context.allocationCounter.addAndGet(-allocated);
+            if (remaining < 0) {
+                CompilerDirectives.transferToInterpreter();
+                notifyAllocationLimitReached(context, context.allocationLimit - remaining);
+            }
+        }
+
+        private void notifyAllocationLimitReached(PolyglotContextImpl context, long allocatedBytes) {
+            boolean limitReached = false;
+            long limit = context.allocationLimit;
+            synchronized (context) {
+                // reset allocation counter
+                if (context.allocationCounter.get() < 0) {
+                    context.allocationCounter.set(limit);
+                    limitReached = true;
+                }
+            }
+            if (limitReached) {
+                String message = String.format("Allocation limit of %s bytes exceeded. Bytes allocated %s.",
+                                limit, allocatedBytes);
+                boolean invalidated = context.invalidate(message);
+                if (invalidated) {
+                    context.close(context.creatorApi, true);
+                    RuntimeException e = limits.notifyEvent(context);
+                    if (e != null) {
+                        throw e;
+                    }
+                    throw new CancelExecution(null, message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Time limit state of a single context. The checkers of all contexts are run by a single
+     * periodic task, see {@link EngineLimits#checkTimeLimits()}.
+     */
+    static final class TimeLimitChecker {
 
         private final WeakReference<PolyglotContextImpl> context;
         private final long timeLimitNS;
+        private final long accuracyMillis;
+        private final long accuracyNS;
         private final EngineLimits limits;
+        private long nextCheckNS;
         private FutureTask<?> cancelResult;
 
-        TimeLimitChecker(PolyglotContextImpl context, EngineLimits limits) {
+        TimeLimitChecker(PolyglotContextImpl context, EngineLimits limits, long accuracyMillis) {
             this.context = new WeakReference<>(context);
             this.timeLimitNS = context.config.limits.timeLimit.toNanos();
+            this.accuracyMillis = accuracyMillis;
+            this.accuracyNS = TimeUnit.MILLISECONDS.toNanos(accuracyMillis);
             this.limits = limits;
         }
 
-        @Override
-        public void run() {
-            PolyglotContextImpl c = this.context.get();
+        /**
+         * Checks the time limit of the context. Returns <code>false</code> if the context was
+         * collected, closed or cancelled and the checker no longer needs to run. Synchronized as
+         * the run of a replaced periodic task may overlap with the run of its replacement.
+         */
+        synchronized boolean check(long nowNS) {
             if (cancelResult != null) {
                 if (cancelResult.isDone()) {
-                    cancel();
                     try {
                         cancelResult.get();
                     } catch (Exception e) {
                     }
+                    return false;
                 }
-                return;
-            } else if (c == null || c.closed) {
-                cancel();
-                return;
+                return true;
+            }
+            PolyglotContextImpl c = this.context.get();
+            if (c == null || c.closed) {
+                return false;
+            } else if (nowNS - nextCheckNS < 0) {
+                return true;
             }
+            nextCheckNS = nowNS + accuracyNS;
             long timeActiveNS = c.getTimeActive();
             if (timeActiveNS > timeLimitNS) {
                 if (!c.invalid) {
@@ -269,16 +364,49 @@ final class PolyglotLimits {
                      */
                     if (invalidated) {
                         limits.notifyEvent(c);
-                        cancelResult = (FutureTask<?>) EngineLimits.getCancelExecutor().submit(new Runnable() {
-                            public void run() {
-                                if (!c.closed) {
-                                    c.close(c.creatorApi, true);
-                                }
-                            }
-                        });
+                        submitCancel(c);
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Called if {@link #check(long)} failed with an exception. A time limit that cannot be
+         * checked must not let the context run unlimited, so the context is cancelled. Returns
+         * <code>false</code> if the checker no longer needs to run. If the context cannot be
+         * cancelled either, the checker is kept and the check is retried with the next run.
+         */
+        synchronized boolean checkFailed(Throwable failure) {
+            PolyglotContextImpl c = this.context.get();
+            if (c == null || c.closed) {
+                return false;
+            }
+            try {
+                limits.getLogger().log(Level.WARNING, "Failed to check the time limit of a context. The context is cancelled.", failure);
+            } catch (Throwable t) {
+                // the context is cancelled anyway
+            }
+            if (cancelResult == null && !c.invalid) {
+                try {
+                    if (c.invalidate("Time resource limit could not be checked.")) {
+                        submitCancel(c);
                     }
+                } catch (Throwable t) {
+                    // retried with the next run of the checker
                 }
             }
+            return true;
+        }
+
+        private void submitCancel(PolyglotContextImpl c) {
+            cancelResult = (FutureTask<?>) EngineLimits.getCancelExecutor().submit(new Runnable() {
+                public void run() {
+                    if (!c.closed) {
+                        c.close(c.creatorApi, true);
+                    }
+                }
+            });
         }
     }
 
@@ -290,6 +418,15 @@ final class PolyglotLimits {
         private static volatile ScheduledThreadPoolExecutor limitExecutor;
         private static volatile ThreadPoolExecutor cancelExecutor;
 
+        /*
+         * Time limit checkers of all contexts with a time limit, run by a single periodic task that
+         * is only scheduled while there are checkers. The period of the task is the finest
+         * accuracy of the checkers. Guarded by EngineLimits.class.
+         */
+        private static final List<TimeLimitChecker> timeLimitCheckers = new ArrayList<>();
+        private static ScheduledFuture<?> timeLimitTask;
+        private static long timeLimitTaskPeriod;
+
         private static final Predicate<Source> NO_PREDICATE = new Predicate<Source>() {
             public boolean test(Source t) {
                 return true;
@@ -302,6 +439,7 @@ final class PolyglotLimits {
         @CompilationFinal Assumption sameStatementLimit;
         @CompilationFinal Predicate<Source> statementLimitSourcePredicate;
         EventBinding<?> statementLimitBinding;
+        EventBinding<?> allocationLimitBinding;
 
         EngineLimits(PolyglotEngineImpl engine) {
             this.engine = engine;
@@ -380,14 +518,17 @@ final class PolyglotLimits {
                     });
                 }
             }
+            if (limits.allocationLimit != 0 && allocationLimitBinding == null) {
+                Instrumenter instrumenter = (Instrumenter) EngineAccessor.INSTRUMENT.getEngineInstrumenter(engine.instrumentationHandler);
+                allocationLimitBinding = instrumenter.attachAllocationListener(AllocationEventFilter.ANY, new AllocationLimitListener(this));
+            }
             if (limits.timeLimit != null) {
                 engine.noThreadTimingNeeded.invalidate();
                 engine.noPriorityChangeNeeded.invalidate();
                 long timeLimitMillis = limits.timeLimit.toMillis();
                 assert timeLimitMillis > 0; // needs to verified before
-                TimeLimitChecker task = new TimeLimitChecker(context, this);
                 long accuracy = Math.max(10, limits.timeAccuracy.toMillis());
-                getLimitTimer().scheduleAtFixedRate(task, accuracy, accuracy, TimeUnit.MILLISECONDS);
+                scheduleTimeLimitChecker(new TimeLimitChecker(context, this, accuracy));
             }
 
             reset(context);
@@ -414,6 +555,97 @@ final class PolyglotLimits {
             return null;
         }
 
+        TruffleLogger getLogger() {
+            return EngineAccessor.LANGUAGE.getLogger(PolyglotEngineImpl.OPTION_GROUP_ENGINE, PolyglotLimits.class.getName(), engine.getOrCreateEngineLoggers());
+        }
+
+        private static void scheduleTimeLimitChecker(TimeLimitChecker checker) {
+            synchronized (EngineLimits.class) {
+                timeLimitCheckers.add(checker);
+                updateTimeLimitTask();
+            }
+        }
+
+        /**
+         * Schedules the periodic task with the finest accuracy of the remaining checkers, or
+         * cancels it if there are no checkers left.
+         */
+        private static void updateTimeLimitTask() {
+            assert Thread.holdsLock(EngineLimits.class);
+            long period = Long.MAX_VALUE;
+            for (TimeLimitChecker checker : timeLimitCheckers) {
+                period = Math.min(period, checker.accuracyMillis);
+            }
+            if (timeLimitTask != null && (timeLimitCheckers.isEmpty() || period != timeLimitTaskPeriod)) {
+                timeLimitTask.cancel(false);
+                timeLimitTask = null;
+            }
+            if (timeLimitTask == null && !timeLimitCheckers.isEmpty()) {
+                timeLimitTaskPeriod = period;
+                timeLimitTask = getLimitTimer().scheduleAtFixedRate(EngineLimits::checkTimeLimits, period, period, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private static void checkTimeLimits() {
+            TimeLimitChecker[] checkers;
+            synchronized (EngineLimits.class) {
+                checkers = timeLimitCheckers.toArray(new TimeLimitChecker[timeLimitCheckers.size()]);
+            }
+            long now = System.nanoTime();
+            List<TimeLimitChecker> finished = null;
+            for (TimeLimitChecker checker : checkers) {
+                boolean active;
+                try {
+                    active = checker.check(now);
+                } catch (Throwable t) {
+                    /*
+                     * An exception must not escape the periodic task, otherwise the executor stops
+                     * running it and no time limit is checked anymore.
+                     */
+                    active = checker.checkFailed(t);
+                }
+                if (!active) {
+                    if (finished == null) {
+                        finished = new ArrayList<>();
+                    }
+                    finished.add(checker);
+                }
+            }
+            if (finished != null) {
+                synchronized (EngineLimits.class) {
+                    timeLimitCheckers.removeAll(finished);
+                    updateTimeLimitTask();
+                }
+            }
+        }
+
+        /*
+         * Used by tests.
+         */
+        static int getTimeLimitCheckerCount() {
+            synchronized (EngineLimits.class) {
+                return timeLimitCheckers.size();
+            }
+        }
+
+        /*
+         * Used by tests.
+         */
+        static boolean isTimeLimitTaskScheduled() {
+            synchronized (EngineLimits.class) {
+                return timeLimitTask != null;
+            }
+        }
+
+        /*
+         * Used by tests.
+         */
+        static long getTimeLimitTaskPeriod() {
+            synchronized (EngineLimits.class) {
+                return timeLimitTask != null ? timeLimitTaskPeriod : 0;
+            }
+        }
+
         static ExecutorService getCancelExecutor() {
             ThreadPoolExecutor executor = cancelExecutor;
             if (executor == null) {
@@ -77,6 +77,11 @@ final class PolyglotSourceCache {
                      * Parsed twice -> discard the one not in the cache.
                      */
                     target = prev;
+                } else {
+                    AuxiliaryEngineCache auxiliaryCache = context.getEngine().auxiliaryCache;
+                    if (auxiliaryCache != null) {
+                        auxiliaryCache.record(context, source, argumentNames);
+                    }
                 }
             }
         } else {
@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.polyglot;
 
+import java.nio.ByteOrder;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -70,8 +71,11 @@ import com.oracle.truffle.api.impl.Accessor.CallProfiled;
 import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.StopIterationException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnknownKeyException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -91,16 +95,31 @@ import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.CanInvokeNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetArrayElementNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetArraySizeNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetBufferSizeNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetHashKeysIteratorNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetHashKeysNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetHashSizeNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetHashValueNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetHashValueOrDefaultNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetIteratorNextElementNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetIteratorNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetMemberKeysNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetMemberNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetMetaQualifiedNameNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.GetMetaSimpleNameNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.HasArrayElementsNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.HasBufferElementsNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.HasHashEntriesNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.HasHashEntryNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.HasIteratorNextElementNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.HasIteratorNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.HasMemberNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.HasMembersNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.IsBufferWritableNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.IsDateNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.IsDurationNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.IsExceptionNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.IsIteratorNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.IsMetaInstanceNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.IsMetaObjectNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.IsNativePointerNodeGen;
@@ -108,11 +127,16 @@ import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.IsTimeNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.IsTimeZoneNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.NewInstanceNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.PutHashEntryNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.PutMemberNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.ReadBufferElementNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.ReadBufferNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.RemoveArrayElementNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.RemoveHashEntryNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.RemoveMemberNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.SetArrayElementNodeGen;
 import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.ThrowExceptionNodeGen;
+import com.oracle.truffle.polyglot.PolyglotValueFactory.InteropCodeCacheFactory.WriteBufferElementNodeGen;
 
 abstract class PolyglotValue extends AbstractValueImpl {
 
@@ -181,6 +205,91 @@ abstract class PolyglotValue extends AbstractValueImpl {
         throw unsupported(context, receiver, "getArraySize()", "hasArrayElements()");
     }
 
+    @Override
+    public boolean isBufferWritable(Object receiver) {
+        throw bufferUnsupported(languageContext, receiver, "isBufferWritable()");
+    }
+
+    @Override
+    public long getBufferSize(Object receiver) {
+        throw bufferUnsupported(languageContext, receiver, "getBufferSize()");
+    }
+
+    @Override
+    public byte readBufferByte(Object receiver, long byteOffset) {
+        throw bufferUnsupported(languageContext, receiver, "readBufferByte(long)");
+    }
+
+    @Override
+    public void writeBufferByte(Object receiver, long byteOffset, byte value) {
+        throw bufferUnsupported(languageContext, receiver, "writeBufferByte(long, byte)");
+    }
+
+    @Override
+    public short readBufferShort(Object receiver, ByteOrder order, long byteOffset) {
+        throw bufferUnsupported(languageContext, receiver, "readBufferShort(ByteOrder, long)");
+    }
+
+    @Override
+    public void writeBufferShort(Object receiver, ByteOrder order, long byteOffset, short value) {
+        throw bufferUnsupported(languageContext, receiver, "writeBufferShort(ByteOrder, long, short)");
+    }
+
+    @Override
+    public int readBufferInt(Object receiver, ByteOrder order, long byteOffset) {
+        throw bufferUnsupported(languageContext, receiver, "readBufferInt(ByteOrder, long)");
+    }
+
+    @Override
+    public void writeBufferInt(Object receiver, ByteOrder order, long byteOffset, int value) {
+        throw bufferUnsupported(languageContext, receiver, "writeBufferInt(ByteOrder, long, int)");
+    }
+
+    @Override
+    public long readBufferLong(Object receiver, ByteOrder order, long byteOffset) {
+        throw bufferUnsupported(languageContext, receiver, "readBufferLong(ByteOrder, long)");
+    }
+
+    @Override
+    public void writeBufferLong(Object receiver, ByteOrder order, long byteOffset, long value) {
+        throw bufferUnsupported(languageContext, receiver, "writeBufferLong(ByteOrder, long, long)");
+    }
+
+    @Override
+    public float readBufferFloat(Object receiver, ByteOrder order, long byteOffset) {
+        throw bufferUnsupported(languageContext, receiver, "readBufferFloat(ByteOrder, long)");
+    }
+
+    @Override
+    public void writeBufferFloat(Object receiver, ByteOrder order, long byteOffset, float value) {
+        throw bufferUnsupported(languageContext, receiver, "writeBufferFloat(ByteOrder, long, float)");
+    }
+
+    @Override
+    public double readBufferDouble(Object receiver, ByteOrder order, long byteOffset) {
+        throw bufferUnsupported(languageContext, receiver, "readBufferDouble(ByteOrder, long)");
+    }
+
+    @Override
+    public void writeBufferDouble(Object receiver, ByteOrder order, long byteOffset, double value) {
+        throw bufferUnsupported(languageContext, receiver, "writeBufferDouble(ByteOrder, long, double)");
+    }
+
+    @Override
+    public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) {
+        throw bufferUnsupported(languageContext, receiver, "readBuffer(long, byte[], int, int)");
+    }
+
+    @TruffleBoundary
+    static RuntimeException bufferUnsupported(PolyglotLanguageContext context, Object receiver, String message) {
+        throw unsupported(context, receiver, message, "hasBufferElements()");
+    }
+
+    @TruffleBoundary
+    static RuntimeException writeBufferUnsupported(PolyglotLanguageContext context, Object receiver, String message) {
+        throw unsupported(context, receiver, message, "isBufferWritable()");
+    }
+
     @Override
     public Value getMember(Object receiver, String key) {
         return getMemberUnsupported(languageContext, receiver, key);
@@ -211,6 +320,66 @@ abstract class PolyglotValue extends AbstractValueImpl {
         throw unsupported(context, receiver, "removeMember(String, Object)", null);
     }
 
+    @Override
+    public long getHashSize(Object receiver) {
+        throw hashUnsupported(languageContext, receiver, "getHashSize()");
+    }
+
+    @Override
+    public Value getHashValue(Object receiver, Object key) {
+        throw hashUnsupported(languageContext, receiver, "getHashValue(Object)");
+    }
+
+    @Override
+    public Value getHashValueOrDefault(Object receiver, Object key, Object defaultValue) {
+        throw hashUnsupported(languageContext, receiver, "getHashValueOrDefault(Object, Object)");
+    }
+
+    @Override
+    public void putHashEntry(Object receiver, Object key, Object value) {
+        throw hashUnsupported(languageContext, receiver, "putHashEntry(Object, Object)");
+    }
+
+    @Override
+    public boolean removeHashEntry(Object receiver, Object key) {
+        throw hashUnsupported(languageContext, receiver, "removeHashEntry(Object)");
+    }
+
+    @Override
+    public Value getHashKeys(Object receiver) {
+        throw hashUnsupported(languageContext, receiver, "getHashKeys()");
+    }
+
+    @Override
+    public Value getHashKeysIterator(Object receiver) {
+        throw hashUnsupported(languageContext, receiver, "getHashKeysIterator()");
+    }
+
+    @TruffleBoundary
+    static RuntimeException hashUnsupported(PolyglotLanguageContext context, Object receiver, String message) {
+        throw unsupported(context, receiver, message, "hasHashEntries()");
+    }
+
+    @Override
+    public Value getIterator(Object receiver) {
+        throw unsupported(languageContext, receiver, "getIterator()", "hasIterator()");
+    }
+
+    @Override
+    public boolean hasIteratorNextElement(Object receiver) {
+        throw iteratorUnsupported(languageContext, receiver, "hasIteratorNextElement()");
+    }
+
+    @Override
+    public Value getIteratorNextElement(Object receiver) {
+        throw iteratorUnsupported(languageContext, receiver, "getIteratorNextElement()");
+    }
+
+    @TruffleBoundary
+    static RuntimeException iteratorUnsupported(PolyglotLanguageContext context, Object receiver, String message) {
+        throw unsupported(context, receiver, message, "isIterator()");
+    }
+
     @Override
     public Value execute(Object receiver, Object[] arguments) {
         throw executeUnsupported(languageContext, receiver);
@@ -578,6 +747,12 @@ abstract class PolyglotValue extends AbstractValueImpl {
         throw new PolyglotArrayIndexOutOfBoundsException(message);
     }
 
+    @TruffleBoundary
+    protected static RuntimeException invalidBufferOffset(PolyglotLanguageContext context, Object receiver, long byteOffset, long length) {
+        String message = String.format("Invalid buffer access of length %s at byte offset %s for buffer %s.", length, byteOffset, getValueInfo(context, receiver));
+        throw new PolyglotArrayIndexOutOfBoundsException(message);
+    }
+
     @TruffleBoundary
     protected static RuntimeException invalidArrayValue(PolyglotLanguageContext context, Object receiver, long identifier, Object value) {
         throw new PolyglotClassCastException(
@@ -597,6 +772,24 @@ abstract class PolyglotValue extends AbstractValueImpl {
         throw new PolyglotIllegalArgumentException(message);
     }
 
+    @TruffleBoundary
+    protected static RuntimeException invalidHashKey(PolyglotLanguageContext context, Object receiver, Object key) {
+        String message = String.format("Invalid hash key %s for object %s.", getValueInfo(context, key), getValueInfo(context, receiver));
+        throw new PolyglotIllegalArgumentException(message);
+    }
+
+    @TruffleBoundary
+    protected static RuntimeException invalidHashValue(PolyglotLanguageContext context, Object receiver, Object key, Object value) {
+        String message = String.format("Invalid hash value %s for object %s and hash key %s.", getValueInfo(context, value), getValueInfo(context, receiver), getValueInfo(context, key));
+        throw new PolyglotIllegalArgumentException(message);
+    }
+
+    @TruffleBoundary
+    protected static RuntimeException stopIteration(PolyglotLanguageContext context, Object receiver) {
+        String message = String.format("Iteration was stopped for iterator %s.", getValueInfo(context, receiver));
+        throw new PolyglotNoSuchElementException(message);
+    }
+
     @TruffleBoundary
     protected static RuntimeException invalidExecuteArgumentType(PolyglotLanguageContext context, Object receiver, UnsupportedTypeException e) {
         String originalMessage = e.getMessage() == null ? "" : e.getMessage() + " ";
@@ -775,11 +968,41 @@ abstract class PolyglotValue extends AbstractValueImpl {
         final CallTarget setArrayElement;
         final CallTarget removeArrayElement;
         final CallTarget getArraySize;
+        final CallTarget hasBufferElements;
+        final CallTarget isBufferWritable;
+        final CallTarget getBufferSize;
+        final CallTarget readBufferByte;
+        final CallTarget writeBufferByte;
+        final CallTarget readBufferShort;
+        final CallTarget writeBufferShort;
+        final CallTarget readBufferInt;
+        final CallTarget writeBufferInt;
+        final CallTarget readBufferLong;
+        final CallTarget writeBufferLong;
+        final CallTarget readBufferFloat;
+        final CallTarget writeBufferFloat;
+        final CallTarget readBufferDouble;
+        final CallTarget writeBufferDouble;
+        final CallTarget readBuffer;
         final CallTarget hasMembers;
         final CallTarget hasMember;
         final CallTarget getMember;
         final CallTarget putMember;
         final CallTarget removeMember;
+        final CallTarget hasHashEntries;
+        final CallTarget getHashSize;
+        final CallTarget hasHashEntry;
+        final CallTarget getHashValue;
+        final CallTarget getHashValueOrDefault;
+        final CallTarget putHashEntry;
+        final CallTarget removeHashEntry;
+        final CallTarget getHashKeys;
+        final CallTarget getHashKeysIterator;
+        final CallTarget hasIterator;
+        final CallTarget getIterator;
+        final CallTarget isIterator;
+        final CallTarget hasIteratorNextElement;
+        final CallTarget getIteratorNextElement;
         final CallTarget isNull;
         final CallTarget canExecute;
         final CallTarget execute;
@@ -829,10 +1052,40 @@ abstract class PolyglotValue extends AbstractValueImpl {
             this.setArrayElement = createTarget(SetArrayElementNodeGen.create(this));
             this.removeArrayElement = createTarget(RemoveArrayElementNodeGen.create(this));
             this.getArraySize = createTarget(GetArraySizeNodeGen.create(this));
+            this.hasBufferElements = createTarget(HasBufferElementsNodeGen.create(this));
+            this.isBufferWritable = createTarget(IsBufferWritableNodeGen.create(this));
+            this.getBufferSize = createTarget(GetBufferSizeNodeGen.create(this));
+            this.readBufferByte = createTarget(ReadBufferElementNodeGen.create(this, byte.class));
+            this.writeBufferByte = createTarget(WriteBufferElementNodeGen.create(this, byte.class));
+            this.readBufferShort = createTarget(ReadBufferElementNodeGen.create(this, short.class));
+            this.writeBufferShort = createTarget(WriteBufferElementNodeGen.create(this, short.class));
+            this.readBufferInt = createTarget(ReadBufferElementNodeGen.create(this, int.class));
+            this.writeBufferInt = createTarget(WriteBufferElementNodeGen.create(this, int.class));
+            this.readBufferLong = createTarget(ReadBufferElementNodeGen.create(this, long.class));
+            this.writeBufferLong = createTarget(WriteBufferElementNodeGen.create(this, long.class));
+            this.readBufferFloat = createTarget(ReadBufferElementNodeGen.create(this, float.class));
+            this.writeBufferFloat = createTarget(WriteBufferElementNodeGen.create(this, float.class));
+            this.readBufferDouble = createTarget(ReadBufferElementNodeGen.create(this, double.class));
+            this.writeBufferDouble = createTarget(WriteBufferElementNodeGen.create(this, double.class));
+            this.readBuffer = createTarget(ReadBufferNodeGen.create(this));
             this.hasMember = createTarget(HasMemberNodeGen.create(this));
             this.getMember = createTarget(GetMemberNodeGen.create(this));
             this.putMember = createTarget(PutMemberNodeGen.create(this));
             this.removeMember = createTarget(RemoveMemberNodeGen.create(this));
+            this.hasHashEntries = createTarget(HasHashEntriesNodeGen.create(this));
+            this.getHashSize = createTarget(GetHashSizeNodeGen.create(this));
+            this.hasHashEntry = createTarget(HasHashEntryNodeGen.create(this));
+            this.getHashValue = createTarget(GetHashValueNodeGen.create(this));
+            this.getHashValueOrDefault = createTarget(GetHashValueOrDefaultNodeGen.create(this));
+            this.putHashEntry = createTarget(PutHashEntryNodeGen.create(this));
+            this.removeHashEntry = createTarget(RemoveHashEntryNodeGen.create(this));
+            this.getHashKeys = createTarget(GetHashKeysNodeGen.create(this));
+            this.getHashKeysIterator = createTarget(GetHashKeysIteratorNodeGen.create(this));
+            this.hasIterator = createTarget(HasIteratorNodeGen.create(this));
+            this.getIterator = createTarget(GetIteratorNodeGen.create(this));
+            this.isIterator = createTarget(IsIteratorNodeGen.create(this));
+            this.hasIteratorNextElement = createTarget(HasIteratorNextElementNodeGen.create(this));
+            this.getIteratorNextElement = createTarget(GetIteratorNextElementNodeGen.create(this));
             this.isNull = createTarget(IsNullNodeGen.create(this));
             this.execute = createTarget(new ExecuteNode(this));
             this.executeNoArgs = createTarget(new ExecuteNoArgsNode(this));
@@ -1423,6 +1676,260 @@ abstract class PolyglotValue extends AbstractValueImpl {
 
         }
 
+        abstract static class HasBufferElementsNode extends InteropNode {
+
+            protected HasBufferElementsNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "hasBufferElements";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary buffers) {
+                return buffers.hasBufferElements(receiver);
+            }
+
+        }
+
+        abstract static class IsBufferWritableNode extends InteropNode {
+
+            protected IsBufferWritableNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "isBufferWritable";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary buffers,
+                            @Cached BranchProfile unsupported) {
+                try {
+                    return buffers.isBufferWritable(receiver);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw bufferUnsupported(context, receiver, "isBufferWritable()");
+                }
+            }
+
+        }
+
+        abstract static class GetBufferSizeNode extends InteropNode {
+
+            protected GetBufferSizeNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "getBufferSize";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary buffers,
+                            @Cached BranchProfile unsupported) {
+                try {
+                    return buffers.getBufferSize(receiver);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw bufferUnsupported(context, receiver, "getBufferSize()");
+                }
+            }
+
+        }
+
+        /**
+         * Reads a single buffer element of the primitive type {@link #elementType}. The byte order
+         * argument is omitted for bytes.
+         */
+        abstract static class ReadBufferElementNode extends InteropNode {
+
+            final Class<?> elementType;
+
+            protected ReadBufferElementNode(InteropCodeCache interop, Class<?> elementType) {
+                super(interop);
+                this.elementType = elementType;
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                if (elementType == byte.class) {
+                    return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, Long.class};
+                }
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, ByteOrder.class, Long.class};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "readBuffer" + bufferElementName(elementType);
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary buffers,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile invalidOffset) {
+                try {
+                    if (elementType == byte.class) {
+                        return buffers.readBufferByte(receiver, (long) args[ARGUMENT_OFFSET]);
+                    }
+                    ByteOrder order = (ByteOrder) args[ARGUMENT_OFFSET];
+                    long byteOffset = (long) args[ARGUMENT_OFFSET + 1];
+                    if (elementType == short.class) {
+                        return buffers.readBufferShort(receiver, order, byteOffset);
+                    } else if (elementType == int.class) {
+                        return buffers.readBufferInt(receiver, order, byteOffset);
+                    } else if (elementType == long.class) {
+                        return buffers.readBufferLong(receiver, order, byteOffset);
+                    } else if (elementType == float.class) {
+                        return buffers.readBufferFloat(receiver, order, byteOffset);
+                    } else {
+                        assert elementType == double.class;
+                        return buffers.readBufferDouble(receiver, order, byteOffset);
+                    }
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw bufferUnsupported(context, receiver, getOperationName() + "()");
+                } catch (InvalidBufferOffsetException e) {
+                    invalidOffset.enter();
+                    throw invalidBufferOffset(context, receiver, e.getByteOffset(), e.getLength());
+                }
+            }
+
+        }
+
+        /**
+         * Writes a single buffer element of the primitive type {@link #elementType}. The byte order
+         * argument is omitted for bytes.
+         */
+        abstract static class WriteBufferElementNode extends InteropNode {
+
+            final Class<?> elementType;
+
+            protected WriteBufferElementNode(InteropCodeCache interop, Class<?> elementType) {
+                super(interop);
+                this.elementType = elementType;
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                if (elementType == byte.class) {
+                    return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, Long.class, Byte.class};
+                }
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, ByteOrder.class, Long.class, null};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "writeBuffer" + bufferElementName(elementType);
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary buffers,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile invalidOffset) {
+                try {
+                    if (elementType == byte.class) {
+                        buffers.writeBufferByte(receiver, (long) args[ARGUMENT_OFFSET], (byte) args[ARGUMENT_OFFSET + 1]);
+                        return null;
+                    }
+                    ByteOrder order = (ByteOrder) args[ARGUMENT_OFFSET];
+                    long byteOffset = (long) args[ARGUMENT_OFFSET + 1];
+                    Object value = args[ARGUMENT_OFFSET + 2];
+                    if (elementType == short.class) {
+                        buffers.writeBufferShort(receiver, order, byteOffset, (short) value);
+                    } else if (elementType == int.class) {
+                        buffers.writeBufferInt(receiver, order, byteOffset, (int) value);
+                    } else if (elementType == long.class) {
+                        buffers.writeBufferLong(receiver, order, byteOffset, (long) value);
+                    } else if (elementType == float.class) {
+                        buffers.writeBufferFloat(receiver, order, byteOffset, (float) value);
+                    } else {
+                        assert elementType == double.class;
+                        buffers.writeBufferDouble(receiver, order, byteOffset, (double) value);
+                    }
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    if (buffers.hasBufferElements(receiver)) {
+                        throw writeBufferUnsupported(context, receiver, getOperationName() + "()");
+                    }
+                    throw bufferUnsupported(context, receiver, getOperationName() + "()");
+                } catch (InvalidBufferOffsetException e) {
+                    invalidOffset.enter();
+                    throw invalidBufferOffset(context, receiver, e.getByteOffset(), e.getLength());
+                }
+                return null;
+            }
+
+        }
+
+        abstract static class ReadBufferNode extends InteropNode {
+
+            protected ReadBufferNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, Long.class, byte[].class, Integer.class, Integer.class};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "readBuffer";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary buffers,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile invalidOffset) {
+                long byteOffset = (long) args[ARGUMENT_OFFSET];
+                byte[] destination = (byte[]) args[ARGUMENT_OFFSET + 1];
+                int destinationOffset = (int) args[ARGUMENT_OFFSET + 2];
+                int length = (int) args[ARGUMENT_OFFSET + 3];
+                try {
+                    buffers.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw bufferUnsupported(context, receiver, "readBuffer(long, byte[], int, int)");
+                } catch (InvalidBufferOffsetException e) {
+                    invalidOffset.enter();
+                    throw invalidBufferOffset(context, receiver, e.getByteOffset(), e.getLength());
+                }
+                return null;
+            }
+
+        }
+
+        static String bufferElementName(Class<?> elementType) {
+            String name = elementType.getName();
+            return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+
         abstract static class GetMemberNode extends InteropNode {
 
             protected GetMemberNode(InteropCodeCache interop) {
@@ -1552,9 +2059,9 @@ abstract class PolyglotValue extends AbstractValueImpl {
 
         }
 
-        abstract static class IsNullNode extends InteropNode {
+        abstract static class HasHashEntriesNode extends InteropNode {
 
-            protected IsNullNode(InteropCodeCache interop) {
+            protected HasHashEntriesNode(InteropCodeCache interop) {
                 super(interop);
             }
 
@@ -1565,12 +2072,453 @@ abstract class PolyglotValue extends AbstractValueImpl {
 
             @Override
             protected String getOperationName() {
-                return "isNull";
+                return "hasHashEntries";
             }
 
             @Specialization(limit = "CACHE_LIMIT")
             static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
-                            @CachedLibrary("receiver") InteropLibrary values) {
+                            @CachedLibrary("receiver") InteropLibrary hashes) {
+                return hashes.hasHashEntries(receiver);
+            }
+
+        }
+
+        abstract static class GetHashSizeNode extends InteropNode {
+
+            protected GetHashSizeNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "getHashSize";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary hashes,
+                            @Cached BranchProfile unsupported) {
+                try {
+                    return hashes.getHashSize(receiver);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw hashUnsupported(context, receiver, "getHashSize()");
+                }
+            }
+
+        }
+
+        abstract static class HasHashEntryNode extends InteropNode {
+
+            protected HasHashEntryNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, null};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "hasHashEntry";
+            }
+
+            @Specialization
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary(limit = "CACHE_LIMIT") InteropLibrary hashes,
+                            @Cached ToGuestValueNode toGuestKey) {
+                Object key = toGuestKey.execute(context, args[ARGUMENT_OFFSET]);
+                return hashes.isHashEntryReadable(receiver, key);
+            }
+
+        }
+
+        abstract static class GetHashValueNode extends InteropNode {
+
+            protected GetHashValueNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, null};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "getHashValue";
+            }
+
+            @Specialization
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary(limit = "CACHE_LIMIT") InteropLibrary hashes,
+                            @Cached ToGuestValueNode toGuestKey,
+                            @Cached("createToHost()") ToHostValueNode toHost,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile unknown) {
+                Object key = toGuestKey.execute(context, args[ARGUMENT_OFFSET]);
+                try {
+                    return toHost.execute(context, hashes.readHashValue(receiver, key));
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw hashUnsupported(context, receiver, "getHashValue(Object)");
+                } catch (UnknownKeyException e) {
+                    unknown.enter();
+                    return null;
+                }
+            }
+
+        }
+
+        abstract static class GetHashValueOrDefaultNode extends InteropNode {
+
+            protected GetHashValueOrDefaultNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, null, null};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "getHashValueOrDefault";
+            }
+
+            @Specialization
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary(limit = "CACHE_LIMIT") InteropLibrary hashes,
+                            @Cached ToGuestValueNode toGuestKey,
+                            @Cached ToGuestValueNode toGuestDefaultValue,
+                            @Cached("createToHost()") ToHostValueNode toHost,
+                            @Cached BranchProfile unsupported) {
+                Object key = toGuestKey.execute(context, args[ARGUMENT_OFFSET]);
+                Object defaultValue = toGuestDefaultValue.execute(context, args[ARGUMENT_OFFSET + 1]);
+                try {
+                    return toHost.execute(context, hashes.readHashValueOrDefault(receiver, key, defaultValue));
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw hashUnsupported(context, receiver, "getHashValueOrDefault(Object, Object)");
+                }
+            }
+
+        }
+
+        abstract static class PutHashEntryNode extends InteropNode {
+
+            protected PutHashEntryNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, null, null};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "putHashEntry";
+            }
+
+            @Specialization
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary(limit = "CACHE_LIMIT") InteropLibrary hashes,
+                            @Cached ToGuestValueNode toGuestKey,
+                            @Cached ToGuestValueNode toGuestValue,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile invalidKey,
+                            @Cached BranchProfile invalidValue) {
+                Object key = toGuestKey.execute(context, args[ARGUMENT_OFFSET]);
+                Object value = toGuestValue.execute(context, args[ARGUMENT_OFFSET + 1]);
+                try {
+                    hashes.writeHashEntry(receiver, key, value);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw hashUnsupported(context, receiver, "putHashEntry(Object, Object)");
+                } catch (UnknownKeyException e) {
+                    invalidKey.enter();
+                    throw invalidHashKey(context, receiver, key);
+                } catch (UnsupportedTypeException e) {
+                    invalidValue.enter();
+                    throw invalidHashValue(context, receiver, key, value);
+                }
+                return null;
+            }
+
+        }
+
+        abstract static class RemoveHashEntryNode extends InteropNode {
+
+            protected RemoveHashEntryNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, null};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "removeHashEntry";
+            }
+
+            @Specialization
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary(limit = "CACHE_LIMIT") InteropLibrary hashes,
+                            @Cached ToGuestValueNode toGuestKey,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile unknown) {
+                Object key = toGuestKey.execute(context, args[ARGUMENT_OFFSET]);
+                try {
+                    hashes.removeHashEntry(receiver, key);
+                    return Boolean.TRUE;
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    if (!hashes.hasHashEntries(receiver) || hashes.isHashEntryExisting(receiver, key)) {
+                        throw hashUnsupported(context, receiver, "removeHashEntry(Object)");
+                    }
+                    return Boolean.FALSE;
+                } catch (UnknownKeyException e) {
+                    unknown.enter();
+                    return Boolean.FALSE;
+                }
+            }
+
+        }
+
+        abstract static class GetHashKeysNode extends InteropNode {
+
+            protected GetHashKeysNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "getHashKeys";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary hashes,
+                            @Cached("createToHost()") ToHostValueNode toHost,
+                            @Cached BranchProfile unsupported) {
+                try {
+                    return toHost.execute(context, hashes.getHashKeys(receiver));
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw hashUnsupported(context, receiver, "getHashKeys()");
+                }
+            }
+
+        }
+
+        abstract static class GetHashKeysIteratorNode extends InteropNode {
+
+            protected GetHashKeysIteratorNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "getHashKeysIterator";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary hashes,
+                            @Cached("createToHost()") ToHostValueNode toHost,
+                            @Cached BranchProfile unsupported) {
+                try {
+                    return toHost.execute(context, hashes.getHashKeysIterator(receiver));
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw hashUnsupported(context, receiver, "getHashKeysIterator()");
+                }
+            }
+
+        }
+
+        abstract static class HasIteratorNode extends InteropNode {
+
+            protected HasIteratorNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "hasIterator";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary iterables) {
+                return iterables.hasIterator(receiver);
+            }
+
+        }
+
+        abstract static class GetIteratorNode extends InteropNode {
+
+            protected GetIteratorNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "getIterator";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary iterables,
+                            @Cached("createToHost()") ToHostValueNode toHost,
+                            @Cached BranchProfile unsupported) {
+                try {
+                    return toHost.execute(context, iterables.getIterator(receiver));
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw unsupported(context, receiver, "getIterator()", "hasIterator()");
+                }
+            }
+
+        }
+
+        abstract static class IsIteratorNode extends InteropNode {
+
+            protected IsIteratorNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "isIterator";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary iterators) {
+                return iterators.isIterator(receiver);
+            }
+
+        }
+
+        abstract static class HasIteratorNextElementNode extends InteropNode {
+
+            protected HasIteratorNextElementNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "hasIteratorNextElement";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary iterators,
+                            @Cached BranchProfile unsupported) {
+                try {
+                    return iterators.hasIteratorNextElement(receiver);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw iteratorUnsupported(context, receiver, "hasIteratorNextElement()");
+                }
+            }
+
+        }
+
+        abstract static class GetIteratorNextElementNode extends InteropNode {
+
+            protected GetIteratorNextElementNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "getIteratorNextElement";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary iterators,
+                            @Cached("createToHost()") ToHostValueNode toHost,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile stop) {
+                try {
+                    return toHost.execute(context, iterators.getIteratorNextElement(receiver));
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw iteratorUnsupported(context, receiver, "getIteratorNextElement()");
+                } catch (StopIterationException e) {
+                    stop.enter();
+                    throw stopIteration(context, receiver);
+                }
+            }
+
+        }
+
+        abstract static class IsNullNode extends InteropNode {
+
+            protected IsNullNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "isNull";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary values) {
                 return values.isNull(receiver);
             }
 
@@ -2470,6 +3418,86 @@ abstract class PolyglotValue extends AbstractValueImpl {
             return (long) CALL_PROFILED.call(cache.getArraySize, languageContext, receiver);
         }
 
+        @Override
+        public boolean hasBufferElements(Object receiver) {
+            return (boolean) CALL_PROFILED.call(cache.hasBufferElements, languageContext, receiver);
+        }
+
+        @Override
+        public boolean isBufferWritable(Object receiver) {
+            return (boolean) CALL_PROFILED.call(cache.isBufferWritable, languageContext, receiver);
+        }
+
+        @Override
+        public long getBufferSize(Object receiver) {
+            return (long) CALL_PROFILED.call(cache.getBufferSize, languageContext, receiver);
+        }
+
+        @Override
+        public byte readBufferByte(Object receiver, long byteOffset) {
+            return (byte) CALL_PROFILED.call(cache.readBufferByte, languageContext, receiver, byteOffset);
+        }
+
+        @Override
+        public void writeBufferByte(Object receiver, long byteOffset, byte value) {
+            CALL_PROFILED.call(cache.writeBufferByte, languageContext, receiver, byteOffset, value);
+        }
+
+        @Override
+        public short readBufferShort(Object receiver, ByteOrder order, long byteOffset) {
+            return (short) CALL_PROFILED.call(cache.readBufferShort, languageContext, receiver, order, byteOffset);
+        }
+
+        @Override
+        public void writeBufferShort(Object receiver, ByteOrder order, long byteOffset, short value) {
+            CALL_PROFILED.call(cache.writeBufferShort, languageContext, receiver, order, byteOffset, value);
+        }
+
+        @Override
+        public int readBufferInt(Object receiver, ByteOrder order, long byteOffset) {
+            return (int) CALL_PROFILED.call(cache.readBufferInt, languageContext, receiver, order, byteOffset);
+        }
+
+        @Override
+        public void writeBufferInt(Object receiver, ByteOrder order, long byteOffset, int value) {
+            CALL_PROFILED.call(cache.writeBufferInt, languageContext, receiver, order, byteOffset, value);
+        }
+
+        @Override
+        public long readBufferLong(Object receiver, ByteOrder order, long byteOffset) {
+            return (long) CALL_PROFILED.call(cache.readBufferLong, languageContext, receiver, order, byteOffset);
+        }
+
+        @Override
+        public void writeBufferLong(Object receiver, ByteOrder order, long byteOffset, long value) {
+            CALL_PROFILED.call(cache.writeBufferLong, languageContext, receiver, order, byteOffset, value);
+        }
+
+        @Override
+        public float readBufferFloat(Object receiver, ByteOrder order, long byteOffset) {
+            return (float) CALL_PROFILED.call(cache.readBufferFloat, languageContext, receiver, order, byteOffset);
+        }
+
+        @Override
+        public void writeBufferFloat(Object receiver, ByteOrder order, long byteOffset, float value) {
+            CALL_PROFILED.call(cache.writeBufferFloat, languageContext, receiver, order, byteOffset, value);
+        }
+
+        @Override
+        public double readBufferDouble(Object receiver, ByteOrder order, long byteOffset) {
+            return (double) CALL_PROFILED.call(cache.readBufferDouble, languageContext, receiver, order, byteOffset);
+        }
+
+        @Override
+        public void writeBufferDouble(Object receiver, ByteOrder order, long byteOffset, double value) {
+            CALL_PROFILED.call(cache.writeBufferDouble, languageContext, receiver, order, byteOffset, value);
+        }
+
+        @Override
+        public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) {
+            CALL_PROFILED.call(cache.readBuffer, languageContext, receiver, byteOffset, destination, destinationOffset, length);
+        }
+
         @Override
         public boolean hasMembers(Object receiver) {
             return (boolean) cache.hasMembers.call(languageContext, receiver);
@@ -2505,6 +3533,76 @@ abstract class PolyglotValue extends AbstractValueImpl {
             return new MemberSet(receiver, keys);
         }
 
+        @Override
+        public boolean hasHashEntries(Object receiver) {
+            return (boolean) CALL_PROFILED.call(cache.hasHashEntries, languageContext, receiver);
+        }
+
+        @Override
+        public long getHashSize(Object receiver) {
+            return (long) CALL_PROFILED.call(cache.getHashSize, languageContext, receiver);
+        }
+
+        @Override
+        public boolean hasHashEntry(Object receiver, Object key) {
+            return (boolean) CALL_PROFILED.call(cache.hasHashEntry, languageContext, receiver, key);
+        }
+
+        @Override
+        public Value getHashValue(Object receiver, Object key) {
+            return (Value) CALL_PROFILED.call(cache.getHashValue, languageContext, receiver, key);
+        }
+
+        @Override
+        public Value getHashValueOrDefault(Object receiver, Object key, Object defaultValue) {
+            return (Value) CALL_PROFILED.call(cache.getHashValueOrDefault, languageContext, receiver, key, defaultValue);
+        }
+
+        @Override
+        public void putHashEntry(Object receiver, Object key, Object value) {
+            CALL_PROFILED.call(cache.putHashEntry, languageContext, receiver, key, value);
+        }
+
+        @Override
+        public boolean removeHashEntry(Object receiver, Object key) {
+            return (boolean) CALL_PROFILED.call(cache.removeHashEntry, languageContext, receiver, key);
+        }
+
+        @Override
+        public Value getHashKeys(Object receiver) {
+            return (Value) CALL_PROFILED.call(cache.getHashKeys, languageContext, receiver);
+        }
+
+        @Override
+        public Value getHashKeysIterator(Object receiver) {
+            return (Value) CALL_PROFILED.call(cache.getHashKeysIterator, languageContext, receiver);
+        }
+
+        @Override
+        public boolean hasIterator(Object receiver) {
+            return (boolean) CALL_PROFILED.call(cache.hasIterator, languageContext, receiver);
+        }
+
+        @Override
+        public Value getIterator(Object receiver) {
+            return (Value) CALL_PROFILED.call(cache.getIterator, languageContext, receiver);
+        }
+
+        @Override
+        public boolean isIterator(Object receiver) {
+            return (boolean) CALL_PROFILED.call(cache.isIterator, languageContext, receiver);
+        }
+
+        @Override
+        public boolean hasIteratorNextElement(Object receiver) {
+            return (boolean) CALL_PROFILED.call(cache.hasIteratorNextElement, languageContext, receiver);
+        }
+
+        @Override
+        public Value getIteratorNextElement(Object receiver) {
+            return (Value) CALL_PROFILED.call(cache.getIteratorNextElement, languageContext, receiver);
+        }
+
         @Override
         public long asNativePointer(Object receiver) {
             return (long) CALL_PROFILED.call(cache.asNativePointer, languageContext, receiver);
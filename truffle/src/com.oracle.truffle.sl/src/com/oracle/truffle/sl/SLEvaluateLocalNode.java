@@ -40,7 +40,7 @@
  */
 package com.oracle.truffle.sl;
 
-import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.RootNode;
@@ -58,8 +58,9 @@ final class SLEvaluateLocalNode extends RootNode {
 
     @Override
     public Object execute(VirtualFrame currentFrame) {
-        for (FrameSlot slot : inspectFrame.getFrameDescriptor().getSlots()) {
-            if (variable.equals(slot.getIdentifier())) {
+        FrameDescriptor descriptor = inspectFrame.getFrameDescriptor();
+        for (int slot = 0; slot < descriptor.getNumberOfSlots(); slot++) {
+            if (variable.equals(descriptor.getSlotName(slot))) {
                 return inspectFrame.getValue(slot);
             }
         }
@@ -43,11 +43,10 @@ package com.oracle.truffle.sl.nodes.local;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.Frame;
-import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
 import com.oracle.truffle.api.interop.TruffleObject;
@@ -75,7 +74,7 @@ public final class SLLexicalScope {
     private final SLBlockNode parentBlock;
     private final RootNode root;
     private SLLexicalScope parent;
-    private Map<String, FrameSlot> varSlots;
+    private Map<String, Integer> varSlots;
 
     /**
      * Create a new block SL lexical scope.
@@ -202,13 +201,13 @@ public final class SLLexicalScope {
     }
 
     public Object getVariables(Frame frame) {
-        Map<String, FrameSlot> vars = getVars();
+        Map<String, Integer> vars = getVars();
         Object[] args = null;
         // Use arguments when the current node is above the block
         if (current == null) {
             args = (frame != null) ? frame.getArguments() : null;
         }
-        return new VariablesMapObject(vars, args, frame);
+        return new VariablesMapObject(vars, args, frame, getFrameDescriptor());
     }
 
     public Object getArguments(Frame frame) {
@@ -217,14 +216,18 @@ public final class SLLexicalScope {
             return null;
         }
         // The slots give us names of the arguments:
-        Map<String, FrameSlot> argSlots = collectArgs(block);
+        Map<String, Integer> argSlots = collectArgs(block);
         // The frame's arguments array give us the argument values:
         Object[] args = (frame != null) ? frame.getArguments() : null;
         // Create a TruffleObject having the arguments as properties:
-        return new VariablesMapObject(argSlots, args, frame);
+        return new VariablesMapObject(argSlots, args, frame, getFrameDescriptor());
     }
 
-    private Map<String, FrameSlot> getVars() {
+    private FrameDescriptor getFrameDescriptor() {
+        return (block != null) ? block.getRootNode().getFrameDescriptor() : null;
+    }
+
+    private Map<String, Integer> getVars() {
         if (varSlots == null) {
             if (current != null) {
                 varSlots = collectVars(block, current);
@@ -248,11 +251,11 @@ public final class SLLexicalScope {
         return false;
     }
 
-    private Map<String, FrameSlot> collectVars(Node varsBlock, Node currentNode) {
+    private Map<String, Integer> collectVars(Node varsBlock, Node currentNode) {
         // Variables are slot-based.
         // To collect declared variables, traverse the block's AST and find slots associated
         // with SLWriteLocalVariableNode. The traversal stops when we hit the current node.
-        Map<String, FrameSlot> slots = new LinkedHashMap<>(4);
+        Map<String, Integer> slots = new LinkedHashMap<>(4);
         NodeUtil.forEachChild(varsBlock, new NodeVisitor() {
             @Override
             public boolean visit(Node node) {
@@ -269,7 +272,7 @@ public final class SLLexicalScope {
                 // Write to a variable is a declaration unless it exists already in a parent scope.
                 if (node instanceof SLWriteLocalVariableNode) {
                     SLWriteLocalVariableNode wn = (SLWriteLocalVariableNode) node;
-                    String name = Objects.toString(wn.getSlot().getIdentifier());
+                    String name = wn.getSlotName();
                     if (!hasParentVar(name)) {
                         slots.put(name, wn.getSlot());
                     }
@@ -280,11 +283,11 @@ public final class SLLexicalScope {
         return slots;
     }
 
-    private static Map<String, FrameSlot> collectArgs(Node block) {
+    private static Map<String, Integer> collectArgs(Node block) {
         // Arguments are pushed to frame slots at the beginning of the function block.
         // To collect argument slots, search for SLReadArgumentNode inside of
         // SLWriteLocalVariableNode.
-        Map<String, FrameSlot> args = new LinkedHashMap<>(4);
+        Map<String, Integer> args = new LinkedHashMap<>(4);
         NodeUtil.forEachChild(block, new NodeVisitor() {
 
             private SLWriteLocalVariableNode wn; // The current write node containing a slot
@@ -298,10 +301,9 @@ public final class SLLexicalScope {
                     wn = null;
                     return all;
                 } else if (wn != null && (node instanceof SLReadArgumentNode)) {
-                    FrameSlot slot = wn.getSlot();
-                    String name = Objects.toString(slot.getIdentifier());
+                    String name = wn.getSlotName();
                     assert !args.containsKey(name) : name + " argument exists already.";
-                    args.put(name, slot);
+                    args.put(name, wn.getSlot());
                     return true;
                 } else if (wn == null && (node instanceof SLStatementNode)) {
                     // A different SL node - we're done.
@@ -317,14 +319,16 @@ public final class SLLexicalScope {
     @ExportLibrary(InteropLibrary.class)
     static final class VariablesMapObject implements TruffleObject {
 
-        final Map<String, ? extends FrameSlot> slots;
+        final Map<String, Integer> slots;
         final Object[] args;
         final Frame frame;
+        final FrameDescriptor descriptor;
 
-        private VariablesMapObject(Map<String, ? extends FrameSlot> slots, Object[] args, Frame frame) {
+        private VariablesMapObject(Map<String, Integer> slots, Object[] args, Frame frame, FrameDescriptor descriptor) {
             this.slots = slots;
             this.args = args;
             this.frame = frame;
+            this.descriptor = descriptor;
         }
 
         @SuppressWarnings("static-method")
@@ -345,11 +349,11 @@ public final class SLLexicalScope {
             if (frame == null) {
                 throw UnsupportedMessageException.create();
             }
-            FrameSlot slot = slots.get(member);
+            Integer slot = slots.get(member);
             if (slot == null) {
                 throw UnknownIdentifierException.create(member);
             } else {
-                Object info = slot.getInfo();
+                Object info = descriptor.getSlotInfo(slot);
                 if (args != null && info != null) {
                     args[(Integer) info] = value;
                 } else {
@@ -364,12 +368,12 @@ public final class SLLexicalScope {
             if (frame == null) {
                 return SLNull.SINGLETON;
             }
-            FrameSlot slot = slots.get(member);
+            Integer slot = slots.get(member);
             if (slot == null) {
                 throw UnknownIdentifierException.create(member);
             } else {
                 Object value;
-                Object info = slot.getInfo();
+                Object info = descriptor.getSlotInfo(slot);
                 if (args != null && info != null) {
                     value = args[(Integer) info];
                 } else {
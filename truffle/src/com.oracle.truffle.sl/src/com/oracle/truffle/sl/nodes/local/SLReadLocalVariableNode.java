@@ -40,10 +40,11 @@
  */
 package com.oracle.truffle.sl.nodes.local;
 
+import java.util.Objects;
+
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameUtil;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.StandardTags.ReadVariableTag;
@@ -61,14 +62,15 @@ import com.oracle.truffle.sl.nodes.interop.NodeObjectDescriptor;
  * values are boxed. Even a mixture of {@code long} and {@code boolean} writes leads to both being
  * stored boxed.
  */
-@NodeField(name = "slot", type = FrameSlot.class)
+@NodeField(name = "slot", type = int.class)
 public abstract class SLReadLocalVariableNode extends SLExpressionNode {
 
     /**
-     * Returns the descriptor of the accessed local variable. The implementation of this method is
-     * created by the Truffle DSL based on the {@link NodeField} annotation on the class.
+     * Returns the index of the accessed local variable in the function's frame descriptor. The
+     * implementation of this method is created by the Truffle DSL based on the {@link NodeField}
+     * annotation on the class.
      */
-    protected abstract FrameSlot getSlot();
+    protected abstract int getSlot();
 
     @Specialization(guards = "frame.isLong(getSlot())")
     protected long readLong(VirtualFrame frame) {
@@ -109,8 +111,16 @@ public abstract class SLReadLocalVariableNode extends SLExpressionNode {
         return tag == ReadVariableTag.class || super.hasTag(tag);
     }
 
+    /**
+     * Returns the name of the accessed local variable, as recorded in the frame descriptor of the
+     * enclosing function.
+     */
+    public String getSlotName() {
+        return Objects.toString(getRootNode().getFrameDescriptor().getSlotName(getSlot()));
+    }
+
     @Override
     public Object getNodeObject() {
-        return NodeObjectDescriptor.readVariable(getSlot().getIdentifier().toString());
+        return NodeObjectDescriptor.readVariable(getSlotName());
     }
 }
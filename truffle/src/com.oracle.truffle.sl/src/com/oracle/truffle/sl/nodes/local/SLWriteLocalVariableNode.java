@@ -40,11 +40,12 @@
  */
 package com.oracle.truffle.sl.nodes.local;
 
+import java.util.Objects;
+
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.StandardTags.WriteVariableTag;
@@ -57,14 +58,15 @@ import com.oracle.truffle.sl.nodes.interop.NodeObjectDescriptor;
  * allows to store primitive values of all Java primitive types, and Object values.
  */
 @NodeChild("valueNode")
-@NodeField(name = "slot", type = FrameSlot.class)
+@NodeField(name = "slot", type = int.class)
 public abstract class SLWriteLocalVariableNode extends SLExpressionNode {
 
     /**
-     * Returns the descriptor of the accessed local variable. The implementation of this method is
-     * created by the Truffle DSL based on the {@link NodeField} annotation on the class.
+     * Returns the index of the accessed local variable in the function's frame descriptor. The
+     * implementation of this method is created by the Truffle DSL based on the {@link NodeField}
+     * annotation on the class.
      */
-    protected abstract FrameSlot getSlot();
+    protected abstract int getSlot();
 
     /**
      * Specialized method to write a primitive {@code long} value. This is only possible if the
@@ -74,7 +76,7 @@ public abstract class SLWriteLocalVariableNode extends SLExpressionNode {
     @Specialization(guards = "isLongOrIllegal(frame)")
     protected long writeLong(VirtualFrame frame, long value) {
         /* Initialize type on first write of the local variable. No-op if kind is already Long. */
-        frame.getFrameDescriptor().setFrameSlotKind(getSlot(), FrameSlotKind.Long);
+        frame.getFrameDescriptor().setSlotKind(getSlot(), FrameSlotKind.Long);
 
         frame.setLong(getSlot(), value);
         return value;
@@ -83,7 +85,7 @@ public abstract class SLWriteLocalVariableNode extends SLExpressionNode {
     @Specialization(guards = "isBooleanOrIllegal(frame)")
     protected boolean writeBoolean(VirtualFrame frame, boolean value) {
         /* Initialize type on first write of the local variable. No-op if kind is already Long. */
-        frame.getFrameDescriptor().setFrameSlotKind(getSlot(), FrameSlotKind.Boolean);
+        frame.getFrameDescriptor().setSlotKind(getSlot(), FrameSlotKind.Boolean);
 
         frame.setBoolean(getSlot(), value);
         return value;
@@ -108,7 +110,7 @@ public abstract class SLWriteLocalVariableNode extends SLExpressionNode {
          *
          * No-op if kind is already Object.
          */
-        frame.getFrameDescriptor().setFrameSlotKind(getSlot(), FrameSlotKind.Object);
+        frame.getFrameDescriptor().setSlotKind(getSlot(), FrameSlotKind.Object);
 
         frame.setObject(getSlot(), value);
         return value;
@@ -123,12 +125,12 @@ public abstract class SLWriteLocalVariableNode extends SLExpressionNode {
      *            slot kind which can change.
      */
     protected boolean isLongOrIllegal(VirtualFrame frame) {
-        final FrameSlotKind kind = frame.getFrameDescriptor().getFrameSlotKind(getSlot());
+        final FrameSlotKind kind = frame.getFrameDescriptor().getSlotKind(getSlot());
         return kind == FrameSlotKind.Long || kind == FrameSlotKind.Illegal;
     }
 
     protected boolean isBooleanOrIllegal(VirtualFrame frame) {
-        final FrameSlotKind kind = frame.getFrameDescriptor().getFrameSlotKind(getSlot());
+        final FrameSlotKind kind = frame.getFrameDescriptor().getSlotKind(getSlot());
         return kind == FrameSlotKind.Boolean || kind == FrameSlotKind.Illegal;
     }
 
@@ -137,8 +139,16 @@ public abstract class SLWriteLocalVariableNode extends SLExpressionNode {
         return tag == WriteVariableTag.class || super.hasTag(tag);
     }
 
+    /**
+     * Returns the name of the accessed local variable, as recorded in the frame descriptor of the
+     * enclosing function.
+     */
+    public String getSlotName() {
+        return Objects.toString(getRootNode().getFrameDescriptor().getSlotName(getSlot()));
+    }
+
     @Override
     public Object getNodeObject() {
-        return NodeObjectDescriptor.writeVariable(getSlot().getIdentifier().toString());
+        return NodeObjectDescriptor.writeVariable(getSlotName());
     }
 }